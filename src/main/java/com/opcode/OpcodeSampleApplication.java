@@ -1,11 +1,13 @@
 package com.opcode;
 
+import com.opcode.config.OpcodeProperties;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.License;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 
 /**
@@ -13,13 +15,17 @@ import org.springframework.context.annotation.ComponentScan;
  */
 @SpringBootApplication
 @ComponentScan(basePackages = {
+    "com.opcode.config",
     "com.opcode.core",
     "com.opcode.instruction",
     "com.opcode.parser",
     "com.opcode.service",
+    "com.opcode.session",
     "com.opcode.controller",
+    "com.opcode.transport",
     "com.opcode.exception"
 })
+@EnableConfigurationProperties(OpcodeProperties.class)
 @OpenAPIDefinition(
     info = @Info(
         title = "Opcode Microprocessor Simulator API",
@@ -0,0 +1,27 @@
+package com.opcode.config;
+
+import com.opcode.json.InstructionRequestConverter;
+import com.opcode.json.ProcessorResponseConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import java.util.List;
+
+/**
+ * Registers the hand-written JSON converters for the hot request and response types ahead of
+ * the reflective Jackson converter, which keeps handling every other type.
+ */
+@Configuration
+public class JsonConverterConfig implements WebMvcConfigurer {
+
+    /**
+     * Adds the instruction request and processor response converters in front of the defaults.
+     *
+     * @param converters the configured message converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new InstructionRequestConverter());
+        converters.add(0, new ProcessorResponseConverter());
+    }
+}
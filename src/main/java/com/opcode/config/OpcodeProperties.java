@@ -0,0 +1,1315 @@
+package com.opcode.config;
+
+import com.opcode.transport.WaitStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Type-safe configuration for the microprocessor simulator, bound from the {@code opcode.*} properties.
+ */
+@ConfigurationProperties(prefix = "opcode")
+public class OpcodeProperties {
+
+    private final Coalescing coalescing = new Coalescing();
+    private final Registers registers = new Registers();
+    private final History history = new History();
+    private final Undo undo = new Undo();
+    private final Feed feed = new Feed();
+    private final Jobs jobs = new Jobs();
+    private final SessionBatch sessionBatch = new SessionBatch();
+    private final Bulk bulk = new Bulk();
+    private final Programs programs = new Programs();
+    private final Scripts scripts = new Scripts();
+    private final PrefixCache prefixCache = new PrefixCache();
+    private final ResultMemo resultMemo = new ResultMemo();
+    private final Execution execution = new Execution();
+    private final Reactive reactive = new Reactive();
+    private final UnixSocket unixSocket = new UnixSocket();
+    private final SharedMemory sharedMemory = new SharedMemory();
+    private final LineProtocol lineProtocol = new LineProtocol();
+    private final Pipeline pipeline = new Pipeline();
+
+    /**
+     * Gets the request coalescing settings.
+     *
+     * @return the coalescing settings
+     */
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Gets the register file settings.
+     *
+     * @return the register settings
+     */
+    public Registers getRegisters() {
+        return registers;
+    }
+
+    /**
+     * Gets the register history settings.
+     *
+     * @return the history settings
+     */
+    public History getHistory() {
+        return history;
+    }
+
+    /**
+     * Gets the undo log settings.
+     *
+     * @return the undo settings
+     */
+    public Undo getUndo() {
+        return undo;
+    }
+
+    /**
+     * Gets the register change feed settings.
+     *
+     * @return the feed settings
+     */
+    public Feed getFeed() {
+        return feed;
+    }
+
+    /**
+     * Gets the asynchronous batch job settings.
+     *
+     * @return the job settings
+     */
+    public Jobs getJobs() {
+        return jobs;
+    }
+
+    /**
+     * Gets the multi-session batch settings.
+     *
+     * @return the session batch settings
+     */
+    public SessionBatch getSessionBatch() {
+        return sessionBatch;
+    }
+
+    /**
+     * Gets the settings for programs applied to many sessions.
+     *
+     * @return the bulk program settings
+     */
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    /**
+     * Gets the prepared program settings.
+     *
+     * @return the program settings
+     */
+    public Programs getPrograms() {
+        return programs;
+    }
+
+    /**
+     * Gets the versioned script settings.
+     *
+     * @return the script settings
+     */
+    public Scripts getScripts() {
+        return scripts;
+    }
+
+    /**
+     * Gets the batch prefix cache settings.
+     *
+     * @return the prefix cache settings
+     */
+    public PrefixCache getPrefixCache() {
+        return prefixCache;
+    }
+
+    /**
+     * Gets the batch result memo settings.
+     *
+     * @return the result memo settings
+     */
+    public ResultMemo getResultMemo() {
+        return resultMemo;
+    }
+
+    /**
+     * Gets the request execution settings.
+     *
+     * @return the execution settings
+     */
+    public Execution getExecution() {
+        return execution;
+    }
+
+    /**
+     * Gets the non-blocking API server settings.
+     *
+     * @return the reactive server settings
+     */
+    public Reactive getReactive() {
+        return reactive;
+    }
+
+    /**
+     * Gets the Unix domain socket transport settings.
+     *
+     * @return the Unix domain socket settings
+     */
+    public UnixSocket getUnixSocket() {
+        return unixSocket;
+    }
+
+    /**
+     * Gets the shared-memory ring transport settings.
+     *
+     * @return the shared-memory settings
+     */
+    public SharedMemory getSharedMemory() {
+        return sharedMemory;
+    }
+
+    /**
+     * Gets the newline-delimited TCP transport settings.
+     *
+     * @return the line protocol settings
+     */
+    public LineProtocol getLineProtocol() {
+        return lineProtocol;
+    }
+
+    /**
+     * Gets the staged execution pipeline settings.
+     *
+     * @return the pipeline settings
+     */
+    public Pipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Settings for micro-batching concurrently submitted single instructions.
+     */
+    public static class Coalescing {
+
+        private boolean enabled = false;
+        private long latencyTargetMicros = 200;
+        private int maxBatchSize = 256;
+
+        /**
+         * Checks whether single instructions are coalesced into micro-batches.
+         *
+         * @return true if coalescing is enabled, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enables or disables coalescing of single instructions.
+         *
+         * @param enabled true to enable coalescing
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the target time, in microseconds, a single micro-batch may hold the processor.
+         *
+         * @return the latency target in microseconds
+         */
+        public long getLatencyTargetMicros() {
+            return latencyTargetMicros;
+        }
+
+        /**
+         * Sets the target time, in microseconds, a single micro-batch may hold the processor.
+         *
+         * @param latencyTargetMicros the latency target in microseconds
+         */
+        public void setLatencyTargetMicros(long latencyTargetMicros) {
+            this.latencyTargetMicros = latencyTargetMicros;
+        }
+
+        /**
+         * Gets the upper bound on the number of instructions in one micro-batch.
+         *
+         * @return the maximum batch size
+         */
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        /**
+         * Sets the upper bound on the number of instructions in one micro-batch.
+         *
+         * @param maxBatchSize the maximum batch size
+         */
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    /**
+     * Settings for the register file.
+     */
+    public static class Registers {
+
+        private boolean stripedIncrements = false;
+        private int count = 4;
+        private List<String> names = new ArrayList<>();
+
+        /**
+         * Checks whether commutative instructions accumulate into striped cells.
+         *
+         * @return true if striped increments are enabled, false otherwise
+         */
+        public boolean isStripedIncrements() {
+            return stripedIncrements;
+        }
+
+        /**
+         * Enables or disables striped accumulation for commutative instructions.
+         *
+         * @param stripedIncrements true to enable striped increments
+         */
+        public void setStripedIncrements(boolean stripedIncrements) {
+            this.stripedIncrements = stripedIncrements;
+        }
+
+        /**
+         * Gets the number of registers, used when no register names are configured.
+         *
+         * @return the register count
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Sets the number of registers, between 1 and 256. The registers are named A to Z, then
+         * AA, AB and so on.
+         *
+         * @param count the register count
+         */
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        /**
+         * Gets the register names, in register order.
+         *
+         * @return the register names, or an empty list to derive them from the count
+         */
+        public List<String> getNames() {
+            return names;
+        }
+
+        /**
+         * Sets the register names, in register order, overriding the count.
+         *
+         * @param names the register names
+         */
+        public void setNames(List<String> names) {
+            this.names = names;
+        }
+    }
+
+    /**
+     * Settings for the per-processor register history used for time-travel reads.
+     */
+    public static class History {
+
+        private boolean enabled = false;
+        private int checkpointInterval = 64;
+        private long retention = 100_000;
+
+        /**
+         * Checks whether executed mutations are recorded.
+         *
+         * @return true if the history is enabled, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enables or disables recording of executed mutations.
+         *
+         * @param enabled true to enable the history
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the number of mutations between two full checkpoints, which bounds the replay
+         * cost of a historical read.
+         *
+         * @return the checkpoint interval
+         */
+        public int getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        /**
+         * Sets the number of mutations between two full checkpoints.
+         *
+         * @param checkpointInterval the checkpoint interval
+         */
+        public void setCheckpointInterval(int checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+
+        /**
+         * Gets the number of most recent mutations kept per processor; 0 keeps everything.
+         *
+         * @return the retention in mutations
+         */
+        public long getRetention() {
+            return retention;
+        }
+
+        /**
+         * Sets the number of most recent mutations kept per processor; 0 keeps everything.
+         *
+         * @param retention the retention in mutations
+         */
+        public void setRetention(long retention) {
+            this.retention = retention;
+        }
+    }
+
+    /**
+     * Settings for the per-processor undo log.
+     */
+    public static class Undo {
+
+        private int capacity = 0;
+
+        /**
+         * Gets the maximum number of undo records kept per processor; 0 disables undo.
+         * Each record takes 8 bytes, and a reset takes one record per register.
+         *
+         * @return the undo capacity in records
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * Sets the maximum number of undo records kept per processor; 0 disables undo.
+         *
+         * @param capacity the undo capacity in records
+         */
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * Settings for the register change feed served over Server-Sent Events and long polling.
+     */
+    public static class Feed {
+
+        private int subscriberBuffer = 64;
+        private int senderThreads = 2;
+        private long streamTimeoutMillis = 1_800_000;
+        private long pollTimeoutMillis = 30_000;
+
+        /**
+         * Gets the number of changes buffered per stream subscriber before it is resynchronized.
+         *
+         * @return the per-subscriber buffer size
+         */
+        public int getSubscriberBuffer() {
+            return subscriberBuffer;
+        }
+
+        /**
+         * Sets the number of changes buffered per stream subscriber before it is resynchronized.
+         *
+         * @param subscriberBuffer the per-subscriber buffer size
+         */
+        public void setSubscriberBuffer(int subscriberBuffer) {
+            this.subscriberBuffer = subscriberBuffer;
+        }
+
+        /**
+         * Gets the number of threads writing buffered changes to stream subscribers.
+         *
+         * @return the number of sender threads
+         */
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        /**
+         * Sets the number of threads writing buffered changes to stream subscribers.
+         *
+         * @param senderThreads the number of sender threads
+         */
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        /**
+         * Gets the time, in milliseconds, after which a stream is closed; clients reconnect.
+         *
+         * @return the stream timeout in milliseconds
+         */
+        public long getStreamTimeoutMillis() {
+            return streamTimeoutMillis;
+        }
+
+        /**
+         * Sets the time, in milliseconds, after which a stream is closed.
+         *
+         * @param streamTimeoutMillis the stream timeout in milliseconds
+         */
+        public void setStreamTimeoutMillis(long streamTimeoutMillis) {
+            this.streamTimeoutMillis = streamTimeoutMillis;
+        }
+
+        /**
+         * Gets the time, in milliseconds, a long poll waits for a change before answering 304.
+         *
+         * @return the long-poll timeout in milliseconds
+         */
+        public long getPollTimeoutMillis() {
+            return pollTimeoutMillis;
+        }
+
+        /**
+         * Sets the time, in milliseconds, a long poll waits for a change before answering 304.
+         *
+         * @param pollTimeoutMillis the long-poll timeout in milliseconds
+         */
+        public void setPollTimeoutMillis(long pollTimeoutMillis) {
+            this.pollTimeoutMillis = pollTimeoutMillis;
+        }
+    }
+
+    /**
+     * Settings for asynchronous batch jobs.
+     */
+    public static class Jobs {
+
+        private int threads = 2;
+        private int queueCapacity = 64;
+        private int cancelCheckInterval = 1024;
+        private long retentionMillis = 600_000;
+        private long streamTimeoutMillis = 1_800_000;
+
+        /**
+         * Gets the number of threads executing jobs.
+         *
+         * @return the number of job threads
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Sets the number of threads executing jobs.
+         *
+         * @param threads the number of job threads
+         */
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        /**
+         * Gets the number of jobs that may wait for a thread before new jobs are rejected.
+         *
+         * @return the job queue capacity
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * Sets the number of jobs that may wait for a thread before new jobs are rejected.
+         *
+         * @param queueCapacity the job queue capacity
+         */
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        /**
+         * Gets the number of instructions a job executes between checks for cancellation.
+         * Progress is published at the same interval.
+         *
+         * @return the cancellation check interval
+         */
+        public int getCancelCheckInterval() {
+            return cancelCheckInterval;
+        }
+
+        /**
+         * Sets the number of instructions a job executes between checks for cancellation.
+         *
+         * @param cancelCheckInterval the cancellation check interval
+         */
+        public void setCancelCheckInterval(int cancelCheckInterval) {
+            this.cancelCheckInterval = cancelCheckInterval;
+        }
+
+        /**
+         * Gets the time, in milliseconds, a finished job's result is kept.
+         *
+         * @return the result retention in milliseconds
+         */
+        public long getRetentionMillis() {
+            return retentionMillis;
+        }
+
+        /**
+         * Sets the time, in milliseconds, a finished job's result is kept.
+         *
+         * @param retentionMillis the result retention in milliseconds
+         */
+        public void setRetentionMillis(long retentionMillis) {
+            this.retentionMillis = retentionMillis;
+        }
+
+        /**
+         * Gets the time, in milliseconds, after which a job progress stream is closed.
+         *
+         * @return the stream timeout in milliseconds
+         */
+        public long getStreamTimeoutMillis() {
+            return streamTimeoutMillis;
+        }
+
+        /**
+         * Sets the time, in milliseconds, after which a job progress stream is closed.
+         *
+         * @param streamTimeoutMillis the stream timeout in milliseconds
+         */
+        public void setStreamTimeoutMillis(long streamTimeoutMillis) {
+            this.streamTimeoutMillis = streamTimeoutMillis;
+        }
+    }
+
+    /**
+     * Settings for executing batches on many sessions in one request.
+     */
+    public static class SessionBatch {
+
+        private int parallelism = 0;
+
+        /**
+         * Gets the number of worker threads executing session batches; 0 means one per CPU.
+         *
+         * @return the parallelism
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * Sets the number of worker threads executing session batches; 0 means one per CPU.
+         *
+         * @param parallelism the parallelism
+         */
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    /**
+     * Settings for applying one program to many sessions data-parallel.
+     */
+    public static class Bulk {
+
+        private boolean vectorized = true;
+
+        /**
+         * Checks whether programs run with the vector API when the JVM provides it.
+         *
+         * @return true if the vector API is used when available, false for plain loops
+         */
+        public boolean isVectorized() {
+            return vectorized;
+        }
+
+        /**
+         * Sets whether programs run with the vector API when the JVM provides it.
+         *
+         * @param vectorized true to use the vector API when available
+         */
+        public void setVectorized(boolean vectorized) {
+            this.vectorized = vectorized;
+        }
+    }
+
+    /**
+     * Settings for prepared programs and their parameter sweeps.
+     */
+    public static class Programs {
+
+        private int maxBlockTuples = 65_536;
+
+        /**
+         * Gets the largest number of parameter tuples accepted in one sweep block.
+         *
+         * @return the maximum block size in tuples
+         */
+        public int getMaxBlockTuples() {
+            return maxBlockTuples;
+        }
+
+        /**
+         * Sets the largest number of parameter tuples accepted in one sweep block.
+         *
+         * @param maxBlockTuples the maximum block size in tuples
+         */
+        public void setMaxBlockTuples(int maxBlockTuples) {
+            this.maxBlockTuples = maxBlockTuples;
+        }
+    }
+
+    /**
+     * Settings for versioned scripts and their checkpoints.
+     */
+    public static class Scripts {
+
+        private int checkpointInterval = 256;
+
+        /**
+         * Gets the number of instructions between two checkpoints of a script's execution.
+         *
+         * @return the checkpoint interval
+         */
+        public int getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        /**
+         * Sets the number of instructions between two checkpoints of a script's execution.
+         *
+         * @param checkpointInterval the checkpoint interval
+         */
+        public void setCheckpointInterval(int checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+    }
+
+    /**
+     * Settings for the cache of register values after batch prefixes that start with RST.
+     */
+    public static class PrefixCache {
+
+        private boolean enabled = false;
+        private int maxNodes = 100_000;
+
+        /**
+         * Checks whether batches starting with RST skip their cached prefix.
+         *
+         * @return true if the prefix cache is enabled, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enables or disables the prefix cache.
+         *
+         * @param enabled true to enable the prefix cache
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the maximum number of cached prefixes, i.e. of trie nodes.
+         *
+         * @return the maximum node count
+         */
+        public int getMaxNodes() {
+            return maxNodes;
+        }
+
+        /**
+         * Sets the maximum number of cached prefixes, i.e. of trie nodes.
+         *
+         * @param maxNodes the maximum node count
+         */
+        public void setMaxNodes(int maxNodes) {
+            this.maxNodes = maxNodes;
+        }
+    }
+
+    /**
+     * Settings for the memo of batch results by starting register values.
+     */
+    public static class ResultMemo {
+
+        private boolean enabled = false;
+        private long maxWeightBytes = 16L * 1024 * 1024;
+
+        /**
+         * Checks whether batch results are memoized.
+         *
+         * @return true if the result memo is enabled, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enables or disables the result memo.
+         *
+         * @param enabled true to enable the result memo
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the bound on the estimated size of the memo, in bytes.
+         *
+         * @return the maximum weight in bytes
+         */
+        public long getMaxWeightBytes() {
+            return maxWeightBytes;
+        }
+
+        /**
+         * Sets the bound on the estimated size of the memo, in bytes.
+         *
+         * @param maxWeightBytes the maximum weight in bytes
+         */
+        public void setMaxWeightBytes(long maxWeightBytes) {
+            this.maxWeightBytes = maxWeightBytes;
+        }
+    }
+
+    /**
+     * Settings for the threads that handle HTTP requests.
+     */
+    public static class Execution {
+
+        private boolean virtualThreads = false;
+
+        /**
+         * Checks whether requests are handled on virtual threads instead of Tomcat's
+         * platform thread pool.
+         *
+         * @return true if requests run on virtual threads, false otherwise
+         */
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        /**
+         * Sets whether requests are handled on virtual threads.
+         *
+         * @param virtualThreads true to run requests on virtual threads
+         */
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+    }
+
+    /**
+     * Settings for the non-blocking API server that runs next to the servlet API.
+     */
+    public static class Reactive {
+
+        private boolean enabled = false;
+        private int port = 8081;
+        private int eventLoopThreads = 0;
+        private int executionLanes = 4;
+        private int laneQueueCapacity = 10_000;
+
+        /**
+         * Checks whether the non-blocking API server is started.
+         *
+         * @return true if the server is started, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the non-blocking API server is started.
+         *
+         * @param enabled true to start the server
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the port the non-blocking API server listens on; 0 picks a free port.
+         *
+         * @return the server port
+         */
+        public int getPort() {
+            return port;
+        }
+
+        /**
+         * Sets the port the non-blocking API server listens on; 0 picks a free port.
+         *
+         * @param port the server port
+         */
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        /**
+         * Gets the number of event loop threads handling connections; 0 uses one per CPU.
+         *
+         * @return the number of event loop threads
+         */
+        public int getEventLoopThreads() {
+            return eventLoopThreads;
+        }
+
+        /**
+         * Sets the number of event loop threads handling connections; 0 uses one per CPU.
+         *
+         * @param eventLoopThreads the number of event loop threads
+         */
+        public void setEventLoopThreads(int eventLoopThreads) {
+            this.eventLoopThreads = eventLoopThreads;
+        }
+
+        /**
+         * Gets the number of single-threaded lanes executing instructions. Each session is
+         * always executed on the same lane.
+         *
+         * @return the number of execution lanes
+         */
+        public int getExecutionLanes() {
+            return executionLanes;
+        }
+
+        /**
+         * Sets the number of single-threaded lanes executing instructions.
+         *
+         * @param executionLanes the number of execution lanes
+         */
+        public void setExecutionLanes(int executionLanes) {
+            this.executionLanes = executionLanes;
+        }
+
+        /**
+         * Gets the number of requests that may wait for a lane before new requests are rejected.
+         *
+         * @return the queue capacity of each lane
+         */
+        public int getLaneQueueCapacity() {
+            return laneQueueCapacity;
+        }
+
+        /**
+         * Sets the number of requests that may wait for a lane before new requests are rejected.
+         *
+         * @param laneQueueCapacity the queue capacity of each lane
+         */
+        public void setLaneQueueCapacity(int laneQueueCapacity) {
+            this.laneQueueCapacity = laneQueueCapacity;
+        }
+    }
+
+    /**
+     * Settings for the binary protocol served over a Unix domain socket.
+     */
+    public static class UnixSocket {
+
+        private boolean enabled = false;
+        private String path = "/tmp/opcode.sock";
+        private int maxFrameBytes = 1024 * 1024;
+
+        /**
+         * Checks whether the Unix domain socket is served.
+         *
+         * @return true if the socket is served, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the Unix domain socket is served.
+         *
+         * @param enabled true to serve the socket
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the file system path of the socket.
+         *
+         * @return the socket path
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Sets the file system path of the socket.
+         *
+         * @param path the socket path
+         */
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Gets the largest accepted request frame in bytes; a larger frame closes the connection.
+         *
+         * @return the maximum frame size in bytes
+         */
+        public int getMaxFrameBytes() {
+            return maxFrameBytes;
+        }
+
+        /**
+         * Sets the largest accepted request frame in bytes.
+         *
+         * @param maxFrameBytes the maximum frame size in bytes
+         */
+        public void setMaxFrameBytes(int maxFrameBytes) {
+            this.maxFrameBytes = maxFrameBytes;
+        }
+    }
+
+    /**
+     * Settings for the shared-memory ring that co-located processes submit packed instructions to.
+     */
+    public static class SharedMemory {
+
+        private boolean enabled = false;
+        private String path = "/dev/shm/opcode.ring";
+        private int capacity = 4096;
+        private int maxBatchSize = 256;
+        private WaitStrategy waitStrategy = WaitStrategy.PARK;
+
+        /**
+         * Checks whether the shared-memory ring is served.
+         *
+         * @return true if the ring is served, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the shared-memory ring is served.
+         *
+         * @param enabled true to serve the ring
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the path of the memory-mapped ring file.
+         *
+         * @return the ring file path
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Sets the path of the memory-mapped ring file.
+         *
+         * @param path the ring file path
+         */
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Gets the number of slots of the ring, a power of two.
+         *
+         * @return the ring capacity
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * Sets the number of slots of the ring, a power of two.
+         *
+         * @param capacity the ring capacity
+         */
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Gets the maximum number of instructions executed under one acquisition of the processor's lock.
+         *
+         * @return the maximum batch size
+         */
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        /**
+         * Sets the maximum number of instructions executed under one acquisition of the processor's lock.
+         *
+         * @param maxBatchSize the maximum batch size
+         */
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        /**
+         * Gets how the server waits while the ring is empty.
+         *
+         * @return the wait strategy
+         */
+        public WaitStrategy getWaitStrategy() {
+            return waitStrategy;
+        }
+
+        /**
+         * Sets how the server waits while the ring is empty.
+         *
+         * @param waitStrategy the wait strategy
+         */
+        public void setWaitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+        }
+    }
+
+    /**
+     * Settings for the TCP server that accepts newline-delimited instruction text.
+     */
+    public static class LineProtocol {
+
+        private boolean enabled = false;
+        private int port = 7070;
+        private int maxLineBytes = 4096;
+
+        /**
+         * Checks whether the line protocol server is started.
+         *
+         * @return true if the server is started, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the line protocol server is started.
+         *
+         * @param enabled true to start the server
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the TCP port of the server; 0 picks a free port.
+         *
+         * @return the port
+         */
+        public int getPort() {
+            return port;
+        }
+
+        /**
+         * Sets the TCP port of the server.
+         *
+         * @param port the port
+         */
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        /**
+         * Gets the longest accepted line in bytes; a longer line closes the connection.
+         *
+         * @return the maximum line length in bytes
+         */
+        public int getMaxLineBytes() {
+            return maxLineBytes;
+        }
+
+        /**
+         * Sets the longest accepted line in bytes.
+         *
+         * @param maxLineBytes the maximum line length in bytes
+         */
+        public void setMaxLineBytes(int maxLineBytes) {
+            this.maxLineBytes = maxLineBytes;
+        }
+    }
+
+    /**
+     * Settings for the staged pipeline that decodes, executes, journals and answers single
+     * instructions on separate threads.
+     */
+    public static class Pipeline {
+
+        private boolean enabled = false;
+        private int capacity = 4096;
+        private int decoders = 2;
+        private int shards = 1;
+        private int maxBatchSize = 256;
+        private String journalPath = "";
+        private boolean journalSync = false;
+        private WaitStrategy waitStrategy = WaitStrategy.PARK;
+
+        /**
+         * Checks whether the staged pipeline is started.
+         *
+         * @return true if the pipeline is started, false otherwise
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the staged pipeline is started.
+         *
+         * @param enabled true to start the pipeline
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Gets the number of slots of the ring connecting the stages, a power of two.
+         *
+         * @return the ring capacity
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * Sets the number of slots of the ring connecting the stages, a power of two.
+         *
+         * @param capacity the ring capacity
+         */
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Gets the number of threads parsing instructions.
+         *
+         * @return the decoder thread count
+         */
+        public int getDecoders() {
+            return decoders;
+        }
+
+        /**
+         * Sets the number of threads parsing instructions.
+         *
+         * @param decoders the decoder thread count
+         */
+        public void setDecoders(int decoders) {
+            this.decoders = decoders;
+        }
+
+        /**
+         * Gets the number of threads executing instructions, each for its own share of the sessions.
+         *
+         * @return the shard count
+         */
+        public int getShards() {
+            return shards;
+        }
+
+        /**
+         * Sets the number of threads executing instructions, each for its own share of the sessions.
+         *
+         * @param shards the shard count
+         */
+        public void setShards(int shards) {
+            this.shards = shards;
+        }
+
+        /**
+         * Gets the maximum number of instructions an execute thread takes from the ring at once.
+         *
+         * @return the maximum batch size
+         */
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        /**
+         * Sets the maximum number of instructions an execute thread takes from the ring at once.
+         *
+         * @param maxBatchSize the maximum batch size
+         */
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        /**
+         * Gets the path of the file executed instructions are appended to, or an empty string for no journal.
+         *
+         * @return the journal path
+         */
+        public String getJournalPath() {
+            return journalPath;
+        }
+
+        /**
+         * Sets the path of the file executed instructions are appended to, or an empty string for no journal.
+         *
+         * @param journalPath the journal path
+         */
+        public void setJournalPath(String journalPath) {
+            this.journalPath = journalPath;
+        }
+
+        /**
+         * Checks whether every journal write is forced to the storage device before responding.
+         *
+         * @return true if journal writes are synced, false otherwise
+         */
+        public boolean isJournalSync() {
+            return journalSync;
+        }
+
+        /**
+         * Sets whether every journal write is forced to the storage device before responding.
+         *
+         * @param journalSync true to sync journal writes
+         */
+        public void setJournalSync(boolean journalSync) {
+            this.journalSync = journalSync;
+        }
+
+        /**
+         * Gets how idle stages wait for work.
+         *
+         * @return the wait strategy
+         */
+        public WaitStrategy getWaitStrategy() {
+            return waitStrategy;
+        }
+
+        /**
+         * Sets how idle stages wait for work.
+         *
+         * @param waitStrategy the wait strategy
+         */
+        public void setWaitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.opcode.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs request handling on virtual threads when {@code opcode.execution.virtual-threads} is set.
+ * <p>
+ * Tomcat then hands every request to a new virtual thread instead of a worker from its bounded
+ * platform thread pool, so requests blocked on slow clients no longer cap the number of requests
+ * in progress. The processor's hot path only blocks on {@code java.util.concurrent} locks and
+ * {@code LockSupport}, which unmount a waiting virtual thread instead of pinning its carrier.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "opcode.execution", name = "virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Replaces Tomcat's request executor with a virtual-thread-per-task executor.
+     *
+     * @return the protocol handler customizer
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequestExecutor() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,123 @@
+package com.opcode.controller;
+
+import com.opcode.model.JobRequest;
+import com.opcode.model.JobResponse;
+import com.opcode.model.ProcessorResponse;
+import com.opcode.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.net.URI;
+
+/**
+ * REST controller for running instruction batches as asynchronous jobs.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    private final JobService jobService;
+
+    /**
+     * Constructs a new JobController with the specified service.
+     *
+     * @param jobService the service to use
+     */
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * Submits a batch of instructions as a job.
+     *
+     * @param request the job request
+     * @return the queued job, with its location
+     */
+    @Operation(summary = "Submit a batch job",
+               description = "Queues the instructions for asynchronous execution and returns the job id immediately")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Job accepted",
+                    content = @Content(schema = @Schema(implementation = JobResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid job request",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "503", description = "Job queue is full",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<JobResponse> submitJob(@Valid @RequestBody JobRequest request) {
+        JobResponse job = jobService.submit(request.getInstructions(), request.getPriority());
+        return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + job.getId())).body(job);
+    }
+
+    /**
+     * Gets the progress or outcome of a job.
+     *
+     * @param jobId the job id
+     * @return the job
+     */
+    @Operation(summary = "Get a batch job",
+               description = "Returns the job's state and progress, and its outcome once finished")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the job",
+                    content = @Content(schema = @Schema(implementation = JobResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Job not found or expired",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.getJob(jobId));
+    }
+
+    /**
+     * Streams the progress of a job as Server-Sent Events.
+     *
+     * @param jobId the job id
+     * @return the event stream
+     */
+    @Operation(summary = "Stream batch job progress",
+               description = "Streams progress events while the job runs and a finished event with its outcome")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "404", description = "Job not found or expired")
+    })
+    @GetMapping(value = "/{jobId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String jobId) {
+        return jobService.stream(jobId);
+    }
+
+    /**
+     * Cancels a job.
+     *
+     * @param jobId the job id
+     * @return the job, 202 if it is still stopping
+     */
+    @Operation(summary = "Cancel a batch job",
+               description = "Cancels a queued job immediately; a running job stops at its next cancellation check")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job finished",
+                    content = @Content(schema = @Schema(implementation = JobResponse.class))),
+        @ApiResponse(responseCode = "202", description = "Cancellation requested, job still stopping",
+                    content = @Content(schema = @Schema(implementation = JobResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Job not found or expired",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<JobResponse> cancelJob(@PathVariable String jobId) {
+        JobResponse job = jobService.cancel(jobId);
+        return ResponseEntity.status(job.getState().isFinished() ? HttpStatus.OK : HttpStatus.ACCEPTED).body(job);
+    }
+}
@@ -0,0 +1,70 @@
+package com.opcode.controller;
+
+import com.opcode.model.InstructionRequest;
+import com.opcode.model.ProcessorResponse;
+import com.opcode.session.SessionRegistry;
+import com.opcode.transport.StagedPipeline;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller submitting single instructions to the {@link StagedPipeline}, available when
+ * {@code opcode.pipeline.enabled} is set.
+ */
+@RestController
+@RequestMapping("/api/v1/pipeline")
+@ConditionalOnProperty(prefix = "opcode.pipeline", name = "enabled", havingValue = "true")
+public class PipelineController {
+
+    private final StagedPipeline pipeline;
+
+    /**
+     * Constructs a new PipelineController with the specified pipeline.
+     *
+     * @param pipeline the pipeline to submit instructions to
+     */
+    public PipelineController(StagedPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Executes a single instruction through the staged pipeline. The request thread is released
+     * while the instruction passes through the stages.
+     *
+     * @param request the instruction request
+     * @param sessionId the session to execute on
+     * @return the execution result with the session's register values right after the instruction
+     */
+    @Operation(summary = "Execute a single instruction through the staged pipeline",
+               description = "Decodes, executes and journals the instruction on the pipeline's stage threads "
+                   + "and returns the register values right after it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Instruction executed successfully",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid instruction syntax",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Invalid register or session not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "507", description = "Instruction executed but not journaled",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping("/instructions")
+    public CompletableFuture<ResponseEntity<ProcessorResponse>> executeInstruction(
+            @Valid @RequestBody InstructionRequest request,
+            @RequestParam(defaultValue = SessionRegistry.DEFAULT_SESSION_ID) String sessionId) {
+        return pipeline.submit(sessionId, request.getInstruction())
+            .thenApply(registers -> ResponseEntity.ok(ProcessorResponse.success(registers)));
+    }
+}
@@ -1,23 +1,32 @@
 package com.opcode.controller;
 
+import com.opcode.core.RegisterProjection;
+import com.opcode.core.RegisterSelection;
 import com.opcode.model.BatchInstructionRequest;
+import com.opcode.model.HistoryResponse;
 import com.opcode.model.InstructionRequest;
+import com.opcode.model.PrefixCacheResponse;
 import com.opcode.model.ProcessorResponse;
 import com.opcode.model.RegisterValueResponse;
 import com.opcode.service.ProcessorService;
+import com.opcode.service.VersionedJson;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,10 +51,14 @@ public class ProcessorController {
      * Executes a single instruction.
      *
      * @param request the instruction request
-     * @return the execution result with updated register values
+     * @param registers the registers to report, or null for all registers
+     * @param changedOnly whether to report only the registers changed by the instruction
+     * @param sinceVersion the state version to report changes since, or null for no such filter
+     * @return the execution result with the selected register values
      */
     @Operation(summary = "Execute a single instruction",
-               description = "Executes a single instruction and returns the updated register values")
+               description = "Executes a single instruction and returns the updated register values, "
+                   + "optionally only the requested registers or those changed by the instruction or since a version")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Instruction executed successfully",
                     content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
@@ -55,19 +68,27 @@ public class ProcessorController {
                     content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
     })
     @PostMapping("/instructions")
-    public ResponseEntity<ProcessorResponse> executeInstruction(@Valid @RequestBody InstructionRequest request) {
-        Map<String, Integer> registers = processorService.executeInstruction(request.getInstruction());
-        return ResponseEntity.ok(ProcessorResponse.success(registers));
+    public ResponseEntity<ProcessorResponse> executeInstruction(
+            @Valid @RequestBody InstructionRequest request,
+            @RequestParam(required = false) List<String> registers,
+            @RequestParam(defaultValue = "false") boolean changedOnly,
+            @RequestParam(required = false) Long sinceVersion) {
+        RegisterSelection selection = processorService.selectRegisters(registers, changedOnly, sinceVersion);
+        return projected(processorService.executeInstruction(request.getInstruction(), selection));
     }
     
     /**
      * Executes multiple instructions in batch.
      *
      * @param request the batch instruction request
-     * @return the execution result with updated register values
+     * @param registers the registers to report, or null for all registers
+     * @param changedOnly whether to report only the registers changed by the batch
+     * @param sinceVersion the state version to report changes since, or null for no such filter
+     * @return the execution result with the selected register values
      */
     @Operation(summary = "Execute multiple instructions in batch",
-               description = "Executes multiple instructions sequentially and returns the updated register values")
+               description = "Executes multiple instructions sequentially and returns the updated register values, "
+                   + "optionally only the requested registers or those changed by the batch or since a version")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "All instructions executed successfully",
                     content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
@@ -75,45 +96,114 @@ public class ProcessorController {
                     content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
     })
     @PostMapping("/instructions/batch")
-    public ResponseEntity<ProcessorResponse> executeBatchInstructions(@Valid @RequestBody BatchInstructionRequest request) {
-        Map<String, Integer> registers = processorService.executeBatchInstructions(request.getInstructions());
-        return ResponseEntity.ok(ProcessorResponse.success(registers));
+    public ResponseEntity<ProcessorResponse> executeBatchInstructions(
+            @Valid @RequestBody BatchInstructionRequest request,
+            @RequestParam(required = false) List<String> registers,
+            @RequestParam(defaultValue = "false") boolean changedOnly,
+            @RequestParam(required = false) Long sinceVersion) {
+        RegisterSelection selection = processorService.selectRegisters(registers, changedOnly, sinceVersion);
+        return projected(processorService.executeBatchInstructions(request.getInstructions(), selection));
     }
     
     /**
-     * Gets all register values.
+     * Gets all register values. The response carries the register state version as its ETag,
+     * and a request whose If-None-Match matches the current version is answered with 304.
      *
-     * @return map of register names to their values
+     * @param request the current request
+     * @return the JSON map of register names to their values, or null if not modified
      */
     @Operation(summary = "Get all register values",
                description = "Returns the current values of all registers")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved register values",
-                    content = @Content(schema = @Schema(implementation = Map.class)))
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "304", description = "Register values unchanged since the given ETag")
+    })
+    @GetMapping(value = "/registers", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllRegisters(WebRequest request) {
+        if (request.checkNotModified(VersionedJson.etag(processorService.getStateVersion()))) {
+            return null;
+        }
+        return versionedJson(processorService.getAllRegistersJson());
+    }
+    
+    /**
+     * Gets all register values as of a past sequence number.
+     *
+     * @param atSeq the sequence number to read at
+     * @return map of register names to their values
+     */
+    @Operation(summary = "Get all register values at a sequence number",
+               description = "Returns the values of all registers right after the mutation with the given sequence number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved register values",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "404", description = "Sequence number not available in the history",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @GetMapping(value = "/registers", params = "atSeq")
+    public ResponseEntity<Map<String, Integer>> getAllRegistersAt(@RequestParam long atSeq) {
+        return ResponseEntity.ok(processorService.getAllRegistersAt(atSeq));
+    }
+    
+    /**
+     * Gets the range of sequence numbers that can be read from the register history.
+     *
+     * @return the retained history range
+     */
+    @Operation(summary = "Get the register history range",
+               description = "Returns the oldest and the most recent sequence number that can be read")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the history range",
+                    content = @Content(schema = @Schema(implementation = HistoryResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Register history is not enabled",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
     })
-    @GetMapping("/registers")
-    public ResponseEntity<Map<String, Integer>> getAllRegisters() {
-        return ResponseEntity.ok(processorService.getAllRegisters());
+    @GetMapping("/processor/history")
+    public ResponseEntity<HistoryResponse> getHistory() {
+        return ResponseEntity.ok(processorService.getHistory());
     }
     
     /**
-     * Gets the value of a specific register.
+     * Gets the statistics of the cache of batch prefixes after RST.
+     *
+     * @return the prefix cache statistics
+     */
+    @Operation(summary = "Get prefix cache statistics",
+               description = "Returns the size and hit rate of the cache shared by batches that start with RST")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the statistics",
+                    content = @Content(schema = @Schema(implementation = PrefixCacheResponse.class)))
+    })
+    @GetMapping("/processor/prefix-cache")
+    public ResponseEntity<PrefixCacheResponse> getPrefixCacheStats() {
+        return ResponseEntity.ok(processorService.getPrefixCacheStats());
+    }
+    
+    /**
+     * Gets the value of a specific register, with the register state version as its ETag.
      *
      * @param register the register name
-     * @return the register value
+     * @param request the current request
+     * @return the JSON register value, or null if not modified
      */
     @Operation(summary = "Get a specific register value",
                description = "Returns the current value of the specified register")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved register value",
                     content = @Content(schema = @Schema(implementation = RegisterValueResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Register value unchanged since the given ETag"),
         @ApiResponse(responseCode = "404", description = "Register not found",
                     content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
     })
-    @GetMapping("/registers/{register}")
-    public ResponseEntity<RegisterValueResponse> getRegisterValue(@PathVariable String register) {
-        Integer value = processorService.getRegisterValue(register);
-        return ResponseEntity.ok(new RegisterValueResponse(value));
+    @GetMapping(value = "/registers/{register}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getRegisterValue(@PathVariable String register, WebRequest request) {
+        // An unknown register is never answered with 304, whatever ETag the client sends
+        processorService.validateRegister(register);
+        if (request.checkNotModified(VersionedJson.etag(processorService.getStateVersion()))) {
+            return null;
+        }
+        return versionedJson(processorService.getRegisterValueJson(register));
     }
     
     /**
@@ -132,4 +222,35 @@ public class ProcessorController {
         Map<String, Integer> registers = processorService.resetProcessor();
         return ResponseEntity.ok(ProcessorResponse.success(registers));
     }
+    
+    /**
+     * Reverts the most recent mutations.
+     *
+     * @param steps the number of mutations to revert
+     * @return the processor response with the register values after the undo
+     */
+    @Operation(summary = "Undo recent instructions",
+               description = "Reverts the most recent mutations, newest first, and returns the resulting register values")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully reverted the mutations",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Not enough recorded mutations to undo",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping("/processor/undo")
+    public ResponseEntity<ProcessorResponse> undo(@RequestParam(defaultValue = "1") int steps) {
+        Map<String, Integer> registers = processorService.undo(steps);
+        return ResponseEntity.ok(ProcessorResponse.success(registers));
+    }
+    
+    private ResponseEntity<ProcessorResponse> projected(RegisterProjection projection) {
+        return ResponseEntity.ok(ProcessorResponse.success(projection.getRegisters(), projection.getVersion()));
+    }
+    
+    private ResponseEntity<byte[]> versionedJson(VersionedJson json) {
+        return ResponseEntity.ok()
+            .eTag(VersionedJson.etag(json.getVersion()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(json.getJson());
+    }
 }
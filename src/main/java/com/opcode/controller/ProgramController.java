@@ -0,0 +1,129 @@
+package com.opcode.controller;
+
+import com.opcode.model.BatchInstructionRequest;
+import com.opcode.model.PreparedProgramResponse;
+import com.opcode.model.ProcessorResponse;
+import com.opcode.service.PreparedProgramService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * REST controller for prepared programs with placeholders and their parameter sweeps.
+ */
+@RestController
+@RequestMapping("/api/v1/programs")
+public class ProgramController {
+
+    private final PreparedProgramService programService;
+
+    /**
+     * Constructs a new ProgramController with the specified service.
+     *
+     * @param programService the service to use
+     */
+    public ProgramController(PreparedProgramService programService) {
+        this.programService = programService;
+    }
+
+    /**
+     * Prepares a program.
+     *
+     * @param request the instructions, with {@code ?} placeholders for value operands
+     * @return the prepared program, with its location
+     */
+    @Operation(summary = "Prepare a program",
+               description = "Compiles a program whose value operands may be ? placeholders")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Program prepared",
+                    content = @Content(schema = @Schema(implementation = PreparedProgramResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid instruction syntax",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Register not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<PreparedProgramResponse> prepareProgram(@Valid @RequestBody BatchInstructionRequest request) {
+        PreparedProgramResponse program = programService.prepare(request.getInstructions());
+        return ResponseEntity.created(URI.create("/api/v1/programs/" + program.getId())).body(program);
+    }
+
+    /**
+     * Gets a prepared program.
+     *
+     * @param programId the program id
+     * @return the prepared program
+     */
+    @Operation(summary = "Get a prepared program",
+               description = "Returns the program's instructions and number of parameters")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the program",
+                    content = @Content(schema = @Schema(implementation = PreparedProgramResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Program not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @GetMapping("/{programId}")
+    public ResponseEntity<PreparedProgramResponse> getProgram(@PathVariable String programId) {
+        return ResponseEntity.ok(programService.get(programId));
+    }
+
+    /**
+     * Deletes a prepared program.
+     *
+     * @param programId the program id
+     * @return an empty response
+     */
+    @Operation(summary = "Delete a prepared program")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Program deleted"),
+        @ApiResponse(responseCode = "404", description = "Program not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @DeleteMapping("/{programId}")
+    public ResponseEntity<Void> deleteProgram(@PathVariable String programId) {
+        programService.delete(programId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Evaluates a prepared program for a stream of parameter tuples.
+     *
+     * @param programId the program id
+     * @param sessionId the session whose registers every tuple starts from, or null to start from zero
+     * @param body the parameter blocks
+     * @param response the response receiving the register blocks
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @Operation(summary = "Sweep a prepared program over parameter tuples",
+               description = "Reads blocks of parameter tuples as big-endian int columns (tuple count, then one "
+                   + "column per parameter) and streams back one block of final register columns per request block")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Register blocks streamed"),
+        @ApiResponse(responseCode = "404", description = "Program or session not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping(value = "/{programId}/sweep", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void sweepProgram(@PathVariable String programId, @RequestParam(required = false) String sessionId,
+                             InputStream body, HttpServletResponse response) throws IOException {
+        PreparedProgramService.Sweep sweep = programService.sweep(programId, sessionId);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        sweep.run(body, response.getOutputStream());
+    }
+}
@@ -0,0 +1,71 @@
+package com.opcode.controller;
+
+import com.opcode.service.RegisterChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.Map;
+
+/**
+ * REST controller for following changes to the processor's registers.
+ */
+@RestController
+@RequestMapping("/api/v1/processor/changes")
+public class RegisterChangeController {
+
+    private final RegisterChangeFeed changeFeed;
+
+    /**
+     * Constructs a new RegisterChangeController with the specified feed.
+     *
+     * @param changeFeed the change feed to use
+     */
+    public RegisterChangeController(RegisterChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Streams register changes as Server-Sent Events.
+     *
+     * @return the event stream
+     */
+    @Operation(summary = "Stream register changes",
+               description = "Streams a snapshot event with all registers, followed by a delta event with the "
+                   + "changed registers after every change; event ids are register state versions")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened")
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return changeFeed.subscribe();
+    }
+
+    /**
+     * Waits until the registers change from a known version.
+     *
+     * @param sinceVersion the register state version the client has already seen
+     * @return the register values once they differ from that version, or 304 on timeout
+     */
+    @Operation(summary = "Long-poll for register changes",
+               description = "Returns all register values, with their version as ETag, as soon as the state "
+                   + "version differs from sinceVersion; returns 304 if nothing changes before the timeout")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Register values changed",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "304", description = "No change before the poll timed out")
+    })
+    @GetMapping(params = "sinceVersion")
+    public DeferredResult<ResponseEntity<byte[]>> pollChanges(@RequestParam long sinceVersion) {
+        return changeFeed.poll(sinceVersion);
+    }
+}
@@ -0,0 +1,124 @@
+package com.opcode.controller;
+
+import com.opcode.model.BatchInstructionRequest;
+import com.opcode.model.ProcessorResponse;
+import com.opcode.model.ScriptResponse;
+import com.opcode.service.ScriptService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import java.net.URI;
+
+/**
+ * REST controller for versioned scripts, executed incrementally from checkpoints.
+ */
+@RestController
+@RequestMapping("/api/v1/scripts")
+public class ScriptController {
+
+    private final ScriptService scriptService;
+
+    /**
+     * Constructs a new ScriptController with the specified service.
+     *
+     * @param scriptService the service to use
+     */
+    public ScriptController(ScriptService scriptService) {
+        this.scriptService = scriptService;
+    }
+
+    /**
+     * Creates a script and executes its first version.
+     *
+     * @param request the instructions
+     * @return the first version, with the script's location
+     */
+    @Operation(summary = "Create a script",
+               description = "Stores a program and executes it from zeroed registers, keeping checkpoints for later versions")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Script created and executed",
+                    content = @Content(schema = @Schema(implementation = ScriptResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid instruction syntax",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Register not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<ScriptResponse> createScript(@Valid @RequestBody BatchInstructionRequest request) {
+        ScriptResponse script = scriptService.create(request.getInstructions());
+        return ResponseEntity.created(URI.create("/api/v1/scripts/" + script.getId())).body(script);
+    }
+
+    /**
+     * Submits a new version of a script.
+     *
+     * @param scriptId the script id
+     * @param request the instructions of the new version
+     * @return the new version
+     */
+    @Operation(summary = "Submit a new script version",
+               description = "Executes only from the last checkpoint before the first instruction that differs "
+                   + "from the previous version")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Version executed",
+                    content = @Content(schema = @Schema(implementation = ScriptResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid instruction syntax",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Script or register not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PutMapping("/{scriptId}")
+    public ResponseEntity<ScriptResponse> updateScript(@PathVariable String scriptId,
+                                                       @Valid @RequestBody BatchInstructionRequest request) {
+        return ResponseEntity.ok(scriptService.update(scriptId, request.getInstructions()));
+    }
+
+    /**
+     * Gets the current version of a script.
+     *
+     * @param scriptId the script id
+     * @return the current version
+     */
+    @Operation(summary = "Get a script",
+               description = "Returns the current version and the registers after it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the script",
+                    content = @Content(schema = @Schema(implementation = ScriptResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Script not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @GetMapping("/{scriptId}")
+    public ResponseEntity<ScriptResponse> getScript(@PathVariable String scriptId) {
+        return ResponseEntity.ok(scriptService.get(scriptId));
+    }
+
+    /**
+     * Deletes a script.
+     *
+     * @param scriptId the script id
+     * @return an empty response
+     */
+    @Operation(summary = "Delete a script")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Script deleted"),
+        @ApiResponse(responseCode = "404", description = "Script not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @DeleteMapping("/{scriptId}")
+    public ResponseEntity<Void> deleteScript(@PathVariable String scriptId) {
+        scriptService.delete(scriptId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,291 @@
+package com.opcode.controller;
+
+import com.opcode.model.BatchInstructionRequest;
+import com.opcode.model.BulkProgramResponse;
+import com.opcode.model.CreateSessionRequest;
+import com.opcode.model.ForkSessionRequest;
+import com.opcode.model.ForkSessionResponse;
+import com.opcode.model.InstructionRequest;
+import com.opcode.model.MultiSessionBatchRequest;
+import com.opcode.model.MultiSessionBatchResponse;
+import com.opcode.model.ProcessorResponse;
+import com.opcode.model.SessionResponse;
+import com.opcode.service.BulkProgramService;
+import com.opcode.service.SessionBatchService;
+import com.opcode.service.SessionService;
+import com.opcode.session.ProcessorSession;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for managing independent processor sessions.
+ */
+@RestController
+@RequestMapping("/api/v1/sessions")
+public class SessionController {
+
+    private final SessionService sessionService;
+    private final SessionBatchService sessionBatchService;
+    private final BulkProgramService bulkProgramService;
+
+    /**
+     * Constructs a new SessionController with the specified services.
+     *
+     * @param sessionService the service to use
+     * @param sessionBatchService the service executing batches on many sessions
+     * @param bulkProgramService the service applying one program to many sessions
+     */
+    public SessionController(SessionService sessionService, SessionBatchService sessionBatchService,
+                             BulkProgramService bulkProgramService) {
+        this.sessionService = sessionService;
+        this.sessionBatchService = sessionBatchService;
+        this.bulkProgramService = bulkProgramService;
+    }
+
+    /**
+     * Creates a new session.
+     *
+     * @param request the optional session request naming the tenant
+     * @return the created session
+     */
+    @Operation(summary = "Create a session",
+               description = "Creates a new processor session with all registers set to zero")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Session created",
+                    content = @Content(schema = @Schema(implementation = SessionResponse.class)))
+    })
+    @PostMapping
+    public ResponseEntity<SessionResponse> createSession(@RequestBody(required = false) CreateSessionRequest request) {
+        ProcessorSession session = sessionService.createSession(request != null ? request.getTenant() : null);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new SessionResponse(session.getId(), session.getTenant()));
+    }
+
+    /**
+     * Forks a session into child sessions that start from its current register values.
+     *
+     * @param sessionId the id of the session to fork
+     * @param request the fork request
+     * @return the ids of the child sessions
+     */
+    @Operation(summary = "Fork a session",
+               description = "Creates child sessions that start from the session's current register values")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Child sessions created",
+                    content = @Content(schema = @Schema(implementation = ForkSessionResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid fork request",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Session not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping("/{sessionId}/fork")
+    public ResponseEntity<ForkSessionResponse> forkSession(@PathVariable String sessionId,
+                                                           @Valid @RequestBody ForkSessionRequest request) {
+        List<String> childIds = sessionService.forkSession(sessionId, request.getCount(), request.getTenant())
+            .stream()
+            .map(ProcessorSession::getId)
+            .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ForkSessionResponse(sessionId, childIds));
+    }
+
+    /**
+     * Deletes a session.
+     *
+     * @param sessionId the session id
+     * @return an empty response
+     */
+    @Operation(summary = "Delete a session",
+               description = "Deletes a processor session; the default session cannot be deleted")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Session deleted"),
+        @ApiResponse(responseCode = "400", description = "The default session cannot be deleted",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Session not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<ProcessorResponse> deleteSession(@PathVariable String sessionId) {
+        if (!sessionService.deleteSession(sessionId)) {
+            return ResponseEntity.badRequest().body(ProcessorResponse.error("The default session cannot be deleted"));
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Executes a single instruction on a session.
+     *
+     * @param sessionId the session id
+     * @param request the instruction request
+     * @return the execution result with the session's updated register values
+     */
+    @Operation(summary = "Execute a single instruction on a session",
+               description = "Executes a single instruction and returns the session's updated register values")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Instruction executed successfully",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid instruction syntax",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Session or register not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping("/{sessionId}/instructions")
+    public ResponseEntity<ProcessorResponse> executeInstruction(@PathVariable String sessionId,
+                                                                @Valid @RequestBody InstructionRequest request) {
+        Map<String, Integer> registers = sessionService.executeInstruction(sessionId, request.getInstruction());
+        return ResponseEntity.ok(ProcessorResponse.success(registers));
+    }
+
+    /**
+     * Executes multiple instructions in batch on a session.
+     *
+     * @param sessionId the session id
+     * @param request the batch instruction request
+     * @return the execution result with the session's updated register values
+     */
+    @Operation(summary = "Execute multiple instructions on a session",
+               description = "Executes multiple instructions sequentially and returns the session's updated register values")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "All instructions executed successfully",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Error executing instructions",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Session not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping("/{sessionId}/instructions/batch")
+    public ResponseEntity<ProcessorResponse> executeBatchInstructions(@PathVariable String sessionId,
+                                                                      @Valid @RequestBody BatchInstructionRequest request) {
+        Map<String, Integer> registers = sessionService.executeBatchInstructions(sessionId, request.getInstructions());
+        return ResponseEntity.ok(ProcessorResponse.success(registers));
+    }
+
+    /**
+     * Executes instruction batches on many sessions in parallel.
+     *
+     * @param request the per-session batches
+     * @return the per-session results in request order
+     */
+    @Operation(summary = "Execute batches on many sessions",
+               description = "Executes each session's instructions sequentially, with different sessions in parallel, "
+                   + "and returns every session's outcome in request order; a failing session does not affect the others")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "All session batches processed",
+                    content = @Content(schema = @Schema(implementation = MultiSessionBatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<MultiSessionBatchResponse> executeSessionBatches(@Valid @RequestBody MultiSessionBatchRequest request) {
+        return ResponseEntity.ok(sessionBatchService.execute(request.getSessions()));
+    }
+
+    /**
+     * Applies one program to every session, or every session of a tenant.
+     *
+     * @param tenant the tenant whose sessions to execute on, or null for all sessions
+     * @param request the program
+     * @return the number of sessions the program executed on
+     */
+    @Operation(summary = "Execute a program on many sessions",
+               description = "Executes the instructions on every session, or every session of the tenant, "
+                   + "data-parallel across sessions; each session is updated atomically")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Program executed on all sessions",
+                    content = @Content(schema = @Schema(implementation = BulkProgramResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid instruction syntax",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Register not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping("/program")
+    public ResponseEntity<BulkProgramResponse> executeProgram(@RequestParam(required = false) String tenant,
+                                                              @Valid @RequestBody BatchInstructionRequest request) {
+        return ResponseEntity.ok(bulkProgramService.execute(tenant, request.getInstructions()));
+    }
+
+    /**
+     * Gets all register values of a session, either current or as of a past sequence number.
+     *
+     * @param sessionId the session id
+     * @param atSeq the sequence number to read at, or null for the current values
+     * @return map of register names to their values
+     */
+    @Operation(summary = "Get all register values of a session",
+               description = "Returns the current values of all registers of the session, or their values "
+                   + "right after the mutation with the given sequence number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved register values",
+                    content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "404", description = "Session not found or sequence number not available",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @GetMapping("/{sessionId}/registers")
+    public ResponseEntity<Map<String, Integer>> getAllRegisters(@PathVariable String sessionId,
+                                                                @RequestParam(required = false) Long atSeq) {
+        if (atSeq == null) {
+            return ResponseEntity.ok(sessionService.getAllRegisters(sessionId));
+        }
+        return ResponseEntity.ok(sessionService.getAllRegistersAt(sessionId, atSeq));
+    }
+
+    /**
+     * Reverts the most recent mutations of a session.
+     *
+     * @param sessionId the session id
+     * @param steps the number of mutations to revert
+     * @return the processor response with the session's register values after the undo
+     */
+    @Operation(summary = "Undo recent instructions on a session",
+               description = "Reverts the session's most recent mutations, newest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully reverted the mutations",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Not enough recorded mutations to undo",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Session not found",
+                    content = @Content(schema = @Schema(implementation = ProcessorResponse.class)))
+    })
+    @PostMapping("/{sessionId}/undo")
+    public ResponseEntity<ProcessorResponse> undo(@PathVariable String sessionId,
+                                                  @RequestParam(defaultValue = "1") int steps) {
+        Map<String, Integer> registers = sessionService.undo(sessionId, steps);
+        return ResponseEntity.ok(ProcessorResponse.success(registers));
+    }
+
+    /**
+     * Resets every session, or every session of one tenant, in constant time.
+     *
+     * @param tenant the tenant to reset, or null to reset all sessions
+     * @return an empty response
+     */
+    @Operation(summary = "Reset sessions in bulk",
+               description = "Logically resets all sessions, or all sessions of a tenant; "
+                   + "registers are cleared lazily on each session's next write")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Sessions reset")
+    })
+    @PostMapping("/reset")
+    public ResponseEntity<Void> resetSessions(@RequestParam(required = false) String tenant) {
+        if (tenant == null) {
+            sessionService.resetAllSessions();
+        } else {
+            sessionService.resetTenantSessions(tenant);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.opcode.core;
+
+import com.opcode.exception.InvalidInstructionException;
+import java.util.Arrays;
+
+/**
+ * A program of {@link PackedInstruction}s with parameterized immediates, compiled into the
+ * affine function it computes: the final value of every register is a constant plus a linear
+ * combination of the initial register values and the parameters.
+ * <p>
+ * Every affine instruction maps the register state to an affine function of the previous state,
+ * so the whole program composes into one such function; the factors of each opcode are read off
+ * its {@link OpcodeDefinition} once, when it is registered. The composition is computed in 32-bit
+ * wrap-around arithmetic, in which addition and multiplication are associative and distributive,
+ * so evaluating the compiled form gives exactly the registers executing the program would.
+ * Evaluating it costs one multiply-add per register and parameter, however long the program is.
+ */
+public final class AffineProgram {
+
+    /** Marks an instruction whose immediate is a literal rather than a parameter. */
+    public static final int NO_PARAMETER = -1;
+
+    private final int registers;
+    private final int parameters;
+    private final int[] constants;
+    private final int[][] registerCoefficients;
+    private final int[][] parameterCoefficients;
+
+    private AffineProgram(int registers, int parameters) {
+        this.registers = registers;
+        this.parameters = parameters;
+        this.constants = new int[registers];
+        this.registerCoefficients = new int[registers][registers];
+        this.parameterCoefficients = new int[registers][parameters];
+        for (int register = 0; register < registers; register++) {
+            registerCoefficients[register][register] = 1;
+        }
+    }
+
+    /**
+     * Compiles a program. The immediate of an instruction bound to a parameter is ignored.
+     *
+     * @param program the packed instructions, in order
+     * @param parameterOf the parameter each instruction's immediate is bound to, or
+     *        {@link #NO_PARAMETER}; only instructions with a value operand may be bound
+     * @param parameters the number of parameters
+     * @param registers the number of registers
+     * @return the compiled program
+     * @throws InvalidInstructionException if an operation is unknown or not
+     *         {@link OpcodeDefinition#isAffine() affine}
+     * @throws com.opcode.exception.InvalidRegisterException if a register index is out of range
+     */
+    public static AffineProgram compile(long[] program, int[] parameterOf, int parameters, int registers) {
+        AffineProgram compiled = new AffineProgram(registers, parameters);
+        for (int i = 0; i < program.length; i++) {
+            PackedInstruction.validate(program[i], registers);
+            compiled.apply(program[i], parameterOf[i]);
+        }
+        return compiled;
+    }
+
+    private void apply(long instruction, int parameter) {
+        OpcodeRegistry registry = OpcodeRegistry.getDefault();
+        int operation = PackedInstruction.operation(instruction);
+        if (registry.get(operation).isReset()) {
+            for (int register = 0; register < registers; register++) {
+                clear(register);
+            }
+            return;
+        }
+        int[] form = registry.affineForm(operation);
+        if (form == null) {
+            throw new InvalidInstructionException("Instruction is not affine: " + registry.get(operation).getMnemonic());
+        }
+        int target = PackedInstruction.target(instruction);
+        int source = PackedInstruction.source(instruction);
+        int targetFactor = form[1];
+        int sourceFactor = form[2];
+        int[] registerRow = new int[registers];
+        for (int j = 0; j < registers; j++) {
+            registerRow[j] = targetFactor * registerCoefficients[target][j] + sourceFactor * registerCoefficients[source][j];
+        }
+        int[] parameterRow = new int[parameters];
+        for (int k = 0; k < parameters; k++) {
+            parameterRow[k] = targetFactor * parameterCoefficients[target][k] + sourceFactor * parameterCoefficients[source][k];
+        }
+        int constant = form[0] + targetFactor * constants[target] + sourceFactor * constants[source];
+        if (parameter == NO_PARAMETER) {
+            constant += form[3] * PackedInstruction.value(instruction);
+        } else {
+            parameterRow[parameter] += form[3];
+        }
+        constants[target] = constant;
+        registerCoefficients[target] = registerRow;
+        parameterCoefficients[target] = parameterRow;
+    }
+
+    private void clear(int register) {
+        constants[register] = 0;
+        registerCoefficients[register] = new int[registers];
+        parameterCoefficients[register] = new int[parameters];
+    }
+
+    /**
+     * Gets the number of parameters.
+     *
+     * @return the parameter count
+     */
+    public int getParameterCount() {
+        return parameters;
+    }
+
+    /**
+     * Gets the number of registers.
+     *
+     * @return the register count
+     */
+    public int getRegisterCount() {
+        return registers;
+    }
+
+    /**
+     * Folds the initial register values into the constants, which is all a sweep from that
+     * state needs besides the parameters.
+     *
+     * @param initialRegisters the register values the program starts from
+     * @return the constant part of every register's final value
+     */
+    public int[] bind(int[] initialRegisters) {
+        int[] bound = constants.clone();
+        for (int register = 0; register < registers; register++) {
+            for (int j = 0; j < registers; j++) {
+                bound[register] += registerCoefficients[register][j] * initialRegisters[j];
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Evaluates the program for a range of parameter tuples laid out as columns.
+     *
+     * @param bound the constants returned by {@link #bind(int[])}
+     * @param parameterColumns one column per parameter, indexed by tuple
+     * @param registerColumns one column per register receiving the final values, indexed by tuple
+     * @param from the first tuple, inclusive
+     * @param to the last tuple, exclusive
+     */
+    public void evaluate(int[] bound, int[][] parameterColumns, int[][] registerColumns, int from, int to) {
+        for (int register = 0; register < registers; register++) {
+            int[] out = registerColumns[register];
+            Arrays.fill(out, from, to, bound[register]);
+            for (int k = 0; k < parameters; k++) {
+                int coefficient = parameterCoefficients[register][k];
+                if (coefficient == 0) {
+                    continue;
+                }
+                int[] in = parameterColumns[k];
+                for (int i = from; i < to; i++) {
+                    out[i] += coefficient * in[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.opcode.core;
+
+import java.util.List;
+
+/**
+ * The opcodes of the simulator's original instruction set.
+ */
+public enum BuiltInOpcode implements OpcodeDefinition {
+
+    /** {@code SET target value}: sets a register to a value. */
+    SET(PackedInstruction.SET, false, OperandKind.REGISTER, OperandKind.VALUE) {
+        @Override
+        public int apply(int target, int source, int value) {
+            return value;
+        }
+    },
+
+    /** {@code ADR target source}: adds the source register to the target register. */
+    ADR(PackedInstruction.ADR, false, OperandKind.REGISTER, OperandKind.REGISTER) {
+        @Override
+        public int apply(int target, int source, int value) {
+            return target + source;
+        }
+    },
+
+    /** {@code ADD target value}: adds a value to a register. */
+    ADD(PackedInstruction.ADD, true, OperandKind.REGISTER, OperandKind.VALUE) {
+        @Override
+        public int apply(int target, int source, int value) {
+            return target + value;
+        }
+    },
+
+    /** {@code MOV target source}: copies the source register into the target register. */
+    MOV(PackedInstruction.MOV, false, OperandKind.REGISTER, OperandKind.REGISTER) {
+        @Override
+        public int apply(int target, int source, int value) {
+            return source;
+        }
+    },
+
+    /** {@code INR target}: increments a register. */
+    INR(PackedInstruction.INR, true, OperandKind.REGISTER) {
+        @Override
+        public int apply(int target, int source, int value) {
+            return target + 1;
+        }
+    },
+
+    /** {@code DCR target}: decrements a register. */
+    DCR(PackedInstruction.DCR, true, OperandKind.REGISTER) {
+        @Override
+        public int apply(int target, int source, int value) {
+            return target - 1;
+        }
+    },
+
+    /** {@code RST}: resets every register to zero. */
+    RST(PackedInstruction.RST, false) {
+        @Override
+        public int apply(int target, int source, int value) {
+            return 0;
+        }
+
+        @Override
+        public boolean isReset() {
+            return true;
+        }
+    };
+
+    private final int operation;
+    private final boolean commutative;
+    private final List<OperandKind> operands;
+
+    BuiltInOpcode(int operation, boolean commutative, OperandKind... operands) {
+        this.operation = operation;
+        this.commutative = commutative;
+        this.operands = List.of(operands);
+    }
+
+    @Override
+    public int getOperation() {
+        return operation;
+    }
+
+    @Override
+    public String getMnemonic() {
+        return name();
+    }
+
+    @Override
+    public List<OperandKind> getOperands() {
+        return operands;
+    }
+
+    @Override
+    public boolean isCommutative() {
+        return commutative;
+    }
+
+    @Override
+    public boolean isAffine() {
+        return true;
+    }
+}
@@ -0,0 +1,124 @@
+package com.opcode.core;
+
+/**
+ * The execution of a program of {@link PackedInstruction}s from zeroed registers, with a copy of
+ * the registers kept every {@code interval} instructions.
+ * <p>
+ * A revised program shares its instructions up to the first edit with the program it revises,
+ * so its run resumes from the last checkpoint at or before that edit instead of starting over.
+ * Appending instructions resumes from the final registers. Checkpoints are never modified, so
+ * consecutive runs share the ones they have in common.
+ */
+public final class CheckpointedRun {
+
+    private final long[] program;
+    private final int registers;
+    private final int interval;
+    private final int[][] checkpoints;
+    private final int[] result;
+    private final int resumedAt;
+
+    private CheckpointedRun(long[] program, int registers, int interval, int[][] checkpoints,
+                            int[] result, int resumedAt) {
+        this.program = program;
+        this.registers = registers;
+        this.interval = interval;
+        this.checkpoints = checkpoints;
+        this.result = result;
+        this.resumedAt = resumedAt;
+    }
+
+    /**
+     * Executes a program from zeroed registers.
+     *
+     * @param program the packed instructions, in order
+     * @param registers the number of registers
+     * @param interval the number of instructions between checkpoints
+     * @return the run
+     * @throws IllegalArgumentException if the interval is not positive
+     * @throws com.opcode.exception.InvalidInstructionException if an operation is unknown
+     * @throws com.opcode.exception.InvalidRegisterException if a register index is out of range
+     */
+    public static CheckpointedRun execute(long[] program, int registers, int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        int[][] checkpoints = new int[program.length / interval + 1][];
+        checkpoints[0] = new int[registers];
+        return resume(program, registers, interval, checkpoints, checkpoints[0], 0);
+    }
+
+    /**
+     * Executes a revision of this run's program, resuming from the latest state the two
+     * programs have in common.
+     *
+     * @param revised the packed instructions of the revised program, in order
+     * @return the run of the revised program
+     * @throws com.opcode.exception.InvalidInstructionException if an operation is unknown
+     * @throws com.opcode.exception.InvalidRegisterException if a register index is out of range
+     */
+    public CheckpointedRun revise(long[] revised) {
+        int common = 0;
+        int limit = Math.min(program.length, revised.length);
+        while (common < limit && program[common] == revised[common]) {
+            common++;
+        }
+        int[][] revisedCheckpoints = new int[revised.length / interval + 1][];
+        int shared = common / interval;
+        System.arraycopy(checkpoints, 0, revisedCheckpoints, 0, shared + 1);
+        if (common == program.length) {
+            return resume(revised, registers, interval, revisedCheckpoints, result, common);
+        }
+        return resume(revised, registers, interval, revisedCheckpoints, checkpoints[shared], shared * interval);
+    }
+
+    private static CheckpointedRun resume(long[] program, int registers, int interval, int[][] checkpoints,
+                                          int[] state, int from) {
+        int[] values = state.clone();
+        for (int i = from; i < program.length; i++) {
+            PackedInstruction.validate(program[i], registers);
+            PackedInstruction.execute(program[i], values);
+            if ((i + 1) % interval == 0 && checkpoints[(i + 1) / interval] == null) {
+                checkpoints[(i + 1) / interval] = values.clone();
+            }
+        }
+        return new CheckpointedRun(program, registers, interval, checkpoints, values, from);
+    }
+
+    /**
+     * Gets the number of instructions of the program.
+     *
+     * @return the instruction count
+     */
+    public int getLength() {
+        return program.length;
+    }
+
+    /**
+     * Gets the index of the instruction this run started executing at; every instruction
+     * before it was covered by a checkpoint or the previous run.
+     *
+     * @return the index of the first executed instruction
+     */
+    public int getResumedAt() {
+        return resumedAt;
+    }
+
+    /**
+     * Gets the number of instructions this run executed.
+     *
+     * @return the executed instruction count
+     */
+    public int getExecutedInstructions() {
+        return program.length - resumedAt;
+    }
+
+    /**
+     * Gets the register values after the program.
+     *
+     * @return a copy of the final register values, indexed by register
+     */
+    public int[] getRegisters() {
+        return result.clone();
+    }
+}
@@ -0,0 +1,47 @@
+package com.opcode.core;
+
+/**
+ * Applies one register operation to a range of sessions laid out in {@link RegisterColumns}.
+ */
+interface ColumnKernel {
+
+    /**
+     * Sets every value of a column range to a constant.
+     *
+     * @param column the register column
+     * @param from the first session, inclusive
+     * @param to the last session, exclusive
+     * @param value the value to set
+     */
+    void fill(int[] column, int from, int to, int value);
+
+    /**
+     * Adds a constant to every value of a column range with 32-bit wrap-around.
+     *
+     * @param column the register column
+     * @param from the first session, inclusive
+     * @param to the last session, exclusive
+     * @param delta the value to add
+     */
+    void add(int[] column, int from, int to, int delta);
+
+    /**
+     * Adds the values of one column to another, session by session, with 32-bit wrap-around.
+     *
+     * @param target the column to add to
+     * @param source the column to add
+     * @param from the first session, inclusive
+     * @param to the last session, exclusive
+     */
+    void addColumn(int[] target, int[] source, int from, int to);
+
+    /**
+     * Copies the values of one column into another.
+     *
+     * @param target the column to copy to
+     * @param source the column to copy from
+     * @param from the first session, inclusive
+     * @param to the last session, exclusive
+     */
+    void copy(int[] target, int[] source, int from, int to);
+}
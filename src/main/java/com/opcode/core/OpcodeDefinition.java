@@ -0,0 +1,85 @@
+package com.opcode.core;
+
+import java.util.List;
+
+/**
+ * Defines an instruction opcode: its mnemonic, its operands and the register operation it
+ * performs.
+ * <p>
+ * Opcodes other than the {@link BuiltInOpcode built-in ones} are discovered with
+ * {@link java.util.ServiceLoader} by listing their implementing classes in
+ * {@code META-INF/services/com.opcode.core.OpcodeDefinition}. Every registered opcode is
+ * parsed, packed, executed and compiled by the same table-driven paths as the built-in ones.
+ * <p>
+ * An instruction other than a reset has one or two register operands and at most one value
+ * operand, given in the order of {@link #getOperands()}. The first register operand is the
+ * instruction's target and the second its source; see {@link PackedInstruction} for their
+ * packed layout.
+ */
+public interface OpcodeDefinition {
+
+    /**
+     * Gets the operation code used in packed instructions, between 1 and 255.
+     *
+     * @return the operation code
+     */
+    int getOperation();
+
+    /**
+     * Gets the mnemonic, in upper case. Instruction text matches it regardless of case.
+     *
+     * @return the mnemonic, e.g. {@code SET}
+     */
+    String getMnemonic();
+
+    /**
+     * Gets the kinds of the operands, in the order they are written.
+     *
+     * @return the operand kinds
+     */
+    List<OperandKind> getOperands();
+
+    /**
+     * Computes the new value of the target register. Not called for {@link #isReset() reset}
+     * opcodes.
+     *
+     * @param target the value of the target register
+     * @param source the value of the source register, or 0 if the opcode has no source operand
+     * @param value the value operand, or 0 if the opcode has none
+     * @return the new value of the target register
+     */
+    int apply(int target, int source, int value);
+
+    /**
+     * Checks whether the opcode only adds a value to its target register, i.e.
+     * {@code apply(target, source, value) == target + apply(0, 0, value)} for all arguments.
+     * Commutative instructions may run concurrently when the register manager uses striped
+     * increments.
+     *
+     * @return true if the opcode is commutative, false otherwise
+     */
+    default boolean isCommutative() {
+        return false;
+    }
+
+    /**
+     * Checks whether {@link #apply(int, int, int)} is an affine function of its arguments in
+     * 32-bit wrap-around arithmetic, i.e. a constant plus a multiple of each argument.
+     * Programs of affine opcodes can be compiled into an {@link AffineProgram}.
+     *
+     * @return true if the opcode is affine, false otherwise
+     */
+    default boolean isAffine() {
+        return false;
+    }
+
+    /**
+     * Checks whether the opcode resets every register to zero instead of writing its target.
+     * A reset opcode has no operands.
+     *
+     * @return true if the opcode is a reset, false otherwise
+     */
+    default boolean isReset() {
+        return false;
+    }
+}
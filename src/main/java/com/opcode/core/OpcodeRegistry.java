@@ -0,0 +1,220 @@
+package com.opcode.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Table of the opcodes known to the simulator, indexed by operation code and by mnemonic.
+ * <p>
+ * Mnemonics are resolved through a perfect hash table built once: the seed of the hash over
+ * the case-folded mnemonic characters is chosen so that no two mnemonics share a slot, so a
+ * lookup hashes the text once, compares it with at most one candidate and allocates nothing.
+ * <p>
+ * The {@link #getDefault() default registry} holds the {@link BuiltInOpcode}s and every
+ * {@link OpcodeDefinition} found by {@link ServiceLoader}.
+ */
+public final class OpcodeRegistry {
+
+    private static final int MAX_SEEDS_PER_SIZE = 1 << 12;
+
+    private final List<OpcodeDefinition> definitions;
+    private final OpcodeDefinition[] byOperation = new OpcodeDefinition[256];
+    private final int[] registerOperands = new int[256];
+    private final int[][] affineForms = new int[256][];
+    private final OpcodeDefinition[] byMnemonic;
+    private final int mask;
+    private final int seed;
+
+    /**
+     * Constructs a registry of the given opcodes.
+     *
+     * @param definitions the opcodes
+     * @throws IllegalArgumentException if an opcode is malformed, or two opcodes share an
+     *         operation code or mnemonic
+     */
+    public OpcodeRegistry(Collection<? extends OpcodeDefinition> definitions) {
+        this.definitions = List.copyOf(definitions);
+        for (OpcodeDefinition definition : this.definitions) {
+            register(definition);
+        }
+        int size = Integer.highestOneBit(Math.max(1, this.definitions.size())) << 2;
+        OpcodeDefinition[] table = null;
+        int candidate = 0;
+        while (table == null) {
+            table = place(candidate, size - 1);
+            if (table == null && ++candidate == MAX_SEEDS_PER_SIZE) {
+                candidate = 0;
+                size <<= 1;
+            }
+        }
+        this.byMnemonic = table;
+        this.mask = size - 1;
+        this.seed = candidate;
+    }
+
+    /**
+     * Gets the registry of the built-in opcodes and those provided through {@link ServiceLoader}.
+     *
+     * @return the default registry
+     */
+    public static OpcodeRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private void register(OpcodeDefinition definition) {
+        int operation = definition.getOperation();
+        String mnemonic = definition.getMnemonic();
+        if (operation < 1 || operation > 255) {
+            throw new IllegalArgumentException("Operation code out of range: " + operation);
+        }
+        if (byOperation[operation] != null) {
+            throw new IllegalArgumentException("Duplicate operation code: " + operation);
+        }
+        if (mnemonic == null || !mnemonic.matches("[A-Z][A-Z0-9]*")) {
+            throw new IllegalArgumentException("Invalid mnemonic: " + mnemonic);
+        }
+        for (OpcodeDefinition other : byOperation) {
+            if (other != null && other.getMnemonic().equals(mnemonic)) {
+                throw new IllegalArgumentException("Duplicate mnemonic: " + mnemonic);
+            }
+        }
+        int registers = 0;
+        int values = 0;
+        for (OperandKind operand : definition.getOperands()) {
+            if (operand == OperandKind.REGISTER) {
+                registers++;
+            } else {
+                values++;
+            }
+        }
+        if (registers > 2 || values > 1 || (definition.isReset() ? registers + values > 0 : registers == 0)) {
+            throw new IllegalArgumentException("Unsupported operands of " + mnemonic + ": " + definition.getOperands());
+        }
+        byOperation[operation] = definition;
+        registerOperands[operation] = registers;
+        if (definition.isAffine() && !definition.isReset()) {
+            // Without a source operand the source is always 0, whatever apply would make of it
+            int constant = definition.apply(0, 0, 0);
+            affineForms[operation] = new int[]{constant, definition.apply(1, 0, 0) - constant,
+                registers > 1 ? definition.apply(0, 1, 0) - constant : 0, definition.apply(0, 0, 1) - constant};
+        }
+    }
+
+    private OpcodeDefinition[] place(int candidate, int candidateMask) {
+        OpcodeDefinition[] table = new OpcodeDefinition[candidateMask + 1];
+        for (OpcodeDefinition definition : definitions) {
+            String mnemonic = definition.getMnemonic();
+            int slot = hash(candidate, mnemonic, 0, mnemonic.length()) & candidateMask;
+            if (table[slot] != null) {
+                return null;
+            }
+            table[slot] = definition;
+        }
+        return table;
+    }
+
+    private static int hash(int seed, CharSequence text, int from, int to) {
+        int hash = 0x811C_9DC5 ^ seed;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ fold(text.charAt(i))) * 0x0100_0193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static char fold(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    /**
+     * Finds the opcode whose mnemonic matches a range of text, ignoring case.
+     *
+     * @param text the text
+     * @param from the start of the mnemonic, inclusive
+     * @param to the end of the mnemonic, exclusive
+     * @return the opcode, or null if no mnemonic matches
+     */
+    public OpcodeDefinition find(CharSequence text, int from, int to) {
+        OpcodeDefinition candidate = byMnemonic[hash(seed, text, from, to) & mask];
+        if (candidate == null) {
+            return null;
+        }
+        String mnemonic = candidate.getMnemonic();
+        if (mnemonic.length() != to - from) {
+            return null;
+        }
+        for (int i = 0; i < mnemonic.length(); i++) {
+            if (fold(text.charAt(from + i)) != mnemonic.charAt(i)) {
+                return null;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Finds the opcode with a mnemonic, ignoring case.
+     *
+     * @param mnemonic the mnemonic
+     * @return the opcode, or null if no mnemonic matches
+     */
+    public OpcodeDefinition find(String mnemonic) {
+        return find(mnemonic, 0, mnemonic.length());
+    }
+
+    /**
+     * Gets the opcode with an operation code.
+     *
+     * @param operation the operation code
+     * @return the opcode, or null if no opcode has the code
+     */
+    public OpcodeDefinition get(int operation) {
+        return operation >= 0 && operation < byOperation.length ? byOperation[operation] : null;
+    }
+
+    /**
+     * Gets all registered opcodes.
+     *
+     * @return the opcodes, in registration order
+     */
+    public List<OpcodeDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * Gets the number of register operands of a registered operation.
+     *
+     * @param operation the operation code
+     * @return the number of register operands
+     */
+    int registerOperands(int operation) {
+        return registerOperands[operation];
+    }
+
+    /**
+     * Gets the affine form of a registered operation, i.e. the constant and the factors of the
+     * target, source and value with which {@link OpcodeDefinition#apply(int, int, int)} combines
+     * its arguments.
+     *
+     * @param operation the operation code
+     * @return the constant, target, source and value factors, or null if the operation is a
+     *         reset or not affine
+     */
+    int[] affineForm(int operation) {
+        return affineForms[operation];
+    }
+
+    private static final class DefaultHolder {
+
+        private static final OpcodeRegistry INSTANCE = load();
+
+        private static OpcodeRegistry load() {
+            List<OpcodeDefinition> definitions = new ArrayList<>(List.of(BuiltInOpcode.values()));
+            for (OpcodeDefinition definition : ServiceLoader.load(OpcodeDefinition.class,
+                    OpcodeRegistry.class.getClassLoader())) {
+                definitions.add(definition);
+            }
+            return new OpcodeRegistry(definitions);
+        }
+    }
+}
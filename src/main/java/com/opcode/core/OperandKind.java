@@ -0,0 +1,13 @@
+package com.opcode.core;
+
+/**
+ * Kind of an operand of an {@link OpcodeDefinition}.
+ */
+public enum OperandKind {
+
+    /** A register name, packed as a register index. */
+    REGISTER,
+
+    /** A 32-bit signed integer, packed as the immediate value. */
+    VALUE
+}
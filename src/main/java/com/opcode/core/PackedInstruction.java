@@ -0,0 +1,197 @@
+package com.opcode.core;
+
+import com.opcode.exception.InvalidInstructionException;
+import com.opcode.exception.InvalidRegisterException;
+import java.util.Arrays;
+
+/**
+ * Packs an instruction into a single {@code long} that executes without parsing or allocation.
+ * <p>
+ * Bits 56-63 hold the operation, bits 48-55 the target register index, bits 40-47 the source
+ * register index and bits 0-31 the immediate value. Register indices are the dense indices of
+ * the register manager's {@link RegisterLayout}. Unused fields are zero.
+ * <p>
+ * Operations are the codes of the opcodes in the {@link OpcodeRegistry}; the constants below
+ * are those of the {@link BuiltInOpcode}s. An opcode's first register operand is packed as the
+ * target, its second as the source and its value operand as the immediate.
+ */
+public final class PackedInstruction {
+
+    /** Operation of {@code SET target value}. */
+    public static final int SET = 1;
+    /** Operation of {@code ADR target source}. */
+    public static final int ADR = 2;
+    /** Operation of {@code ADD target value}. */
+    public static final int ADD = 3;
+    /** Operation of {@code MOV target source}. */
+    public static final int MOV = 4;
+    /** Operation of {@code INR target}. */
+    public static final int INR = 5;
+    /** Operation of {@code DCR target}. */
+    public static final int DCR = 6;
+    /** Operation of {@code RST}. */
+    public static final int RST = 7;
+
+    private PackedInstruction() {
+    }
+
+    /**
+     * Packs an instruction.
+     *
+     * @param operation the operation
+     * @param target the target register index
+     * @param source the source register index
+     * @param value the immediate value
+     * @return the packed instruction
+     */
+    public static long pack(int operation, int target, int source, int value) {
+        return ((long) (operation & 0xFF) << 56)
+            | ((long) (target & 0xFF) << 48)
+            | ((long) (source & 0xFF) << 40)
+            | (value & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Gets the operation of a packed instruction.
+     *
+     * @param instruction the packed instruction
+     * @return the operation
+     */
+    public static int operation(long instruction) {
+        return (int) (instruction >>> 56);
+    }
+
+    /**
+     * Gets the target register index of a packed instruction.
+     *
+     * @param instruction the packed instruction
+     * @return the target register index
+     */
+    public static int target(long instruction) {
+        return (int) (instruction >>> 48) & 0xFF;
+    }
+
+    /**
+     * Gets the source register index of a packed instruction.
+     *
+     * @param instruction the packed instruction
+     * @return the source register index
+     */
+    public static int source(long instruction) {
+        return (int) (instruction >>> 40) & 0xFF;
+    }
+
+    /**
+     * Gets the immediate value of a packed instruction.
+     *
+     * @param instruction the packed instruction
+     * @return the immediate value
+     */
+    public static int value(long instruction) {
+        return (int) instruction;
+    }
+
+    /**
+     * Checks whether a packed instruction only adds a value to a single register.
+     *
+     * @param instruction the packed instruction
+     * @return true if its opcode is {@link OpcodeDefinition#isCommutative() commutative}, false
+     *         otherwise
+     */
+    public static boolean isCommutative(long instruction) {
+        OpcodeDefinition definition = OpcodeRegistry.getDefault().get(operation(instruction));
+        return definition != null && definition.isCommutative();
+    }
+
+    /**
+     * Checks that a packed instruction has a known operation and names existing registers.
+     *
+     * @param instruction the packed instruction
+     * @param registers the number of registers
+     * @throws InvalidInstructionException if the operation is unknown
+     * @throws InvalidRegisterException if a register index is out of range
+     */
+    static void validate(long instruction, int registers) {
+        OpcodeRegistry registry = OpcodeRegistry.getDefault();
+        int operation = operation(instruction);
+        if (registry.get(operation) == null) {
+            throw new InvalidInstructionException("Unknown instruction operation: " + operation);
+        }
+        int registerOperands = registry.registerOperands(operation);
+        if (registerOperands > 0 && target(instruction) >= registers) {
+            throw new InvalidRegisterException("Invalid register index: " + target(instruction));
+        }
+        if (registerOperands > 1 && source(instruction) >= registers) {
+            throw new InvalidRegisterException("Invalid register index: " + source(instruction));
+        }
+    }
+
+    /**
+     * Executes a validated packed instruction on a register manager. Commutative instructions
+     * add to their target, so they may run concurrently in striped-increment mode. Affine
+     * instructions that keep their target and add to it, such as ADR, are written as additions
+     * as well, so that write listeners see the added delta.
+     *
+     * @param instruction the packed instruction
+     * @param registerManager the register manager to execute the instruction on
+     * @return the value of the target register after the instruction, or 0 for a reset
+     */
+    static int execute(long instruction, RegisterManager registerManager) {
+        OpcodeRegistry registry = OpcodeRegistry.getDefault();
+        int operation = operation(instruction);
+        OpcodeDefinition definition = registry.get(operation);
+        int target = target(instruction);
+        if (definition.isReset()) {
+            registerManager.reset();
+            return 0;
+        }
+        int[] form = registry.affineForm(operation);
+        if (definition.isCommutative()) {
+            registerManager.add(target, definition.apply(0, 0, value(instruction)));
+            return registerManager.get(target);
+        }
+        int source = registry.registerOperands(operation) > 1 ? registerManager.get(source(instruction)) : 0;
+        if (form != null && form[1] == 1) {
+            registerManager.add(target, definition.apply(0, source, value(instruction)));
+        } else {
+            registerManager.set(target, definition.apply(registerManager.get(target), source, value(instruction)));
+        }
+        return registerManager.get(target);
+    }
+
+    /**
+     * Executes packed instructions on plain register values, outside of any register manager.
+     *
+     * @param program the packed instructions, in order
+     * @param values the register values, indexed by register, updated in place
+     * @throws InvalidInstructionException if an operation is unknown
+     * @throws InvalidRegisterException if a register index is out of range
+     */
+    public static void executeAll(long[] program, int[] values) {
+        for (long instruction : program) {
+            validate(instruction, values.length);
+        }
+        for (long instruction : program) {
+            execute(instruction, values);
+        }
+    }
+
+    /**
+     * Executes a validated packed instruction on plain register values.
+     *
+     * @param instruction the packed instruction
+     * @param values the register values, indexed by register
+     */
+    static void execute(long instruction, int[] values) {
+        OpcodeRegistry registry = OpcodeRegistry.getDefault();
+        int operation = operation(instruction);
+        OpcodeDefinition definition = registry.get(operation);
+        if (definition.isReset()) {
+            Arrays.fill(values, 0);
+            return;
+        }
+        int target = target(instruction);
+        int source = registry.registerOperands(operation) > 1 ? values[source(instruction)] : 0;
+        values[target] = definition.apply(values[target], source, value(instruction));
+    }
+}
@@ -0,0 +1,300 @@
+package com.opcode.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of the register values after programs of {@link PackedInstruction}s that start
+ * from zeroed registers, organized as a trie over the instructions.
+ * <p>
+ * Every node stands for the instructions on its path from the root. Since an instruction other
+ * than a reset writes only its target register, a node stores just the value its instruction
+ * wrote, and a lookup rebuilds the register values while it walks the matched path. The trie
+ * never executes instructions itself: callers {@link #insert insert} the values a processor
+ * computed while executing the instructions after the matched prefix, at most
+ * {@link #getMaxInsertions()} of them per lookup, so a long common prefix is learned over a few
+ * lookups rather than flooding the cache at once.
+ * <p>
+ * Nodes are kept in one {@link ConcurrentHashMap} keyed by a hash of their prefix, and a node
+ * found under a hash is only taken if its parent and instruction match, so lookups and
+ * insertions run concurrently without holding a lock. Every lookup counts a use of the deepest
+ * matched node. Leaves are kept in a clock queue: when the trie outgrows its capacity, the thread
+ * that inserted takes leaves from the queue, halving the count of a used leaf and requeueing it
+ * and evicting an unused one, whose parent joins the queue once it has become a leaf itself.
+ * Eviction only runs on one thread at a time and does work proportional to the excess, so the
+ * trie may briefly exceed its capacity while other threads insert.
+ */
+public final class PrefixTrie {
+
+    private static final int MAX_INSERTIONS = 64;
+    private static final long ROOT_HASH = 0x6A09_E667_F3BC_C908L;
+    private static final int EVICTED = -1;
+    private static final AtomicIntegerFieldUpdater<Node> USES =
+        AtomicIntegerFieldUpdater.newUpdater(Node.class, "uses");
+    private static final AtomicIntegerFieldUpdater<Node> CHILDREN =
+        AtomicIntegerFieldUpdater.newUpdater(Node.class, "children");
+
+    private final int registers;
+    private final int maxNodes;
+    private final Node root = new Node(null, ROOT_HASH, 0, false, 0);
+    private final ConcurrentHashMap<Long, Node> nodes = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Node> leaves = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder skippedInstructions = new LongAdder();
+
+    /**
+     * Constructs an empty trie.
+     *
+     * @param registers the number of registers
+     * @param maxNodes the maximum number of cached prefixes
+     * @throws IllegalArgumentException if the maximum is not positive
+     */
+    public PrefixTrie(int registers, int maxNodes) {
+        if (maxNodes <= 0) {
+            throw new IllegalArgumentException("Max nodes must be positive");
+        }
+        this.registers = registers;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Finds the longest cached prefix of a program that starts from zeroed registers.
+     *
+     * @param program the packed instructions, in order
+     * @param length the number of instructions of the program
+     * @return the matched prefix with the register values after it
+     */
+    public Match lookup(long[] program, int length) {
+        lookups.increment();
+        int[] values = new int[registers];
+        Node node = root;
+        int matched = 0;
+        while (matched < length) {
+            Node child = child(node, program[matched]);
+            if (child == null) {
+                break;
+            }
+            if (child.reset) {
+                Arrays.fill(values, 0);
+            } else {
+                values[PackedInstruction.target(child.instruction)] = child.value;
+            }
+            node = child;
+            matched++;
+        }
+        if (matched > 0) {
+            USES.incrementAndGet(node);
+            hits.increment();
+            skippedInstructions.add(matched);
+        }
+        return new Match(node, matched, values);
+    }
+
+    /**
+     * Caches the prefixes that extend a matched prefix by the instructions following it.
+     * The instructions must have been executed in order right after the matched prefix, from
+     * the register values it reported, and at most {@link #getMaxInsertions()} are cached.
+     *
+     * @param match the matched prefix
+     * @param program the packed instructions, in order
+     * @param written the value of the target register after each instruction following the
+     *        matched prefix, ignored for resets
+     * @param count the number of instructions to cache
+     */
+    public void insert(Match match, long[] program, int[] written, int count) {
+        Node node = match.node;
+        int end = match.length + Math.min(count, getMaxInsertions());
+        OpcodeRegistry registry = OpcodeRegistry.getDefault();
+        for (int i = match.length; i < end && node != null; i++) {
+            long instruction = program[i];
+            Node child = child(node, instruction);
+            if (child == null) {
+                boolean reset = registry.get(PackedInstruction.operation(instruction)).isReset();
+                child = add(node, instruction, reset, written[i - match.length]);
+            }
+            node = child;
+        }
+        if (size.get() > maxNodes) {
+            evict();
+        }
+    }
+
+    /**
+     * Gets the maximum number of prefixes a single {@link #insert insertion} caches: a quarter
+     * of the capacity, and no more than {@value #MAX_INSERTIONS}.
+     *
+     * @return the maximum number of insertions per lookup
+     */
+    public int getMaxInsertions() {
+        return Math.max(1, Math.min(MAX_INSERTIONS, maxNodes / 4));
+    }
+
+    private Node child(Node parent, long instruction) {
+        Node child = nodes.get(hash(parent.hash, instruction));
+        return child != null && child.parent == parent && child.instruction == instruction ? child : null;
+    }
+
+    /**
+     * Adds a child to a node, unless the node was evicted or its prefix hash is taken.
+     *
+     * @return the child now cached under the node, or null if none could be added
+     */
+    private Node add(Node parent, long instruction, boolean reset, int value) {
+        int children;
+        do {
+            children = parent.children;
+            if (children == EVICTED) {
+                return null;
+            }
+        } while (!CHILDREN.compareAndSet(parent, children, children + 1));
+        Node child = new Node(parent, hash(parent.hash, instruction), instruction, reset, value);
+        Node existing = nodes.putIfAbsent(child.hash, child);
+        if (existing != null) {
+            if (CHILDREN.decrementAndGet(parent) == 0 && parent != root) {
+                leaves.add(parent);
+            }
+            return existing.parent == parent && existing.instruction == instruction ? existing : null;
+        }
+        size.incrementAndGet();
+        leaves.add(child);
+        return child;
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = size.get() - maxNodes;
+            for (int budget = 4 * excess + MAX_INSERTIONS; excess > 0 && budget > 0; budget--) {
+                Node leaf = leaves.poll();
+                if (leaf == null) {
+                    return;
+                }
+                if (leaf.children != 0) {
+                    // Evicted already, or an inner node again; it is requeued when it becomes a leaf
+                    continue;
+                }
+                if (USES.getAndUpdate(leaf, uses -> uses >>> 1) > 0) {
+                    leaves.add(leaf);
+                } else if (CHILDREN.compareAndSet(leaf, 0, EVICTED)) {
+                    nodes.remove(leaf.hash, leaf);
+                    size.decrementAndGet();
+                    excess--;
+                    if (CHILDREN.decrementAndGet(leaf.parent) == 0 && leaf.parent != root) {
+                        leaves.add(leaf.parent);
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static long hash(long parentHash, long instruction) {
+        long hash = (parentHash ^ instruction) * 0x9E37_79B9_7F4A_7C15L;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58_476D_1CE4_E5B9L;
+        return hash ^ (hash >>> 32);
+    }
+
+    /**
+     * Gets the number of cached prefixes.
+     *
+     * @return the node count
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the number of lookups so far.
+     *
+     * @return the lookup count
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * Gets the number of lookups that matched a prefix of at least one instruction.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the total number of instructions covered by matched prefixes.
+     *
+     * @return the skipped instruction count
+     */
+    public long getSkippedInstructions() {
+        return skippedInstructions.sum();
+    }
+
+    /**
+     * The longest cached prefix of a program.
+     */
+    public static final class Match {
+
+        private final Node node;
+        private final int length;
+        private final int[] values;
+
+        private Match(Node node, int length, int[] values) {
+            this.node = node;
+            this.length = length;
+            this.values = values;
+        }
+
+        /**
+         * Gets the number of instructions of the matched prefix.
+         *
+         * @return the prefix length
+         */
+        public int length() {
+            return length;
+        }
+
+        /**
+         * Gets the register values after the matched prefix, all zero if nothing matched.
+         *
+         * @return the register values, indexed by register
+         */
+        public int[] values() {
+            return values;
+        }
+    }
+
+    /**
+     * A cached prefix: the node of its last instruction.
+     */
+    private static final class Node {
+
+        private final Node parent;
+        private final long hash;
+        private final long instruction;
+        private final boolean reset;
+        private final int value;
+        private volatile int uses = 1;
+        private volatile int children;
+
+        private Node(Node parent, long hash, long instruction, boolean reset, int value) {
+            this.parent = parent;
+            this.hash = hash;
+            this.instruction = instruction;
+            this.reset = reset;
+            this.value = value;
+        }
+    }
+}
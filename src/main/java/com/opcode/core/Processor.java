@@ -1,20 +1,45 @@
 package com.opcode.core;
 
+import com.opcode.config.OpcodeProperties;
+import com.opcode.exception.HistoryUnavailableException;
+import com.opcode.exception.InvalidRegisterException;
+import com.opcode.exception.UndoUnavailableException;
 import com.opcode.instruction.Instruction;
 import com.opcode.parser.InstructionParser;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * Facade for the microprocessor simulator.
  * Coordinates parsing and execution of instructions and provides access to register values.
+ * <p>
+ * Instructions normally execute under an exclusive lock. When the register manager runs in
+ * striped-increment mode, commutative instructions (ADD, INR, DCR) only take the shared side of
+ * the lock and update striped cells, so they never wait for each other. Reads are optimistic and
+ * retry under the shared lock if an exclusive instruction ran concurrently; see
+ * {@link RegisterManager} for the consistency they provide.
+ * <p>
+ * A processor may record a {@link RegisterHistory} of its mutations, which allows reading the
+ * register values as of any retained sequence number. Recording needs the exact value of every
+ * write, so commutative instructions then execute exclusively as well. The same holds for the
+ * bounded {@link UndoLog} that allows reverting the most recent mutations.
  */
 @Component
 public class Processor {
-    
+
     private final RegisterManager registerManager;
     private final InstructionParser parser;
-    
+    private final RegisterHistory history;
+    private final UndoLog undoLog;
+    private final StampedLock lock = new StampedLock();
+    private volatile Thread exclusiveOwner;
+
     /**
      * Constructs a new Processor with the specified dependencies.
      *
@@ -22,10 +47,52 @@ public class Processor {
      * @param parser the instruction parser to use
      */
     public Processor(RegisterManager registerManager, InstructionParser parser) {
+        this(registerManager, parser, null, null);
+    }
+
+    /**
+     * Constructs a new Processor that records a history and an undo log of its mutations
+     * as configured by the simulator properties.
+     *
+     * @param registerManager the register manager to use
+     * @param parser the instruction parser to use
+     * @param properties the simulator configuration
+     */
+    @Autowired
+    public Processor(RegisterManager registerManager, InstructionParser parser, OpcodeProperties properties) {
+        this(registerManager, parser, createHistory(registerManager, properties.getHistory()),
+            properties.getUndo().getCapacity() > 0 ? new UndoLog(properties.getUndo().getCapacity()) : null);
+    }
+
+    /**
+     * Constructs a new Processor with the specified dependencies.
+     *
+     * @param registerManager the register manager to use
+     * @param parser the instruction parser to use
+     * @param history the history recording the register manager's writes, or null to record none
+     * @param undoLog the undo log recording the register manager's writes, or null to disable undo
+     */
+    public Processor(RegisterManager registerManager, InstructionParser parser,
+                     RegisterHistory history, UndoLog undoLog) {
         this.registerManager = registerManager;
         this.parser = parser;
+        this.history = history;
+        this.undoLog = undoLog;
+        if (history != null) {
+            registerManager.addWriteListener(history);
+        }
+        if (undoLog != null) {
+            registerManager.addWriteListener(undoLog);
+        }
     }
-    
+
+    private static RegisterHistory createHistory(RegisterManager registerManager, OpcodeProperties.History settings) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        return new RegisterHistory(registerManager.snapshot(), settings.getCheckpointInterval(), settings.getRetention());
+    }
+
     /**
      * Executes a single instruction.
      *
@@ -33,9 +100,257 @@ public class Processor {
      */
     public void executeInstruction(String instructionText) {
         Instruction instruction = parser.parse(instructionText);
-        instruction.execute(registerManager);
+        execute(instruction.isCommutative(), () -> instruction.execute(registerManager));
+    }
+
+    /**
+     * Executes a single instruction if it may run concurrently with other instructions, i.e. it
+     * is commutative and the register manager currently {@link RegisterManager#supportsConcurrentAdds()
+     * supports concurrent additions}. Otherwise nothing is executed, so callers can serialize
+     * the instruction themselves.
+     *
+     * @param instructionText the instruction to execute
+     * @return true if the instruction was executed, false if it needs the exclusive lock
+     */
+    public boolean executeIfConcurrent(String instructionText) {
+        if (!registerManager.supportsConcurrentAdds()) {
+            return false;
+        }
+        Instruction instruction = parser.parse(instructionText);
+        if (!instruction.isCommutative()) {
+            return false;
+        }
+        execute(true, () -> instruction.execute(registerManager));
+        return true;
+    }
+
+    /**
+     * Executes a {@link PackedInstruction} and returns the value of its target register right
+     * after it executed, or 0 for RST. In striped-increment mode, the value returned for a
+     * commutative instruction may include concurrent increments.
+     *
+     * @param instruction the packed instruction
+     * @return the value of the target register after the instruction
+     * @throws com.opcode.exception.InvalidInstructionException if the operation is unknown
+     * @throws InvalidRegisterException if a register index is out of range
+     */
+    public int executePacked(long instruction) {
+        PackedInstruction.validate(instruction, registerManager.size());
+        int[] result = new int[1];
+        execute(PackedInstruction.isCommutative(instruction),
+            () -> result[0] = PackedInstruction.execute(instruction, registerManager));
+        return result[0];
+    }
+
+    /**
+     * Copies the values of all registers into an array, materializing any pending bulk reset
+     * first, and returns the state version they were read at.
+     *
+     * @param values the array receiving the values, indexed by register
+     * @return the state version of the copied values
+     */
+    public long captureRegisters(int[] values) {
+        long[] version = new long[1];
+        executeExclusively(() -> {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = registerManager.get(i);
+            }
+            version[0] = registerManager.getVersion();
+        });
+        return version[0];
+    }
+
+    /**
+     * Writes register values computed from a {@link #captureRegisters(int[]) captured} state,
+     * unless the state has changed since it was captured. Only registers whose value differs
+     * are written.
+     *
+     * @param version the state version returned when the state was captured
+     * @param values the new values, indexed by register
+     * @return true if the values were written, false if the state had changed
+     */
+    public boolean replaceRegisters(long version, int[] values) {
+        boolean[] replaced = new boolean[1];
+        executeExclusively(() -> {
+            if (registerManager.getVersion() != version) {
+                return;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (registerManager.get(i) != values[i]) {
+                    registerManager.set(i, values[i]);
+                }
+            }
+            replaced[0] = true;
+        });
+        return replaced[0];
+    }
+
+    /**
+     * Checks whether this processor records every mutation as a step of a history or an undo
+     * log. Shortcuts that write the effect of several instructions at once, such as
+     * {@link #replaceRegisters(long, int[])}, would then change what a sequence number or an
+     * undo step refers to, so callers must execute instruction by instruction instead.
+     *
+     * @return true if mutations are recorded one by one, false otherwise
+     */
+    public boolean isRecordingMutations() {
+        return history != null || undoLog != null;
+    }
+
+    /**
+     * Gets the number of registers.
+     *
+     * @return the register count
+     */
+    public int getRegisterCount() {
+        return registerManager.size();
+    }
+
+    /**
+     * Gets the dense index of a register.
+     *
+     * @param register the register name
+     * @return the register index
+     * @throws InvalidRegisterException if the register name is invalid
+     */
+    public int indexOf(String register) {
+        return registerManager.indexOf(register);
+    }
+
+    /**
+     * Converts register values indexed by register into a map keyed by register name.
+     *
+     * @param values the register values, which must not be modified afterwards
+     * @return an unmodifiable map of register names to their values, in register order
+     */
+    public Map<String, Integer> toRegisterMap(int[] values) {
+        return registerManager.toMap(values);
+    }
+
+    private void execute(boolean commutative, Runnable execution) {
+        if (ownsExclusiveLock()) {
+            execution.run();
+            return;
+        }
+        if (commutative && registerManager.supportsConcurrentAdds() && executeShared(execution)) {
+            return;
+        }
+        executeExclusively(execution);
+    }
+
+    /**
+     * Runs an action while holding the processor's exclusive lock, so that no other
+     * instruction can interleave with the instructions the action executes.
+     * The action may itself call {@link #executeInstruction(String)} and the register accessors.
+     *
+     * @param action the action to run exclusively
+     */
+    public void executeExclusively(Runnable action) {
+        if (ownsExclusiveLock()) {
+            action.run();
+            return;
+        }
+        long stamp = lock.writeLock();
+        exclusiveOwner = Thread.currentThread();
+        try {
+            registerManager.materializeReset();
+            action.run();
+        } finally {
+            registerManager.commitWrites();
+            exclusiveOwner = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Attaches a listener that is notified of every subsequent write to this processor's registers
+     * and of the end of every exclusive section that wrote. While a listener is attached,
+     * commutative instructions execute exclusively.
+     *
+     * @param listener the listener to attach
+     */
+    public void addWriteListener(RegisterWriteListener listener) {
+        executeExclusively(() -> registerManager.addWriteListener(listener));
+    }
+
+    /**
+     * Applies a pending bulk reset to the registers now instead of on the next write, so that
+     * write listeners are told about it.
+     */
+    public void materializeReset() {
+        if (registerManager.isResetPending()) {
+            executeExclusively(registerManager::materializeReset);
+        }
+    }
+
+    /**
+     * Detaches a listener attached with {@link #addWriteListener(RegisterWriteListener)}.
+     *
+     * @param listener the listener to detach
+     */
+    public void removeWriteListener(RegisterWriteListener listener) {
+        executeExclusively(() -> registerManager.removeWriteListener(listener));
+    }
+
+    /**
+     * Forks this processor into independent children that start from its current register values.
+     * The parent's state is captured atomically and shared copy-on-write with every child, so the
+     * cost per child does not depend on how much state the parent has. A child's history starts at
+     * the parent's head sequence number and refers to the parent for everything before it; its undo
+     * log starts empty.
+     *
+     * @param count the number of children to create
+     * @param childGeneration the reset generation the children are attached to
+     * @return the child processors
+     */
+    public List<Processor> fork(int count, ResetGeneration childGeneration) {
+        List<Processor> children = new ArrayList<>(count);
+        executeExclusively(() -> {
+            for (int i = 0; i < count; i++) {
+                RegisterManager childRegisters = registerManager.fork(childGeneration);
+                RegisterHistory childHistory = history != null ? history.fork() : null;
+                UndoLog childUndoLog = undoLog != null ? new UndoLog(undoLog.getCapacity()) : null;
+                children.add(new Processor(childRegisters, parser, childHistory, childUndoLog));
+            }
+        });
+        return children;
     }
-    
+
+    /**
+     * Reverts the most recent mutations, newest first.
+     *
+     * @param steps the number of mutations to revert
+     * @throws UndoUnavailableException if undo is disabled or fewer than {@code steps}
+     *         mutations are recorded
+     */
+    public void undo(int steps) {
+        if (undoLog == null) {
+            throw new UndoUnavailableException("Undo is not enabled");
+        }
+        executeExclusively(() -> undoLog.undo(registerManager, steps));
+    }
+
+    /**
+     * Executes a commutative instruction under the shared lock. A register file with a pending
+     * bulk reset has to be cleared exclusively first, in which case nothing is executed.
+     *
+     * @param execution the execution of the commutative instruction
+     * @return true if the instruction was executed, false if it needs the exclusive lock
+     */
+    private boolean executeShared(Runnable execution) {
+        long stamp = lock.readLock();
+        try {
+            // A listener may have been attached since the caller checked
+            if (registerManager.isResetPending() || !registerManager.supportsConcurrentAdds()) {
+                return false;
+            }
+            execution.run();
+            return true;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
     /**
      * Gets the value of a specific register.
      *
@@ -43,15 +358,130 @@ public class Processor {
      * @return the value of the register
      */
     public Integer getRegisterValue(String register) {
-        return registerManager.getValue(register);
+        return read(() -> registerManager.getValue(register));
     }
-    
+
     /**
-     * Gets the values of all registers.
+     * Gets a snapshot of the values of all registers.
      *
      * @return a map of register names to their values
      */
     public Map<String, Integer> getAllRegisterValues() {
-        return registerManager.getAllRegisters();
+        return read(registerManager::getAllRegisters);
+    }
+
+    /**
+     * Gets the selected register values together with the version they were read at.
+     *
+     * @param selection the registers to include
+     * @param requestVersion the state version right before the request executed, used by
+     *        selections of changed registers, or {@link RegisterSelection#NO_VERSION}
+     * @return the selected register values
+     */
+    public RegisterProjection getRegisterValues(RegisterSelection selection, long requestVersion) {
+        long changedSince = selection.changedSince(requestVersion);
+        return read(() -> registerManager.project(selection, changedSince));
+    }
+
+    /**
+     * Resolves request options into a selection of this processor's registers.
+     *
+     * @param registers the names of the registers to include, or null for all registers
+     * @param changedOnly whether to include only registers changed by the request
+     * @param sinceVersion the version to include changes since, or null for no such filter
+     * @return the register selection
+     * @throws InvalidRegisterException if a register name is invalid
+     */
+    public RegisterSelection selectRegisters(Collection<String> registers, boolean changedOnly, Long sinceVersion) {
+        return registerManager.select(registers, changedOnly, sinceVersion);
+    }
+
+    /**
+     * Gets the version of the register state, which changes whenever any register may have changed.
+     *
+     * @return the state version
+     */
+    public long getStateVersion() {
+        return read(registerManager::getVersion);
+    }
+
+    /**
+     * Gets the values of all registers as of a sequence number of the recorded history.
+     * Reading at the head sequence number returns the current values.
+     *
+     * @param seq the sequence number
+     * @return a map of register names to their values at that point
+     * @throws HistoryUnavailableException if no history is recorded, or the sequence number
+     *         is in the future or was compacted
+     */
+    public Map<String, Integer> getAllRegisterValuesAt(long seq) {
+        RegisterHistory recorded = requireHistory();
+        long stamp = lock.readLock();
+        try {
+            if (seq == recorded.getHeadSeq()) {
+                return registerManager.getAllRegisters();
+            }
+            return registerManager.toMap(recorded.stateAt(seq));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the sequence number of the most recent recorded mutation.
+     *
+     * @return the head sequence number
+     * @throws HistoryUnavailableException if no history is recorded
+     */
+    public long getHeadSeq() {
+        return requireHistory().getHeadSeq();
+    }
+
+    /**
+     * Gets the oldest sequence number whose register values can still be read.
+     *
+     * @return the oldest retained sequence number
+     * @throws HistoryUnavailableException if no history is recorded
+     */
+    public long getOldestSeq() {
+        return requireHistory().getOldestSeq();
+    }
+
+    private RegisterHistory requireHistory() {
+        if (history == null) {
+            throw new HistoryUnavailableException("Register history is not enabled");
+        }
+        return history;
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        if (ownsExclusiveLock()) {
+            return reader.get();
+        }
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T value = reader.get();
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                // A concurrent writer may leave the state momentarily inconsistent;
+                // only report the failure if it reproduces under the shared lock.
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean ownsExclusiveLock() {
+        return exclusiveOwner == Thread.currentThread();
     }
 }
@@ -0,0 +1,144 @@
+package com.opcode.core;
+
+/**
+ * The registers of many sessions laid out as struct-of-arrays: one {@code int[]} column per
+ * register, indexed by session. A program of {@link PackedInstruction}s executes on all sessions
+ * at once, each instruction as one loop over a column, which the CPU can run with SIMD
+ * instructions.
+ * <p>
+ * Sessions are processed in blocks small enough for the columns of a block to stay in the L1
+ * cache while every instruction of the program runs over them. The loops use the
+ * {@code jdk.incubator.vector} API when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, and plain loops otherwise. {@link
+ * OpcodeDefinition#isAffine() Affine} opcodes that amount to a fill, an addition, or a column
+ * copy or addition run on these loops; any other opcode applies its definition session by session.
+ */
+public final class RegisterColumns {
+
+    private static final int BLOCK_SIZE = 2048;
+    private static final ColumnKernel SCALAR_KERNEL = new ScalarColumnKernel();
+    private static final ColumnKernel VECTOR_KERNEL = loadVectorKernel();
+
+    private final int[][] columns;
+    private final int size;
+
+    /**
+     * Constructs columns for the given number of sessions, with all registers set to zero.
+     *
+     * @param registers the number of registers per session
+     * @param size the number of sessions
+     */
+    public RegisterColumns(int registers, int size) {
+        this.columns = new int[registers][size];
+        this.size = size;
+    }
+
+    private static ColumnKernel loadVectorKernel() {
+        try {
+            return new VectorColumnKernel();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the {@code jdk.incubator.vector} module is available to this JVM.
+     *
+     * @return true if programs can execute with explicit SIMD vectors, false otherwise
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_KERNEL != null;
+    }
+
+    /**
+     * Gets the number of sessions.
+     *
+     * @return the session count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the register values of one session into the columns.
+     *
+     * @param session the session index
+     * @param values the register values, indexed by register
+     */
+    public void setRow(int session, int[] values) {
+        for (int register = 0; register < columns.length; register++) {
+            columns[register][session] = values[register];
+        }
+    }
+
+    /**
+     * Copies the register values of one session out of the columns.
+     *
+     * @param session the session index
+     * @param values the array receiving the register values, indexed by register
+     */
+    public void getRow(int session, int[] values) {
+        for (int register = 0; register < columns.length; register++) {
+            values[register] = columns[register][session];
+        }
+    }
+
+    /**
+     * Executes a program on every session.
+     *
+     * @param program the packed instructions, in order
+     * @param vectorized whether to use the vector API if it is available
+     * @throws com.opcode.exception.InvalidInstructionException if an operation is unknown
+     * @throws com.opcode.exception.InvalidRegisterException if a register index is out of range
+     */
+    public void execute(long[] program, boolean vectorized) {
+        for (long instruction : program) {
+            PackedInstruction.validate(instruction, columns.length);
+        }
+        ColumnKernel kernel = vectorized && VECTOR_KERNEL != null ? VECTOR_KERNEL : SCALAR_KERNEL;
+        for (int from = 0; from < size; from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, size);
+            for (long instruction : program) {
+                execute(kernel, instruction, from, to);
+            }
+        }
+    }
+
+    private void execute(ColumnKernel kernel, long instruction, int from, int to) {
+        OpcodeRegistry registry = OpcodeRegistry.getDefault();
+        int operation = PackedInstruction.operation(instruction);
+        OpcodeDefinition definition = registry.get(operation);
+        if (definition.isReset()) {
+            for (int[] column : columns) {
+                kernel.fill(column, from, to, 0);
+            }
+            return;
+        }
+        int[] target = columns[PackedInstruction.target(instruction)];
+        int[] source = registry.registerOperands(operation) > 1 ? columns[PackedInstruction.source(instruction)] : null;
+        int value = PackedInstruction.value(instruction);
+        int[] form = registry.affineForm(operation);
+        if (form != null) {
+            int constant = form[0] + form[3] * value;
+            if (form[1] == 0 && form[2] == 0) {
+                kernel.fill(target, from, to, constant);
+                return;
+            }
+            if (form[1] == 1 && form[2] == 0) {
+                kernel.add(target, from, to, constant);
+                return;
+            }
+            if (form[1] == 0 && form[2] == 1 && constant == 0) {
+                kernel.copy(target, source, from, to);
+                return;
+            }
+            if (form[1] == 1 && form[2] == 1 && constant == 0) {
+                kernel.addColumn(target, source, from, to);
+                return;
+            }
+        }
+        for (int i = from; i < to; i++) {
+            target[i] = definition.apply(target[i], source != null ? source[i] : 0, value);
+        }
+    }
+}
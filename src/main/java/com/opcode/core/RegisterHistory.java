@@ -0,0 +1,209 @@
+package com.opcode.core;
+
+import com.opcode.exception.HistoryUnavailableException;
+import java.util.Arrays;
+
+/**
+ * Append-only history of the mutations applied to one register file.
+ * <p>
+ * Every write reported by the register manager is assigned the next sequence number; sequence
+ * number {@code 0} denotes the state before the first mutation, and the state at sequence number
+ * {@code n} is the state right after the {@code n}-th mutation. Events are packed into
+ * {@code long}s and stored in fixed-size segments of {@code checkpointInterval} events, each of
+ * which starts with a checkpoint of the full register state. Reading a past state locates the
+ * segment directly from the sequence number and replays at most {@code checkpointInterval}
+ * events on top of its checkpoint.
+ * <p>
+ * Once more than {@code retention} events are recorded, the oldest whole segments are dropped,
+ * and states before the oldest retained checkpoint are no longer available.
+ * <p>
+ * A forked history records only the child's own mutations and delegates reads from before the
+ * fork to its parent, so forking does not copy any recorded events.
+ * <p>
+ * Recording happens under the processor's exclusive lock and reads under its shared lock. Reads
+ * of a parent's history from a child only touch events recorded before the fork, which are never
+ * modified again; the segment array is replaced rather than mutated so those reads are safe too.
+ */
+public final class RegisterHistory implements RegisterWriteListener {
+
+    private static final long KIND_RESET = 1L << 40;
+    private static final int REGISTER_SHIFT = 32;
+    private static final long VALUE_MASK = 0xFFFFFFFFL;
+    private static final Segment[] NO_SEGMENTS = new Segment[0];
+
+    private final int checkpointInterval;
+    private final long retention;
+    private final RegisterHistory parent;
+    private final long forkSeq;
+    private final int[] current;
+    private volatile Segment[] segments = NO_SEGMENTS;
+    private volatile long headSeq;
+
+    /**
+     * Constructs a new, empty history.
+     *
+     * @param initialValues the register values at sequence number 0, indexed by register
+     * @param checkpointInterval the maximum number of events replayed by a historical read
+     * @param retention the number of most recent events to retain, or 0 to retain everything
+     */
+    public RegisterHistory(int[] initialValues, int checkpointInterval, long retention) {
+        this(null, 0, initialValues.clone(), checkpointInterval, retention);
+    }
+
+    private RegisterHistory(RegisterHistory parent, long forkSeq, int[] current,
+                            int checkpointInterval, long retention) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1");
+        }
+        this.parent = parent;
+        this.forkSeq = forkSeq;
+        this.headSeq = forkSeq;
+        this.current = current;
+        this.checkpointInterval = checkpointInterval;
+        this.retention = retention;
+    }
+
+    /**
+     * Records a single register write.
+     *
+     * @param register the dense index of the register
+     * @param oldValue the value before the write
+     * @param newValue the value after the write
+     */
+    @Override
+    public void registerWritten(int register, int oldValue, int newValue) {
+        append(((long) register << REGISTER_SHIFT) | (newValue & VALUE_MASK));
+        current[register] = newValue;
+    }
+
+    /**
+     * Records a reset of all registers.
+     *
+     * @param oldValues the values before the reset
+     */
+    @Override
+    public void registersReset(int[] oldValues) {
+        append(KIND_RESET);
+        Arrays.fill(current, 0);
+    }
+
+    /**
+     * Gets the sequence number of the most recent mutation.
+     *
+     * @return the head sequence number
+     */
+    public long getHeadSeq() {
+        return headSeq;
+    }
+
+    /**
+     * Gets the oldest sequence number whose state can still be read.
+     *
+     * @return the oldest readable sequence number
+     */
+    public long getOldestSeq() {
+        Segment[] snapshot = segments;
+        if (snapshot.length > 0 && snapshot[0].baseSeq > forkSeq) {
+            return snapshot[0].baseSeq;
+        }
+        return parent != null ? Math.min(parent.getOldestSeq(), forkSeq) : forkSeq;
+    }
+
+    /**
+     * Reconstructs the register values at a sequence number.
+     *
+     * @param seq the sequence number
+     * @return the register values indexed by register
+     * @throws HistoryUnavailableException if the sequence number is in the future or was compacted
+     */
+    public int[] stateAt(long seq) {
+        long head = headSeq;
+        if (seq < 0 || seq > head) {
+            throw new HistoryUnavailableException(
+                "Sequence number " + seq + " is outside the recorded history (head is " + head + ")");
+        }
+        if (seq == head) {
+            return current.clone();
+        }
+
+        Segment[] snapshot = segments;
+        if (snapshot.length > 0 && seq >= snapshot[0].baseSeq) {
+            Segment segment = snapshot[(int) ((seq - snapshot[0].baseSeq) / checkpointInterval)];
+            int[] state = segment.checkpoint.clone();
+            int replayed = (int) (seq - segment.baseSeq);
+            for (int i = 0; i < replayed; i++) {
+                apply(state, segment.events[i]);
+            }
+            return state;
+        }
+        if (parent != null && seq < forkSeq && (snapshot.length == 0 || snapshot[0].baseSeq == forkSeq)) {
+            return parent.stateAt(seq);
+        }
+        throw new HistoryUnavailableException(
+            "Sequence number " + seq + " has been compacted (oldest retained is " + getOldestSeq() + ")");
+    }
+
+    /**
+     * Creates a history for a child register file forked from this one at the current head.
+     *
+     * @return the child history
+     */
+    public RegisterHistory fork() {
+        return new RegisterHistory(this, headSeq, current.clone(), checkpointInterval, retention);
+    }
+
+    private void append(long event) {
+        Segment[] snapshot = segments;
+        Segment last = snapshot.length > 0 ? snapshot[snapshot.length - 1] : null;
+        if (last == null || last.size == checkpointInterval) {
+            last = new Segment(headSeq, current.clone());
+            snapshot = Arrays.copyOf(snapshot, snapshot.length + 1);
+            snapshot[snapshot.length - 1] = last;
+            segments = compact(snapshot);
+        }
+        last.events[last.size++] = event;
+        headSeq++;
+    }
+
+    /**
+     * Drops the oldest segments while the full segments after them still hold at least
+     * {@code retention} events. The newest segment is never dropped.
+     *
+     * @param grown the segments including a freshly started one
+     * @return the retained segments
+     */
+    private Segment[] compact(Segment[] grown) {
+        if (retention <= 0) {
+            return grown;
+        }
+        int drop = 0;
+        while ((long) (grown.length - drop - 2) * checkpointInterval >= retention) {
+            drop++;
+        }
+        return drop == 0 ? grown : Arrays.copyOfRange(grown, drop, grown.length);
+    }
+
+    private static void apply(int[] state, long event) {
+        if ((event & KIND_RESET) != 0) {
+            Arrays.fill(state, 0);
+        } else {
+            state[(int) (event >>> REGISTER_SHIFT)] = (int) event;
+        }
+    }
+
+    /**
+     * A run of consecutive events starting from a full checkpoint.
+     */
+    private final class Segment {
+
+        private final long baseSeq;
+        private final int[] checkpoint;
+        private final long[] events = new long[checkpointInterval];
+        private int size;
+
+        private Segment(long baseSeq, int[] checkpoint) {
+            this.baseSeq = baseSeq;
+            this.checkpoint = checkpoint;
+        }
+    }
+}
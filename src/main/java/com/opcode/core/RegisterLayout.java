@@ -0,0 +1,180 @@
+package com.opcode.core;
+
+import com.opcode.config.OpcodeProperties;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The names of a register file and their dense indices, resolved once at startup.
+ * <p>
+ * Registers are identified by index everywhere below the API; names are only resolved when
+ * instructions are parsed and mapped back through the index-to-name table when responses are
+ * written. Name lookup uses an open-addressing table of indices that is probed over the
+ * characters of the name in place, so resolving a name allocates nothing.
+ * <p>
+ * Packed instructions and the undo log store register indices in 8 bits, so a register file
+ * has at most {@value #MAX_REGISTERS} registers. A name is a letter followed by up to 31
+ * letters, digits or underscores.
+ */
+public final class RegisterLayout {
+
+    /** The largest supported number of registers. */
+    public static final int MAX_REGISTERS = 256;
+
+    /** The original four registers A, B, C and D. */
+    public static final RegisterLayout DEFAULT = ofCount(4);
+
+    private final String[] names;
+    private final int[] slots;
+    private final int mask;
+
+    private RegisterLayout(String[] names) {
+        this.names = names;
+        int size = Integer.highestOneBit(names.length) << 2;
+        this.slots = new int[size];
+        this.mask = size - 1;
+        for (int index = 0; index < names.length; index++) {
+            String name = names[index];
+            if (name == null || !name.matches("[A-Za-z][A-Za-z0-9_]{0,31}")) {
+                throw new IllegalArgumentException("Invalid register name: " + name);
+            }
+            if (indexOf(name) >= 0) {
+                throw new IllegalArgumentException("Duplicate register name: " + name);
+            }
+            int slot = hash(name, 0, name.length()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+
+    /**
+     * Creates a layout of registers with the given names.
+     *
+     * @param names the register names, in register order
+     * @return the layout
+     * @throws IllegalArgumentException if there are no names or more than {@value #MAX_REGISTERS},
+     *         or a name is invalid or repeated
+     */
+    public static RegisterLayout of(List<String> names) {
+        if (names.isEmpty() || names.size() > MAX_REGISTERS) {
+            throw new IllegalArgumentException("Register count must be between 1 and " + MAX_REGISTERS);
+        }
+        return new RegisterLayout(names.toArray(new String[0]));
+    }
+
+    /**
+     * Creates a layout of registers named like spreadsheet columns: A to Z, then AA, AB and so on.
+     *
+     * @param count the number of registers
+     * @return the layout
+     * @throws IllegalArgumentException if the count is not between 1 and {@value #MAX_REGISTERS}
+     */
+    public static RegisterLayout ofCount(int count) {
+        if (count < 1 || count > MAX_REGISTERS) {
+            throw new IllegalArgumentException("Register count must be between 1 and " + MAX_REGISTERS);
+        }
+        List<String> names = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            StringBuilder name = new StringBuilder();
+            for (int rest = index + 1; rest > 0; rest = (rest - 1) / 26) {
+                name.insert(0, (char) ('A' + (rest - 1) % 26));
+            }
+            names.add(name.toString());
+        }
+        return of(names);
+    }
+
+    /**
+     * Creates the layout configured by the register settings: the configured names if there
+     * are any, and otherwise the configured number of registers named by {@link #ofCount(int)}.
+     *
+     * @param settings the register settings
+     * @return the layout
+     * @throws IllegalArgumentException if the configuration is invalid
+     */
+    public static RegisterLayout from(OpcodeProperties.Registers settings) {
+        if (settings.getNames() != null && !settings.getNames().isEmpty()) {
+            return of(settings.getNames());
+        }
+        if (settings.getCount() == DEFAULT.size()) {
+            return DEFAULT;
+        }
+        return ofCount(settings.getCount());
+    }
+
+    private static int hash(CharSequence text, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Gets the number of registers.
+     *
+     * @return the register count
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets the name of the register with the given index.
+     *
+     * @param index the register index
+     * @return the register name
+     */
+    public String nameOf(int index) {
+        return names[index];
+    }
+
+    /**
+     * Resolves a register name to its index. Names are case-sensitive.
+     *
+     * @param name the register name
+     * @return the register index, or -1 if no register has the name
+     */
+    public int indexOf(String name) {
+        return name != null ? indexOf(name, 0, name.length()) : -1;
+    }
+
+    /**
+     * Resolves a register name given as a range of text to its index. Names are case-sensitive.
+     *
+     * @param text the text
+     * @param from the start of the name, inclusive
+     * @param to the end of the name, exclusive
+     * @return the register index, or -1 if no register has the name
+     */
+    public int indexOf(CharSequence text, int from, int to) {
+        int length = to - from;
+        for (int slot = hash(text, from, to) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            String name = names[slots[slot] - 1];
+            if (name.length() == length && matches(name, text, from)) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(String name, CharSequence text, int from) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != text.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the index-to-name table, which must not be modified.
+     *
+     * @return the register names, in register order
+     */
+    String[] names() {
+        return names;
+    }
+}
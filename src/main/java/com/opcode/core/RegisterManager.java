@@ -1,31 +1,263 @@
 package com.opcode.core;
 
+import com.opcode.config.OpcodeProperties;
 import com.opcode.exception.InvalidRegisterException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Manages the state of the microprocessor's registers.
+ * <p>
+ * Register values are kept in a primitive array indexed densely by the register indices of the
+ * {@link RegisterLayout}, so a register file costs a few words per register however many it has;
+ * the name-based accessors resolve the name to its index once per call.
+ * <p>
+ * In striped-increment mode each register's value is the sum of a base value and a
+ * {@link LongAdder} of pending increments. Commutative updates ({@link #add(String, int)}) only
+ * touch the adder, whose cells are spread across cache lines, so concurrent increments of the
+ * same hot register do not contend. Summing in {@code long} and truncating to {@code int} gives
+ * exactly the same result as 32-bit wrap-around addition. Assignments and resets overwrite the
+ * base value and clear the adder, which folds any pending increments into the new value.
+ * <p>
+ * Consistency of reads in striped mode: a read of one register includes every increment that
+ * completed before the read started and possibly some that are concurrently in flight. A read of
+ * several registers is an atomic snapshot only when no increments are in flight; callers that
+ * need an exact snapshot must read while holding the {@link Processor}'s exclusive lock, which
+ * is what non-commutative instructions do.
+ * <p>
+ * Every register manager is attached to a {@link ResetGeneration}. Once that generation has
+ * advanced past the one the manager last observed, the registers read as zero and are physically
+ * cleared by the next write, so a bulk reset never has to visit the register file itself.
+ * <p>
+ * Forked register managers share their parent's values copy-on-write: neither side copies the
+ * register array until it is written, so forking many children costs no per-child state copy.
+ * <p>
+ * Attached {@link RegisterWriteListener}s are told the old and new value of every write. Exact
+ * old values cannot be observed from concurrent striped additions, so additions are serialized
+ * while any listener is attached; see {@link #supportsConcurrentAdds()}.
+ * <p>
+ * The register manager maintains a monotonic state version that changes whenever the register
+ * values may have changed, so callers can cache anything derived from the values per version.
+ * It also remembers the version at which each register was last written, so that the registers
+ * changed since a version can be projected without comparing values; see {@link #project}.
  */
 @Component
 public class RegisterManager {
-    
-    private final Map<String, Integer> registers;
-    
+
+    private static final RegisterWriteListener[] NO_LISTENERS = new RegisterWriteListener[0];
+
+    private final RegisterLayout layout;
+    private int[] values;
+    private boolean valuesShared;
+    private final long[] modifiedAt;
+    private final LongAdder[] increments;
+    private final LongAdder concurrentAdds;
+    private long writes;
+    private long committedWrites;
+    private final ResetGeneration generation;
+    private volatile long observedGeneration;
+    private RegisterWriteListener[] listeners = NO_LISTENERS;
+
     /**
-     * Constructs a new RegisterManager and initializes all registers to zero.
+     * Constructs a new RegisterManager with the {@link RegisterLayout#DEFAULT default} registers
+     * and initializes all registers to zero.
      */
     public RegisterManager() {
-        registers = new HashMap<>();
-        // Initialize registers A, B, C, D with value 0
-        registers.put("A", 0);
-        registers.put("B", 0);
-        registers.put("C", 0);
-        registers.put("D", 0);
+        this(false);
+    }
+
+    /**
+     * Constructs a new RegisterManager configured from the simulator properties
+     * and attached to the global reset generation.
+     *
+     * @param properties the simulator configuration
+     * @param resetGenerations the reset generations
+     */
+    @Autowired
+    public RegisterManager(OpcodeProperties properties, ResetGenerations resetGenerations) {
+        this(RegisterLayout.from(properties.getRegisters()), properties.getRegisters().isStripedIncrements(),
+            resetGenerations.global());
+    }
+
+    /**
+     * Constructs a new RegisterManager with the {@link RegisterLayout#DEFAULT default} registers
+     * and its own reset generation.
+     *
+     * @param stripedIncrements whether commutative updates accumulate into striped cells
+     */
+    public RegisterManager(boolean stripedIncrements) {
+        this(stripedIncrements, new ResetGeneration());
+    }
+
+    /**
+     * Constructs a new RegisterManager with the {@link RegisterLayout#DEFAULT default} registers
+     * and initializes all registers to zero.
+     *
+     * @param stripedIncrements whether commutative updates accumulate into striped cells
+     * @param generation the reset generation this register file is attached to
+     */
+    public RegisterManager(boolean stripedIncrements, ResetGeneration generation) {
+        this(RegisterLayout.DEFAULT, stripedIncrements, generation);
+    }
+
+    /**
+     * Constructs a new RegisterManager and initializes all registers to zero.
+     *
+     * @param layout the registers of the register file
+     * @param stripedIncrements whether commutative updates accumulate into striped cells
+     * @param generation the reset generation this register file is attached to
+     */
+    public RegisterManager(RegisterLayout layout, boolean stripedIncrements, ResetGeneration generation) {
+        this(layout, new int[layout.size()], false, stripedIncrements, generation);
+    }
+
+    private RegisterManager(RegisterLayout layout, int[] values, boolean valuesShared,
+                            boolean stripedIncrements, ResetGeneration generation) {
+        this.layout = layout;
+        this.generation = generation;
+        this.observedGeneration = generation.current();
+        this.values = values;
+        this.valuesShared = valuesShared;
+        this.modifiedAt = new long[values.length];
+
+        if (stripedIncrements) {
+            increments = new LongAdder[values.length];
+            for (int i = 0; i < increments.length; i++) {
+                increments[i] = new LongAdder();
+            }
+            concurrentAdds = new LongAdder();
+        } else {
+            increments = null;
+            concurrentAdds = null;
+        }
+    }
+
+    /**
+     * Checks whether commutative updates accumulate into striped cells.
+     *
+     * @return true if striped increments are enabled, false otherwise
+     */
+    public boolean isStripedIncrements() {
+        return increments != null;
     }
-    
+
+    /**
+     * Checks whether additions may run concurrently with each other. This holds in striped
+     * mode as long as no write listener is attached.
+     *
+     * @return true if concurrent additions are safe, false otherwise
+     */
+    public boolean supportsConcurrentAdds() {
+        return increments != null && listeners.length == 0;
+    }
+
+    /**
+     * Attaches a listener that is notified of every subsequent write.
+     * Must not run concurrently with writes to this register file.
+     *
+     * @param listener the listener to attach
+     */
+    public void addWriteListener(RegisterWriteListener listener) {
+        if (supportsConcurrentAdds()) {
+            // Concurrent additions so far were not tracked per register
+            Arrays.fill(modifiedAt, getVersion());
+        }
+        RegisterWriteListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Detaches a previously attached listener. Once no listener is left, striped additions
+     * run concurrently again.
+     * Must not run concurrently with writes to this register file.
+     *
+     * @param listener the listener to detach
+     */
+    public void removeWriteListener(RegisterWriteListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                RegisterWriteListener[] updated = NO_LISTENERS;
+                if (listeners.length > 1) {
+                    updated = Arrays.copyOf(listeners, listeners.length - 1);
+                    System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                }
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a bulk reset has been requested since this register file was last written.
+     * A stale register file reads as zero and is cleared by its next write; that write must not
+     * run concurrently with other writes.
+     *
+     * @return true if a reset is pending, false otherwise
+     */
+    public boolean isResetPending() {
+        return observedGeneration != generation.current();
+    }
+
+    /**
+     * Gets the state version. Every write, and every bulk reset affecting this register file,
+     * increases it. Concurrent additions are counted in striped cells so that they do not
+     * contend on the version either.
+     *
+     * @return the state version
+     */
+    public long getVersion() {
+        long concurrent = concurrentAdds != null ? concurrentAdds.sum() : 0;
+        return writes + concurrent + generation.current();
+    }
+
+    /**
+     * Gets the number of registers.
+     *
+     * @return the register count
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Gets the names and indices of the registers.
+     *
+     * @return the register layout
+     */
+    public RegisterLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Resolves a register name to its dense index.
+     *
+     * @param register the register name
+     * @return the register index
+     * @throws InvalidRegisterException if the register name is invalid
+     */
+    public int indexOf(String register) {
+        int index = layout.indexOf(register);
+        if (index < 0) {
+            throw new InvalidRegisterException("Invalid register: " + register);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the name of the register with the given dense index.
+     *
+     * @param register the register index
+     * @return the register name
+     */
+    public String nameOf(int register) {
+        return layout.nameOf(register);
+    }
+
     /**
      * Gets the value of a specific register.
      *
@@ -34,10 +266,19 @@ public class RegisterManager {
      * @throws InvalidRegisterException if the register name is invalid
      */
     public Integer getValue(String register) {
-        validateRegister(register);
-        return registers.get(register);
+        return currentValue(indexOf(register));
+    }
+
+    /**
+     * Gets the value of the register with the given dense index.
+     *
+     * @param register the register index
+     * @return the value of the register
+     */
+    public int get(int register) {
+        return currentValue(register);
     }
-    
+
     /**
      * Sets the value of a specific register.
      *
@@ -46,26 +287,224 @@ public class RegisterManager {
      * @throws InvalidRegisterException if the register name is invalid
      */
     public void setValue(String register, Integer value) {
-        validateRegister(register);
-        registers.put(register, value);
+        set(indexOf(register), value);
+    }
+
+    /**
+     * Sets the value of the register with the given dense index.
+     *
+     * @param register the register index
+     * @param value the value to set
+     */
+    public void set(int register, int value) {
+        materializeReset();
+        int oldValue = listeners.length > 0 ? currentValue(register) : 0;
+        unshareValues();
+        values[register] = value;
+        if (increments != null) {
+            increments[register].reset();
+        }
+        writes++;
+        modifiedAt[register] = getVersion();
+        for (RegisterWriteListener listener : listeners) {
+            listener.registerWritten(register, oldValue, value);
+        }
+    }
+
+    /**
+     * Adds a delta to a specific register with 32-bit wrap-around.
+     * When {@link #supportsConcurrentAdds()} holds this is safe to call concurrently with other
+     * additions and never materializes a pending reset; an addition racing with a bulk reset is
+     * ordered before it.
+     *
+     * @param register the register name
+     * @param delta the value to add
+     * @throws InvalidRegisterException if the register name is invalid
+     */
+    public void add(String register, int delta) {
+        add(indexOf(register), delta);
+    }
+
+    /**
+     * Adds a delta to the register with the given dense index with 32-bit wrap-around.
+     *
+     * @param register the register index
+     * @param delta the value to add
+     * @see #add(String, int)
+     */
+    public void add(int register, int delta) {
+        if (supportsConcurrentAdds()) {
+            increments[register].add(delta);
+            concurrentAdds.increment();
+            return;
+        }
+        materializeReset();
+        int oldValue = currentValue(register);
+        if (increments != null) {
+            increments[register].add(delta);
+        } else {
+            unshareValues();
+            values[register] = oldValue + delta;
+        }
+        writes++;
+        modifiedAt[register] = getVersion();
+        for (RegisterWriteListener listener : listeners) {
+            listener.registerAdded(register, oldValue, delta);
+        }
     }
-    
+
     /**
      * Resets all registers to zero.
      */
     public void reset() {
-        registers.replaceAll((k, v) -> 0);
+        long current = generation.current();
+        int[] oldValues = listeners.length > 0 ? snapshot() : null;
+        if (valuesShared) {
+            values = new int[values.length];
+            valuesShared = false;
+        } else {
+            Arrays.fill(values, 0);
+        }
+        if (increments != null) {
+            for (LongAdder cells : increments) {
+                cells.reset();
+            }
+        }
+        observedGeneration = current;
+        writes++;
+        Arrays.fill(modifiedAt, getVersion());
+        for (RegisterWriteListener listener : listeners) {
+            listener.registersReset(oldValues);
+        }
     }
-    
+
     /**
-     * Gets an unmodifiable view of all registers and their values.
+     * Marks the end of an atomic group of writes, notifying the listeners if any register was
+     * written since the previous commit. Must not run concurrently with writes to this register file.
+     */
+    public void commitWrites() {
+        if (writes == committedWrites) {
+            return;
+        }
+        committedWrites = writes;
+        long version = getVersion();
+        for (RegisterWriteListener listener : listeners) {
+            listener.writesCommitted(version);
+        }
+    }
+
+    /**
+     * Physically clears the registers if a bulk reset is pending.
+     * Must not run concurrently with other writes to this register file.
+     */
+    public void materializeReset() {
+        if (isResetPending()) {
+            reset();
+        }
+    }
+
+    /**
+     * Creates a child register manager starting from this register file's current values.
+     * The values are shared copy-on-write between parent and child; pending increments are
+     * folded into the shared values first. Listeners are not inherited. Must not run
+     * concurrently with writes to this register file.
+     *
+     * @param childGeneration the reset generation the child is attached to
+     * @return the child register manager
+     */
+    public RegisterManager fork(ResetGeneration childGeneration) {
+        materializeReset();
+        if (increments != null && hasPendingIncrements()) {
+            unshareValues();
+            for (int i = 0; i < values.length; i++) {
+                values[i] += (int) increments[i].sumThenReset();
+            }
+        }
+        valuesShared = true;
+        return new RegisterManager(layout, values, true, increments != null, childGeneration);
+    }
+
+    /**
+     * Copies the current register values into a new array indexed by register.
+     *
+     * @return the register values
+     */
+    public int[] snapshot() {
+        int[] snapshot = new int[values.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = currentValue(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets an unmodifiable snapshot of all registers and their values.
      *
      * @return map of register names to their values
      */
     public Map<String, Integer> getAllRegisters() {
-        return Collections.unmodifiableMap(registers);
+        return toMap(snapshot());
     }
-    
+
+    /**
+     * Projects the selected registers straight from the register file into a response map,
+     * without building the full register map first.
+     * <p>
+     * If a version is given, only registers written after it are included. Registers are
+     * conservatively reported as changed while a bulk reset is pending, and always while
+     * concurrent additions are possible, because neither is tracked per register.
+     *
+     * @param selection the registers to include
+     * @param changedSince the version to report changes since, or {@link RegisterSelection#NO_VERSION}
+     * @return the selected register values with the current state version
+     */
+    public RegisterProjection project(RegisterSelection selection, long changedSince) {
+        boolean filterUnchanged = changedSince != RegisterSelection.NO_VERSION
+            && !isResetPending() && !supportsConcurrentAdds();
+        String[] names = new String[values.length];
+        int[] selected = new int[values.length];
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (selection.includes(i) && (!filterUnchanged || modifiedAt[i] > changedSince)) {
+                names[size] = layout.nameOf(i);
+                selected[size++] = currentValue(i);
+            }
+        }
+        return new RegisterProjection(new RegisterValues(names, selected, size), getVersion());
+    }
+
+    /**
+     * Resolves request options into a register selection.
+     *
+     * @param registers the names of the registers to include, or null for all registers
+     * @param changedOnly whether to include only registers changed by the request
+     * @param sinceVersion the version to include changes since, or null for no such filter
+     * @return the register selection
+     * @throws InvalidRegisterException if a register name is invalid
+     */
+    public RegisterSelection select(Collection<String> registers, boolean changedOnly, Long sinceVersion) {
+        boolean[] included = null;
+        if (registers != null) {
+            included = new boolean[values.length];
+            for (String register : registers) {
+                included[indexOf(register)] = true;
+            }
+        }
+        return new RegisterSelection(included, changedOnly,
+            sinceVersion != null ? sinceVersion : RegisterSelection.NO_VERSION);
+    }
+
+    /**
+     * Converts register values indexed by register into a map keyed by register name.
+     * The map is backed by the given array, which must not be modified afterwards.
+     *
+     * @param registerValues the register values
+     * @return an unmodifiable map of register names to their values, in register order
+     */
+    public Map<String, Integer> toMap(int[] registerValues) {
+        return new RegisterValues(layout.names(), registerValues, registerValues.length);
+    }
+
     /**
      * Checks if a register name is valid.
      *
@@ -73,18 +512,30 @@ public class RegisterManager {
      * @return true if the register is valid, false otherwise
      */
     public boolean isValidRegister(String register) {
-        return registers.containsKey(register);
+        return layout.indexOf(register) >= 0;
     }
-    
-    /**
-     * Validates a register name.
-     *
-     * @param register the register name to validate
-     * @throws InvalidRegisterException if the register name is invalid
-     */
-    private void validateRegister(String register) {
-        if (!isValidRegister(register)) {
-            throw new InvalidRegisterException("Invalid register: " + register);
+
+    private boolean hasPendingIncrements() {
+        for (LongAdder cells : increments) {
+            if (cells.sum() != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unshareValues() {
+        if (valuesShared) {
+            values = values.clone();
+            valuesShared = false;
+        }
+    }
+
+    private int currentValue(int register) {
+        if (isResetPending()) {
+            return 0;
         }
+        int base = values[register];
+        return increments == null ? base : base + (int) increments[register].sum();
     }
 }
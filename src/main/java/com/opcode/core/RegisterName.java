@@ -1,7 +1,9 @@
 package com.opcode.core;
 
 /**
- * Enum representing valid register names in the microprocessor.
+ * Enum representing the register names of the {@link RegisterLayout#DEFAULT default register layout},
+ * in index order. Register files configured with other registers are described by their
+ * {@link RegisterLayout}.
  */
 public enum RegisterName {
     A, B, C, D;
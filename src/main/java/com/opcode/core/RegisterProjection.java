@@ -0,0 +1,42 @@
+package com.opcode.core;
+
+import java.util.Map;
+
+/**
+ * Register values projected for a {@link RegisterSelection}, together with the state version
+ * they were read at. The version can be passed back as the version to report changes since.
+ */
+public final class RegisterProjection {
+
+    private final Map<String, Integer> registers;
+    private final long version;
+
+    /**
+     * Constructs a new RegisterProjection.
+     *
+     * @param registers the selected register values
+     * @param version the state version the values were read at
+     */
+    public RegisterProjection(Map<String, Integer> registers, long version) {
+        this.registers = registers;
+        this.version = version;
+    }
+
+    /**
+     * Gets the selected register values.
+     *
+     * @return map of register names to their values, in register order
+     */
+    public Map<String, Integer> getRegisters() {
+        return registers;
+    }
+
+    /**
+     * Gets the state version the values were read at.
+     *
+     * @return the state version
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,68 @@
+package com.opcode.core;
+
+/**
+ * The registers a caller wants reported back: a subset of the registers, optionally narrowed
+ * to those changed by the request itself or since a version the caller already has.
+ * Created by {@link RegisterManager#select}.
+ */
+public final class RegisterSelection {
+
+    /**
+     * Marker for the absence of a version to report changes since.
+     */
+    public static final long NO_VERSION = -1;
+
+    /**
+     * Selection of all registers, regardless of whether they changed.
+     */
+    public static final RegisterSelection ALL = new RegisterSelection(null, false, NO_VERSION);
+
+    private final boolean[] included;
+    private final boolean changedOnly;
+    private final long sinceVersion;
+
+    /**
+     * Constructs a new RegisterSelection.
+     *
+     * @param included the selected registers by index, or null for all registers
+     * @param changedOnly whether only registers changed by the request are selected
+     * @param sinceVersion the version to select changes since, or {@link #NO_VERSION}
+     */
+    RegisterSelection(boolean[] included, boolean changedOnly, long sinceVersion) {
+        this.included = included;
+        this.changedOnly = changedOnly;
+        this.sinceVersion = sinceVersion;
+    }
+
+    /**
+     * Checks whether a register is part of the selected subset.
+     *
+     * @param register the register index
+     * @return true if the register is selected, false otherwise
+     */
+    public boolean includes(int register) {
+        return included == null || included[register];
+    }
+
+    /**
+     * Checks whether only registers changed by the request are selected. Such a selection
+     * needs the state version from right before the request executed.
+     *
+     * @return true if only changed registers are selected, false otherwise
+     */
+    public boolean isChangedOnly() {
+        return changedOnly;
+    }
+
+    /**
+     * Gets the version to report changes since. Selecting changes made by the request takes
+     * precedence over a version supplied by the caller.
+     *
+     * @param requestVersion the state version right before the request executed,
+     *        or {@link #NO_VERSION} if it was not captured
+     * @return the version to report changes since, or {@link #NO_VERSION} to report all
+     */
+    public long changedSince(long requestVersion) {
+        return changedOnly ? requestVersion : sinceVersion;
+    }
+}
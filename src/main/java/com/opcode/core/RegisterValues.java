@@ -0,0 +1,134 @@
+package com.opcode.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Unmodifiable map of register names to values, backed by parallel arrays in register order.
+ * <p>
+ * Register values are produced from the primitive register file and usually only serialized,
+ * so they are kept unboxed; {@link #nameAt(int)} and {@link #valueAt(int)} give writers access
+ * to them without going through map entries.
+ */
+public final class RegisterValues extends AbstractMap<String, Integer> {
+
+    private final String[] names;
+    private final int[] values;
+    private final int size;
+
+    /**
+     * Constructs a new RegisterValues. The arrays must not be modified afterwards.
+     *
+     * @param names the register names, in register order
+     * @param values the register values, parallel to the names
+     * @param size the number of leading array elements that are part of the map
+     */
+    RegisterValues(String[] names, int[] values, int size) {
+        this.names = names;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Gets the number of registers in the map.
+     *
+     * @return the register count
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the name of the register at a position of the map.
+     *
+     * @param position the position, in register order
+     * @return the register name
+     */
+    public String nameAt(int position) {
+        return names[position];
+    }
+
+    /**
+     * Gets the value of the register at a position of the map.
+     *
+     * @param position the position, in register order
+     * @return the register value
+     */
+    public int valueAt(int position) {
+        return values[position];
+    }
+
+    /**
+     * Gets the value of a register by name.
+     *
+     * @param key the register name
+     * @return the register value, or null if the register is not in the map
+     */
+    @Override
+    public Integer get(Object key) {
+        int position = positionOf(key);
+        return position >= 0 ? values[position] : null;
+    }
+
+    /**
+     * Checks whether a register is in the map.
+     *
+     * @param key the register name
+     * @return true if the register is in the map, false otherwise
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return positionOf(key) >= 0;
+    }
+
+    /**
+     * Gets a view of the register entries, in register order.
+     *
+     * @return the entry set
+     */
+    @Override
+    public Set<Entry<String, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Entry<String, Integer> next() {
+                        if (next >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Integer> entry = Map.entry(names[next], values[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int positionOf(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
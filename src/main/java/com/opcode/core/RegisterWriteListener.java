@@ -0,0 +1,45 @@
+package com.opcode.core;
+
+/**
+ * Callback notified of every write to a register file and of the end of each atomic group of writes.
+ * Listeners run on the writing thread while the processor's exclusive lock is held.
+ */
+public interface RegisterWriteListener {
+
+    /**
+     * Called after a single register was written.
+     *
+     * @param register the dense index of the register
+     * @param oldValue the value before the write
+     * @param newValue the value after the write
+     */
+    void registerWritten(int register, int oldValue, int newValue);
+
+    /**
+     * Called after a delta was added to a single register with 32-bit wrap-around.
+     * By default this is reported as a plain write.
+     *
+     * @param register the dense index of the register
+     * @param oldValue the value before the addition
+     * @param delta the added delta
+     */
+    default void registerAdded(int register, int oldValue, int delta) {
+        registerWritten(register, oldValue, oldValue + delta);
+    }
+
+    /**
+     * Called after all registers were reset to zero.
+     *
+     * @param oldValues the values before the reset, indexed by register; must not be modified
+     */
+    void registersReset(int[] oldValues);
+
+    /**
+     * Called once at the end of an exclusive section of the processor that wrote at least one
+     * register, after all of its writes were reported.
+     *
+     * @param version the register state version after the section
+     */
+    default void writesCommitted(long version) {
+    }
+}
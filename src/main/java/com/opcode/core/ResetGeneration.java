@@ -0,0 +1,52 @@
+package com.opcode.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A monotonic reset counter shared by many register files.
+ * <p>
+ * Advancing a generation is O(1): register files remember the generation they last observed
+ * and treat themselves as zeroed once it has moved on, materializing the reset lazily on their
+ * next write. Generations nest, so advancing a parent (e.g. the global generation) also
+ * invalidates every register file attached to one of its children (e.g. a tenant).
+ */
+public final class ResetGeneration {
+
+    private final ResetGeneration parent;
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * Constructs a new root generation.
+     */
+    public ResetGeneration() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new generation nested under the specified parent.
+     *
+     * @param parent the parent generation, or null for a root generation
+     */
+    public ResetGeneration(ResetGeneration parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Gets the current generation. The value changes whenever this generation
+     * or any of its ancestors is advanced.
+     *
+     * @return the current generation
+     */
+    public long current() {
+        long own = counter.get();
+        return parent == null ? own : own + parent.current();
+    }
+
+    /**
+     * Advances this generation, logically resetting every register file attached to it
+     * or to one of its descendants.
+     */
+    public void advance() {
+        counter.incrementAndGet();
+    }
+}
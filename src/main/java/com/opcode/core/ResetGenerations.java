@@ -0,0 +1,77 @@
+package com.opcode.core;
+
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds the global reset generation and one nested generation per tenant.
+ * Bulk resets only advance a counter, so their cost does not depend on the number of sessions.
+ * Since no register file is written by a bulk reset, parties that follow writes register a reset
+ * listener to learn about it.
+ */
+@Component
+public class ResetGenerations {
+
+    private final ResetGeneration global = new ResetGeneration();
+    private final Map<String, ResetGeneration> tenants = new ConcurrentHashMap<>();
+    private final List<Runnable> resetListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Gets the global generation.
+     *
+     * @return the global generation
+     */
+    public ResetGeneration global() {
+        return global;
+    }
+
+    /**
+     * Gets the generation of a tenant, creating it on first use.
+     *
+     * @param tenant the tenant name, or null for the global generation
+     * @return the tenant's generation
+     */
+    public ResetGeneration forTenant(String tenant) {
+        if (tenant == null) {
+            return global;
+        }
+        return tenants.computeIfAbsent(tenant, t -> new ResetGeneration(global));
+    }
+
+    /**
+     * Logically resets every register file.
+     */
+    public void resetAll() {
+        global.advance();
+        notifyResetListeners();
+    }
+
+    /**
+     * Logically resets every register file belonging to a tenant.
+     *
+     * @param tenant the tenant name
+     */
+    public void resetTenant(String tenant) {
+        forTenant(tenant).advance();
+        notifyResetListeners();
+    }
+
+    /**
+     * Registers a listener run on the resetting thread after every bulk reset. Listeners must
+     * return quickly and check themselves whether the reset concerns them.
+     *
+     * @param listener the listener to run
+     */
+    public void addResetListener(Runnable listener) {
+        resetListeners.add(listener);
+    }
+
+    private void notifyResetListeners() {
+        for (Runnable listener : resetListeners) {
+            listener.run();
+        }
+    }
+}
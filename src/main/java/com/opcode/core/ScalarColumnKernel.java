@@ -0,0 +1,33 @@
+package com.opcode.core;
+
+import java.util.Arrays;
+
+/**
+ * Column operations as plain loops, which the JIT compiler may still auto-vectorize.
+ */
+final class ScalarColumnKernel implements ColumnKernel {
+
+    @Override
+    public void fill(int[] column, int from, int to, int value) {
+        Arrays.fill(column, from, to, value);
+    }
+
+    @Override
+    public void add(int[] column, int from, int to, int delta) {
+        for (int i = from; i < to; i++) {
+            column[i] += delta;
+        }
+    }
+
+    @Override
+    public void addColumn(int[] target, int[] source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    @Override
+    public void copy(int[] target, int[] source, int from, int to) {
+        System.arraycopy(source, from, target, from, to - from);
+    }
+}
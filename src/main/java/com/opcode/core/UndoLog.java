@@ -0,0 +1,188 @@
+package com.opcode.core;
+
+import com.opcode.exception.UndoUnavailableException;
+
+/**
+ * Bounded log of the information needed to undo the most recent mutations of one register file.
+ * <p>
+ * Each mutation is one step. Steps are stored as packed {@code long} records in a ring buffer of
+ * fixed capacity, so the memory used per processor never exceeds {@code 8 * capacity} bytes; once
+ * the buffer is full the oldest steps are discarded. The buffer is allocated on the first write.
+ * <p>
+ * Additions (ADD, INR, DCR, ADR) are invertible and record only the added delta, which is undone
+ * by subtracting it again; ADR records its delta rather than re-reading the source register so
+ * that {@code ADR A A} stays invertible. Assignments record the overwritten value, and a reset
+ * records one value per register. Undoing therefore never allocates and costs a constant number
+ * of primitive operations per record.
+ * <p>
+ * Recording and undoing must happen under the processor's exclusive lock.
+ */
+public final class UndoLog implements RegisterWriteListener {
+
+    private static final long KIND_ADD = 1L << 40;
+    private static final long CONTINUED = 1L << 41;
+    private static final int REGISTER_SHIFT = 32;
+    private static final long REGISTER_MASK = 0xFFL;
+    private static final long VALUE_MASK = 0xFFFFFFFFL;
+
+    private final int capacity;
+    private long[] records;
+    private int head;
+    private int size;
+    private int steps;
+    private boolean undoing;
+
+    /**
+     * Constructs a new, empty undo log.
+     *
+     * @param capacity the maximum number of records kept
+     */
+    public UndoLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Undo capacity must be at least 1");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the maximum number of records kept.
+     *
+     * @return the capacity in records
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Records the value overwritten by a single register write.
+     *
+     * @param register the dense index of the register
+     * @param oldValue the value before the write
+     * @param newValue the value after the write
+     */
+    @Override
+    public void registerWritten(int register, int oldValue, int newValue) {
+        if (!undoing) {
+            reserve(1);
+            push(encode(register, oldValue));
+            steps++;
+        }
+    }
+
+    /**
+     * Records the delta of an addition, which is undone by subtracting it.
+     *
+     * @param register the dense index of the register
+     * @param oldValue the value before the addition
+     * @param delta the added delta
+     */
+    @Override
+    public void registerAdded(int register, int oldValue, int delta) {
+        if (!undoing) {
+            reserve(1);
+            push(KIND_ADD | encode(register, delta));
+            steps++;
+        }
+    }
+
+    /**
+     * Records the values overwritten by a reset of all registers.
+     *
+     * @param oldValues the values before the reset
+     */
+    @Override
+    public void registersReset(int[] oldValues) {
+        if (undoing) {
+            return;
+        }
+        if (oldValues.length > capacity) {
+            clear();
+            return;
+        }
+        reserve(oldValues.length);
+        for (int i = 0; i < oldValues.length; i++) {
+            push((i > 0 ? CONTINUED : 0) | encode(i, oldValues[i]));
+        }
+        steps++;
+    }
+
+    /**
+     * Gets the number of steps that can currently be undone.
+     *
+     * @return the number of recorded steps
+     */
+    public int getAvailableSteps() {
+        return steps;
+    }
+
+    /**
+     * Undoes the most recent steps, newest first. The inverse writes are applied through the
+     * register manager, so other listeners observe them as ordinary writes; they are not recorded
+     * in this log.
+     *
+     * @param registerManager the register manager this log records
+     * @param count the number of steps to undo
+     * @throws UndoUnavailableException if fewer than {@code count} steps are recorded
+     */
+    public void undo(RegisterManager registerManager, int count) {
+        if (count < 1 || count > steps) {
+            throw new UndoUnavailableException(
+                "Cannot undo " + count + " steps; " + steps + " steps are available");
+        }
+        undoing = true;
+        try {
+            for (int step = 0; step < count; step++) {
+                long record;
+                do {
+                    head = head == 0 ? capacity - 1 : head - 1;
+                    size--;
+                    record = records[head];
+                    int register = (int) ((record >>> REGISTER_SHIFT) & REGISTER_MASK);
+                    if ((record & KIND_ADD) != 0) {
+                        registerManager.add(register, -(int) record);
+                    } else {
+                        registerManager.set(register, (int) record);
+                    }
+                } while ((record & CONTINUED) != 0);
+                steps--;
+            }
+        } finally {
+            undoing = false;
+        }
+    }
+
+    private static long encode(int register, int value) {
+        return ((long) register << REGISTER_SHIFT) | (value & VALUE_MASK);
+    }
+
+    /**
+     * Discards the oldest steps until the given number of records fits.
+     *
+     * @param count the number of records about to be pushed
+     */
+    private void reserve(int count) {
+        if (records == null) {
+            records = new long[capacity];
+        }
+        while (capacity - size < count) {
+            int tail = head - size < 0 ? head - size + capacity : head - size;
+            do {
+                tail = tail + 1 == capacity ? 0 : tail + 1;
+                size--;
+            } while (size > 0 && (records[tail] & CONTINUED) != 0);
+            steps--;
+        }
+    }
+
+    private void push(long record) {
+        records[head] = record;
+        head = head + 1 == capacity ? 0 : head + 1;
+        size++;
+    }
+
+    private void clear() {
+        head = 0;
+        size = 0;
+        steps = 0;
+    }
+}
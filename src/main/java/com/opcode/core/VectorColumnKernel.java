@@ -0,0 +1,61 @@
+package com.opcode.core;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Column operations with explicit SIMD vectors of the platform's preferred width, finishing
+ * each range with a scalar tail.
+ * <p>
+ * Uses the incubating {@code jdk.incubator.vector} module, so loading this class fails unless
+ * the JVM runs with {@code --add-modules jdk.incubator.vector}; see {@link RegisterColumns}.
+ */
+final class VectorColumnKernel implements ColumnKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void fill(int[] column, int from, int to, int value) {
+        IntVector broadcast = IntVector.broadcast(SPECIES, value);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            broadcast.intoArray(column, i);
+        }
+        for (; i < to; i++) {
+            column[i] = value;
+        }
+    }
+
+    @Override
+    public void add(int[] column, int from, int to, int delta) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, column, i).add(delta).intoArray(column, i);
+        }
+        for (; i < to; i++) {
+            column[i] += delta;
+        }
+    }
+
+    @Override
+    public void addColumn(int[] target, int[] source, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, target, i).add(IntVector.fromArray(SPECIES, source, i)).intoArray(target, i);
+        }
+        for (; i < to; i++) {
+            target[i] += source[i];
+        }
+    }
+
+    @Override
+    public void copy(int[] target, int[] source, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, source, i).intoArray(target, i);
+        }
+        for (; i < to; i++) {
+            target[i] = source[i];
+        }
+    }
+}
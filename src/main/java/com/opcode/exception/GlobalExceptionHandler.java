@@ -28,6 +28,97 @@ public class GlobalExceptionHandler {
             .body(ProcessorResponse.error(ex.getMessage()));
     }
     
+    /**
+     * Handles unknown session exceptions.
+     *
+     * @param ex the exception
+     * @return the error response
+     */
+    @ExceptionHandler(SessionNotFoundException.class)
+    public ResponseEntity<ProcessorResponse> handleSessionNotFoundException(SessionNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(ProcessorResponse.error(ex.getMessage()));
+    }
+    
+    /**
+     * Handles requests for register history that is not available.
+     *
+     * @param ex the exception
+     * @return the error response
+     */
+    @ExceptionHandler(HistoryUnavailableException.class)
+    public ResponseEntity<ProcessorResponse> handleHistoryUnavailableException(HistoryUnavailableException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(ProcessorResponse.error(ex.getMessage()));
+    }
+    
+    /**
+     * Handles requests for batch jobs that do not exist or have expired.
+     *
+     * @param ex the exception
+     * @return the error response
+     */
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ProcessorResponse> handleJobNotFoundException(JobNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(ProcessorResponse.error(ex.getMessage()));
+    }
+    
+    /**
+     * Handles requests for prepared programs that do not exist.
+     *
+     * @param ex the exception
+     * @return the error response
+     */
+    @ExceptionHandler(ProgramNotFoundException.class)
+    public ResponseEntity<ProcessorResponse> handleProgramNotFoundException(ProgramNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(ProcessorResponse.error(ex.getMessage()));
+    }
+    
+    /**
+     * Handles requests for scripts that do not exist.
+     *
+     * @param ex the exception
+     * @return the error response
+     */
+    @ExceptionHandler(ScriptNotFoundException.class)
+    public ResponseEntity<ProcessorResponse> handleScriptNotFoundException(ScriptNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(ProcessorResponse.error(ex.getMessage()));
+    }
+    
+    /**
+     * Handles batch jobs rejected because the job queue is full.
+     *
+     * @param ex the exception
+     * @return the error response
+     */
+    @ExceptionHandler(JobRejectedException.class)
+    public ResponseEntity<ProcessorResponse> handleJobRejectedException(JobRejectedException ex) {
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(ProcessorResponse.error(ex.getMessage()));
+    }
+    
+    /**
+     * Handles undo requests that exceed the recorded undo log.
+     *
+     * @param ex the exception
+     * @return the error response
+     */
+    @ExceptionHandler(UndoUnavailableException.class)
+    public ResponseEntity<ProcessorResponse> handleUndoUnavailableException(UndoUnavailableException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(ProcessorResponse.error(ex.getMessage()));
+    }
+    
     /**
      * Handles invalid instruction exceptions.
      *
@@ -54,6 +145,19 @@ public class GlobalExceptionHandler {
             .body(ProcessorResponse.batchError(ex.getMessage(), ex.getExecutedInstructions()));
     }
     
+    /**
+     * Handles instructions that were executed but could not be journaled.
+     *
+     * @param ex the exception
+     * @return the error response
+     */
+    @ExceptionHandler(JournalWriteException.class)
+    public ResponseEntity<ProcessorResponse> handleJournalWriteException(JournalWriteException ex) {
+        return ResponseEntity
+            .status(HttpStatus.INSUFFICIENT_STORAGE)
+            .body(ProcessorResponse.journalError(ex.getMessage(), ex.getRegisters()));
+    }
+    
     /**
      * Handles invalid syntax exceptions.
      *
@@ -0,0 +1,16 @@
+package com.opcode.exception;
+
+/**
+ * Exception thrown when a requested point in the register history is not available.
+ */
+public class HistoryUnavailableException extends OpcodeException {
+    
+    /**
+     * Constructs a new HistoryUnavailableException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public HistoryUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.opcode.exception;
+
+/**
+ * Exception thrown when a requested batch job does not exist or its result has expired.
+ */
+public class JobNotFoundException extends OpcodeException {
+    
+    /**
+     * Constructs a new JobNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.opcode.exception;
+
+/**
+ * Exception thrown when a batch job cannot be accepted because the job queue is full.
+ */
+public class JobRejectedException extends OpcodeException {
+    
+    /**
+     * Constructs a new JobRejectedException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.opcode.exception;
+
+import java.util.Map;
+
+/**
+ * Exception thrown when an instruction was executed but could not be journaled.
+ * The instruction is not rolled back, so the register values it produced are reported as well.
+ */
+public class JournalWriteException extends OpcodeException {
+    
+    private final Map<String, Integer> registers;
+    
+    /**
+     * Constructs a new JournalWriteException.
+     *
+     * @param message the detail message
+     * @param registers the register values right after the instruction executed
+     * @param cause the failure of the journal write
+     */
+    public JournalWriteException(String message, Map<String, Integer> registers, Throwable cause) {
+        super(message);
+        this.registers = registers;
+        initCause(cause);
+    }
+    
+    /**
+     * Gets the register values right after the instruction executed.
+     *
+     * @return map of register names to their values
+     */
+    public Map<String, Integer> getRegisters() {
+        return registers;
+    }
+}
@@ -0,0 +1,16 @@
+package com.opcode.exception;
+
+/**
+ * Exception thrown when a referenced prepared program does not exist.
+ */
+public class ProgramNotFoundException extends OpcodeException {
+    
+    /**
+     * Constructs a new ProgramNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ProgramNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.opcode.exception;
+
+/**
+ * Exception thrown when a referenced script does not exist.
+ */
+public class ScriptNotFoundException extends OpcodeException {
+    
+    /**
+     * Constructs a new ScriptNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ScriptNotFoundException(String message) {
+        super(message);
+    }
+}
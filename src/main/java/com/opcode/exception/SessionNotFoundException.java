@@ -0,0 +1,16 @@
+package com.opcode.exception;
+
+/**
+ * Exception thrown when a referenced processor session does not exist.
+ */
+public class SessionNotFoundException extends OpcodeException {
+    
+    /**
+     * Constructs a new SessionNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public SessionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.opcode.exception;
+
+/**
+ * Exception thrown when more steps are to be undone than the undo log holds.
+ */
+public class UndoUnavailableException extends OpcodeException {
+    
+    /**
+     * Constructs a new UndoUnavailableException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public UndoUnavailableException(String message) {
+        super(message);
+    }
+}
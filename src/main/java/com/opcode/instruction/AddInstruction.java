@@ -29,8 +29,7 @@ public class AddInstruction extends AbstractInstruction {
         
         try {
             int valueToAdd = Integer.parseInt(args[1]);
-            int currentValue = registerManager.getValue(register);
-            registerManager.setValue(register, currentValue + valueToAdd);
+            registerManager.add(register, valueToAdd);
         } catch (NumberFormatException e) {
             throw new InvalidSyntaxException("Invalid value for ADD instruction: " + args[1]);
         }
@@ -40,4 +39,9 @@ public class AddInstruction extends AbstractInstruction {
     public boolean validate() {
         return args != null && args.length == 2 && args[0] != null && args[1] != null;
     }
+    
+    @Override
+    public boolean isCommutative() {
+        return true;
+    }
 }
@@ -30,10 +30,8 @@ public class AdrInstruction extends AbstractInstruction {
         validateRegister(targetRegister, registerManager);
         validateRegister(sourceRegister, registerManager);
         
-        int targetValue = registerManager.getValue(targetRegister);
-        int sourceValue = registerManager.getValue(sourceRegister);
-        
-        registerManager.setValue(targetRegister, targetValue + sourceValue);
+        // Written as an addition of the source value, so that the undo log records the delta
+        registerManager.add(targetRegister, registerManager.getValue(sourceRegister));
     }
     
     @Override
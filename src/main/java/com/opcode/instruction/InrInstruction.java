@@ -27,12 +27,16 @@ public class InrInstruction extends AbstractInstruction {
         String register = args[0];
         validateRegister(register, registerManager);
         
-        int currentValue = registerManager.getValue(register);
-        registerManager.setValue(register, currentValue + 1);
+        registerManager.add(register, 1);
     }
     
     @Override
     public boolean validate() {
         return args != null && args.length == 1 && args[0] != null;
     }
+    
+    @Override
+    public boolean isCommutative() {
+        return true;
+    }
 }
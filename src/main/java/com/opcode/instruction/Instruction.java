@@ -20,4 +20,15 @@ public interface Instruction {
      * @return true if the instruction is valid, false otherwise
      */
     boolean validate();
+    
+    /**
+     * Checks whether this instruction commutes with other commutative instructions,
+     * i.e. it only adds a value to a single register. Commutative instructions may run
+     * concurrently when the register manager uses striped increments.
+     *
+     * @return true if the instruction is commutative, false otherwise
+     */
+    default boolean isCommutative() {
+        return false;
+    }
 }
@@ -1,18 +1,42 @@
 package com.opcode.instruction;
 
+import com.opcode.core.BuiltInOpcode;
+import com.opcode.core.OpcodeDefinition;
+import com.opcode.core.OpcodeRegistry;
 import com.opcode.exception.InvalidInstructionException;
 import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Factory for creating instruction objects based on instruction type.
+ * Types are resolved through the {@link OpcodeRegistry}; the built-in opcodes have their own
+ * instruction classes, and every other registered opcode executes as an {@link OpcodeInstruction}.
  */
 @Component
 public class InstructionFactory {
     
+    private static final Map<BuiltInOpcode, Function<String[], Instruction>> BUILT_IN = builtIn();
+    
+    private final OpcodeRegistry registry = OpcodeRegistry.getDefault();
+    
+    private static Map<BuiltInOpcode, Function<String[], Instruction>> builtIn() {
+        Map<BuiltInOpcode, Function<String[], Instruction>> constructors = new EnumMap<>(BuiltInOpcode.class);
+        constructors.put(BuiltInOpcode.SET, SetInstruction::new);
+        constructors.put(BuiltInOpcode.ADR, AdrInstruction::new);
+        constructors.put(BuiltInOpcode.ADD, AddInstruction::new);
+        constructors.put(BuiltInOpcode.MOV, MovInstruction::new);
+        constructors.put(BuiltInOpcode.INR, InrInstruction::new);
+        constructors.put(BuiltInOpcode.DCR, DcrInstruction::new);
+        constructors.put(BuiltInOpcode.RST, RstInstruction::new);
+        return constructors;
+    }
+    
     /**
      * Creates an instruction object based on the instruction type and arguments.
      *
-     * @param type the type of instruction (e.g., "SET", "ADR", etc.)
+     * @param type the type of instruction (e.g., "SET", "ADR", etc.), in any case
      * @param args the arguments for the instruction
      * @return the appropriate instruction object
      * @throws InvalidInstructionException if the instruction type is unknown
@@ -22,15 +46,13 @@ public class InstructionFactory {
             throw new InvalidInstructionException("Instruction type cannot be null");
         }
         
-        return switch (type.toUpperCase()) {
-            case "SET" -> new SetInstruction(args);
-            case "ADR" -> new AdrInstruction(args);
-            case "ADD" -> new AddInstruction(args);
-            case "MOV" -> new MovInstruction(args);
-            case "INR" -> new InrInstruction(args);
-            case "DCR" -> new DcrInstruction(args);
-            case "RST" -> new RstInstruction(args);
-            default -> throw new InvalidInstructionException("Unknown instruction type: " + type);
-        };
+        OpcodeDefinition definition = registry.find(type);
+        if (definition == null) {
+            throw new InvalidInstructionException("Unknown instruction type: " + type);
+        }
+        if (definition instanceof BuiltInOpcode builtIn) {
+            return BUILT_IN.get(builtIn).apply(args);
+        }
+        return new OpcodeInstruction(definition, args);
     }
 }
@@ -0,0 +1,87 @@
+package com.opcode.instruction;
+
+import com.opcode.core.OpcodeDefinition;
+import com.opcode.core.OperandKind;
+import com.opcode.core.RegisterManager;
+import com.opcode.exception.InvalidSyntaxException;
+
+/**
+ * Instruction of an opcode registered through {@link com.opcode.core.OpcodeRegistry} that has
+ * no instruction class of its own. Its operands are read as the definition declares them.
+ * Example: XOR A B, for an opcode XOR with two register operands
+ */
+public class OpcodeInstruction extends AbstractInstruction {
+    
+    private final OpcodeDefinition definition;
+    
+    /**
+     * Constructs a new OpcodeInstruction with the specified opcode and arguments.
+     *
+     * @param definition the opcode
+     * @param args the instruction arguments, one per operand of the opcode
+     */
+    public OpcodeInstruction(OpcodeDefinition definition, String[] args) {
+        super(args);
+        this.definition = definition;
+    }
+    
+    @Override
+    public void execute(RegisterManager registerManager) {
+        if (!validate()) {
+            throw new InvalidSyntaxException("Invalid " + definition.getMnemonic() + " instruction syntax");
+        }
+        
+        if (definition.isReset()) {
+            registerManager.reset();
+            return;
+        }
+        
+        String target = null;
+        String source = null;
+        int value = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (definition.getOperands().get(i) == OperandKind.VALUE) {
+                value = parseValue(args[i]);
+            } else if (target == null) {
+                validateRegister(args[i], registerManager);
+                target = args[i];
+            } else {
+                validateRegister(args[i], registerManager);
+                source = args[i];
+            }
+        }
+        
+        if (definition.isCommutative()) {
+            registerManager.add(target, definition.apply(0, 0, value));
+        } else {
+            int sourceValue = source != null ? registerManager.getValue(source) : 0;
+            registerManager.setValue(target, definition.apply(registerManager.getValue(target), sourceValue, value));
+        }
+    }
+    
+    private int parseValue(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidSyntaxException("Invalid value for " + definition.getMnemonic() + " instruction: " + value);
+        }
+    }
+    
+    @Override
+    public boolean validate() {
+        if (args == null || args.length != definition.getOperands().size()) {
+            return false;
+        }
+        for (String arg : args) {
+            if (arg == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean isCommutative() {
+        return definition.isCommutative();
+    }
+}
@@ -5,7 +5,7 @@ import com.opcode.exception.InvalidSyntaxException;
 
 /**
  * Instruction to reset all registers to zero.
- * Example: RST (sets all registers A, B, C, D to 0)
+ * Example: RST (sets all registers to 0)
  */
 public class RstInstruction extends AbstractInstruction {
     
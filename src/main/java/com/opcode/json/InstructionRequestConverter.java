@@ -0,0 +1,120 @@
+package com.opcode.json;
+
+import com.opcode.model.BatchInstructionRequest;
+import com.opcode.model.InstructionRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads {@link InstructionRequest} and {@link BatchInstructionRequest} bodies without reflection.
+ * <p>
+ * The body is read into a per-thread buffer and parsed in place; members other than the
+ * instruction fields are skipped, like Jackson does by default in this application. Malformed
+ * bodies are reported as {@link HttpMessageNotReadableException}, so they are answered with 400.
+ * Instruction requests are never response bodies, so the converter only reads.
+ */
+public class InstructionRequestConverter implements HttpMessageConverter<Object> {
+
+    private static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    /**
+     * Checks whether this converter reads a class from a media type.
+     *
+     * @param clazz the class to read
+     * @param mediaType the content type of the request, or null if unknown
+     * @return true for the instruction request classes as JSON, false otherwise
+     */
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return (InstructionRequest.class == clazz || BatchInstructionRequest.class == clazz)
+            && (mediaType == null || MediaType.APPLICATION_JSON.includes(mediaType));
+    }
+
+    /**
+     * Declines to write; instruction requests are never response bodies.
+     *
+     * @param clazz the class to write
+     * @param mediaType the content type of the response
+     * @return false
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Gets the media types this converter reads.
+     *
+     * @return {@code application/json}
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return MEDIA_TYPES;
+    }
+
+    /**
+     * Reads an instruction request.
+     *
+     * @param clazz the request class
+     * @param inputMessage the HTTP request to read from
+     * @return the request
+     * @throws IOException if reading fails
+     * @throws HttpMessageNotReadableException if the body is malformed
+     */
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        JsonInput json = JsonInput.read(inputMessage.getBody());
+        try {
+            Object request = clazz == InstructionRequest.class ? readInstruction(json) : readBatch(json);
+            json.end();
+            return request;
+        } catch (MalformedJsonException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    /**
+     * Rejects the value, since {@link #canWrite(Class, MediaType)} declines every response.
+     *
+     * @param request the request
+     * @param contentType the content type to write
+     * @param outputMessage the response
+     * @throws HttpMessageNotWritableException always
+     */
+    @Override
+    public void write(Object request, MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("Instruction requests are not written as response bodies");
+    }
+
+    private static InstructionRequest readInstruction(JsonInput json) {
+        InstructionRequest request = new InstructionRequest();
+        json.beginObject();
+        for (String name = json.firstName(); name != null; name = json.nextName()) {
+            if ("instruction".equals(name)) {
+                request.setInstruction(json.stringOrNull());
+            } else {
+                json.skipValue();
+            }
+        }
+        return request;
+    }
+
+    private static BatchInstructionRequest readBatch(JsonInput json) {
+        BatchInstructionRequest request = new BatchInstructionRequest();
+        json.beginObject();
+        for (String name = json.firstName(); name != null; name = json.nextName()) {
+            if ("instructions".equals(name)) {
+                request.setInstructions(json.stringListOrNull());
+            } else {
+                json.skipValue();
+            }
+        }
+        return request;
+    }
+}
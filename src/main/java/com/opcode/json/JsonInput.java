@@ -0,0 +1,327 @@
+package com.opcode.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal pull parser over a UTF-8 JSON document held in a reusable per-thread buffer.
+ * It reads the few shapes request bodies have (objects of strings and string arrays) and
+ * skips any other value, reporting malformed input as {@link MalformedJsonException}.
+ */
+final class JsonInput {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int RETAINED_CAPACITY = 64 * 1024;
+    private static final int MAX_DEPTH = 64;
+    private static final ThreadLocal<JsonInput> BUFFERS = ThreadLocal.withInitial(JsonInput::new);
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int position;
+
+    private JsonInput() {
+    }
+
+    /**
+     * Reads a whole stream into the calling thread's buffer.
+     *
+     * @param in the stream
+     * @return the buffer, positioned at the start of the document
+     * @throws IOException if reading the stream fails
+     */
+    static JsonInput read(InputStream in) throws IOException {
+        JsonInput input = BUFFERS.get();
+        if (input.buffer.length > RETAINED_CAPACITY) {
+            input.buffer = new byte[INITIAL_CAPACITY];
+        }
+        input.length = 0;
+        input.position = 0;
+        int n;
+        while ((n = in.read(input.buffer, input.length, input.buffer.length - input.length)) != -1) {
+            input.length += n;
+            if (input.length == input.buffer.length) {
+                input.buffer = Arrays.copyOf(input.buffer, input.buffer.length * 2);
+            }
+        }
+        return input;
+    }
+
+    /**
+     * Consumes the opening brace of an object.
+     */
+    void beginObject() {
+        expect('{');
+    }
+
+    /**
+     * Reads the name of the first object member, consuming the colon after it.
+     *
+     * @return the member name, or null if the object is empty
+     */
+    String firstName() {
+        skipWhitespace();
+        if (consume('}')) {
+            return null;
+        }
+        return name();
+    }
+
+    /**
+     * Reads the name of the next object member, consuming the separators around it.
+     *
+     * @return the member name, or null if the object has ended
+     */
+    String nextName() {
+        skipWhitespace();
+        if (consume('}')) {
+            return null;
+        }
+        expect(',');
+        return name();
+    }
+
+    /**
+     * Reads a string value or null.
+     *
+     * @return the string, or null for a JSON null
+     */
+    String stringOrNull() {
+        skipWhitespace();
+        if (peek() == 'n') {
+            literal("null");
+            return null;
+        }
+        return string();
+    }
+
+    /**
+     * Reads an array of strings or null.
+     *
+     * @return the strings, or null for a JSON null
+     */
+    List<String> stringListOrNull() {
+        skipWhitespace();
+        if (peek() == 'n') {
+            literal("null");
+            return null;
+        }
+        expect('[');
+        List<String> values = new ArrayList<>();
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return values;
+        }
+        do {
+            values.add(stringOrNull());
+            skipWhitespace();
+        } while (consume(','));
+        expect(']');
+        return values;
+    }
+
+    /**
+     * Skips any value.
+     */
+    void skipValue() {
+        skipValue(0);
+    }
+
+    /**
+     * Checks that nothing but whitespace follows the document.
+     */
+    void end() {
+        skipWhitespace();
+        if (position != length) {
+            throw new MalformedJsonException("Unexpected content after the JSON document at offset " + position);
+        }
+    }
+
+    private String name() {
+        String name = string();
+        expect(':');
+        return name;
+    }
+
+    private void skipValue(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new MalformedJsonException("JSON nested too deeply");
+        }
+        skipWhitespace();
+        switch (peek()) {
+            case '"' -> string();
+            case 't' -> literal("true");
+            case 'f' -> literal("false");
+            case 'n' -> literal("null");
+            case '{' -> {
+                position++;
+                skipWhitespace();
+                if (consume('}')) {
+                    return;
+                }
+                do {
+                    skipWhitespace();
+                    string();
+                    expect(':');
+                    skipValue(depth + 1);
+                    skipWhitespace();
+                } while (consume(','));
+                expect('}');
+            }
+            case '[' -> {
+                position++;
+                skipWhitespace();
+                if (consume(']')) {
+                    return;
+                }
+                do {
+                    skipValue(depth + 1);
+                    skipWhitespace();
+                } while (consume(','));
+                expect(']');
+            }
+            default -> number();
+        }
+    }
+
+    private String string() {
+        skipWhitespace();
+        expect('"');
+        int start = position;
+        while (position < length && buffer[position] != '"' && buffer[position] != '\\') {
+            if ((buffer[position] & 0xff) < 0x20) {
+                throw new MalformedJsonException("Unescaped control character in string at offset " + position);
+            }
+            position++;
+        }
+        if (position < length && buffer[position] == '"') {
+            return new String(buffer, start, position++ - start, StandardCharsets.UTF_8);
+        }
+        // Slow path for strings with escapes
+        StringBuilder value = new StringBuilder().append(new String(buffer, start, position - start, StandardCharsets.UTF_8));
+        while (true) {
+            if (position >= length) {
+                throw new MalformedJsonException("Unterminated string");
+            }
+            byte b = buffer[position];
+            if (b == '"') {
+                position++;
+                return value.toString();
+            }
+            if (b == '\\') {
+                position++;
+                value.append(escape());
+                continue;
+            }
+            int segment = position;
+            while (position < length && buffer[position] != '"' && buffer[position] != '\\') {
+                if ((buffer[position] & 0xff) < 0x20) {
+                    throw new MalformedJsonException("Unescaped control character in string at offset " + position);
+                }
+                position++;
+            }
+            value.append(new String(buffer, segment, position - segment, StandardCharsets.UTF_8));
+        }
+    }
+
+    private char escape() {
+        if (position >= length) {
+            throw new MalformedJsonException("Unterminated escape sequence");
+        }
+        byte b = buffer[position++];
+        switch (b) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (position + 4 > length) {
+                    throw new MalformedJsonException("Truncated unicode escape");
+                }
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(buffer[position++], 16);
+                    if (digit < 0) {
+                        throw new MalformedJsonException("Invalid unicode escape at offset " + (position - 1));
+                    }
+                    code = (code << 4) | digit;
+                }
+                return (char) code;
+            default:
+                throw new MalformedJsonException("Invalid escape sequence at offset " + (position - 1));
+        }
+    }
+
+    private void number() {
+        int start = position;
+        consume('-');
+        while (position < length) {
+            byte b = buffer[position];
+            if ((b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-') {
+                position++;
+            } else {
+                break;
+            }
+        }
+        if (position == start || buffer[position - 1] < '0' || buffer[position - 1] > '9') {
+            throw new MalformedJsonException("Unexpected character at offset " + start);
+        }
+    }
+
+    private void literal(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (position >= length || buffer[position] != literal.charAt(i)) {
+                throw new MalformedJsonException("Unexpected character at offset " + position);
+            }
+            position++;
+        }
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (!consume(c)) {
+            throw new MalformedJsonException("Expected '" + c + "' at offset " + position);
+        }
+    }
+
+    private boolean consume(char c) {
+        if (position < length && buffer[position] == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private int peek() {
+        if (position >= length) {
+            throw new MalformedJsonException("Unexpected end of JSON input");
+        }
+        return buffer[position];
+    }
+
+    private void skipWhitespace() {
+        while (position < length) {
+            byte b = buffer[position];
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return;
+            }
+            position++;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.opcode.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that JSON is written into before it is copied to a response stream
+ * in one write. Instances are reused per thread, so writing a response allocates nothing
+ * once the buffer has grown to the usual response size.
+ */
+final class JsonOutput {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int RETAINED_CAPACITY = 64 * 1024;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+    private static final byte[] MIN_INT = Integer.toString(Integer.MIN_VALUE).getBytes();
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+    private static final ThreadLocal<JsonOutput> BUFFERS = ThreadLocal.withInitial(JsonOutput::new);
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    private JsonOutput() {
+    }
+
+    /**
+     * Gets the calling thread's buffer, emptied.
+     *
+     * @return the buffer
+     */
+    static JsonOutput forCurrentThread() {
+        JsonOutput output = BUFFERS.get();
+        if (output.buffer.length > RETAINED_CAPACITY) {
+            output.buffer = new byte[INITIAL_CAPACITY];
+        }
+        output.length = 0;
+        return output;
+    }
+
+    /**
+     * Appends an ASCII character.
+     *
+     * @param c the character
+     * @return this buffer
+     */
+    JsonOutput ascii(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Appends ASCII text that needs no escaping, such as a literal or a quoted field name.
+     *
+     * @param text the text
+     * @return this buffer
+     */
+    JsonOutput ascii(String text) {
+        int n = text.length();
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            buffer[length++] = (byte) text.charAt(i);
+        }
+        return this;
+    }
+
+    /**
+     * Appends a string as a quoted, escaped and UTF-8 encoded JSON string, or null.
+     *
+     * @param value the string, may be null
+     * @return this buffer
+     */
+    JsonOutput string(String value) {
+        if (value == null) {
+            return ascii("null");
+        }
+        int n = value.length();
+        // Worst case per char: a six byte escape
+        ensureCapacity(n * 6 + 2);
+        buffer[length++] = '"';
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer[length++] = '\\';
+                buffer[length++] = (byte) c;
+            } else if (c < 0x20) {
+                escapeControl(c);
+            } else if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xc0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                buffer[length++] = '?';
+            } else {
+                buffer[length++] = (byte) (0xe0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        buffer[length++] = '"';
+        return this;
+    }
+
+    /**
+     * Appends an int in decimal without boxing or creating a string.
+     *
+     * @param value the value
+     * @return this buffer
+     */
+    JsonOutput number(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return raw(MIN_INT);
+        }
+        return number((long) value);
+    }
+
+    /**
+     * Appends a long in decimal without boxing or creating a string.
+     *
+     * @param value the value
+     * @return this buffer
+     */
+    JsonOutput number(long value) {
+        if (value == Long.MIN_VALUE) {
+            return raw(MIN_LONG);
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int start = length;
+        do {
+            buffer[length++] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        } while (value != 0);
+        // Digits were produced least significant first
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+        return this;
+    }
+
+    /**
+     * Appends a boxed number, or null.
+     *
+     * @param value the value, may be null
+     * @return this buffer
+     */
+    JsonOutput number(Number value) {
+        return value == null ? ascii("null") : number(value.longValue());
+    }
+
+    /**
+     * Gets the number of bytes written.
+     *
+     * @return the length
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Copies the written bytes to a stream.
+     *
+     * @param out the stream
+     * @throws IOException if writing to the stream fails
+     */
+    void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    private JsonOutput raw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+        return this;
+    }
+
+    private void escapeControl(char c) {
+        buffer[length++] = '\\';
+        switch (c) {
+            case '\b' -> buffer[length++] = 'b';
+            case '\f' -> buffer[length++] = 'f';
+            case '\n' -> buffer[length++] = 'n';
+            case '\r' -> buffer[length++] = 'r';
+            case '\t' -> buffer[length++] = 't';
+            default -> {
+                buffer[length++] = 'u';
+                buffer[length++] = '0';
+                buffer[length++] = '0';
+                buffer[length++] = HEX[c >> 4];
+                buffer[length++] = HEX[c & 0xf];
+            }
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (length + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.opcode.json;
+
+/**
+ * Exception thrown when a request body is not valid JSON of the expected shape.
+ */
+class MalformedJsonException extends RuntimeException {
+
+    /**
+     * Constructs a new MalformedJsonException with the specified message.
+     *
+     * @param message the detail message
+     */
+    MalformedJsonException(String message) {
+        super(message);
+    }
+}
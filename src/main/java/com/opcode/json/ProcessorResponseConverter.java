@@ -0,0 +1,137 @@
+package com.opcode.json;
+
+import com.opcode.core.RegisterValues;
+import com.opcode.model.ProcessorResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link ProcessorResponse}s as JSON without reflection.
+ * <p>
+ * The output is byte-for-byte what Jackson writes for the response by default, including null
+ * fields. Register maps backed by the register file ({@link RegisterValues}) are written
+ * straight from their primitive values, without boxing. The JSON is assembled in a per-thread
+ * buffer and copied to the response stream in one write. Processor responses are never request
+ * bodies, so the converter only writes.
+ */
+public class ProcessorResponseConverter implements HttpMessageConverter<ProcessorResponse> {
+
+    private static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON);
+
+    /**
+     * Declines to read; processor responses are never request bodies.
+     *
+     * @param clazz the class to read
+     * @param mediaType the content type of the request
+     * @return false
+     */
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Checks whether this converter writes a class as a media type.
+     *
+     * @param clazz the class to write
+     * @param mediaType the requested content type, or null for any
+     * @return true for ProcessorResponse as JSON, false otherwise
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return ProcessorResponse.class == clazz
+            && (mediaType == null || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType));
+    }
+
+    /**
+     * Gets the media types this converter writes.
+     *
+     * @return {@code application/json}
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return MEDIA_TYPES;
+    }
+
+    /**
+     * Rejects the body, since {@link #canRead(Class, MediaType)} declines every request.
+     *
+     * @param clazz the class to read
+     * @param inputMessage the request
+     * @return never returns normally
+     * @throws HttpMessageNotReadableException always
+     */
+    @Override
+    public ProcessorResponse read(Class<? extends ProcessorResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Processor responses are not accepted as request bodies", inputMessage);
+    }
+
+    /**
+     * Writes a processor response as JSON.
+     *
+     * @param response the response
+     * @param contentType the content type to write, or null or a wildcard for JSON
+     * @param outputMessage the HTTP response to write to
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void write(ProcessorResponse response, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        if (outputMessage.getHeaders().getContentType() == null) {
+            outputMessage.getHeaders().setContentType(contentType == null || contentType.isWildcardType()
+                || contentType.isWildcardSubtype() ? MediaType.APPLICATION_JSON : contentType);
+        }
+        JsonOutput json = JsonOutput.forCurrentThread();
+        write(response, json);
+        json.writeTo(outputMessage.getBody());
+        outputMessage.getBody().flush();
+    }
+
+    /**
+     * Writes a processor response into a buffer.
+     *
+     * @param response the response
+     * @param json the buffer
+     */
+    static void write(ProcessorResponse response, JsonOutput json) {
+        json.ascii("{\"status\":").string(response.getStatus())
+            .ascii(",\"message\":").string(response.getMessage())
+            .ascii(",\"registers\":");
+        writeRegisters(response.getRegisters(), json);
+        json.ascii(",\"executedInstructions\":").number(response.getExecutedInstructions())
+            .ascii(",\"version\":").number(response.getVersion())
+            .ascii('}');
+    }
+
+    private static void writeRegisters(Map<String, Integer> registers, JsonOutput json) {
+        if (registers == null) {
+            json.ascii("null");
+            return;
+        }
+        json.ascii('{');
+        if (registers instanceof RegisterValues values) {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    json.ascii(',');
+                }
+                json.string(values.nameAt(i)).ascii(':').number(values.valueAt(i));
+            }
+        } else {
+            boolean first = true;
+            for (Map.Entry<String, Integer> entry : registers.entrySet()) {
+                if (!first) {
+                    json.ascii(',');
+                }
+                first = false;
+                json.string(entry.getKey()).ascii(':').number(entry.getValue());
+            }
+        }
+        json.ascii('}');
+    }
+}
@@ -0,0 +1,85 @@
+package com.opcode.model;
+
+/**
+ * Response model summarizing a program applied to many sessions.
+ */
+public class BulkProgramResponse {
+    
+    private int sessions;
+    private int instructions;
+    private int reexecutedSessions;
+    
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public BulkProgramResponse() {
+    }
+    
+    /**
+     * Constructs a new BulkProgramResponse.
+     *
+     * @param sessions the number of sessions the program executed on
+     * @param instructions the number of instructions of the program
+     * @param reexecutedSessions the number of sessions written concurrently, on which the
+     *        program executed individually
+     */
+    public BulkProgramResponse(int sessions, int instructions, int reexecutedSessions) {
+        this.sessions = sessions;
+        this.instructions = instructions;
+        this.reexecutedSessions = reexecutedSessions;
+    }
+    
+    /**
+     * Gets the number of sessions the program executed on.
+     *
+     * @return the session count
+     */
+    public int getSessions() {
+        return sessions;
+    }
+    
+    /**
+     * Sets the number of sessions the program executed on.
+     *
+     * @param sessions the session count
+     */
+    public void setSessions(int sessions) {
+        this.sessions = sessions;
+    }
+    
+    /**
+     * Gets the number of instructions of the program.
+     *
+     * @return the instruction count
+     */
+    public int getInstructions() {
+        return instructions;
+    }
+    
+    /**
+     * Sets the number of instructions of the program.
+     *
+     * @param instructions the instruction count
+     */
+    public void setInstructions(int instructions) {
+        this.instructions = instructions;
+    }
+    
+    /**
+     * Gets the number of sessions written concurrently, on which the program executed individually.
+     *
+     * @return the re-executed session count
+     */
+    public int getReexecutedSessions() {
+        return reexecutedSessions;
+    }
+    
+    /**
+     * Sets the number of sessions written concurrently, on which the program executed individually.
+     *
+     * @param reexecutedSessions the re-executed session count
+     */
+    public void setReexecutedSessions(int reexecutedSessions) {
+        this.reexecutedSessions = reexecutedSessions;
+    }
+}
@@ -0,0 +1,40 @@
+package com.opcode.model;
+
+/**
+ * Request model for creating a processor session.
+ */
+public class CreateSessionRequest {
+    
+    private String tenant;
+    
+    // Default constructor for JSON deserialization
+    public CreateSessionRequest() {
+    }
+    
+    /**
+     * Constructs a new CreateSessionRequest for the specified tenant.
+     *
+     * @param tenant the tenant owning the session
+     */
+    public CreateSessionRequest(String tenant) {
+        this.tenant = tenant;
+    }
+    
+    /**
+     * Gets the tenant owning the session.
+     *
+     * @return the tenant, or null if the session belongs to no tenant
+     */
+    public String getTenant() {
+        return tenant;
+    }
+    
+    /**
+     * Sets the tenant owning the session.
+     *
+     * @param tenant the tenant to set
+     */
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+}
@@ -0,0 +1,67 @@
+package com.opcode.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Request model for forking a session into child sessions.
+ */
+public class ForkSessionRequest {
+    
+    @Min(value = 1, message = "Count must be at least 1")
+    @Max(value = 100_000, message = "Count must be at most 100000")
+    private int count = 1;
+    
+    private String tenant;
+    
+    // Default constructor for JSON deserialization
+    public ForkSessionRequest() {
+    }
+    
+    /**
+     * Constructs a new ForkSessionRequest.
+     *
+     * @param count the number of children to create
+     * @param tenant the tenant owning the children, or null to inherit the parent's tenant
+     */
+    public ForkSessionRequest(int count, String tenant) {
+        this.count = count;
+        this.tenant = tenant;
+    }
+    
+    /**
+     * Gets the number of children to create.
+     *
+     * @return the number of children
+     */
+    public int getCount() {
+        return count;
+    }
+    
+    /**
+     * Sets the number of children to create.
+     *
+     * @param count the number of children
+     */
+    public void setCount(int count) {
+        this.count = count;
+    }
+    
+    /**
+     * Gets the tenant owning the children.
+     *
+     * @return the tenant, or null to inherit the parent's tenant
+     */
+    public String getTenant() {
+        return tenant;
+    }
+    
+    /**
+     * Sets the tenant owning the children.
+     *
+     * @param tenant the tenant to set
+     */
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+}
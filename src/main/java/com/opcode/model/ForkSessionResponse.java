@@ -0,0 +1,65 @@
+package com.opcode.model;
+
+import java.util.List;
+
+/**
+ * Response model listing the child sessions created by a fork.
+ */
+public class ForkSessionResponse {
+    
+    private String parentSessionId;
+    private List<String> sessionIds;
+    
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public ForkSessionResponse() {
+    }
+    
+    /**
+     * Constructs a new ForkSessionResponse.
+     *
+     * @param parentSessionId the id of the forked session
+     * @param sessionIds the ids of the child sessions
+     */
+    public ForkSessionResponse(String parentSessionId, List<String> sessionIds) {
+        this.parentSessionId = parentSessionId;
+        this.sessionIds = sessionIds;
+    }
+    
+    /**
+     * Gets the id of the forked session.
+     *
+     * @return the parent session id
+     */
+    public String getParentSessionId() {
+        return parentSessionId;
+    }
+    
+    /**
+     * Sets the id of the forked session.
+     *
+     * @param parentSessionId the parent session id
+     */
+    public void setParentSessionId(String parentSessionId) {
+        this.parentSessionId = parentSessionId;
+    }
+    
+    /**
+     * Gets the ids of the child sessions.
+     *
+     * @return the child session ids
+     */
+    public List<String> getSessionIds() {
+        return sessionIds;
+    }
+    
+    /**
+     * Sets the ids of the child sessions.
+     *
+     * @param sessionIds the child session ids
+     */
+    public void setSessionIds(List<String> sessionIds) {
+        this.sessionIds = sessionIds;
+    }
+}
@@ -0,0 +1,63 @@
+package com.opcode.model;
+
+/**
+ * Response model describing the range of sequence numbers readable from a register history.
+ */
+public class HistoryResponse {
+
+    private long oldestSeq;
+    private long headSeq;
+
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public HistoryResponse() {
+    }
+
+    /**
+     * Constructs a new HistoryResponse.
+     *
+     * @param oldestSeq the oldest sequence number that can still be read
+     * @param headSeq the sequence number of the most recent mutation
+     */
+    public HistoryResponse(long oldestSeq, long headSeq) {
+        this.oldestSeq = oldestSeq;
+        this.headSeq = headSeq;
+    }
+
+    /**
+     * Gets the oldest sequence number that can still be read.
+     *
+     * @return the oldest sequence number
+     */
+    public long getOldestSeq() {
+        return oldestSeq;
+    }
+
+    /**
+     * Sets the oldest sequence number that can still be read.
+     *
+     * @param oldestSeq the oldest sequence number to set
+     */
+    public void setOldestSeq(long oldestSeq) {
+        this.oldestSeq = oldestSeq;
+    }
+
+    /**
+     * Gets the sequence number of the most recent mutation.
+     *
+     * @return the head sequence number
+     */
+    public long getHeadSeq() {
+        return headSeq;
+    }
+
+    /**
+     * Sets the sequence number of the most recent mutation.
+     *
+     * @param headSeq the head sequence number to set
+     */
+    public void setHeadSeq(long headSeq) {
+        this.headSeq = headSeq;
+    }
+}
@@ -0,0 +1,67 @@
+package com.opcode.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * Request model for submitting a batch of instructions as an asynchronous job.
+ */
+public class JobRequest {
+    
+    @NotEmpty(message = "Instructions list cannot be empty")
+    private List<String> instructions;
+    
+    private int priority;
+    
+    // Default constructor for JSON deserialization
+    public JobRequest() {
+    }
+    
+    /**
+     * Constructs a new JobRequest.
+     *
+     * @param instructions the instructions to execute
+     * @param priority the job priority; higher priorities run first
+     */
+    public JobRequest(List<String> instructions, int priority) {
+        this.instructions = instructions;
+        this.priority = priority;
+    }
+    
+    /**
+     * Gets the instructions to execute.
+     *
+     * @return the instructions
+     */
+    public List<String> getInstructions() {
+        return instructions;
+    }
+    
+    /**
+     * Sets the instructions to execute.
+     *
+     * @param instructions the instructions to set
+     */
+    public void setInstructions(List<String> instructions) {
+        this.instructions = instructions;
+    }
+    
+    /**
+     * Gets the job priority. Waiting jobs with a higher priority start first;
+     * jobs with equal priority start in submission order.
+     *
+     * @return the priority
+     */
+    public int getPriority() {
+        return priority;
+    }
+    
+    /**
+     * Sets the job priority.
+     *
+     * @param priority the priority to set
+     */
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+}
@@ -0,0 +1,150 @@
+package com.opcode.model;
+
+import java.util.Map;
+
+/**
+ * Response model describing the progress or outcome of an asynchronous batch job.
+ */
+public class JobResponse {
+    
+    private String id;
+    private JobState state;
+    private int totalInstructions;
+    private int executedInstructions;
+    private String message;
+    private Map<String, Integer> registers;
+    
+    // Default constructor for JSON serialization
+    public JobResponse() {
+    }
+    
+    /**
+     * Constructs a new JobResponse.
+     *
+     * @param id the job id
+     * @param state the job state
+     * @param totalInstructions the number of instructions in the job
+     * @param executedInstructions the number of instructions executed so far
+     * @param message the failure message, or null
+     * @param registers the register values after the job finished, or null while it runs
+     */
+    public JobResponse(String id, JobState state, int totalInstructions, int executedInstructions,
+                       String message, Map<String, Integer> registers) {
+        this.id = id;
+        this.state = state;
+        this.totalInstructions = totalInstructions;
+        this.executedInstructions = executedInstructions;
+        this.message = message;
+        this.registers = registers;
+    }
+    
+    /**
+     * Gets the job id.
+     *
+     * @return the job id
+     */
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the job id.
+     *
+     * @param id the job id to set
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    /**
+     * Gets the job state.
+     *
+     * @return the state
+     */
+    public JobState getState() {
+        return state;
+    }
+    
+    /**
+     * Sets the job state.
+     *
+     * @param state the state to set
+     */
+    public void setState(JobState state) {
+        this.state = state;
+    }
+    
+    /**
+     * Gets the number of instructions in the job.
+     *
+     * @return the total number of instructions
+     */
+    public int getTotalInstructions() {
+        return totalInstructions;
+    }
+    
+    /**
+     * Sets the number of instructions in the job.
+     *
+     * @param totalInstructions the total number of instructions to set
+     */
+    public void setTotalInstructions(int totalInstructions) {
+        this.totalInstructions = totalInstructions;
+    }
+    
+    /**
+     * Gets the number of instructions executed so far. For a failed job, this is the number
+     * executed before the failing instruction.
+     *
+     * @return the number of executed instructions
+     */
+    public int getExecutedInstructions() {
+        return executedInstructions;
+    }
+    
+    /**
+     * Sets the number of instructions executed so far.
+     *
+     * @param executedInstructions the number of executed instructions to set
+     */
+    public void setExecutedInstructions(int executedInstructions) {
+        this.executedInstructions = executedInstructions;
+    }
+    
+    /**
+     * Gets the failure message.
+     *
+     * @return the message, or null if the job has not failed
+     */
+    public String getMessage() {
+        return message;
+    }
+    
+    /**
+     * Sets the failure message.
+     *
+     * @param message the message to set
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    /**
+     * Gets the register values right after the last instruction the job executed.
+     *
+     * @return map of register names to their values, or null while the job has not finished
+     *         or if it was cancelled before executing any instruction
+     */
+    public Map<String, Integer> getRegisters() {
+        return registers;
+    }
+    
+    /**
+     * Sets the register values right after the job finished.
+     *
+     * @param registers map of register names to their values
+     */
+    public void setRegisters(Map<String, Integer> registers) {
+        this.registers = registers;
+    }
+}
@@ -0,0 +1,26 @@
+package com.opcode.model;
+
+/**
+ * Lifecycle states of an asynchronous batch job.
+ */
+public enum JobState {
+    /** Waiting for a job thread. */
+    QUEUED,
+    /** Executing its instructions. */
+    RUNNING,
+    /** All instructions executed. */
+    SUCCEEDED,
+    /** Stopped at an instruction that failed. */
+    FAILED,
+    /** Stopped on request before all instructions executed. */
+    CANCELLED;
+
+    /**
+     * Checks whether the job has finished.
+     *
+     * @return true if the state is final, false otherwise
+     */
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
@@ -0,0 +1,48 @@
+package com.opcode.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request model for executing instruction batches on many sessions in one request.
+ */
+public class MultiSessionBatchRequest {
+    
+    @NotEmpty(message = "Sessions list cannot be empty")
+    @Size(max = 100_000, message = "Sessions list must have at most 100000 entries")
+    @Valid
+    private List<SessionBatch> sessions;
+    
+    // Default constructor for JSON deserialization
+    public MultiSessionBatchRequest() {
+    }
+    
+    /**
+     * Constructs a new MultiSessionBatchRequest.
+     *
+     * @param sessions the per-session batches
+     */
+    public MultiSessionBatchRequest(List<SessionBatch> sessions) {
+        this.sessions = sessions;
+    }
+    
+    /**
+     * Gets the per-session batches.
+     *
+     * @return the per-session batches
+     */
+    public List<SessionBatch> getSessions() {
+        return sessions;
+    }
+    
+    /**
+     * Sets the per-session batches.
+     *
+     * @param sessions the per-session batches to set
+     */
+    public void setSessions(List<SessionBatch> sessions) {
+        this.sessions = sessions;
+    }
+}
@@ -0,0 +1,90 @@
+package com.opcode.model;
+
+import java.util.List;
+
+/**
+ * Response model for a multi-session batch, with one result per requested session batch in
+ * request order.
+ */
+public class MultiSessionBatchResponse {
+    
+    private int succeeded;
+    private int failed;
+    private List<SessionBatchResult> results;
+    
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public MultiSessionBatchResponse() {
+    }
+    
+    /**
+     * Constructs a new MultiSessionBatchResponse.
+     *
+     * @param results the per-session results in request order
+     */
+    public MultiSessionBatchResponse(List<SessionBatchResult> results) {
+        this.results = results;
+        for (SessionBatchResult result : results) {
+            if ("success".equals(result.getStatus())) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of session batches that executed completely.
+     *
+     * @return the number of successful session batches
+     */
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    /**
+     * Sets the number of session batches that executed completely.
+     *
+     * @param succeeded the number of successful session batches
+     */
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    /**
+     * Gets the number of session batches that failed.
+     *
+     * @return the number of failed session batches
+     */
+    public int getFailed() {
+        return failed;
+    }
+    
+    /**
+     * Sets the number of session batches that failed.
+     *
+     * @param failed the number of failed session batches
+     */
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    /**
+     * Gets the per-session results in request order.
+     *
+     * @return the per-session results
+     */
+    public List<SessionBatchResult> getResults() {
+        return results;
+    }
+    
+    /**
+     * Sets the per-session results.
+     *
+     * @param results the per-session results
+     */
+    public void setResults(List<SessionBatchResult> results) {
+        this.results = results;
+    }
+}
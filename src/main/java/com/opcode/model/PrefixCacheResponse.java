@@ -0,0 +1,135 @@
+package com.opcode.model;
+
+/**
+ * Response model with the statistics of the batch prefix cache.
+ */
+public class PrefixCacheResponse {
+    
+    private boolean enabled;
+    private int nodes;
+    private long lookups;
+    private long hits;
+    private long skippedInstructions;
+    
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public PrefixCacheResponse() {
+    }
+    
+    /**
+     * Constructs a new PrefixCacheResponse.
+     *
+     * @param enabled whether the cache is enabled
+     * @param nodes the number of cached prefixes
+     * @param lookups the number of batches starting with RST that were looked up
+     * @param hits the number of lookups that matched a cached prefix
+     * @param skippedInstructions the number of instructions covered by matched prefixes
+     */
+    public PrefixCacheResponse(boolean enabled, int nodes, long lookups, long hits, long skippedInstructions) {
+        this.enabled = enabled;
+        this.nodes = nodes;
+        this.lookups = lookups;
+        this.hits = hits;
+        this.skippedInstructions = skippedInstructions;
+    }
+    
+    /**
+     * Checks whether the cache is enabled.
+     *
+     * @return true if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Sets whether the cache is enabled.
+     *
+     * @param enabled true if the cache is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    /**
+     * Gets the number of cached prefixes.
+     *
+     * @return the node count
+     */
+    public int getNodes() {
+        return nodes;
+    }
+    
+    /**
+     * Sets the number of cached prefixes.
+     *
+     * @param nodes the node count
+     */
+    public void setNodes(int nodes) {
+        this.nodes = nodes;
+    }
+    
+    /**
+     * Gets the number of batches starting with RST that were looked up.
+     *
+     * @return the lookup count
+     */
+    public long getLookups() {
+        return lookups;
+    }
+    
+    /**
+     * Sets the number of batches starting with RST that were looked up.
+     *
+     * @param lookups the lookup count
+     */
+    public void setLookups(long lookups) {
+        this.lookups = lookups;
+    }
+    
+    /**
+     * Gets the number of lookups that matched a cached prefix.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits;
+    }
+    
+    /**
+     * Sets the number of lookups that matched a cached prefix.
+     *
+     * @param hits the hit count
+     */
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+    
+    /**
+     * Gets the number of instructions covered by matched prefixes.
+     *
+     * @return the skipped instruction count
+     */
+    public long getSkippedInstructions() {
+        return skippedInstructions;
+    }
+    
+    /**
+     * Sets the number of instructions covered by matched prefixes.
+     *
+     * @param skippedInstructions the skipped instruction count
+     */
+    public void setSkippedInstructions(long skippedInstructions) {
+        this.skippedInstructions = skippedInstructions;
+    }
+    
+    /**
+     * Gets the fraction of lookups that matched a cached prefix.
+     *
+     * @return the hit rate, or 0 if there were no lookups
+     */
+    public double getHitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,86 @@
+package com.opcode.model;
+
+import java.util.List;
+
+/**
+ * Response model describing a prepared program.
+ */
+public class PreparedProgramResponse {
+    
+    private String id;
+    private List<String> instructions;
+    private int parameters;
+    
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public PreparedProgramResponse() {
+    }
+    
+    /**
+     * Constructs a new PreparedProgramResponse.
+     *
+     * @param id the program id
+     * @param instructions the instructions as prepared, with placeholders
+     * @param parameters the number of placeholders
+     */
+    public PreparedProgramResponse(String id, List<String> instructions, int parameters) {
+        this.id = id;
+        this.instructions = instructions;
+        this.parameters = parameters;
+    }
+    
+    /**
+     * Gets the program id.
+     *
+     * @return the program id
+     */
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the program id.
+     *
+     * @param id the program id
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    /**
+     * Gets the instructions as prepared, with placeholders.
+     *
+     * @return the instructions
+     */
+    public List<String> getInstructions() {
+        return instructions;
+    }
+    
+    /**
+     * Sets the instructions as prepared.
+     *
+     * @param instructions the instructions
+     */
+    public void setInstructions(List<String> instructions) {
+        this.instructions = instructions;
+    }
+    
+    /**
+     * Gets the number of placeholders, i.e. the size of every parameter tuple.
+     *
+     * @return the parameter count
+     */
+    public int getParameters() {
+        return parameters;
+    }
+    
+    /**
+     * Sets the number of placeholders.
+     *
+     * @param parameters the parameter count
+     */
+    public void setParameters(int parameters) {
+        this.parameters = parameters;
+    }
+}
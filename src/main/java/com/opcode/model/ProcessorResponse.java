@@ -11,6 +11,7 @@ public class ProcessorResponse {
     private String message;
     private Map<String, Integer> registers;
     private Integer executedInstructions;
+    private Long version;
     
     // Default constructor for JSON serialization
     public ProcessorResponse() {
@@ -88,6 +89,24 @@ public class ProcessorResponse {
         this.executedInstructions = executedInstructions;
     }
     
+    /**
+     * Gets the register state version the register values were read at.
+     *
+     * @return the state version, or null if not reported
+     */
+    public Long getVersion() {
+        return version;
+    }
+    
+    /**
+     * Sets the register state version the register values were read at.
+     *
+     * @param version the state version
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     /**
      * Creates a success response with register values.
      *
@@ -101,6 +120,19 @@ public class ProcessorResponse {
         return response;
     }
     
+    /**
+     * Creates a success response with register values and the state version they were read at.
+     *
+     * @param registers the register values
+     * @param version the register state version
+     * @return the success response
+     */
+    public static ProcessorResponse success(Map<String, Integer> registers, long version) {
+        ProcessorResponse response = success(registers);
+        response.setVersion(version);
+        return response;
+    }
+    
     /**
      * Creates an error response with a message.
      *
@@ -126,4 +158,18 @@ public class ProcessorResponse {
         response.setExecutedInstructions(executedInstructions);
         return response;
     }
+    
+    /**
+     * Creates an error response with a message and the register values after an instruction
+     * that took effect despite the error.
+     *
+     * @param message the error message
+     * @param registers the register values after the instruction
+     * @return the error response
+     */
+    public static ProcessorResponse journalError(String message, Map<String, Integer> registers) {
+        ProcessorResponse response = error(message);
+        response.setRegisters(registers);
+        return response;
+    }
 }
@@ -0,0 +1,152 @@
+package com.opcode.model;
+
+import java.util.Map;
+
+/**
+ * Response model describing the current version of a script and how much of it had to execute.
+ */
+public class ScriptResponse {
+    
+    private String id;
+    private int version;
+    private int instructions;
+    private int resumedAt;
+    private int executedInstructions;
+    private Map<String, Integer> registers;
+    
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public ScriptResponse() {
+    }
+    
+    /**
+     * Constructs a new ScriptResponse.
+     *
+     * @param id the script id
+     * @param version the version number, starting at 1
+     * @param instructions the number of instructions of this version
+     * @param resumedAt the index of the first instruction this version executed
+     * @param executedInstructions the number of instructions this version executed
+     * @param registers the register values after this version
+     */
+    public ScriptResponse(String id, int version, int instructions,
+                          int resumedAt, int executedInstructions, Map<String, Integer> registers) {
+        this.id = id;
+        this.version = version;
+        this.instructions = instructions;
+        this.resumedAt = resumedAt;
+        this.executedInstructions = executedInstructions;
+        this.registers = registers;
+    }
+    
+    /**
+     * Gets the script id.
+     *
+     * @return the script id
+     */
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the script id.
+     *
+     * @param id the script id
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    /**
+     * Gets the version number.
+     *
+     * @return the version number
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    /**
+     * Sets the version number.
+     *
+     * @param version the version number
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+    
+    /**
+     * Gets the number of instructions of this version.
+     *
+     * @return the instruction count
+     */
+    public int getInstructions() {
+        return instructions;
+    }
+    
+    /**
+     * Sets the number of instructions of this version.
+     *
+     * @param instructions the instruction count
+     */
+    public void setInstructions(int instructions) {
+        this.instructions = instructions;
+    }
+    
+    /**
+     * Gets the index of the first instruction executed for this version; every instruction before it was
+     * covered by a checkpoint of an earlier version.
+     *
+     * @return the index of the first executed instruction
+     */
+    public int getResumedAt() {
+        return resumedAt;
+    }
+    
+    /**
+     * Sets the index of the first instruction executed for this version; every instruction before it was
+     * covered by a checkpoint of an earlier version.
+     *
+     * @param resumedAt the index of the first executed instruction
+     */
+    public void setResumedAt(int resumedAt) {
+        this.resumedAt = resumedAt;
+    }
+    
+    /**
+     * Gets the number of instructions executed for this version.
+     *
+     * @return the executed instruction count
+     */
+    public int getExecutedInstructions() {
+        return executedInstructions;
+    }
+    
+    /**
+     * Sets the number of instructions executed for this version.
+     *
+     * @param executedInstructions the executed instruction count
+     */
+    public void setExecutedInstructions(int executedInstructions) {
+        this.executedInstructions = executedInstructions;
+    }
+    
+    /**
+     * Gets the register values after this version.
+     *
+     * @return the register values
+     */
+    public Map<String, Integer> getRegisters() {
+        return registers;
+    }
+    
+    /**
+     * Sets the register values after this version.
+     *
+     * @param registers the register values
+     */
+    public void setRegisters(Map<String, Integer> registers) {
+        this.registers = registers;
+    }
+}
@@ -0,0 +1,68 @@
+package com.opcode.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * Request model for the instructions to execute on one session of a multi-session batch.
+ */
+public class SessionBatch {
+    
+    @NotBlank(message = "Session id cannot be blank")
+    private String sessionId;
+    
+    @NotEmpty(message = "Instructions list cannot be empty")
+    private List<String> instructions;
+    
+    // Default constructor for JSON deserialization
+    public SessionBatch() {
+    }
+    
+    /**
+     * Constructs a new SessionBatch.
+     *
+     * @param sessionId the id of the session to execute on
+     * @param instructions the instructions to execute
+     */
+    public SessionBatch(String sessionId, List<String> instructions) {
+        this.sessionId = sessionId;
+        this.instructions = instructions;
+    }
+    
+    /**
+     * Gets the id of the session to execute on.
+     *
+     * @return the session id
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    /**
+     * Sets the id of the session to execute on.
+     *
+     * @param sessionId the session id to set
+     */
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    /**
+     * Gets the instructions to execute.
+     *
+     * @return the list of instructions
+     */
+    public List<String> getInstructions() {
+        return instructions;
+    }
+    
+    /**
+     * Sets the instructions to execute.
+     *
+     * @param instructions the list of instructions to set
+     */
+    public void setInstructions(List<String> instructions) {
+        this.instructions = instructions;
+    }
+}
@@ -0,0 +1,143 @@
+package com.opcode.model;
+
+import java.util.Map;
+
+/**
+ * Response model for the outcome of one session's batch within a multi-session batch.
+ */
+public class SessionBatchResult {
+    
+    private String sessionId;
+    private String status;
+    private String message;
+    private Map<String, Integer> registers;
+    private Integer executedInstructions;
+    
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public SessionBatchResult() {
+    }
+    
+    /**
+     * Gets the session id.
+     *
+     * @return the session id
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    /**
+     * Sets the session id.
+     *
+     * @param sessionId the session id to set
+     */
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    /**
+     * Gets the status of the session's batch.
+     *
+     * @return the status ("success" or "error")
+     */
+    public String getStatus() {
+        return status;
+    }
+    
+    /**
+     * Sets the status of the session's batch.
+     *
+     * @param status the status to set
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    /**
+     * Gets the error message.
+     *
+     * @return the error message, or null on success
+     */
+    public String getMessage() {
+        return message;
+    }
+    
+    /**
+     * Sets the error message.
+     *
+     * @param message the message to set
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    /**
+     * Gets the session's register values right after its batch.
+     *
+     * @return map of register names to their values, or null on error
+     */
+    public Map<String, Integer> getRegisters() {
+        return registers;
+    }
+    
+    /**
+     * Sets the session's register values right after its batch.
+     *
+     * @param registers map of register names to their values
+     */
+    public void setRegisters(Map<String, Integer> registers) {
+        this.registers = registers;
+    }
+    
+    /**
+     * Gets the number of instructions executed before an error occurred.
+     *
+     * @return the number of executed instructions, or null if the batch did not start
+     */
+    public Integer getExecutedInstructions() {
+        return executedInstructions;
+    }
+    
+    /**
+     * Sets the number of instructions executed before an error occurred.
+     *
+     * @param executedInstructions the number of executed instructions
+     */
+    public void setExecutedInstructions(Integer executedInstructions) {
+        this.executedInstructions = executedInstructions;
+    }
+    
+    /**
+     * Creates a success result with the session's register values.
+     *
+     * @param sessionId the session id
+     * @param registers the register values
+     * @return the success result
+     */
+    public static SessionBatchResult success(String sessionId, Map<String, Integer> registers) {
+        SessionBatchResult result = new SessionBatchResult();
+        result.setSessionId(sessionId);
+        result.setStatus("success");
+        result.setRegisters(registers);
+        return result;
+    }
+    
+    /**
+     * Creates an error result.
+     *
+     * @param sessionId the session id
+     * @param message the error message
+     * @param executedInstructions the number of instructions executed before the error, or null
+     * @return the error result
+     */
+    public static SessionBatchResult error(String sessionId, String message, Integer executedInstructions) {
+        SessionBatchResult result = new SessionBatchResult();
+        result.setSessionId(sessionId);
+        result.setStatus("error");
+        result.setMessage(message);
+        result.setExecutedInstructions(executedInstructions);
+        return result;
+    }
+}
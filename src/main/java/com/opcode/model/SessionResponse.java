@@ -0,0 +1,63 @@
+package com.opcode.model;
+
+/**
+ * Response model describing a processor session.
+ */
+public class SessionResponse {
+    
+    private String sessionId;
+    private String tenant;
+    
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public SessionResponse() {
+    }
+    
+    /**
+     * Constructs a new SessionResponse.
+     *
+     * @param sessionId the session id
+     * @param tenant the tenant owning the session
+     */
+    public SessionResponse(String sessionId, String tenant) {
+        this.sessionId = sessionId;
+        this.tenant = tenant;
+    }
+    
+    /**
+     * Gets the session id.
+     *
+     * @return the session id
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    /**
+     * Sets the session id.
+     *
+     * @param sessionId the session id to set
+     */
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    /**
+     * Gets the tenant owning the session.
+     *
+     * @return the tenant, or null if the session belongs to no tenant
+     */
+    public String getTenant() {
+        return tenant;
+    }
+    
+    /**
+     * Sets the tenant owning the session.
+     *
+     * @param tenant the tenant to set
+     */
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+}
@@ -1,26 +1,61 @@
 package com.opcode.parser;
 
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.OpcodeDefinition;
+import com.opcode.core.OpcodeRegistry;
+import com.opcode.core.OperandKind;
+import com.opcode.core.PackedInstruction;
+import com.opcode.core.RegisterLayout;
+import com.opcode.exception.InvalidInstructionException;
+import com.opcode.exception.InvalidRegisterException;
 import com.opcode.exception.InvalidSyntaxException;
 import com.opcode.instruction.Instruction;
 import com.opcode.instruction.InstructionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.util.Arrays;
 
 /**
  * Parser for converting instruction text into instruction objects.
+ * Instruction types and their operands are looked up in the {@link OpcodeRegistry}.
  */
 @Component
 public class InstructionParser {
     
     private final InstructionFactory factory;
+    private final RegisterLayout layout;
+    private final OpcodeRegistry registry = OpcodeRegistry.getDefault();
     
     /**
-     * Constructs a new InstructionParser with the specified factory.
+     * Constructs a new InstructionParser with the specified factory for the
+     * {@link RegisterLayout#DEFAULT default} registers.
      *
      * @param factory the factory to use for creating instruction objects
      */
     public InstructionParser(InstructionFactory factory) {
+        this(factory, RegisterLayout.DEFAULT);
+    }
+    
+    /**
+     * Constructs a new InstructionParser with the specified factory for the configured registers.
+     *
+     * @param factory the factory to use for creating instruction objects
+     * @param properties the simulator configuration
+     */
+    @Autowired
+    public InstructionParser(InstructionFactory factory, OpcodeProperties properties) {
+        this(factory, RegisterLayout.from(properties.getRegisters()));
+    }
+    
+    /**
+     * Constructs a new InstructionParser with the specified factory and registers.
+     *
+     * @param factory the factory to use for creating instruction objects
+     * @param layout the registers packed instructions refer to by index
+     */
+    public InstructionParser(InstructionFactory factory, RegisterLayout layout) {
         this.factory = factory;
+        this.layout = layout;
     }
     
     /**
@@ -43,7 +78,93 @@ public class InstructionParser {
     }
     
     /**
-     * Validates the basic syntax of an instruction text.
+     * Parses an instruction text into a {@link PackedInstruction}, reporting the same errors
+     * executing the parsed instruction object would. The text is scanned in place, without
+     * splitting it or allocating for a valid instruction.
+     *
+     * @param instructionText the text to parse (e.g., "SET A 10", "ADR C D")
+     * @return the packed instruction
+     * @throws InvalidSyntaxException if the instruction syntax or an immediate value is invalid
+     * @throws InvalidInstructionException if the instruction type is unknown
+     * @throws InvalidRegisterException if a register name is invalid
+     */
+    public long parsePacked(String instructionText) {
+        if (instructionText == null) {
+            throw new InvalidSyntaxException("Invalid instruction syntax: " + instructionText);
+        }
+        int start = skipWhitespace(instructionText, 0);
+        int end = skipToken(instructionText, start);
+        if (start == end) {
+            throw new InvalidSyntaxException("Invalid instruction syntax: " + instructionText);
+        }
+        OpcodeDefinition definition = registry.find(instructionText, start, end);
+        if (definition == null) {
+            throw new InvalidInstructionException("Unknown instruction type: " + instructionText.substring(start, end));
+        }
+        if (countTokens(instructionText, end) != definition.getOperands().size()) {
+            throw new InvalidSyntaxException("Invalid instruction syntax: " + instructionText);
+        }
+        int target = 0;
+        int source = 0;
+        int value = 0;
+        int registers = 0;
+        for (OperandKind operand : definition.getOperands()) {
+            start = skipWhitespace(instructionText, end);
+            end = skipToken(instructionText, start);
+            if (operand == OperandKind.VALUE) {
+                value = value(definition, instructionText, start, end);
+            } else if (registers++ == 0) {
+                target = register(instructionText, start, end);
+            } else {
+                source = register(instructionText, start, end);
+            }
+        }
+        return PackedInstruction.pack(definition.getOperation(), target, source, value);
+    }
+    
+    private static int skipWhitespace(String text, int index) {
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+    
+    private static int skipToken(String text, int index) {
+        while (index < text.length() && !Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+    
+    private static int countTokens(String text, int index) {
+        int tokens = 0;
+        for (int start = skipWhitespace(text, index); start < text.length(); start = skipWhitespace(text, index)) {
+            index = skipToken(text, start);
+            tokens++;
+        }
+        return tokens;
+    }
+    
+    private int register(String text, int start, int end) {
+        int index = layout.indexOf(text, start, end);
+        if (index < 0) {
+            throw new InvalidRegisterException("Invalid register: " + text.substring(start, end));
+        }
+        return index;
+    }
+    
+    private static int value(OpcodeDefinition definition, String text, int start, int end) {
+        try {
+            return Integer.parseInt(text, start, end, 10);
+        } catch (NumberFormatException e) {
+            throw new InvalidSyntaxException("Invalid value for " + definition.getMnemonic()
+                + " instruction: " + text.substring(start, end));
+        }
+    }
+    
+    /**
+     * Validates the basic syntax of an instruction text: it must not be blank, and an
+     * instruction of a known type must have as many arguments as its opcode has operands.
      *
      * @param instructionText the text to validate
      * @return true if the syntax is valid, false otherwise
@@ -54,28 +175,7 @@ public class InstructionParser {
         }
         
         String[] parts = instructionText.trim().split("\\s+");
-        if (parts.length == 0) {
-            return false;
-        }
-        
-        // RST instruction should have no arguments
-        if (parts[0].equalsIgnoreCase("RST") && parts.length > 1) {
-            return false;
-        }
-        
-        // INR and DCR should have exactly one argument
-        if ((parts[0].equalsIgnoreCase("INR") || parts[0].equalsIgnoreCase("DCR")) 
-            && parts.length != 2) {
-            return false;
-        }
-        
-        // SET, ADR, ADD, MOV should have exactly two arguments
-        if ((parts[0].equalsIgnoreCase("SET") || parts[0].equalsIgnoreCase("ADR") 
-            || parts[0].equalsIgnoreCase("ADD") || parts[0].equalsIgnoreCase("MOV")) 
-            && parts.length != 3) {
-            return false;
-        }
-        
-        return true;
+        OpcodeDefinition definition = registry.find(parts[0]);
+        return definition == null || parts.length - 1 == definition.getOperands().size();
     }
 }
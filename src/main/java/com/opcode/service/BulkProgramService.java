@@ -0,0 +1,127 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterColumns;
+import com.opcode.model.BulkProgramResponse;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.ProcessorSession;
+import com.opcode.session.SessionRegistry;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Applies one program to every session, or every session of a tenant, data-parallel.
+ * <p>
+ * The program is parsed into {@link com.opcode.core.PackedInstruction}s once. Sessions are then
+ * processed in chunks, in parallel: the register values of a chunk are captured into
+ * {@link RegisterColumns}, the program runs over the columns one instruction at a time, and the
+ * results are written back. A session written by someone else between capture and write-back
+ * is not overwritten; the program executes on its current state instead, so it is applied
+ * exactly once to every session either way. Each session is updated atomically, but sessions
+ * are not updated at the same instant.
+ * <p>
+ * Sessions that record a history or an undo log skip the columns and execute the program one
+ * instruction at a time, so that every instruction stays one recorded step.
+ */
+@Service
+public class BulkProgramService {
+
+    private static final int CHUNK_SIZE = 16_384;
+
+    private final SessionRegistry registry;
+    private final InstructionParser parser;
+    private final boolean vectorized;
+
+    /**
+     * Constructs a new BulkProgramService.
+     *
+     * @param registry the session registry to use
+     * @param parser the instruction parser to use
+     * @param properties the simulator configuration
+     */
+    public BulkProgramService(SessionRegistry registry, InstructionParser parser,
+                              OpcodeProperties properties) {
+        this.registry = registry;
+        this.parser = parser;
+        this.vectorized = properties.getBulk().isVectorized();
+    }
+
+    /**
+     * Executes a program on every session of a tenant.
+     *
+     * @param tenant the tenant whose sessions to execute on, or null for all sessions
+     * @param instructions the program
+     * @return the number of sessions and instructions executed
+     * @throws com.opcode.exception.InvalidSyntaxException if an instruction is malformed
+     * @throws com.opcode.exception.InvalidInstructionException if an instruction type is unknown
+     * @throws com.opcode.exception.InvalidRegisterException if a register name is invalid
+     */
+    public BulkProgramResponse execute(String tenant, List<String> instructions) {
+        long[] program = new long[instructions.size()];
+        for (int i = 0; i < program.length; i++) {
+            program[i] = parser.parsePacked(instructions.get(i));
+        }
+        List<Processor> processors = registry.getSessions().stream()
+            .filter(session -> tenant == null || tenant.equals(session.getTenant()))
+            .map(ProcessorSession::getProcessor)
+            .toList();
+        AtomicInteger reexecuted = new AtomicInteger();
+        int chunks = (processors.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, processors.size());
+            reexecuted.addAndGet(execute(program, processors.subList(from, to)));
+        });
+        return new BulkProgramResponse(processors.size(), program.length, reexecuted.get());
+    }
+
+    /**
+     * Executes a program on a chunk of sessions.
+     *
+     * @return the number of sessions the program had to be executed on individually
+     */
+    private int execute(long[] program, List<Processor> chunk) {
+        List<Processor> processors = new ArrayList<>(chunk.size());
+        for (Processor processor : chunk) {
+            if (processor.isRecordingMutations()) {
+                executeIndividually(program, processor);
+            } else {
+                processors.add(processor);
+            }
+        }
+        if (processors.isEmpty()) {
+            return 0;
+        }
+        int registers = processors.get(0).getRegisterCount();
+        RegisterColumns columns = new RegisterColumns(registers, processors.size());
+        long[] versions = new long[processors.size()];
+        int[] row = new int[registers];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = processors.get(i).captureRegisters(row);
+            columns.setRow(i, row);
+        }
+        columns.execute(program, vectorized);
+        int reexecuted = 0;
+        for (int i = 0; i < versions.length; i++) {
+            columns.getRow(i, row);
+            Processor processor = processors.get(i);
+            if (!processor.replaceRegisters(versions[i], row)) {
+                executeIndividually(program, processor);
+                reexecuted++;
+            }
+        }
+        return reexecuted;
+    }
+
+    private static void executeIndividually(long[] program, Processor processor) {
+        processor.executeExclusively(() -> {
+            for (long instruction : program) {
+                processor.executePacked(instruction);
+            }
+        });
+    }
+}
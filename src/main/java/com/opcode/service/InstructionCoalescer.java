@@ -0,0 +1,215 @@
+package com.opcode.service;
+
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterProjection;
+import com.opcode.core.RegisterSelection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coalesces concurrently submitted single instructions into micro-batches.
+ * <p>
+ * Callers enqueue their instruction and one of them (the combiner) drains the queue and
+ * executes a whole micro-batch under a single acquisition of the processor's exclusive lock,
+ * completing every caller with the register state observed right after its own instruction,
+ * projected for the caller's register selection.
+ * There is no dedicated worker thread: whichever caller wins the combiner flag does the work,
+ * so an uncontended caller simply executes its own instruction.
+ * <p>
+ * Commutative instructions that the processor can run under its shared lock (see
+ * {@link Processor#executeIfConcurrent(String)}) bypass the queue, since striped increments
+ * scale better than any micro-batch, unless the caller needs the registers changed by its
+ * instruction alone.
+ * <p>
+ * The batch limit adapts to the configured latency target: it is derived from a moving
+ * average of the per-instruction cost so that one micro-batch holds the processor for
+ * roughly the target time, bounding the queueing delay seen by the last caller in a batch.
+ */
+final class InstructionCoalescer {
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final double COST_SMOOTHING = 0.2;
+
+    private final Processor processor;
+    private final long latencyTargetNanos;
+    private final int maxBatchSize;
+    private final ConcurrentLinkedQueue<PendingInstruction> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean combining = new AtomicBoolean();
+    private final PendingInstruction[] batch;
+
+    // Only read and written by the current combiner.
+    private double nanosPerInstruction;
+    private volatile int batchLimit;
+
+    /**
+     * Constructs a new InstructionCoalescer.
+     *
+     * @param processor the processor to execute instructions on
+     * @param latencyTargetMicros the target time one micro-batch may hold the processor
+     * @param maxBatchSize the upper bound on the size of one micro-batch
+     */
+    InstructionCoalescer(Processor processor, long latencyTargetMicros, int maxBatchSize) {
+        if (latencyTargetMicros <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Latency target and max batch size must be positive");
+        }
+        this.processor = processor;
+        this.latencyTargetNanos = TimeUnit.MICROSECONDS.toNanos(latencyTargetMicros);
+        this.maxBatchSize = maxBatchSize;
+        this.batch = new PendingInstruction[maxBatchSize];
+        this.batchLimit = maxBatchSize;
+    }
+
+    /**
+     * Submits an instruction and waits until it has been executed as part of a micro-batch.
+     *
+     * @param instructionText the instruction to execute
+     * @return the register values immediately after this instruction executed
+     * @throws RuntimeException the exception thrown while executing this instruction, if any
+     */
+    Map<String, Integer> submit(String instructionText) {
+        return submit(instructionText, RegisterSelection.ALL).getRegisters();
+    }
+
+    /**
+     * Submits an instruction and waits until it has been executed as part of a micro-batch.
+     * A selection of changed registers reports the registers changed by this instruction alone.
+     *
+     * @param instructionText the instruction to execute
+     * @param selection the registers to report
+     * @return the selected register values immediately after this instruction executed
+     * @throws RuntimeException the exception thrown while executing this instruction, if any
+     */
+    RegisterProjection submit(String instructionText, RegisterSelection selection) {
+        if (!selection.isChangedOnly() && processor.executeIfConcurrent(instructionText)) {
+            return processor.getRegisterValues(selection, RegisterSelection.NO_VERSION);
+        }
+        PendingInstruction pending = new PendingInstruction(instructionText, selection, Thread.currentThread());
+        queue.add(pending);
+
+        while (!pending.isDone()) {
+            if (combining.compareAndSet(false, true)) {
+                try {
+                    while (!pending.isDone()) {
+                        executeBatch();
+                    }
+                } finally {
+                    combining.set(false);
+                }
+                handOff();
+            } else {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+        return pending.result();
+    }
+
+    /**
+     * Gets the current adaptive limit on the micro-batch size.
+     *
+     * @return the batch limit
+     */
+    int getBatchLimit() {
+        return batchLimit;
+    }
+
+    private void executeBatch() {
+        int limit = batchLimit;
+        int size = 0;
+        PendingInstruction next;
+        while (size < limit && (next = queue.poll()) != null) {
+            batch[size++] = next;
+        }
+        if (size == 0) {
+            return;
+        }
+
+        int batchSize = size;
+        long start = System.nanoTime();
+        try {
+            processor.executeExclusively(() -> {
+                for (int i = 0; i < batchSize; i++) {
+                    PendingInstruction pending = batch[i];
+                    try {
+                        long requestVersion = pending.selection.isChangedOnly()
+                            ? processor.getStateVersion()
+                            : RegisterSelection.NO_VERSION;
+                        processor.executeInstruction(pending.instructionText);
+                        pending.complete(processor.getRegisterValues(pending.selection, requestVersion), null);
+                    } catch (RuntimeException e) {
+                        pending.complete(null, e);
+                    }
+                }
+            });
+            adaptBatchLimit(System.nanoTime() - start, batchSize);
+        } finally {
+            // An Error escaping the batch must not leave the remaining callers parked forever
+            for (int i = 0; i < batchSize; i++) {
+                PendingInstruction pending = batch[i];
+                if (!pending.isDone()) {
+                    pending.complete(null, new IllegalStateException(
+                        "Micro-batch aborted before executing: " + pending.instructionText));
+                }
+                LockSupport.unpark(pending.waiter);
+                batch[i] = null;
+            }
+        }
+    }
+
+    private void adaptBatchLimit(long elapsedNanos, int batchSize) {
+        double sample = (double) elapsedNanos / batchSize;
+        nanosPerInstruction = nanosPerInstruction == 0
+            ? sample
+            : nanosPerInstruction + COST_SMOOTHING * (sample - nanosPerInstruction);
+        long limit = (long) (latencyTargetNanos / Math.max(nanosPerInstruction, 1.0));
+        batchLimit = (int) Math.max(1, Math.min(maxBatchSize, limit));
+    }
+
+    /**
+     * Wakes the oldest waiting caller so it can take over as combiner if work remains.
+     */
+    private void handOff() {
+        PendingInstruction head = queue.peek();
+        if (head != null) {
+            LockSupport.unpark(head.waiter);
+        }
+    }
+
+    /**
+     * An instruction waiting to be executed, together with its eventual outcome.
+     */
+    private static final class PendingInstruction {
+
+        private final String instructionText;
+        private final RegisterSelection selection;
+        private final Thread waiter;
+        private RegisterProjection registers;
+        private RuntimeException failure;
+        private volatile boolean done;
+
+        private PendingInstruction(String instructionText, RegisterSelection selection, Thread waiter) {
+            this.instructionText = instructionText;
+            this.selection = selection;
+            this.waiter = waiter;
+        }
+
+        private void complete(RegisterProjection registers, RuntimeException failure) {
+            this.registers = registers;
+            this.failure = failure;
+            this.done = true;
+        }
+
+        private boolean isDone() {
+            return done;
+        }
+
+        private RegisterProjection result() {
+            if (failure != null) {
+                throw failure;
+            }
+            return registers;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.exception.JobNotFoundException;
+import com.opcode.exception.JobRejectedException;
+import com.opcode.model.JobResponse;
+import com.opcode.model.JobState;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs large instruction batches as asynchronous jobs, off the request threads.
+ * <p>
+ * Jobs wait in a bounded priority queue for one of a fixed number of job threads; when the
+ * queue is full, new jobs are rejected. A running job executes its instructions in chunks of
+ * the configured cancellation check interval, each chunk under one acquisition of the
+ * processor's exclusive lock, so other requests can interleave between chunks. Between chunks
+ * the job publishes its progress and checks whether it has been cancelled.
+ * <p>
+ * A finished job keeps its outcome, including the register values right after its last chunk
+ * (none if it was cancelled before executing anything), until the configured retention
+ * expires. Progress streams are written by the job thread at chunk boundaries.
+ */
+@Service
+public class JobService {
+
+    private static final Comparator<Runnable> PRIORITY_ORDER = Comparator
+        .comparingInt((Runnable job) -> -((BatchJob) job).priority)
+        .thenComparingLong(job -> ((BatchJob) job).sequence);
+
+    private final Processor processor;
+    private final OpcodeProperties.Jobs settings;
+    private final Map<String, BatchJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong submissions = new AtomicLong();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService expiry;
+
+    /**
+     * Constructs a new JobService.
+     *
+     * @param processor the processor jobs execute on
+     * @param properties the simulator configuration
+     */
+    public JobService(Processor processor, OpcodeProperties properties) {
+        this.processor = processor;
+        this.settings = properties.getJobs();
+        if (settings.getThreads() <= 0 || settings.getQueueCapacity() < 0 || settings.getCancelCheckInterval() <= 0) {
+            throw new IllegalArgumentException("Job threads and cancel check interval must be positive");
+        }
+        this.executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(), 0, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(11, PRIORITY_ORDER), daemonThreads("batch-job"));
+        this.expiry = Executors.newSingleThreadScheduledExecutor(daemonThreads("batch-job-expiry"));
+    }
+
+    /**
+     * Submits instructions to be executed as a job.
+     *
+     * @param instructions the instructions to execute
+     * @param priority the job priority; higher priorities start first
+     * @return the queued job
+     * @throws JobRejectedException if the job queue is full
+     */
+    public JobResponse submit(List<String> instructions, int priority) {
+        if (pending.incrementAndGet() > settings.getThreads() + settings.getQueueCapacity()) {
+            pending.decrementAndGet();
+            throw new JobRejectedException("Job queue is full");
+        }
+        BatchJob job = new BatchJob(UUID.randomUUID().toString(), instructions.toArray(new String[0]),
+            priority, submissions.getAndIncrement());
+        jobs.put(job.id, job);
+        executor.execute(job);
+        return job.toResponse();
+    }
+
+    /**
+     * Gets the progress or outcome of a job.
+     *
+     * @param jobId the job id
+     * @return the job
+     * @throws JobNotFoundException if the job does not exist or has expired
+     */
+    public JobResponse getJob(String jobId) {
+        return find(jobId).toResponse();
+    }
+
+    /**
+     * Opens a stream of a job's progress. The stream starts with the current progress, receives
+     * a progress event per chunk and ends with a finished event carrying the outcome.
+     *
+     * @param jobId the job id
+     * @return the emitter streaming the job's progress
+     * @throws JobNotFoundException if the job does not exist or has expired
+     */
+    public SseEmitter stream(String jobId) {
+        return stream(jobId, new SseEmitter(settings.getStreamTimeoutMillis()));
+    }
+
+    /**
+     * Opens a stream of a job's progress on the given emitter.
+     *
+     * @param jobId the job id
+     * @param emitter the emitter to stream to
+     * @return the emitter
+     */
+    SseEmitter stream(String jobId, SseEmitter emitter) {
+        find(jobId).subscribe(emitter);
+        return emitter;
+    }
+
+    /**
+     * Requests that a job stops. A queued job is cancelled immediately; a running job stops at
+     * its next cancellation check. Cancelling a finished job has no effect.
+     *
+     * @param jobId the job id
+     * @return the job after the request
+     * @throws JobNotFoundException if the job does not exist or has expired
+     */
+    public JobResponse cancel(String jobId) {
+        BatchJob job = find(jobId);
+        job.cancelRequested = true;
+        if (executor.remove(job)) {
+            job.finish(JobState.CANCELLED);
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * Stops the job threads. Running jobs are interrupted at their next chunk.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        expiry.shutdownNow();
+    }
+
+    private BatchJob find(String jobId) {
+        BatchJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException("Job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A submitted job. The outcome fields are written by the job thread only and published
+     * through the volatile state, which is written last.
+     */
+    private final class BatchJob implements Runnable {
+
+        private final String id;
+        private final String[] instructions;
+        private final int priority;
+        private final long sequence;
+        private final List<SseEmitter> subscribers = new ArrayList<>();
+        // Not a monitor: streams are written while holding it, which must not pin a virtual thread
+        private final ReentrantLock subscribersLock = new ReentrantLock();
+        private volatile boolean cancelRequested;
+        private volatile int executed;
+        private volatile JobState state = JobState.QUEUED;
+        private String message;
+        private Map<String, Integer> registers;
+
+        private BatchJob(String id, String[] instructions, int priority, long sequence) {
+            this.id = id;
+            this.instructions = instructions;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            if (cancelRequested) {
+                finish(JobState.CANCELLED);
+                return;
+            }
+            state = JobState.RUNNING;
+            publish("progress");
+            int interval = settings.getCancelCheckInterval();
+            while (executed < instructions.length) {
+                if (cancelRequested || Thread.currentThread().isInterrupted()) {
+                    finish(JobState.CANCELLED);
+                    return;
+                }
+                int end = Math.min(instructions.length, executed + interval);
+                processor.executeExclusively(() -> executeChunk(end));
+                if (message != null) {
+                    finish(JobState.FAILED);
+                    return;
+                }
+                publish("progress");
+            }
+            finish(JobState.SUCCEEDED);
+        }
+
+        /**
+         * Executes instructions up to an index, stopping at the first failure, and records the
+         * register values right after them. Must run under the processor's exclusive lock.
+         *
+         * @param end the index after the last instruction of the chunk
+         */
+        private void executeChunk(int end) {
+            int i = executed;
+            try {
+                for (; i < end; i++) {
+                    processor.executeInstruction(instructions[i]);
+                }
+            } catch (RuntimeException e) {
+                message = "Error executing instruction: " + instructions[i] + " - " + e.getMessage();
+            }
+            executed = i;
+            registers = processor.getAllRegisterValues();
+        }
+
+        private void finish(JobState finalState) {
+            pending.decrementAndGet();
+            state = finalState;
+            publish("finished");
+            expiry.schedule(() -> jobs.remove(id), settings.getRetentionMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        private void subscribe(SseEmitter emitter) {
+            subscribersLock.lock();
+            try {
+                if (!send(emitter, state.isFinished() ? "finished" : "progress", toResponse())) {
+                    return;
+                }
+                if (state.isFinished()) {
+                    emitter.complete();
+                    return;
+                }
+                emitter.onCompletion(() -> unsubscribe(emitter));
+                emitter.onTimeout(emitter::complete);
+                subscribers.add(emitter);
+            } finally {
+                subscribersLock.unlock();
+            }
+        }
+
+        private void unsubscribe(SseEmitter emitter) {
+            subscribersLock.lock();
+            try {
+                subscribers.remove(emitter);
+            } finally {
+                subscribersLock.unlock();
+            }
+        }
+
+        private void publish(String event) {
+            subscribersLock.lock();
+            try {
+                if (subscribers.isEmpty()) {
+                    return;
+                }
+                JobResponse response = toResponse();
+                subscribers.removeIf(emitter -> !send(emitter, event, response));
+                if (response.getState().isFinished()) {
+                    subscribers.forEach(SseEmitter::complete);
+                    subscribers.clear();
+                }
+            } finally {
+                subscribersLock.unlock();
+            }
+        }
+
+        private boolean send(SseEmitter emitter, String event, JobResponse response) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(response));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        private JobResponse toResponse() {
+            JobState current = state;
+            return new JobResponse(id, current, instructions.length, executed,
+                current.isFinished() ? message : null, current.isFinished() ? registers : null);
+        }
+    }
+}
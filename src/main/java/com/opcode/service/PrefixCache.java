@@ -0,0 +1,138 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.PackedInstruction;
+import com.opcode.core.PrefixTrie;
+import com.opcode.core.Processor;
+import com.opcode.exception.OpcodeException;
+import com.opcode.model.PrefixCacheResponse;
+import com.opcode.parser.InstructionParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shortcuts the start of instruction batches that begin with RST, shared by all sessions.
+ * <p>
+ * After RST the registers are zero whatever they were before, so what a batch computes up to
+ * any of its instructions depends only on the instructions. The instructions after the RST are
+ * looked up in a {@link PrefixTrie}; the RST and the longest cached prefix then take effect as
+ * one exclusive write of the cached register values, and only the rest of the batch executes.
+ * In the same exclusive section the processor executes the next few instructions of the batch,
+ * and the values they wrote are added to the trie, so the next batch with the same setup skips
+ * them. The trie is looked up and filled outside the processor's lock and never executes
+ * instructions itself.
+ * <p>
+ * Processors that {@link Processor#isRecordingMutations() record} every mutation as a history
+ * or undo step are never shortcut, since the cached prefix would take effect as a single step.
+ */
+@Component
+public class PrefixCache {
+
+    private final InstructionParser parser;
+    private final PrefixTrie trie;
+
+    /**
+     * Constructs a new PrefixCache.
+     *
+     * @param parser the instruction parser to use
+     * @param processor the default processor, which defines the register file
+     * @param properties the simulator configuration
+     */
+    @Autowired
+    public PrefixCache(InstructionParser parser, Processor processor, OpcodeProperties properties) {
+        this(parser, processor.getRegisterCount(), properties.getPrefixCache());
+    }
+
+    /**
+     * Constructs a new PrefixCache.
+     *
+     * @param parser the instruction parser to use
+     * @param registers the number of registers
+     * @param settings the prefix cache settings
+     */
+    public PrefixCache(InstructionParser parser, int registers, OpcodeProperties.PrefixCache settings) {
+        this.parser = parser;
+        this.trie = settings.isEnabled() ? new PrefixTrie(registers, settings.getMaxNodes()) : null;
+    }
+
+    /**
+     * Executes the RST starting a batch, as much of the batch after it as is cached, and the
+     * instructions after that which the cache learns. The instructions after the first one that
+     * fails to parse or execute are never looked up, so they fail when the batch executes them.
+     *
+     * @param processor the processor to execute the batch on
+     * @param instructions the batch
+     * @param parsed the whole batch already parsed into packed form, or null to parse it here
+     * @return the number of instructions of the batch that took effect, or 0 if the batch does
+     *         not start with RST, the processor records its mutations or the cache is disabled
+     */
+    int fastForward(Processor processor, List<String> instructions, long[] parsed) {
+        if (trie == null || instructions.isEmpty() || processor.isRecordingMutations()) {
+            return 0;
+        }
+        long[] program;
+        int length = 0;
+        if (parsed != null) {
+            if (PackedInstruction.operation(parsed[0]) != PackedInstruction.RST) {
+                return 0;
+            }
+            program = Arrays.copyOfRange(parsed, 1, parsed.length);
+            length = program.length;
+        } else {
+            if (!isReset(instructions.get(0))) {
+                return 0;
+            }
+            program = new long[instructions.size() - 1];
+            try {
+                while (length < program.length) {
+                    program[length] = parser.parsePacked(instructions.get(length + 1));
+                    length++;
+                }
+            } catch (OpcodeException e) {
+                // Only the instructions before the malformed one can be cached
+            }
+        }
+        PrefixTrie.Match match = trie.lookup(program, length);
+        int[] written = new int[Math.min(length - match.length(), trie.getMaxInsertions())];
+        int[] learned = new int[1];
+        processor.executeExclusively(() -> {
+            processor.executeInstruction(instructions.get(0));
+            if (match.length() > 0) {
+                processor.replaceRegisters(processor.captureRegisters(new int[match.values().length]), match.values());
+            }
+            try {
+                while (learned[0] < written.length) {
+                    written[learned[0]] = processor.executePacked(program[match.length() + learned[0]]);
+                    learned[0]++;
+                }
+            } catch (OpcodeException e) {
+                // Executed again by the caller, which reports the failure
+            }
+        });
+        trie.insert(match, program, written, learned[0]);
+        return 1 + match.length() + learned[0];
+    }
+
+    private boolean isReset(String instruction) {
+        try {
+            return PackedInstruction.operation(parser.parsePacked(instruction)) == PackedInstruction.RST;
+        } catch (OpcodeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the cache statistics.
+     *
+     * @return the statistics, all zero if the cache is disabled
+     */
+    public PrefixCacheResponse getStats() {
+        if (trie == null) {
+            return new PrefixCacheResponse(false, 0, 0, 0, 0);
+        }
+        return new PrefixCacheResponse(true, trie.size(), trie.getLookups(), trie.getHits(),
+            trie.getSkippedInstructions());
+    }
+}
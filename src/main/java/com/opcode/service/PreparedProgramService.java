@@ -0,0 +1,260 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.AffineProgram;
+import com.opcode.core.OpcodeDefinition;
+import com.opcode.core.OpcodeRegistry;
+import com.opcode.core.OperandKind;
+import com.opcode.exception.InvalidSyntaxException;
+import com.opcode.exception.ProgramNotFoundException;
+import com.opcode.model.PreparedProgramResponse;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.SessionRegistry;
+import org.springframework.stereotype.Service;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Prepares programs whose immediates may be placeholders, and evaluates them for streams of
+ * parameter tuples.
+ * <p>
+ * A placeholder is a {@code ?} in place of the value operand of an instruction, e.g.
+ * {@code SET A ?}; placeholders are numbered in program order. A prepared program is compiled
+ * once into an {@link AffineProgram}, so evaluating it for a tuple costs the same however many
+ * instructions it has; it may only use {@link OpcodeDefinition#isAffine() affine} opcodes.
+ * <p>
+ * A sweep reads parameter tuples in blocks and answers each block before reading the next, so
+ * neither side of the stream is ever held in memory as a whole. All values are big-endian
+ * 32-bit integers. A request block is the number of tuples {@code n}, followed by one column of
+ * {@code n} values per parameter; a response block is {@code n} followed by one column of
+ * {@code n} final values per register, in register order. Large blocks are evaluated in
+ * parallel slices. A malformed block ends the response early.
+ */
+@Service
+public class PreparedProgramService {
+
+    private static final String PLACEHOLDER = "?";
+    private static final int SLICE_SIZE = 16_384;
+
+    private final SessionRegistry registry;
+    private final InstructionParser parser;
+    private final int maxBlockTuples;
+    private final Map<String, PreparedProgram> programs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new PreparedProgramService.
+     *
+     * @param registry the session registry sweeps read their initial registers from
+     * @param parser the instruction parser to use
+     * @param properties the simulator configuration
+     */
+    public PreparedProgramService(SessionRegistry registry, InstructionParser parser, OpcodeProperties properties) {
+        this.registry = registry;
+        this.parser = parser;
+        this.maxBlockTuples = properties.getPrograms().getMaxBlockTuples();
+        if (maxBlockTuples <= 0) {
+            throw new IllegalArgumentException("Max block tuples must be positive");
+        }
+    }
+
+    /**
+     * Compiles and stores a program.
+     *
+     * @param instructions the instructions, with {@code ?} placeholders for value operands
+     * @return the prepared program
+     * @throws InvalidSyntaxException if an instruction is malformed
+     * @throws com.opcode.exception.InvalidInstructionException if an instruction type is unknown or not affine
+     * @throws com.opcode.exception.InvalidRegisterException if a register name is invalid
+     */
+    public PreparedProgramResponse prepare(List<String> instructions) {
+        long[] program = new long[instructions.size()];
+        int[] parameterOf = new int[program.length];
+        int parameters = 0;
+        for (int i = 0; i < program.length; i++) {
+            String text = instructions.get(i);
+            String bound = text != null ? bindPlaceholder(text) : null;
+            if (bound != null) {
+                program[i] = parser.parsePacked(bound);
+                parameterOf[i] = parameters++;
+            } else {
+                program[i] = parser.parsePacked(text);
+                parameterOf[i] = AffineProgram.NO_PARAMETER;
+            }
+        }
+        int registers = registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor().getRegisterCount();
+        PreparedProgram prepared = new PreparedProgram(UUID.randomUUID().toString(), List.copyOf(instructions),
+            AffineProgram.compile(program, parameterOf, parameters, registers));
+        programs.put(prepared.id, prepared);
+        return prepared.toResponse();
+    }
+
+    private static String bindPlaceholder(String text) {
+        String[] parts = text.trim().split("\\s+");
+        OpcodeDefinition definition = OpcodeRegistry.getDefault().find(parts[0]);
+        if (definition == null || parts.length - 1 != definition.getOperands().size()) {
+            return null;
+        }
+        for (int i = 1; i < parts.length; i++) {
+            if (PLACEHOLDER.equals(parts[i]) && definition.getOperands().get(i - 1) == OperandKind.VALUE) {
+                parts[i] = "0";
+                return String.join(" ", parts);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets a prepared program.
+     *
+     * @param programId the program id
+     * @return the prepared program
+     * @throws ProgramNotFoundException if no such program exists
+     */
+    public PreparedProgramResponse get(String programId) {
+        return find(programId).toResponse();
+    }
+
+    /**
+     * Deletes a prepared program.
+     *
+     * @param programId the program id
+     * @throws ProgramNotFoundException if no such program exists
+     */
+    public void delete(String programId) {
+        if (programs.remove(programId) == null) {
+            throw new ProgramNotFoundException("Program not found: " + programId);
+        }
+    }
+
+    /**
+     * Prepares a sweep of a program, starting every tuple from a session's current registers.
+     *
+     * @param programId the program id
+     * @param sessionId the session whose registers to start from, or null to start from zero
+     * @return the sweep, ready to run
+     * @throws ProgramNotFoundException if no such program exists
+     * @throws com.opcode.exception.SessionNotFoundException if no such session exists
+     */
+    public Sweep sweep(String programId, String sessionId) {
+        AffineProgram program = find(programId).program;
+        int[] initialRegisters = new int[program.getRegisterCount()];
+        if (sessionId != null) {
+            registry.get(sessionId).getProcessor().captureRegisters(initialRegisters);
+        }
+        return new Sweep(program, program.bind(initialRegisters));
+    }
+
+    private PreparedProgram find(String programId) {
+        PreparedProgram prepared = programs.get(programId);
+        if (prepared == null) {
+            throw new ProgramNotFoundException("Program not found: " + programId);
+        }
+        return prepared;
+    }
+
+    /**
+     * A sweep of a prepared program from a fixed initial state.
+     */
+    public final class Sweep {
+
+        private final AffineProgram program;
+        private final int[] bound;
+
+        private Sweep(AffineProgram program, int[] bound) {
+            this.program = program;
+            this.bound = bound;
+        }
+
+        /**
+         * Evaluates every block of parameter tuples read from the input and writes the final
+         * registers of each block to the output, until the input ends.
+         *
+         * @param in the parameter blocks
+         * @param out the receiver of the register blocks
+         * @throws IOException if reading or writing fails, or the input ends within a block
+         * @throws InvalidSyntaxException if a block has an invalid number of tuples
+         */
+        public void run(InputStream in, OutputStream out) throws IOException {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(in, 65_536));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out, 65_536));
+            int[][] parameterColumns = new int[program.getParameterCount()][];
+            int[][] registerColumns = new int[program.getRegisterCount()][];
+            byte[] bytes = new byte[0];
+            while (true) {
+                int count;
+                try {
+                    count = input.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (count <= 0 || count > maxBlockTuples) {
+                    throw new InvalidSyntaxException("Invalid sweep block size: " + count);
+                }
+                if (bytes.length < count * Integer.BYTES) {
+                    bytes = new byte[count * Integer.BYTES];
+                    allocate(parameterColumns, count);
+                    allocate(registerColumns, count);
+                }
+                for (int[] column : parameterColumns) {
+                    input.readFully(bytes, 0, count * Integer.BYTES);
+                    ByteBuffer.wrap(bytes).asIntBuffer().get(column, 0, count);
+                }
+                evaluate(parameterColumns, registerColumns, count);
+                output.writeInt(count);
+                for (int[] column : registerColumns) {
+                    ByteBuffer.wrap(bytes).asIntBuffer().put(column, 0, count);
+                    output.write(bytes, 0, count * Integer.BYTES);
+                }
+            }
+            output.flush();
+        }
+
+        private void evaluate(int[][] parameterColumns, int[][] registerColumns, int count) {
+            if (count <= SLICE_SIZE) {
+                program.evaluate(bound, parameterColumns, registerColumns, 0, count);
+                return;
+            }
+            int slices = (count + SLICE_SIZE - 1) / SLICE_SIZE;
+            IntStream.range(0, slices).parallel().forEach(slice -> program.evaluate(bound, parameterColumns,
+                registerColumns, slice * SLICE_SIZE, Math.min((slice + 1) * SLICE_SIZE, count)));
+        }
+
+        private static void allocate(int[][] columns, int length) {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = new int[length];
+            }
+        }
+    }
+
+    /**
+     * A stored program with its compiled form.
+     */
+    private static final class PreparedProgram {
+
+        private final String id;
+        private final List<String> instructions;
+        private final AffineProgram program;
+
+        private PreparedProgram(String id, List<String> instructions, AffineProgram program) {
+            this.id = id;
+            this.instructions = instructions;
+            this.program = program;
+        }
+
+        private PreparedProgramResponse toResponse() {
+            return new PreparedProgramResponse(id, instructions, program.getParameterCount());
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.opcode.service;
 
+import com.opcode.config.OpcodeProperties;
 import com.opcode.core.Processor;
+import com.opcode.core.RegisterProjection;
+import com.opcode.core.RegisterSelection;
 import com.opcode.exception.BatchExecutionException;
+import com.opcode.model.HistoryResponse;
+import com.opcode.model.PrefixCacheResponse;
+import com.opcode.model.RegisterValueResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service layer for the microprocessor simulator.
@@ -14,27 +25,74 @@ import java.util.Map;
 public class ProcessorService {
     
     private final Processor processor;
+    private final InstructionCoalescer coalescer;
+    private final PrefixCache prefixCache;
+    private final ResultMemo resultMemo;
+    private final ObjectMapper objectMapper;
+    private final Map<String, VersionedJson> registerValueJson = new ConcurrentHashMap<>();
+    private volatile VersionedJson registersJson;
     
     /**
-     * Constructs a new ProcessorService with the specified processor.
+     * Constructs a new ProcessorService with the specified processor and default settings.
      *
      * @param processor the processor to use
      */
     public ProcessorService(Processor processor) {
+        this(processor, new OpcodeProperties(), new ObjectMapper(), null, null);
+    }
+    
+    /**
+     * Constructs a new ProcessorService with the specified processor and settings.
+     *
+     * @param processor the processor to use
+     * @param properties the simulator configuration
+     * @param objectMapper the mapper used to serialize cached register reads
+     * @param prefixCache the cache shortcutting batches that start with RST, or null for none
+     * @param resultMemo the memo of batch results by starting registers, or null for none
+     */
+    @Autowired
+    public ProcessorService(Processor processor, OpcodeProperties properties, ObjectMapper objectMapper,
+                            PrefixCache prefixCache, ResultMemo resultMemo) {
         this.processor = processor;
+        this.objectMapper = objectMapper;
+        this.prefixCache = prefixCache;
+        this.resultMemo = resultMemo;
+        OpcodeProperties.Coalescing coalescing = properties.getCoalescing();
+        this.coalescer = coalescing.isEnabled()
+            ? new InstructionCoalescer(processor, coalescing.getLatencyTargetMicros(), coalescing.getMaxBatchSize())
+            : null;
     }
     
     /**
      * Executes a single instruction and returns the updated register values.
+     * When coalescing is enabled, concurrently submitted instructions are executed together
+     * in micro-batches and each caller receives the register values right after its own instruction.
      *
      * @param instructionText the instruction to execute (e.g., "SET A 10", "ADR C D")
      * @return a map of register names to their updated values
      */
     public Map<String, Integer> executeInstruction(String instructionText) {
+        if (coalescer != null) {
+            return coalescer.submit(instructionText);
+        }
         processor.executeInstruction(instructionText);
         return processor.getAllRegisterValues();
     }
     
+    /**
+     * Executes a single instruction and returns the selected register values.
+     *
+     * @param instructionText the instruction to execute
+     * @param selection the registers to report
+     * @return the selected register values with the state version they were read at
+     */
+    public RegisterProjection executeInstruction(String instructionText, RegisterSelection selection) {
+        if (coalescer != null) {
+            return coalescer.submit(instructionText, selection);
+        }
+        return executeProjected(processor, selection, () -> processor.executeInstruction(instructionText));
+    }
+    
     /**
      * Executes multiple instructions in sequence and returns the updated register values.
      * If an error occurs during execution, a BatchExecutionException is thrown with details
@@ -45,11 +103,136 @@ public class ProcessorService {
      * @throws BatchExecutionException if an error occurs during batch execution
      */
     public Map<String, Integer> executeBatchInstructions(List<String> instructions) {
-        int executedCount = 0;
+        return executeBatch(processor, instructions, prefixCache, resultMemo);
+    }
+    
+    /**
+     * Executes multiple instructions in sequence and returns the selected register values.
+     *
+     * @param instructions the list of instructions to execute
+     * @param selection the registers to report
+     * @return the selected register values with the state version they were read at
+     * @throws BatchExecutionException if an error occurs during batch execution
+     */
+    public RegisterProjection executeBatchInstructions(List<String> instructions, RegisterSelection selection) {
+        return executeBatch(processor, instructions, selection, prefixCache, resultMemo);
+    }
+    
+    /**
+     * Resolves request options into a register selection.
+     *
+     * @param registers the names of the registers to report, or null for all registers
+     * @param changedOnly whether to report only registers changed by the request
+     * @param sinceVersion the version to report changes since, or null for no such filter
+     * @return the register selection
+     */
+    public RegisterSelection selectRegisters(Collection<String> registers, boolean changedOnly, Long sinceVersion) {
+        return processor.selectRegisters(registers, changedOnly, sinceVersion);
+    }
+    
+    /**
+     * Executes multiple instructions in sequence on the given processor and returns the
+     * selected register values.
+     *
+     * @param processor the processor to execute the instructions on
+     * @param instructions the list of instructions to execute
+     * @param selection the registers to report
+     * @param prefixCache the cache shortcutting batches that start with RST, or null for none
+     * @param resultMemo the memo of batch results by starting registers, or null for none
+     * @return the selected register values with the state version they were read at
+     * @throws BatchExecutionException if an error occurs during batch execution
+     */
+    static RegisterProjection executeBatch(Processor processor, List<String> instructions, RegisterSelection selection,
+                                           PrefixCache prefixCache, ResultMemo resultMemo) {
+        return executeProjected(processor, selection,
+            () -> executeMemoized(processor, instructions, prefixCache, resultMemo));
+    }
+    
+    /**
+     * Runs an execution and projects the selected registers afterwards. A selection of changed
+     * registers needs the state version from right before the execution, so the execution then
+     * runs exclusively to keep other requests' changes out of the projection.
+     *
+     * @param processor the processor the execution runs on
+     * @param selection the registers to report
+     * @param execution the execution
+     * @return the selected register values with the state version they were read at
+     */
+    private static RegisterProjection executeProjected(Processor processor, RegisterSelection selection,
+                                                       Runnable execution) {
+        if (!selection.isChangedOnly()) {
+            execution.run();
+            return processor.getRegisterValues(selection, RegisterSelection.NO_VERSION);
+        }
+        RegisterProjection[] result = new RegisterProjection[1];
+        processor.executeExclusively(() -> {
+            long requestVersion = processor.getStateVersion();
+            execution.run();
+            result[0] = processor.getRegisterValues(selection, requestVersion);
+        });
+        return result[0];
+    }
+    
+    /**
+     * Executes multiple instructions in sequence on the given processor.
+     *
+     * @param processor the processor to execute the instructions on
+     * @param instructions the list of instructions to execute
+     * @param prefixCache the cache shortcutting batches that start with RST, or null for none
+     * @param resultMemo the memo of batch results by starting registers, or null for none
+     * @return a map of register names to their updated values
+     * @throws BatchExecutionException if an error occurs during batch execution
+     */
+    static Map<String, Integer> executeBatch(Processor processor, List<String> instructions, PrefixCache prefixCache,
+                                             ResultMemo resultMemo) {
+        executeMemoized(processor, instructions, prefixCache, resultMemo);
+        return processor.getAllRegisterValues();
+    }
+    
+    /**
+     * Executes instructions in sequence, answering from the result memo when given one.
+     * A batch the memo can hold is parsed once, executed in its packed form on a miss and
+     * remembered afterwards.
+     *
+     * @param processor the processor to execute the instructions on
+     * @param instructions the list of instructions to execute
+     * @param prefixCache the cache shortcutting batches that start with RST, or null for none
+     * @param resultMemo the memo of batch results by starting registers, or null for none
+     * @throws BatchExecutionException if an error occurs during batch execution
+     */
+    private static void executeMemoized(Processor processor, List<String> instructions, PrefixCache prefixCache,
+                                        ResultMemo resultMemo) {
+        ResultMemo.Lookup lookup = resultMemo != null ? resultMemo.lookup(processor, instructions) : null;
+        if (lookup == null) {
+            executeAll(processor, instructions, null, prefixCache);
+        } else if (!lookup.isHit()) {
+            executeAll(processor, instructions, lookup.getProgram(), prefixCache);
+            resultMemo.remember(lookup);
+        }
+    }
+    
+    /**
+     * Executes instructions in sequence, stopping at the first failure. A batch starting with
+     * RST resumes after its longest cached prefix when a prefix cache is given.
+     *
+     * @param processor the processor to execute the instructions on
+     * @param instructions the list of instructions to execute
+     * @param program the instructions already parsed into packed form, or null to parse them
+     * @param prefixCache the cache shortcutting batches that start with RST, or null for none
+     * @throws BatchExecutionException if an error occurs during batch execution
+     */
+    private static void executeAll(Processor processor, List<String> instructions, long[] program,
+                                   PrefixCache prefixCache) {
+        int executedCount = prefixCache != null ? prefixCache.fastForward(processor, instructions, program) : 0;
 
-        for (String instruction : instructions) {
+        for (int i = executedCount; i < instructions.size(); i++) {
+            String instruction = instructions.get(i);
             try {
-                processor.executeInstruction(instruction);
+                if (program != null) {
+                    processor.executePacked(program[i]);
+                } else {
+                    processor.executeInstruction(instruction);
+                }
                 executedCount++;
             } catch (Exception e) {
                 throw new BatchExecutionException(
@@ -58,8 +241,15 @@ public class ProcessorService {
                 );
             }
         }
-
-        return processor.getAllRegisterValues();
+    }
+    
+    /**
+     * Gets the statistics of the batch prefix cache.
+     *
+     * @return the prefix cache statistics
+     */
+    public PrefixCacheResponse getPrefixCacheStats() {
+        return prefixCache != null ? prefixCache.getStats() : new PrefixCacheResponse(false, 0, 0, 0, 0);
     }
     
     /**
@@ -71,6 +261,82 @@ public class ProcessorService {
         return processor.getAllRegisterValues();
     }
     
+    /**
+     * Gets the current version of the register state.
+     *
+     * @return the state version
+     */
+    public long getStateVersion() {
+        return processor.getStateVersion();
+    }
+    
+    /**
+     * Gets the values of all registers as serialized JSON. The JSON is cached per state version,
+     * so unchanged reads are served without serializing again.
+     *
+     * @return the JSON of the register map with the state version it reflects
+     */
+    public VersionedJson getAllRegistersJson() {
+        VersionedJson cached = registersJson;
+        long version = processor.getStateVersion();
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+        VersionedJson json = serialize(version, processor.getAllRegisterValues());
+        if (processor.getStateVersion() == version) {
+            registersJson = json;
+        }
+        return json;
+    }
+    
+    /**
+     * Checks that a register exists.
+     *
+     * @param register the register name
+     * @throws com.opcode.exception.InvalidRegisterException if the register name is invalid
+     */
+    public void validateRegister(String register) {
+        processor.indexOf(register);
+    }
+    
+    /**
+     * Gets the value of a specific register as serialized JSON, cached per state version.
+     *
+     * @param register the register name
+     * @return the JSON of the register value response with the state version it reflects
+     */
+    public VersionedJson getRegisterValueJson(String register) {
+        VersionedJson cached = registerValueJson.get(register);
+        long version = processor.getStateVersion();
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+        VersionedJson json = serialize(version, new RegisterValueResponse(processor.getRegisterValue(register)));
+        if (processor.getStateVersion() == version) {
+            registerValueJson.put(register, json);
+        }
+        return json;
+    }
+    
+    /**
+     * Gets the values of all registers as of a sequence number of the recorded history.
+     *
+     * @param seq the sequence number
+     * @return a map of register names to their values at that point
+     */
+    public Map<String, Integer> getAllRegistersAt(long seq) {
+        return processor.getAllRegisterValuesAt(seq);
+    }
+    
+    /**
+     * Gets the range of sequence numbers that can currently be read.
+     *
+     * @return the retained history range
+     */
+    public HistoryResponse getHistory() {
+        return new HistoryResponse(processor.getOldestSeq(), processor.getHeadSeq());
+    }
+    
     /**
      * Gets the value of a specific register.
      *
@@ -81,6 +347,17 @@ public class ProcessorService {
         return processor.getRegisterValue(register);
     }
     
+    /**
+     * Reverts the most recent mutations and returns the resulting register values.
+     *
+     * @param steps the number of mutations to revert
+     * @return a map of register names to their values after the undo
+     */
+    public Map<String, Integer> undo(int steps) {
+        processor.undo(steps);
+        return processor.getAllRegisterValues();
+    }
+    
     /**
      * Resets all registers to zero by executing the RST instruction.
      *
@@ -90,4 +367,20 @@ public class ProcessorService {
         processor.executeInstruction("RST");
         return processor.getAllRegisterValues();
     }
+    
+    /**
+     * Serializes a value read at a state version. If the state changed while the value was read,
+     * the value may be newer than the version; such results are returned but not cached.
+     *
+     * @param version the state version read before the value
+     * @param value the value to serialize
+     * @return the serialized value
+     */
+    private VersionedJson serialize(long version, Object value) {
+        try {
+            return new VersionedJson(version, objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize register state", e);
+        }
+    }
 }
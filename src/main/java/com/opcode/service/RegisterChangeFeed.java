@@ -0,0 +1,377 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.RegisterWriteListener;
+import com.opcode.core.ResetGenerations;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feed of changes to the primary processor's registers, served as Server-Sent Events and as
+ * long polls.
+ * <p>
+ * At the end of every exclusive section that wrote registers, the changed registers are
+ * serialized once into a delta event. A single dispatcher thread fans each delta out to the
+ * bounded buffers of all stream subscribers, and a small pool of sender threads drains the
+ * buffers into the subscribers' streams. Idle subscribers and waiting long polls hold no thread.
+ * <p>
+ * A subscriber whose buffer overflows loses its buffered deltas. It then receives a full
+ * snapshot event instead, after which deltas resume. Every event carries the register state
+ * version as its id, and deltas at or below the version of the last event sent are skipped.
+ * <p>
+ * The feed attaches to the processor as a write listener only while it has stream subscribers
+ * or waiting long polls, and detaches once the last of them is gone. While attached, commutative
+ * instructions execute exclusively even in striped-increment mode. A bulk reset writes no
+ * register, so the feed applies a bulk reset covering the processor as soon as it happens, which
+ * publishes the zeroed registers like any other write.
+ */
+@Component
+public class RegisterChangeFeed implements RegisterWriteListener {
+
+    private final Processor processor;
+    private final ProcessorService processorService;
+    private final OpcodeProperties.Feed settings;
+    private final String[] names;
+    private final int[] changedValues;
+    private final boolean[] changed;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Queue<DeferredResult<ResponseEntity<byte[]>>> polls = new ConcurrentLinkedQueue<>();
+    private final ExecutorService dispatcher;
+    private final ExecutorService senders;
+    private final ReentrantLock attachLock = new ReentrantLock();
+    private boolean attached;
+
+    /**
+     * Constructs a new RegisterChangeFeed.
+     *
+     * @param processor the processor whose changes are published
+     * @param registerManager the processor's register manager, used for register names
+     * @param processorService the service serving cached register snapshots
+     * @param resetGenerations the reset generations, notifying the feed of bulk resets
+     * @param properties the simulator configuration
+     */
+    public RegisterChangeFeed(Processor processor, RegisterManager registerManager, ProcessorService processorService,
+                              ResetGenerations resetGenerations, OpcodeProperties properties) {
+        this.processor = processor;
+        this.processorService = processorService;
+        this.settings = properties.getFeed();
+        this.names = new String[registerManager.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = registerManager.nameOf(i);
+        }
+        this.changedValues = new int[names.length];
+        this.changed = new boolean[names.length];
+        this.dispatcher = Executors.newSingleThreadExecutor(daemonThreads("register-feed-dispatcher"));
+        this.senders = Executors.newFixedThreadPool(settings.getSenderThreads(), daemonThreads("register-feed-sender"));
+        resetGenerations.addResetListener(this::resetRequested);
+    }
+
+    /**
+     * Opens a stream of register changes. The stream starts with a snapshot of all registers.
+     *
+     * @return the emitter streaming snapshot and delta events
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(settings.getStreamTimeoutMillis()));
+    }
+
+    /**
+     * Opens a stream of register changes on the given emitter.
+     *
+     * @param emitter the emitter to stream to
+     * @return the emitter
+     */
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(error -> unsubscribe(subscriber));
+        attachLock.lock();
+        try {
+            subscribers.add(subscriber);
+            attach();
+        } finally {
+            attachLock.unlock();
+        }
+        subscriber.schedule();
+        return subscriber.emitter;
+    }
+
+    /**
+     * Waits for the register state to move past a version. Answers immediately with the current
+     * registers if it already has, otherwise with the registers after the next change, or with
+     * 304 if nothing changes before the poll times out.
+     *
+     * @param sinceVersion the state version the client has already seen
+     * @return the deferred response
+     */
+    public DeferredResult<ResponseEntity<byte[]>> poll(long sinceVersion) {
+        ResponseEntity<byte[]> notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(VersionedJson.etag(sinceVersion))
+            .build();
+        DeferredResult<ResponseEntity<byte[]>> result =
+            new DeferredResult<>(settings.getPollTimeoutMillis(), notModified);
+        if (processorService.getStateVersion() != sinceVersion) {
+            result.setResult(snapshotResponse());
+            return result;
+        }
+        result.onCompletion(() -> {
+            polls.remove(result);
+            detachIfIdle();
+        });
+        attachLock.lock();
+        try {
+            polls.add(result);
+            attach();
+        } finally {
+            attachLock.unlock();
+        }
+        // Re-check after registering, so a change committed in between is not missed
+        if (processorService.getStateVersion() != sinceVersion && polls.remove(result)) {
+            result.setResult(snapshotResponse());
+            detachIfIdle();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of open streams.
+     *
+     * @return the number of stream subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Remembers the new value of a written register for the next delta.
+     *
+     * @param register the dense index of the register
+     * @param oldValue the value before the write
+     * @param newValue the value after the write
+     */
+    @Override
+    public void registerWritten(int register, int oldValue, int newValue) {
+        changedValues[register] = newValue;
+        changed[register] = true;
+    }
+
+    /**
+     * Remembers that all registers were reset for the next delta.
+     *
+     * @param oldValues the values before the reset
+     */
+    @Override
+    public void registersReset(int[] oldValues) {
+        Arrays.fill(changedValues, 0);
+        Arrays.fill(changed, true);
+    }
+
+    /**
+     * Serializes the registers changed by the committed section and hands the delta to the dispatcher.
+     *
+     * @param version the register state version after the section
+     */
+    @Override
+    public void writesCommitted(long version) {
+        if (subscribers.isEmpty() && polls.isEmpty()) {
+            Arrays.fill(changed, false);
+            return;
+        }
+        StringBuilder json = new StringBuilder(16 * names.length).append('{');
+        for (int i = 0; i < names.length; i++) {
+            if (changed[i]) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append('"').append(names[i]).append("\":").append(changedValues[i]);
+                changed[i] = false;
+            }
+        }
+        VersionedJson delta = new VersionedJson(version, json.append('}').toString().getBytes(StandardCharsets.UTF_8));
+        dispatcher.execute(() -> publish(delta));
+    }
+
+    /**
+     * Stops the dispatcher and sender threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Attaches to the processor unless already attached. Must be called with the attach lock held.
+     */
+    private void attach() {
+        if (!attached) {
+            processor.addWriteListener(this);
+            attached = true;
+        }
+    }
+
+    /**
+     * Detaches from the processor once there are neither subscribers nor waiting polls, so that
+     * commutative instructions may run concurrently again.
+     */
+    private void detachIfIdle() {
+        attachLock.lock();
+        try {
+            if (attached && subscribers.isEmpty() && polls.isEmpty()) {
+                processor.removeWriteListener(this);
+                attached = false;
+            }
+        } finally {
+            attachLock.unlock();
+        }
+    }
+
+    private void resetRequested() {
+        if (!subscribers.isEmpty() || !polls.isEmpty()) {
+            dispatcher.execute(processor::materializeReset);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            detachIfIdle();
+        }
+    }
+
+    private void publish(VersionedJson delta) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(delta);
+        }
+        if (!polls.isEmpty()) {
+            ResponseEntity<byte[]> response = snapshotResponse();
+            DeferredResult<ResponseEntity<byte[]>> poll;
+            while ((poll = polls.poll()) != null) {
+                poll.setResult(response);
+            }
+            detachIfIdle();
+        }
+    }
+
+    private ResponseEntity<byte[]> snapshotResponse() {
+        VersionedJson snapshot = processorService.getAllRegistersJson();
+        return ResponseEntity.ok()
+            .eTag(VersionedJson.etag(snapshot.getVersion()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.getJson());
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A stream subscriber with a bounded buffer of pending deltas. At most one sender thread
+     * drains a subscriber at a time. The buffer and flags are guarded by the subscriber's lock,
+     * which is never held while sending.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<VersionedJson> buffer = new ArrayDeque<>();
+        private boolean resync = true;
+        private boolean scheduled;
+        private long lastVersion = -1;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(VersionedJson delta) {
+            lock.lock();
+            try {
+                if (buffer.size() == settings.getSubscriberBuffer()) {
+                    buffer.clear();
+                    resync = true;
+                } else {
+                    buffer.add(delta);
+                }
+            } finally {
+                lock.unlock();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            boolean start;
+            lock.lock();
+            try {
+                start = !scheduled;
+                scheduled = true;
+            } finally {
+                lock.unlock();
+            }
+            if (start) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                VersionedJson delta;
+                boolean snapshot;
+                lock.lock();
+                try {
+                    snapshot = resync;
+                    resync = false;
+                    delta = snapshot ? null : buffer.poll();
+                    if (!snapshot && delta == null) {
+                        scheduled = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    if (snapshot) {
+                        send("snapshot", processorService.getAllRegistersJson());
+                    } else if (delta.getVersion() > lastVersion) {
+                        send("delta", delta);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(this);
+                    return;
+                }
+            }
+        }
+
+        private void send(String name, VersionedJson event) throws IOException {
+            emitter.send(SseEmitter.event()
+                .id(Long.toString(event.getVersion()))
+                .name(name)
+                .data(event.getJson(), MediaType.APPLICATION_JSON));
+            lastVersion = event.getVersion();
+        }
+    }
+}
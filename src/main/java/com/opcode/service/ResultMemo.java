@@ -0,0 +1,248 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.PackedInstruction;
+import com.opcode.core.Processor;
+import com.opcode.exception.OpcodeException;
+import com.opcode.parser.InstructionParser;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Memoizes the register values after instruction batches, keyed by the batch and the register
+ * values it started from, shared by all sessions.
+ * <p>
+ * A batch is a pure function of the registers it starts from, so a batch seen before from the
+ * same registers is answered with one exclusive write of the remembered result instead of
+ * executing. Batches are compared after parsing, so formatting does not matter, and a batch
+ * containing RST is keyed by zeroed registers, since its result does not depend on the
+ * starting values. The key holds the starting values themselves rather than a state version:
+ * versions differ between sessions and change with every write, values are what determines
+ * the result, and an entry never goes stale.
+ * <p>
+ * Only capturing the starting values, checking the memo and writing a remembered result hold
+ * the processor's exclusive lock. A batch that misses executes its parsed instructions one by
+ * one like any other batch, so other requests may interleave with it; its entry is therefore
+ * computed from the captured starting values on a private copy of the registers rather than
+ * read back from the processor. Processors that {@link Processor#isRecordingMutations() record}
+ * every mutation as a history or undo step are never answered from the memo, since the result
+ * would take effect as a single step.
+ * <p>
+ * The memo is bounded by an estimate of its size in bytes and evicts the least recently used
+ * entries. A batch heavier than an eighth of the bound is not memoized.
+ */
+@Component
+public class ResultMemo {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final InstructionParser parser;
+    private final boolean enabled;
+    private final long maxWeightBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Key, int[]> results = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile long weightBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new ResultMemo.
+     *
+     * @param parser the instruction parser to use
+     * @param properties the simulator configuration
+     */
+    public ResultMemo(InstructionParser parser, OpcodeProperties properties) {
+        this.parser = parser;
+        this.enabled = properties.getResultMemo().isEnabled();
+        this.maxWeightBytes = properties.getResultMemo().getMaxWeightBytes();
+        if (maxWeightBytes <= 0) {
+            throw new IllegalArgumentException("Max weight must be positive");
+        }
+    }
+
+    /**
+     * Parses a batch and, if its result from the processor's current registers is remembered,
+     * writes the result in one exclusive section.
+     *
+     * @param processor the processor to execute the batch on
+     * @param instructions the batch
+     * @return the lookup, which has {@linkplain Lookup#isHit() hit} if the batch took effect,
+     *         or null if the batch cannot be memoized and the caller has to execute it
+     */
+    Lookup lookup(Processor processor, List<String> instructions) {
+        if (!enabled || processor.isRecordingMutations()) {
+            return null;
+        }
+        long[] program = new long[instructions.size()];
+        boolean resets = false;
+        try {
+            for (int i = 0; i < program.length; i++) {
+                program[i] = parser.parsePacked(instructions.get(i));
+                resets |= PackedInstruction.operation(program[i]) == PackedInstruction.RST;
+            }
+        } catch (OpcodeException e) {
+            return null;
+        }
+        int registers = processor.getRegisterCount();
+        long weight = weightOf(program.length, registers);
+        if (weight > maxWeightBytes / 8) {
+            return null;
+        }
+        boolean keyedByStart = !resets;
+        Lookup[] lookup = new Lookup[1];
+        processor.executeExclusively(() -> {
+            int[] start = new int[registers];
+            long version = processor.captureRegisters(start);
+            Key key = new Key(program, keyedByStart ? start : new int[registers]);
+            int[] result = get(key);
+            if (result != null) {
+                processor.replaceRegisters(version, result);
+            }
+            lookup[0] = new Lookup(key, start, weight, result != null);
+        });
+        return lookup[0];
+    }
+
+    /**
+     * Remembers the result of a batch that missed and has executed, computed from the
+     * registers it started from.
+     *
+     * @param lookup the lookup that missed
+     */
+    void remember(Lookup lookup) {
+        int[] end = lookup.start.clone();
+        PackedInstruction.executeAll(lookup.key.program, end);
+        put(lookup.key, end, lookup.weight);
+    }
+
+    private static long weightOf(int instructions, int registers) {
+        return ENTRY_OVERHEAD_BYTES + (long) instructions * Long.BYTES + 2L * registers * Integer.BYTES;
+    }
+
+    private int[] get(Key key) {
+        int[] result;
+        lock.lock();
+        try {
+            result = results.get(key);
+        } finally {
+            lock.unlock();
+        }
+        (result != null ? hits : misses).increment();
+        return result;
+    }
+
+    private void put(Key key, int[] result, long weight) {
+        lock.lock();
+        try {
+            long total = weightBytes;
+            if (results.put(key, result) == null) {
+                total += weight;
+            }
+            Iterator<Map.Entry<Key, int[]>> eldest = results.entrySet().iterator();
+            while (total > maxWeightBytes && eldest.hasNext()) {
+                Key evicted = eldest.next().getKey();
+                eldest.remove();
+                total -= weightOf(evicted.program.length, evicted.start.length);
+            }
+            weightBytes = total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of batches answered from the memo.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of memoizable batches that had to execute.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the estimated size of the memo.
+     *
+     * @return the weight in bytes
+     */
+    public long getWeightBytes() {
+        return weightBytes;
+    }
+
+    /**
+     * The parsed batch and starting registers of a memo lookup.
+     */
+    static final class Lookup {
+
+        private final Key key;
+        private final int[] start;
+        private final long weight;
+        private final boolean hit;
+
+        private Lookup(Key key, int[] start, long weight, boolean hit) {
+            this.key = key;
+            this.start = start;
+            this.weight = weight;
+            this.hit = hit;
+        }
+
+        /**
+         * Checks whether the batch was answered from the memo.
+         *
+         * @return true if the remembered result was written, false if the batch has to execute
+         */
+        boolean isHit() {
+            return hit;
+        }
+
+        /**
+         * Gets the parsed batch.
+         *
+         * @return the packed instructions, in order, which must not be modified
+         */
+        long[] getProgram() {
+            return key.program;
+        }
+    }
+
+    /**
+     * A batch with the register values it starts from.
+     */
+    private static final class Key {
+
+        private final long[] program;
+        private final int[] start;
+        private final int hash;
+
+        private Key(long[] program, int[] start) {
+            this.program = program;
+            this.start = start;
+            this.hash = 31 * Arrays.hashCode(program) + Arrays.hashCode(start);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && hash == other.hash
+                && Arrays.equals(program, other.program) && Arrays.equals(start, other.start);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
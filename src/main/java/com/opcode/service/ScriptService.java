@@ -0,0 +1,162 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.CheckpointedRun;
+import com.opcode.core.Processor;
+import com.opcode.exception.ScriptNotFoundException;
+import com.opcode.model.ScriptResponse;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.SessionRegistry;
+import org.springframework.stereotype.Service;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stores scripts, programs that are edited and resubmitted version after version, and executes
+ * each version incrementally.
+ * <p>
+ * A script runs from zeroed registers, with a checkpoint of the registers every
+ * {@code opcode.scripts.checkpoint-interval} instructions (see {@link CheckpointedRun}). A new
+ * version is compared with the previous one instruction by instruction, after parsing, so only
+ * real changes count as edits; execution resumes from the last checkpoint before the first
+ * edit. An edit near the end of a long script therefore costs only the instructions after it.
+ * Versions of the same script are applied one at a time.
+ */
+@Service
+public class ScriptService {
+
+    private final SessionRegistry registry;
+    private final InstructionParser parser;
+    private final int checkpointInterval;
+    private final Map<String, Script> scripts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new ScriptService.
+     *
+     * @param registry the session registry, whose default session defines the register file
+     * @param parser the instruction parser to use
+     * @param properties the simulator configuration
+     */
+    public ScriptService(SessionRegistry registry, InstructionParser parser, OpcodeProperties properties) {
+        this.registry = registry;
+        this.parser = parser;
+        this.checkpointInterval = properties.getScripts().getCheckpointInterval();
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+    }
+
+    /**
+     * Stores and executes the first version of a script.
+     *
+     * @param instructions the instructions
+     * @return the script's first version
+     * @throws com.opcode.exception.InvalidSyntaxException if an instruction is malformed
+     * @throws com.opcode.exception.InvalidInstructionException if an instruction type is unknown
+     * @throws com.opcode.exception.InvalidRegisterException if a register name is invalid
+     */
+    public ScriptResponse create(List<String> instructions) {
+        Processor processor = registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor();
+        CheckpointedRun run = CheckpointedRun.execute(parse(instructions), processor.getRegisterCount(),
+            checkpointInterval);
+        Script script = new Script(UUID.randomUUID().toString(), run);
+        scripts.put(script.id, script);
+        return script.toResponse(processor);
+    }
+
+    /**
+     * Stores and executes a new version of a script, resuming from the previous version's last
+     * checkpoint before the first edited instruction. A version that fails to parse or execute
+     * leaves the script unchanged.
+     *
+     * @param scriptId the script id
+     * @param instructions the instructions of the new version
+     * @return the script's new version
+     * @throws ScriptNotFoundException if no such script exists
+     * @throws com.opcode.exception.InvalidSyntaxException if an instruction is malformed
+     * @throws com.opcode.exception.InvalidInstructionException if an instruction type is unknown
+     * @throws com.opcode.exception.InvalidRegisterException if a register name is invalid
+     */
+    public ScriptResponse update(String scriptId, List<String> instructions) {
+        Script script = find(scriptId);
+        long[] program = parse(instructions);
+        script.lock.lock();
+        try {
+            script.run = script.run.revise(program);
+            script.version++;
+            return script.toResponse(registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor());
+        } finally {
+            script.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the current version of a script.
+     *
+     * @param scriptId the script id
+     * @return the script's current version
+     * @throws ScriptNotFoundException if no such script exists
+     */
+    public ScriptResponse get(String scriptId) {
+        Script script = find(scriptId);
+        script.lock.lock();
+        try {
+            return script.toResponse(registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor());
+        } finally {
+            script.lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes a script with all its checkpoints.
+     *
+     * @param scriptId the script id
+     * @throws ScriptNotFoundException if no such script exists
+     */
+    public void delete(String scriptId) {
+        if (scripts.remove(scriptId) == null) {
+            throw new ScriptNotFoundException("Script not found: " + scriptId);
+        }
+    }
+
+    private long[] parse(List<String> instructions) {
+        long[] program = new long[instructions.size()];
+        for (int i = 0; i < program.length; i++) {
+            program[i] = parser.parsePacked(instructions.get(i));
+        }
+        return program;
+    }
+
+    private Script find(String scriptId) {
+        Script script = scripts.get(scriptId);
+        if (script == null) {
+            throw new ScriptNotFoundException("Script not found: " + scriptId);
+        }
+        return script;
+    }
+
+    /**
+     * A stored script with the run of its current version. The run and version are guarded by
+     * the script's lock, which unlike a monitor does not pin a virtual thread while it waits.
+     */
+    private static final class Script {
+
+        private final String id;
+        private final ReentrantLock lock = new ReentrantLock();
+        private CheckpointedRun run;
+        private int version = 1;
+
+        private Script(String id, CheckpointedRun run) {
+            this.id = id;
+            this.run = run;
+        }
+
+        private ScriptResponse toResponse(Processor processor) {
+            return new ScriptResponse(id, version, run.getLength(), run.getResumedAt(),
+                run.getExecutedInstructions(), processor.toRegisterMap(run.getRegisters()));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.exception.BatchExecutionException;
+import com.opcode.exception.OpcodeException;
+import com.opcode.model.MultiSessionBatchResponse;
+import com.opcode.model.SessionBatch;
+import com.opcode.model.SessionBatchResult;
+import com.opcode.session.SessionRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Executes instruction batches on many sessions in one call, in parallel across a work-stealing
+ * pool.
+ * <p>
+ * Batches for the same session run one after another in request order on one worker; batches
+ * for different sessions run independently. The batches are split recursively into halves, so
+ * idle workers steal whatever is left while a slow session keeps only its own worker busy. Each
+ * session's batch executes under one acquisition of its processor's exclusive lock, so its
+ * reported registers are exactly the state right after the batch. A failing batch stops at its
+ * first failing instruction, like a single-session batch, and does not affect the others.
+ */
+@Service
+public class SessionBatchService {
+
+    private final SessionRegistry registry;
+    private final PrefixCache prefixCache;
+    private final ResultMemo resultMemo;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new SessionBatchService without batch caches.
+     *
+     * @param registry the session registry to use
+     * @param properties the simulator configuration
+     */
+    public SessionBatchService(SessionRegistry registry, OpcodeProperties properties) {
+        this(registry, properties, null, null);
+    }
+
+    /**
+     * Constructs a new SessionBatchService.
+     *
+     * @param registry the session registry to use
+     * @param properties the simulator configuration
+     * @param prefixCache the cache shortcutting batches that start with RST, or null for none
+     * @param resultMemo the memo of batch results by starting registers, or null for none
+     */
+    @Autowired
+    public SessionBatchService(SessionRegistry registry, OpcodeProperties properties, PrefixCache prefixCache,
+                               ResultMemo resultMemo) {
+        this.registry = registry;
+        this.prefixCache = prefixCache;
+        this.resultMemo = resultMemo;
+        int parallelism = properties.getSessionBatch().getParallelism();
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Session batch parallelism must not be negative");
+        }
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism,
+            SessionBatchService::newWorker, null, false);
+    }
+
+    /**
+     * Executes the batches and waits for all of them.
+     *
+     * @param batches the per-session batches
+     * @return the per-session results in request order
+     */
+    public MultiSessionBatchResponse execute(List<SessionBatch> batches) {
+        Map<String, List<Integer>> bySession = new LinkedHashMap<>();
+        for (int i = 0; i < batches.size(); i++) {
+            bySession.computeIfAbsent(batches.get(i).getSessionId(), id -> new ArrayList<>()).add(i);
+        }
+        SessionBatchResult[] results = new SessionBatchResult[batches.size()];
+        List<List<Integer>> groups = new ArrayList<>(bySession.values());
+        pool.invoke(new SessionsTask(batches, groups, results, 0, groups.size()));
+        return new MultiSessionBatchResponse(Arrays.asList(results));
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private SessionBatchResult execute(SessionBatch batch) {
+        String sessionId = batch.getSessionId();
+        try {
+            Processor processor = registry.get(sessionId).getProcessor();
+            List<Map<String, Integer>> registers = new ArrayList<>(1);
+            processor.executeExclusively(() -> registers.add(
+                ProcessorService.executeBatch(processor, batch.getInstructions(), prefixCache, resultMemo)));
+            return SessionBatchResult.success(sessionId, registers.get(0));
+        } catch (BatchExecutionException e) {
+            return SessionBatchResult.error(sessionId, e.getMessage(), e.getExecutedInstructions());
+        } catch (OpcodeException e) {
+            return SessionBatchResult.error(sessionId, e.getMessage(), null);
+        } catch (RuntimeException e) {
+            return SessionBatchResult.error(sessionId, "An unexpected error occurred: " + e.getMessage(), null);
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("session-batch-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Executes a range of session groups, splitting it in halves until each task holds one session.
+     */
+    private final class SessionsTask extends RecursiveAction {
+
+        private final List<SessionBatch> batches;
+        private final List<List<Integer>> groups;
+        private final SessionBatchResult[] results;
+        private final int from;
+        private final int to;
+
+        private SessionsTask(List<SessionBatch> batches, List<List<Integer>> groups, SessionBatchResult[] results,
+                             int from, int to) {
+            this.batches = batches;
+            this.groups = groups;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int group = from; group < to; group++) {
+                    for (int index : groups.get(group)) {
+                        results[index] = execute(batches.get(index));
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SessionsTask(batches, groups, results, from, middle),
+                new SessionsTask(batches, groups, results, middle, to));
+        }
+    }
+}
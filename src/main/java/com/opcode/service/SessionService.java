@@ -0,0 +1,152 @@
+package com.opcode.service;
+
+import com.opcode.exception.BatchExecutionException;
+import com.opcode.session.ProcessorSession;
+import com.opcode.session.SessionRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for processor sessions.
+ * Provides the processor operations for an individual session as well as bulk resets across sessions.
+ */
+@Service
+public class SessionService {
+    
+    private final SessionRegistry registry;
+    private final PrefixCache prefixCache;
+    private final ResultMemo resultMemo;
+    
+    /**
+     * Constructs a new SessionService with the specified registry.
+     *
+     * @param registry the session registry to use
+     */
+    public SessionService(SessionRegistry registry) {
+        this(registry, null, null);
+    }
+    
+    /**
+     * Constructs a new SessionService with the specified registry and batch caches.
+     *
+     * @param registry the session registry to use
+     * @param prefixCache the cache shortcutting batches that start with RST, or null for none
+     * @param resultMemo the memo of batch results by starting registers, or null for none
+     */
+    @Autowired
+    public SessionService(SessionRegistry registry, PrefixCache prefixCache, ResultMemo resultMemo) {
+        this.registry = registry;
+        this.prefixCache = prefixCache;
+        this.resultMemo = resultMemo;
+    }
+    
+    /**
+     * Creates a new session with all registers set to zero.
+     *
+     * @param tenant the tenant owning the session, or null
+     * @return the new session
+     */
+    public ProcessorSession createSession(String tenant) {
+        return registry.create(tenant);
+    }
+    
+    /**
+     * Forks a session into independent children that start from its current register values.
+     *
+     * @param sessionId the id of the session to fork
+     * @param count the number of children to create
+     * @param tenant the tenant owning the children, or null to inherit the parent's tenant
+     * @return the child sessions
+     */
+    public List<ProcessorSession> forkSession(String sessionId, int count, String tenant) {
+        return registry.fork(sessionId, count, tenant);
+    }
+    
+    /**
+     * Deletes a session.
+     *
+     * @param sessionId the session id
+     * @return true if the session was deleted, false if it is the default session
+     */
+    public boolean deleteSession(String sessionId) {
+        return registry.remove(sessionId);
+    }
+    
+    /**
+     * Executes a single instruction on a session and returns its updated register values.
+     *
+     * @param sessionId the session id
+     * @param instructionText the instruction to execute
+     * @return a map of register names to their updated values
+     */
+    public Map<String, Integer> executeInstruction(String sessionId, String instructionText) {
+        ProcessorSession session = registry.get(sessionId);
+        session.getProcessor().executeInstruction(instructionText);
+        return session.getProcessor().getAllRegisterValues();
+    }
+    
+    /**
+     * Executes multiple instructions in sequence on a session.
+     *
+     * @param sessionId the session id
+     * @param instructions the list of instructions to execute
+     * @return a map of register names to their updated values
+     * @throws BatchExecutionException if an error occurs during batch execution
+     */
+    public Map<String, Integer> executeBatchInstructions(String sessionId, List<String> instructions) {
+        return ProcessorService.executeBatch(registry.get(sessionId).getProcessor(), instructions, prefixCache,
+            resultMemo);
+    }
+    
+    /**
+     * Gets the values of all registers of a session.
+     *
+     * @param sessionId the session id
+     * @return a map of register names to their values
+     */
+    public Map<String, Integer> getAllRegisters(String sessionId) {
+        return registry.get(sessionId).getProcessor().getAllRegisterValues();
+    }
+    
+    /**
+     * Gets the values of all registers of a session as of a sequence number of its history.
+     *
+     * @param sessionId the session id
+     * @param seq the sequence number
+     * @return a map of register names to their values at that point
+     */
+    public Map<String, Integer> getAllRegistersAt(String sessionId, long seq) {
+        return registry.get(sessionId).getProcessor().getAllRegisterValuesAt(seq);
+    }
+    
+    /**
+     * Reverts the most recent mutations of a session.
+     *
+     * @param sessionId the session id
+     * @param steps the number of mutations to revert
+     * @return a map of register names to their values after the undo
+     */
+    public Map<String, Integer> undo(String sessionId, int steps) {
+        ProcessorSession session = registry.get(sessionId);
+        session.getProcessor().undo(steps);
+        return session.getProcessor().getAllRegisterValues();
+    }
+    
+    /**
+     * Resets every session in constant time. Sessions clear their registers lazily.
+     */
+    public void resetAllSessions() {
+        registry.resetAll();
+    }
+    
+    /**
+     * Resets every session of a tenant in constant time.
+     *
+     * @param tenant the tenant name
+     */
+    public void resetTenantSessions(String tenant) {
+        registry.resetTenant(tenant);
+    }
+}
@@ -0,0 +1,50 @@
+package com.opcode.service;
+
+/**
+ * Serialized JSON of a value derived from the register state, tagged with the state version
+ * it was derived from.
+ */
+public final class VersionedJson {
+
+    private final long version;
+    private final byte[] json;
+
+    /**
+     * Constructs a new VersionedJson.
+     *
+     * @param version the register state version
+     * @param json the serialized JSON; must not be modified afterwards
+     */
+    public VersionedJson(long version, byte[] json) {
+        this.version = version;
+        this.json = json;
+    }
+
+    /**
+     * Gets the register state version the JSON was derived from.
+     *
+     * @return the state version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the serialized JSON. The array is shared between callers and must not be modified.
+     *
+     * @return the JSON bytes
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Formats a state version as an HTTP entity tag.
+     *
+     * @param version the state version
+     * @return the quoted entity tag
+     */
+    public static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+}
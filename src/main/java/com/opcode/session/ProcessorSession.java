@@ -0,0 +1,53 @@
+package com.opcode.session;
+
+import com.opcode.core.Processor;
+
+/**
+ * A named, independent processor instance with its own register file.
+ */
+public class ProcessorSession {
+
+    private final String id;
+    private final String tenant;
+    private final Processor processor;
+
+    /**
+     * Constructs a new ProcessorSession.
+     *
+     * @param id the session id
+     * @param tenant the tenant owning the session, or null if it belongs to no tenant
+     * @param processor the processor backing the session
+     */
+    public ProcessorSession(String id, String tenant, Processor processor) {
+        this.id = id;
+        this.tenant = tenant;
+        this.processor = processor;
+    }
+
+    /**
+     * Gets the session id.
+     *
+     * @return the session id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the tenant owning the session.
+     *
+     * @return the tenant, or null if the session belongs to no tenant
+     */
+    public String getTenant() {
+        return tenant;
+    }
+
+    /**
+     * Gets the processor backing the session.
+     *
+     * @return the processor
+     */
+    public Processor getProcessor() {
+        return processor;
+    }
+}
@@ -0,0 +1,153 @@
+package com.opcode.session;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterLayout;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.exception.SessionNotFoundException;
+import com.opcode.parser.InstructionParser;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of processor sessions.
+ * <p>
+ * The application's primary processor is registered as the {@value #DEFAULT_SESSION_ID} session.
+ * Bulk resets advance a reset generation instead of visiting every session, so they take
+ * constant time; each affected session clears its registers lazily on its next write.
+ */
+@Component
+public class SessionRegistry {
+
+    /**
+     * Id of the session backed by the application's primary processor.
+     */
+    public static final String DEFAULT_SESSION_ID = "default";
+
+    private final Map<String, ProcessorSession> sessions = new ConcurrentHashMap<>();
+    private final InstructionParser parser;
+    private final ResetGenerations resetGenerations;
+    private final RegisterLayout layout;
+    private final boolean stripedIncrements;
+    private final OpcodeProperties properties;
+
+    /**
+     * Constructs a new SessionRegistry.
+     *
+     * @param defaultProcessor the processor backing the default session
+     * @param parser the instruction parser shared by all sessions
+     * @param resetGenerations the reset generations
+     * @param properties the simulator configuration
+     */
+    public SessionRegistry(Processor defaultProcessor, InstructionParser parser,
+                           ResetGenerations resetGenerations, OpcodeProperties properties) {
+        this.parser = parser;
+        this.resetGenerations = resetGenerations;
+        this.layout = RegisterLayout.from(properties.getRegisters());
+        this.stripedIncrements = properties.getRegisters().isStripedIncrements();
+        this.properties = properties;
+        sessions.put(DEFAULT_SESSION_ID, new ProcessorSession(DEFAULT_SESSION_ID, null, defaultProcessor));
+    }
+
+    /**
+     * Creates a new session with all registers set to zero.
+     *
+     * @param tenant the tenant owning the session, or null if it belongs to no tenant
+     * @return the new session
+     */
+    public ProcessorSession create(String tenant) {
+        RegisterManager registerManager = new RegisterManager(layout, stripedIncrements, resetGenerations.forTenant(tenant));
+        Processor processor = new Processor(registerManager, parser, properties);
+        ProcessorSession session = new ProcessorSession(UUID.randomUUID().toString(), tenant, processor);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Forks a session into independent children that start from its current register values.
+     * Parent and children share the captured state copy-on-write.
+     *
+     * @param parentId the id of the session to fork
+     * @param count the number of children to create
+     * @param tenant the tenant owning the children, or null to inherit the parent's tenant
+     * @return the child sessions
+     * @throws SessionNotFoundException if the parent session does not exist
+     */
+    public List<ProcessorSession> fork(String parentId, int count, String tenant) {
+        ProcessorSession parent = get(parentId);
+        String childTenant = tenant != null ? tenant : parent.getTenant();
+        List<Processor> processors = parent.getProcessor().fork(count, resetGenerations.forTenant(childTenant));
+
+        List<ProcessorSession> children = new ArrayList<>(count);
+        for (Processor processor : processors) {
+            ProcessorSession child = new ProcessorSession(UUID.randomUUID().toString(), childTenant, processor);
+            sessions.put(child.getId(), child);
+            children.add(child);
+        }
+        return children;
+    }
+
+    /**
+     * Gets a session by id.
+     *
+     * @param sessionId the session id
+     * @return the session
+     * @throws SessionNotFoundException if no such session exists
+     */
+    public ProcessorSession get(String sessionId) {
+        ProcessorSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new SessionNotFoundException("Session not found: " + sessionId);
+        }
+        return session;
+    }
+
+    /**
+     * Removes a session. The default session cannot be removed.
+     *
+     * @param sessionId the session id
+     * @return true if the session was removed, false if it is the default session
+     * @throws SessionNotFoundException if no such session exists
+     */
+    public boolean remove(String sessionId) {
+        if (DEFAULT_SESSION_ID.equals(sessionId)) {
+            return false;
+        }
+        if (sessions.remove(sessionId) == null) {
+            throw new SessionNotFoundException("Session not found: " + sessionId);
+        }
+        return true;
+    }
+
+    /**
+     * Gets all registered sessions.
+     *
+     * @return an unmodifiable view of the sessions
+     */
+    public Collection<ProcessorSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * Resets every session, including the default one, in constant time.
+     */
+    public void resetAll() {
+        resetGenerations.resetAll();
+    }
+
+    /**
+     * Resets every session of a tenant in constant time.
+     *
+     * @param tenant the tenant name
+     */
+    public void resetTenant(String tenant) {
+        resetGenerations.resetTenant(tenant);
+    }
+}
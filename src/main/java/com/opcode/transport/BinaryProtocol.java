@@ -0,0 +1,64 @@
+package com.opcode.transport;
+
+/**
+ * Frame layout of the length-prefixed binary protocol served over the Unix domain socket.
+ * <p>
+ * Every frame starts with a big-endian {@code int} holding the number of bytes that follow.
+ * A request frame continues with an operation byte and its arguments:
+ * <ul>
+ *   <li>{@link #EXECUTE}: the instruction as UTF-8</li>
+ *   <li>{@link #EXECUTE_BATCH}: an {@code int} instruction count, then each instruction as an
+ *       unsigned {@code short} length and UTF-8 bytes</li>
+ *   <li>{@link #GET_REGISTERS}: no arguments</li>
+ *   <li>{@link #GET_REGISTER}: the register name as UTF-8</li>
+ *   <li>{@link #RESET}: no arguments</li>
+ * </ul>
+ * A response frame continues with a status byte. {@link #OK} is followed by an {@code int}
+ * register count and, per register, a {@code byte} name length, the ASCII name and an
+ * {@code int} value. {@link #ERROR} is followed by a {@code short} HTTP status code, an
+ * {@code int} number of executed instructions ({@code -1} unless a batch failed) and the
+ * message as UTF-8.
+ * <p>
+ * Clients may pipeline: they can send any number of requests without waiting, and responses
+ * arrive in request order.
+ */
+public final class BinaryProtocol {
+
+    /**
+     * Executes a single instruction and answers with all register values.
+     */
+    public static final byte EXECUTE = 1;
+
+    /**
+     * Executes instructions in sequence and answers with all register values.
+     */
+    public static final byte EXECUTE_BATCH = 2;
+
+    /**
+     * Answers with all register values.
+     */
+    public static final byte GET_REGISTERS = 3;
+
+    /**
+     * Answers with the value of one register.
+     */
+    public static final byte GET_REGISTER = 4;
+
+    /**
+     * Resets all registers to zero and answers with all register values.
+     */
+    public static final byte RESET = 5;
+
+    /**
+     * Status of a successful response.
+     */
+    public static final byte OK = 0;
+
+    /**
+     * Status of a failed response.
+     */
+    public static final byte ERROR = 1;
+
+    private BinaryProtocol() {
+    }
+}
@@ -0,0 +1,16 @@
+package com.opcode.transport;
+
+/**
+ * Exception thrown when a transport receives a request it cannot decode or that fails validation.
+ */
+class InvalidRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidRequestException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    InvalidRequestException(String message) {
+        super(message);
+    }
+}
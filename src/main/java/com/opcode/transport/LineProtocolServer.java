@@ -0,0 +1,281 @@
+package com.opcode.transport;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain TCP server for newline-delimited instruction text such as {@code SET A 10}, started on
+ * its own port when {@code opcode.line-protocol.enabled} is set.
+ * <p>
+ * Every non-blank line is answered with one line, in request order: {@code OK A=10 B=0 C=0 D=0}
+ * with the register values right after the instruction, or {@code ERR <status> <message>} with
+ * the HTTP status code the servlet API would answer with. Clients may pipeline any number of
+ * lines on a persistent connection.
+ * <p>
+ * A single selector thread serves all connections. It splits each read into all the complete
+ * lines it holds, executes them under one acquisition of the processor's exclusive lock and
+ * sends the replies with one gathering write. While a connection's replies cannot be written
+ * completely, its further input is not read, so a client that does not read its replies cannot
+ * make the server buffer without bound. A line longer than the configured maximum is answered
+ * with an error and closes the connection.
+ */
+@Component
+@ConditionalOnProperty(prefix = "opcode.line-protocol", name = "enabled", havingValue = "true")
+public class LineProtocolServer {
+
+    private final Processor processor;
+    private final OpcodeProperties.LineProtocol settings;
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread loop;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new LineProtocolServer.
+     *
+     * @param processor the processor to execute the instructions on
+     * @param properties the simulator configuration
+     */
+    public LineProtocolServer(Processor processor, OpcodeProperties properties) {
+        this.processor = processor;
+        this.settings = properties.getLineProtocol();
+        if (settings.getMaxLineBytes() <= 0) {
+            throw new IllegalArgumentException("Max line length must be positive");
+        }
+    }
+
+    /**
+     * Binds the server to its port and starts the selector thread.
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(settings.getPort()));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        loop = new Thread(this::serve, "opcode-line-protocol");
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return the bound port
+     * @throws IOException if the server socket is closed
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Stops the selector thread and closes the server and all connections.
+     *
+     * @throws IOException if closing fails
+     * @throws InterruptedException if interrupted while waiting for the selector thread
+     */
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        running = false;
+        if (selector == null) {
+            return;
+        }
+        selector.wakeup();
+        loop.join();
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void serve() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                return;
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                Connection connection = (Connection) key.attachment();
+                try {
+                    if (key.isWritable()) {
+                        connection.flush();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        connection.read();
+                    }
+                } catch (IOException e) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = server.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key, settings.getMaxLineBytes()));
+        } catch (IOException e) {
+            // The client went away before it was accepted
+        }
+    }
+
+    private ByteBuffer reply(String line) {
+        StringBuilder reply = new StringBuilder(32);
+        try {
+            processor.executeInstruction(line);
+            reply.append("OK");
+            for (Map.Entry<String, Integer> register : processor.getAllRegisterValues().entrySet()) {
+                reply.append(' ').append(register.getKey()).append('=').append(register.getValue());
+            }
+        } catch (RuntimeException e) {
+            reply.append("ERR ").append(TransportErrors.statusOf(e)).append(' ')
+                .append(TransportErrors.messageOf(e).replace('\n', ' '));
+        }
+        return ByteBuffer.wrap(reply.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A client connection with its partial input line and its replies not yet written.
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in;
+        private final List<String> lines = new ArrayList<>();
+        private ByteBuffer[] replies = new ByteBuffer[64];
+        private int first;
+        private int count;
+        private boolean closing;
+
+        private Connection(SocketChannel channel, SelectionKey key, int maxLineBytes) {
+            this.channel = channel;
+            this.key = key;
+            this.in = ByteBuffer.allocate(maxLineBytes);
+        }
+
+        private void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            parseLines();
+            if (!lines.isEmpty()) {
+                processor.executeExclusively(() -> {
+                    for (String line : lines) {
+                        add(reply(line));
+                    }
+                });
+                lines.clear();
+            }
+            if (!in.hasRemaining()) {
+                add(ByteBuffer.wrap(("ERR " + TransportErrors.BAD_REQUEST + " Line too long\n")
+                    .getBytes(StandardCharsets.UTF_8)));
+                closing = true;
+            }
+            flush();
+        }
+
+        /**
+         * Moves every complete line out of the input buffer, keeping a trailing partial line.
+         */
+        private void parseLines() {
+            byte[] bytes = in.array();
+            int start = 0;
+            int end = in.position();
+            for (int i = 0; i < end; i++) {
+                if (bytes[i] == '\n') {
+                    int lineEnd = i > start && bytes[i - 1] == '\r' ? i - 1 : i;
+                    String line = new String(bytes, start, lineEnd - start, StandardCharsets.UTF_8);
+                    if (!line.isBlank()) {
+                        lines.add(line);
+                    }
+                    start = i + 1;
+                }
+            }
+            in.flip().position(start);
+            in.compact();
+        }
+
+        private void add(ByteBuffer reply) {
+            if (first + count == replies.length) {
+                if (first > 0) {
+                    System.arraycopy(replies, first, replies, 0, count);
+                    Arrays.fill(replies, count, replies.length, null);
+                } else {
+                    replies = Arrays.copyOf(replies, replies.length * 2);
+                }
+                first = 0;
+            }
+            replies[first + count++] = reply;
+        }
+
+        private void flush() throws IOException {
+            while (count > 0) {
+                if (channel.write(replies, first, count) == 0) {
+                    break;
+                }
+                while (count > 0 && !replies[first].hasRemaining()) {
+                    replies[first++] = null;
+                    count--;
+                }
+            }
+            if (count > 0) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            first = 0;
+            if (closing) {
+                close();
+                return;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        private void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.opcode.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opcode.config.OpcodeProperties;
+import com.opcode.exception.BatchExecutionException;
+import com.opcode.model.BatchInstructionRequest;
+import com.opcode.model.InstructionRequest;
+import com.opcode.model.ProcessorResponse;
+import com.opcode.service.SessionService;
+import com.opcode.session.SessionRegistry;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variant of the instruction API, served by a Netty event loop next to the
+ * servlet API when {@code opcode.reactive.enabled} is set.
+ * <p>
+ * Event loop threads only read request bodies and write responses; they never execute
+ * instructions. Every request is handed to the execution lane of its session, a single thread
+ * that executes that session's requests in arrival order, and its response is written when the
+ * execution completes. An idle connection therefore costs no thread, so the number of open
+ * connections is bounded by file descriptors and memory rather than by a thread pool. When a
+ * lane's queue is full, requests are answered with 503.
+ * <p>
+ * The endpoints mirror the instruction and register endpoints of the servlet API and run on
+ * the same sessions:
+ * <ul>
+ *   <li>{@code POST /api/v1/instructions} and {@code POST /api/v1/instructions/batch}</li>
+ *   <li>{@code GET /api/v1/registers}</li>
+ *   <li>{@code POST /api/v1/sessions/{sessionId}/instructions} and
+ *       {@code POST /api/v1/sessions/{sessionId}/instructions/batch}</li>
+ *   <li>{@code GET /api/v1/sessions/{sessionId}/registers}</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "opcode.reactive", name = "enabled", havingValue = "true")
+public class ReactiveApiServer {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final SessionService sessionService;
+    private final ObjectMapper objectMapper;
+    private final OpcodeProperties.Reactive settings;
+    private final ThreadPoolExecutor[] lanes;
+    private LoopResources loops;
+    private DisposableServer server;
+
+    /**
+     * Constructs a new ReactiveApiServer.
+     *
+     * @param sessionService the service executing instructions on sessions
+     * @param objectMapper the mapper for request and response bodies
+     * @param properties the simulator configuration
+     */
+    public ReactiveApiServer(SessionService sessionService, ObjectMapper objectMapper, OpcodeProperties properties) {
+        this.sessionService = sessionService;
+        this.objectMapper = objectMapper;
+        this.settings = properties.getReactive();
+        if (settings.getExecutionLanes() <= 0 || settings.getLaneQueueCapacity() <= 0
+                || settings.getEventLoopThreads() < 0) {
+            throw new IllegalArgumentException("Execution lanes and lane queue capacity must be positive");
+        }
+        this.lanes = new ThreadPoolExecutor[settings.getExecutionLanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.getLaneQueueCapacity()), laneThread(i));
+        }
+    }
+
+    /**
+     * Binds the server to its port.
+     */
+    @PostConstruct
+    public void start() {
+        int eventLoopThreads = settings.getEventLoopThreads() > 0
+            ? settings.getEventLoopThreads()
+            : Runtime.getRuntime().availableProcessors();
+        loops = LoopResources.create("opcode-reactive", eventLoopThreads, true);
+        server = HttpServer.create()
+            .port(settings.getPort())
+            .runOn(loops)
+            .route(routes -> routes
+                .post("/api/v1/instructions", (request, response) ->
+                    execute(request, response, SessionRegistry.DEFAULT_SESSION_ID, this::executeInstruction))
+                .post("/api/v1/instructions/batch", (request, response) ->
+                    execute(request, response, SessionRegistry.DEFAULT_SESSION_ID, this::executeBatch))
+                .get("/api/v1/registers", (request, response) ->
+                    execute(request, response, SessionRegistry.DEFAULT_SESSION_ID, this::getAllRegisters))
+                .post("/api/v1/sessions/{sessionId}/instructions", (request, response) ->
+                    execute(request, response, request.param("sessionId"), this::executeInstruction))
+                .post("/api/v1/sessions/{sessionId}/instructions/batch", (request, response) ->
+                    execute(request, response, request.param("sessionId"), this::executeBatch))
+                .get("/api/v1/sessions/{sessionId}/registers", (request, response) ->
+                    execute(request, response, request.param("sessionId"), this::getAllRegisters)))
+            .bindNow();
+    }
+
+    /**
+     * Gets the port the server is bound to.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return server.port();
+    }
+
+    /**
+     * Closes the server and stops the event loop and execution lane threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (server != null) {
+            server.disposeNow();
+        }
+        if (loops != null) {
+            loops.dispose();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    private Mono<Void> execute(HttpServerRequest request, HttpServerResponse response, String sessionId,
+                               Operation operation) {
+        return request.receive().aggregate().asByteArray()
+            .defaultIfEmpty(EMPTY_BODY)
+            .flatMap(body -> Mono.fromFuture(submit(sessionId, () -> operation.apply(sessionId, body))))
+            .map(result -> reply(HttpResponseStatus.OK, result))
+            .onErrorResume(e -> Mono.just(errorReply(e)))
+            .flatMap(reply -> response.status(reply.status)
+                .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                .sendByteArray(Mono.just(reply.body))
+                .then());
+    }
+
+    private CompletableFuture<Object> submit(String sessionId, Supplier<Object> execution) {
+        ThreadPoolExecutor lane = lanes[Math.floorMod(sessionId.hashCode(), lanes.length)];
+        try {
+            return CompletableFuture.supplyAsync(execution, lane);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Object executeInstruction(String sessionId, byte[] body) {
+        InstructionRequest request = read(body, InstructionRequest.class);
+        if (request.getInstruction() == null || request.getInstruction().isBlank()) {
+            throw new InvalidRequestException("instruction: Instruction cannot be blank");
+        }
+        return ProcessorResponse.success(sessionService.executeInstruction(sessionId, request.getInstruction()));
+    }
+
+    private Object executeBatch(String sessionId, byte[] body) {
+        BatchInstructionRequest request = read(body, BatchInstructionRequest.class);
+        if (request.getInstructions() == null || request.getInstructions().isEmpty()) {
+            throw new InvalidRequestException("instructions: Instructions list cannot be empty");
+        }
+        return ProcessorResponse.success(sessionService.executeBatchInstructions(sessionId, request.getInstructions()));
+    }
+
+    private Object getAllRegisters(String sessionId, byte[] body) {
+        return sessionService.getAllRegisters(sessionId);
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new InvalidRequestException("Invalid JSON format: " + e.getMessage());
+        }
+    }
+
+    private Reply reply(HttpResponseStatus status, Object body) {
+        try {
+            return new Reply(status, objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    /**
+     * Maps a failure to the response the servlet API's exception handler gives for it.
+     */
+    private Reply errorReply(Throwable e) {
+        Throwable cause = TransportErrors.unwrap(e);
+        if (cause instanceof BatchExecutionException batch) {
+            return reply(HttpResponseStatus.BAD_REQUEST,
+                ProcessorResponse.batchError(batch.getMessage(), batch.getExecutedInstructions()));
+        }
+        return reply(HttpResponseStatus.valueOf(TransportErrors.statusOf(cause)),
+            ProcessorResponse.error(TransportErrors.messageOf(cause)));
+    }
+
+    private static ThreadFactory laneThread(int lane) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "opcode-reactive-lane-" + lane + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A request handler run on a session's execution lane.
+     */
+    @FunctionalInterface
+    private interface Operation {
+
+        Object apply(String sessionId, byte[] body);
+    }
+
+    /**
+     * A response status with its serialized body.
+     */
+    private static final class Reply {
+
+        private final HttpResponseStatus status;
+        private final byte[] body;
+
+        private Reply(HttpResponseStatus status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.opcode.transport;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A bounded multi-producer, single-consumer ring of {@link com.opcode.core.PackedInstruction}s
+ * in a memory-mapped file, shared by the processes that submit instructions and the server that
+ * executes them.
+ * <p>
+ * Every slot carries a sequence number that says who owns it. A producer claims the next free
+ * slot by advancing the shared tail with a compare-and-set, writes its instruction and publishes
+ * it by advancing the slot's sequence; the server executes published slots in order, writes each
+ * result into its slot and advances the sequence again; the producer reads the result and frees
+ * the slot for the next lap. Submitting and completing an instruction are plain memory accesses
+ * with no system call. Results are published in place, so a slot is only reused once its
+ * producer has collected the result; a producer that never collects its result stalls the ring.
+ * <p>
+ * Layout, in native byte order: the magic number and capacity in the first cache line, the tail
+ * in the second, then {@code capacity} slots of 32 bytes: the slot sequence, the packed
+ * instruction, an {@code int} status (0 or an HTTP status code) and the {@code int} value of the
+ * target register after the instruction.
+ */
+public final class SharedMemoryRing {
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final long MAGIC = 0x4F50434F44455231L;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int TAIL_OFFSET = 64;
+    private static final int SLOTS_OFFSET = 128;
+    private static final int SLOT_BYTES = 32;
+    private static final int INSTRUCTION = 8;
+    private static final int STATUS = 16;
+    private static final int VALUE = 20;
+
+    /**
+     * Status of an instruction that executed successfully.
+     */
+    public static final int OK = 0;
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private long head;
+
+    private SharedMemoryRing(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Creates a ring file, replacing any existing file at the path.
+     *
+     * @param path the file to map
+     * @param capacity the number of slots, a power of two
+     * @return the ring
+     * @throws IOException if the file cannot be mapped
+     */
+    public static SharedMemoryRing create(Path path, int capacity) throws IOException {
+        if (capacity < 4 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two of at least 4");
+        }
+        MappedByteBuffer buffer = map(path, SLOTS_OFFSET + (long) capacity * SLOT_BYTES, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        for (int slot = 0; slot < capacity; slot++) {
+            LONGS.setRelease(buffer, SLOTS_OFFSET + slot * SLOT_BYTES, (long) slot);
+        }
+        buffer.putLong(CAPACITY_OFFSET, capacity);
+        LONGS.setRelease(buffer, TAIL_OFFSET, 0L);
+        LONGS.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+        return new SharedMemoryRing(buffer, capacity);
+    }
+
+    /**
+     * Opens a ring file created by {@link #create(Path, int)}.
+     *
+     * @param path the file to map
+     * @return the ring
+     * @throws IOException if the file cannot be mapped or is not a ring
+     */
+    public static SharedMemoryRing open(Path path) throws IOException {
+        MappedByteBuffer header = map(path, SLOTS_OFFSET, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if ((long) LONGS.getAcquire(header, MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not an instruction ring: " + path);
+        }
+        int capacity = (int) header.getLong(CAPACITY_OFFSET);
+        return new SharedMemoryRing(map(path, SLOTS_OFFSET + (long) capacity * SLOT_BYTES,
+            StandardOpenOption.READ, StandardOpenOption.WRITE), capacity);
+    }
+
+    private static MappedByteBuffer map(Path path, long size, OpenOption... options) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            return buffer;
+        }
+    }
+
+    /**
+     * Gets the number of slots.
+     *
+     * @return the ring capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Submits a packed instruction if a slot is free.
+     *
+     * @param instruction the packed instruction
+     * @return the ticket to collect the result with, or -1 if the ring is full
+     */
+    public long trySubmit(long instruction) {
+        while (true) {
+            long tail = (long) LONGS.getVolatile(buffer, TAIL_OFFSET);
+            int offset = slotOffset(tail);
+            long sequence = (long) LONGS.getAcquire(buffer, offset);
+            if (sequence < tail) {
+                return -1;
+            }
+            if (sequence == tail && LONGS.compareAndSet(buffer, TAIL_OFFSET, tail, tail + 1)) {
+                buffer.putLong(offset + INSTRUCTION, instruction);
+                LONGS.setRelease(buffer, offset, tail + 1);
+                return tail;
+            }
+        }
+    }
+
+    /**
+     * Submits a packed instruction, waiting for a free slot if the ring is full.
+     *
+     * @param instruction the packed instruction
+     * @param waitStrategy how to wait for a free slot
+     * @return the ticket to collect the result with
+     */
+    public long submit(long instruction, WaitStrategy waitStrategy) {
+        long ticket;
+        while ((ticket = trySubmit(instruction)) < 0) {
+            waitStrategy.idle();
+        }
+        return ticket;
+    }
+
+    /**
+     * Waits for the result of a submitted instruction and frees its slot. Every ticket must be
+     * collected exactly once.
+     *
+     * @param ticket the ticket returned on submission
+     * @param waitStrategy how to wait for the result
+     * @return the result; see {@link #status(long)} and {@link #value(long)}
+     */
+    public long awaitResult(long ticket, WaitStrategy waitStrategy) {
+        int offset = slotOffset(ticket);
+        while ((long) LONGS.getAcquire(buffer, offset) != ticket + 2) {
+            waitStrategy.idle();
+        }
+        long result = ((long) buffer.getInt(offset + STATUS) << 32) | (buffer.getInt(offset + VALUE) & 0xFFFF_FFFFL);
+        LONGS.setRelease(buffer, offset, ticket + capacity);
+        return result;
+    }
+
+    /**
+     * Gets the status of a result.
+     *
+     * @param result the result
+     * @return {@link #OK}, or the HTTP status code of the failure
+     */
+    public static int status(long result) {
+        return (int) (result >>> 32);
+    }
+
+    /**
+     * Gets the value of the target register from a successful result.
+     *
+     * @param result the result
+     * @return the value of the target register after the instruction
+     */
+    public static int value(long result) {
+        return (int) result;
+    }
+
+    /**
+     * Reads the published instructions from the head on, without advancing the head.
+     * Must only be called by the single consumer.
+     *
+     * @param instructions the array receiving the instructions
+     * @param max the maximum number of instructions to read
+     * @return the number of instructions read, starting at the current head
+     */
+    int poll(long[] instructions, int max) {
+        int count = 0;
+        while (count < max) {
+            long ticket = head + count;
+            int offset = slotOffset(ticket);
+            if ((long) LONGS.getAcquire(buffer, offset) != ticket + 1) {
+                break;
+            }
+            instructions[count++] = buffer.getLong(offset + INSTRUCTION);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the result of the instruction at the given position after the head.
+     * Must only be called by the single consumer.
+     *
+     * @param index the position after the head
+     * @param status the status
+     * @param value the value of the target register
+     */
+    void complete(int index, int status, int value) {
+        int offset = slotOffset(head + index);
+        buffer.putInt(offset + STATUS, status);
+        buffer.putInt(offset + VALUE, value);
+    }
+
+    /**
+     * Publishes the results of the given number of instructions from the head and advances the
+     * head past them. Must only be called by the single consumer.
+     *
+     * @param count the number of instructions
+     */
+    void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            long ticket = head + i;
+            LONGS.setRelease(buffer, slotOffset(ticket), ticket + 2);
+        }
+        head += count;
+    }
+
+    private int slotOffset(long ticket) {
+        return SLOTS_OFFSET + (int) (ticket & mask) * SLOT_BYTES;
+    }
+}
@@ -0,0 +1,98 @@
+package com.opcode.transport;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Executes {@link com.opcode.core.PackedInstruction}s submitted by co-located processes through
+ * a {@link SharedMemoryRing} when {@code opcode.shared-memory.enabled} is set.
+ * <p>
+ * A single thread drains every published slot, up to the configured batch size, executes the
+ * packed instructions against the processor under one acquisition of its exclusive lock, and
+ * then publishes their results. The instructions are executed as they were packed, without
+ * parsing. While the ring is empty the thread waits with the configured {@link WaitStrategy}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "opcode.shared-memory", name = "enabled", havingValue = "true")
+public class SharedMemoryRingServer {
+
+    private final Processor processor;
+    private final OpcodeProperties.SharedMemory settings;
+    private final long[] batch;
+    private SharedMemoryRing ring;
+    private Thread consumer;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new SharedMemoryRingServer.
+     *
+     * @param processor the processor to execute the instructions on
+     * @param properties the simulator configuration
+     */
+    public SharedMemoryRingServer(Processor processor, OpcodeProperties properties) {
+        this.processor = processor;
+        this.settings = properties.getSharedMemory();
+        if (settings.getMaxBatchSize() <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.batch = new long[settings.getMaxBatchSize()];
+    }
+
+    /**
+     * Creates the ring file and starts the consumer thread.
+     *
+     * @throws IOException if the ring file cannot be created
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        ring = SharedMemoryRing.create(Path.of(settings.getPath()), settings.getCapacity());
+        running = true;
+        consumer = new Thread(this::consume, "opcode-shared-memory-ring");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Stops the consumer thread and removes the ring file.
+     *
+     * @throws IOException if the ring file cannot be removed
+     * @throws InterruptedException if interrupted while waiting for the consumer thread
+     */
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        running = false;
+        if (consumer != null) {
+            consumer.join();
+        }
+        Files.deleteIfExists(Path.of(settings.getPath()));
+    }
+
+    private void consume() {
+        int max = Math.min(batch.length, ring.getCapacity());
+        WaitStrategy waitStrategy = settings.getWaitStrategy();
+        while (running) {
+            int count = ring.poll(batch, max);
+            if (count == 0) {
+                waitStrategy.idle();
+                continue;
+            }
+            processor.executeExclusively(() -> {
+                for (int i = 0; i < count; i++) {
+                    try {
+                        ring.complete(i, SharedMemoryRing.OK, processor.executePacked(batch[i]));
+                    } catch (RuntimeException e) {
+                        ring.complete(i, TransportErrors.statusOf(e), 0);
+                    }
+                }
+            });
+            ring.publish(count);
+        }
+    }
+}
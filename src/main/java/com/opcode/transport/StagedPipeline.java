@@ -0,0 +1,408 @@
+package com.opcode.transport;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.exception.JournalWriteException;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.SessionRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Executes single instructions in four stages on their own threads, connected by one
+ * pre-allocated ring of events, when {@code opcode.pipeline.enabled} is set.
+ * <p>
+ * Callers claim the next sequence number, fill the event of its slot and publish it. The
+ * <em>decode</em> stage parses instructions into {@link com.opcode.core.PackedInstruction}s on
+ * several threads, each taking every n-th sequence. The <em>execute</em> stage has one thread per
+ * shard; sessions are assigned to shards by their id, and each thread executes the events of its
+ * shard in sequence order, holding a processor's lock across runs of events for the same session.
+ * The <em>journal</em> stage appends every executed instruction to the journal file, if one is
+ * configured, with one write per run of available events. Each record is one line holding the
+ * sequence, session id, instruction text and status, with backslashes and control characters in
+ * the session id and text escaped and spaces in the session id escaped as {@code \s}. Journaling
+ * follows execution, so an instruction whose record cannot be written is not rolled back; its
+ * caller gets a {@link JournalWriteException} carrying the registers it produced. The
+ * <em>respond</em> stage completes the callers' futures and frees the slots.
+ * <p>
+ * No stage takes a lock to hand events on. Every stage thread publishes the last sequence it has
+ * finished in its own sequence counter, and a stage only reads an event once the counters of the
+ * stage before it have passed the event's sequence; callers wait for the respond stage to free a
+ * slot. Idle stages wait with the configured {@link WaitStrategy}. All instructions of a session
+ * go through the same execute thread in the order they were published, so a session sees them
+ * in submission order while decoding keeps all other cores busy.
+ */
+@Component
+@ConditionalOnProperty(prefix = "opcode.pipeline", name = "enabled", havingValue = "true")
+public class StagedPipeline {
+
+    private final SessionRegistry registry;
+    private final InstructionParser parser;
+    private final OpcodeProperties.Pipeline settings;
+    private final Event[] events;
+    private final int mask;
+    private final int maxBatchSize;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLongArray published;
+    private final AtomicLong[] decoded;
+    private final AtomicLong[] executed;
+    private final AtomicLong journaled = new AtomicLong(-1);
+    private final AtomicLong responded = new AtomicLong(-1);
+    private final List<Thread> threads = new ArrayList<>();
+    private FileChannel journal;
+    private volatile boolean accepting;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new StagedPipeline.
+     *
+     * @param registry the session registry to resolve sessions in
+     * @param parser the instruction parser to use
+     * @param properties the simulator configuration
+     */
+    public StagedPipeline(SessionRegistry registry, InstructionParser parser, OpcodeProperties properties) {
+        this.registry = registry;
+        this.parser = parser;
+        this.settings = properties.getPipeline();
+        int capacity = settings.getCapacity();
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Pipeline capacity must be a power of two");
+        }
+        if (settings.getDecoders() <= 0 || settings.getShards() <= 0 || settings.getMaxBatchSize() <= 0) {
+            throw new IllegalArgumentException("Decoders, shards and max batch size must be positive");
+        }
+        int registers = registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor().getRegisterCount();
+        this.events = new Event[capacity];
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new Event(registers);
+        }
+        this.mask = capacity - 1;
+        this.maxBatchSize = settings.getMaxBatchSize();
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.decoded = counters(settings.getDecoders());
+        this.executed = counters(settings.getShards());
+    }
+
+    private static AtomicLong[] counters(int count) {
+        AtomicLong[] counters = new AtomicLong[count];
+        for (int i = 0; i < count; i++) {
+            counters[i] = new AtomicLong(-1);
+        }
+        return counters;
+    }
+
+    /**
+     * Opens the journal, if one is configured, and starts the stage threads.
+     *
+     * @throws IOException if the journal cannot be opened
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!settings.getJournalPath().isEmpty()) {
+            journal = FileChannel.open(Path.of(settings.getJournalPath()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        running = true;
+        for (int i = 0; i < decoded.length; i++) {
+            int decoder = i;
+            startThread("opcode-pipeline-decode-" + i, () -> decode(decoder));
+        }
+        for (int i = 0; i < executed.length; i++) {
+            int shard = i;
+            startThread("opcode-pipeline-execute-" + i, () -> execute(shard));
+        }
+        startThread("opcode-pipeline-journal", this::journal);
+        startThread("opcode-pipeline-respond", this::respond);
+        accepting = true;
+    }
+
+    private void startThread(String name, Runnable stage) {
+        Thread thread = new Thread(stage, name);
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+
+    /**
+     * Stops accepting instructions, waits until every accepted instruction has been answered
+     * and stops the stage threads.
+     *
+     * @throws IOException if the journal cannot be closed
+     * @throws InterruptedException if interrupted while waiting for the stage threads
+     */
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        accepting = false;
+        while (running && responded.get() < claimed.get() - 1 && threads.stream().allMatch(Thread::isAlive)) {
+            settings.getWaitStrategy().idle();
+        }
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (long sequence = responded.get() + 1; sequence < claimed.get(); sequence++) {
+            Event event = events[(int) sequence & mask];
+            if (event.future != null) {
+                event.future.completeExceptionally(new RejectedExecutionException("Pipeline stopped"));
+            }
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Submits an instruction for a session. Waits while the ring is full.
+     *
+     * @param sessionId the session to execute on
+     * @param instruction the instruction text
+     * @return a future of the session's register values right after the instruction, failing
+     *         with the exception the instruction raised
+     */
+    public CompletableFuture<Map<String, Integer>> submit(String sessionId, String instruction) {
+        CompletableFuture<Map<String, Integer>> future = new CompletableFuture<>();
+        if (!accepting) {
+            future.completeExceptionally(new RejectedExecutionException("Pipeline is not running"));
+            return future;
+        }
+        long sequence = claimed.getAndIncrement();
+        while (sequence - events.length > responded.get()) {
+            if (!running) {
+                future.completeExceptionally(new RejectedExecutionException("Pipeline stopped"));
+                return future;
+            }
+            settings.getWaitStrategy().idle();
+        }
+        Event event = events[(int) sequence & mask];
+        event.sessionId = sessionId;
+        event.text = instruction;
+        event.future = future;
+        published.set((int) sequence & mask, sequence);
+        return future;
+    }
+
+    private void decode(int decoder) {
+        WaitStrategy waitStrategy = settings.getWaitStrategy();
+        long sequence = decoder;
+        while (running) {
+            if (published.get((int) sequence & mask) != sequence) {
+                waitStrategy.idle();
+                continue;
+            }
+            Event event = events[(int) sequence & mask];
+            try {
+                event.packed = parser.parsePacked(event.text);
+                event.processor = registry.get(event.sessionId).getProcessor();
+                event.shard = Math.floorMod(event.sessionId.hashCode(), executed.length);
+            } catch (RuntimeException e) {
+                event.failure = e;
+            }
+            decoded[decoder].set(sequence);
+            sequence += decoded.length;
+        }
+    }
+
+    private boolean isDecoded(long sequence) {
+        return decoded[(int) (sequence % decoded.length)].get() >= sequence;
+    }
+
+    private void execute(int shard) {
+        WaitStrategy waitStrategy = settings.getWaitStrategy();
+        long next = 0;
+        while (running) {
+            long last = next - 1;
+            while (last - next + 1 < maxBatchSize && isDecoded(last + 1)) {
+                last++;
+            }
+            if (last < next) {
+                waitStrategy.idle();
+                continue;
+            }
+            executeRange(shard, next, last);
+            executed[shard].set(last);
+            next = last + 1;
+        }
+    }
+
+    private void executeRange(int shard, long from, long to) {
+        long sequence = from;
+        while (sequence <= to) {
+            Event event = events[(int) sequence & mask];
+            if (event.failure != null || event.shard != shard) {
+                sequence++;
+                continue;
+            }
+            Processor processor = event.processor;
+            long[] end = {sequence};
+            processor.executeExclusively(() -> {
+                while (end[0] <= to) {
+                    Event run = events[(int) end[0] & mask];
+                    if (run.failure == null && run.shard == shard) {
+                        if (run.processor != processor) {
+                            return;
+                        }
+                        try {
+                            processor.executePacked(run.packed);
+                            processor.captureRegisters(run.registers);
+                        } catch (RuntimeException e) {
+                            run.failure = e;
+                        }
+                    }
+                    end[0]++;
+                }
+            });
+            sequence = end[0];
+        }
+    }
+
+    private long executedUpTo() {
+        long min = Long.MAX_VALUE;
+        for (AtomicLong counter : executed) {
+            min = Math.min(min, counter.get());
+        }
+        return min;
+    }
+
+    private void journal() {
+        WaitStrategy waitStrategy = settings.getWaitStrategy();
+        StringBuilder records = new StringBuilder();
+        while (running) {
+            long from = journaled.get() + 1;
+            long to = executedUpTo();
+            if (to < from) {
+                waitStrategy.idle();
+                continue;
+            }
+            if (journal != null) {
+                records.setLength(0);
+                for (long sequence = from; sequence <= to; sequence++) {
+                    Event event = events[(int) sequence & mask];
+                    records.append(sequence).append(' ');
+                    appendEscaped(records, event.sessionId, true);
+                    records.append(' ');
+                    appendEscaped(records, event.text, false);
+                    records.append(' ').append(event.failure == null ? "OK" : TransportErrors.statusOf(event.failure))
+                        .append('\n');
+                }
+                write(records, from, to);
+            }
+            journaled.set(to);
+        }
+    }
+
+    private void write(StringBuilder records, long from, long to) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(records.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (settings.isJournalSync()) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            for (long sequence = from; sequence <= to; sequence++) {
+                Event event = events[(int) sequence & mask];
+                if (event.failure == null) {
+                    event.failure = new JournalWriteException("Instruction " + sequence
+                        + " was executed but could not be journaled: " + e.getMessage(),
+                        event.processor.toRegisterMap(event.registers.clone()), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends a field of a journal record so that it cannot break the record apart.
+     *
+     * @param records the records being written
+     * @param field the field value
+     * @param escapeSpaces whether spaces must be escaped too, for fields followed by another field
+     */
+    private static void appendEscaped(StringBuilder records, String field, boolean escapeSpaces) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            switch (c) {
+                case '\\' -> records.append("\\\\");
+                case '\n' -> records.append("\\n");
+                case '\r' -> records.append("\\r");
+                case '\t' -> records.append("\\t");
+                case ' ' -> records.append(escapeSpaces ? "\\s" : " ");
+                default -> {
+                    if (c < ' ') {
+                        records.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        records.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void respond() {
+        WaitStrategy waitStrategy = settings.getWaitStrategy();
+        while (running) {
+            long from = responded.get() + 1;
+            long to = journaled.get();
+            if (to < from) {
+                waitStrategy.idle();
+                continue;
+            }
+            for (long sequence = from; sequence <= to; sequence++) {
+                Event event = events[(int) sequence & mask];
+                CompletableFuture<Map<String, Integer>> future = event.future;
+                if (event.failure != null) {
+                    future.completeExceptionally(event.failure);
+                } else {
+                    future.complete(event.processor.toRegisterMap(event.registers.clone()));
+                }
+                event.clear();
+            }
+            responded.set(to);
+        }
+    }
+
+    /**
+     * A slot of the ring, reused on every lap.
+     */
+    private static final class Event {
+
+        private final int[] registers;
+        private String sessionId;
+        private String text;
+        private CompletableFuture<Map<String, Integer>> future;
+        private long packed;
+        private Processor processor;
+        private int shard;
+        private RuntimeException failure;
+
+        private Event(int registers) {
+            this.registers = new int[registers];
+        }
+
+        private void clear() {
+            sessionId = null;
+            text = null;
+            future = null;
+            processor = null;
+            failure = null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.opcode.transport;
+
+import com.opcode.exception.HistoryUnavailableException;
+import com.opcode.exception.InvalidInstructionException;
+import com.opcode.exception.InvalidRegisterException;
+import com.opcode.exception.InvalidSyntaxException;
+import com.opcode.exception.JournalWriteException;
+import com.opcode.exception.SessionNotFoundException;
+import com.opcode.exception.UndoUnavailableException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Maps failures to the HTTP status codes and messages the servlet API's exception handler
+ * gives for them, so every transport reports errors the same way.
+ */
+final class TransportErrors {
+
+    static final int BAD_REQUEST = 400;
+    static final int NOT_FOUND = 404;
+    static final int INTERNAL_SERVER_ERROR = 500;
+    static final int SERVICE_UNAVAILABLE = 503;
+    static final int INSUFFICIENT_STORAGE = 507;
+
+    private TransportErrors() {
+    }
+
+    /**
+     * Unwraps the failure of an asynchronous execution.
+     *
+     * @param e the failure
+     * @return the failure's cause if it was wrapped by a completion stage, otherwise the failure
+     */
+    static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * Gets the status code for a failure.
+     *
+     * @param e the failure
+     * @return the HTTP status code
+     */
+    static int statusOf(Throwable e) {
+        if (e instanceof InvalidRegisterException || e instanceof SessionNotFoundException
+                || e instanceof HistoryUnavailableException) {
+            return NOT_FOUND;
+        }
+        if (e instanceof InvalidInstructionException || e instanceof InvalidSyntaxException
+                || e instanceof UndoUnavailableException || e instanceof InvalidRequestException) {
+            return BAD_REQUEST;
+        }
+        if (e instanceof RejectedExecutionException) {
+            return SERVICE_UNAVAILABLE;
+        }
+        if (e instanceof JournalWriteException) {
+            return INSUFFICIENT_STORAGE;
+        }
+        return INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Gets the message reported for a failure.
+     *
+     * @param e the failure
+     * @return the error message
+     */
+    static String messageOf(Throwable e) {
+        if (e instanceof RejectedExecutionException) {
+            return "Execution queue is full";
+        }
+        if (statusOf(e) == INTERNAL_SERVER_ERROR) {
+            return "An unexpected error occurred: " + e.getMessage();
+        }
+        return e.getMessage();
+    }
+}
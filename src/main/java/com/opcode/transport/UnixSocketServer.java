@@ -0,0 +1,257 @@
+package com.opcode.transport;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.exception.BatchExecutionException;
+import com.opcode.service.ProcessorService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the instruction and register operations of {@link ProcessorService} over a Unix domain
+ * socket when {@code opcode.unix-socket.enabled} is set, using the {@link BinaryProtocol}.
+ * <p>
+ * Every connection is served by its own thread, which decodes all complete frames of a read,
+ * executes them in order and answers them with a single write. A pipelining client therefore
+ * costs one read and one write system call per burst of requests rather than per request, and
+ * skipping HTTP and JSON leaves the processor call as most of the round trip. A frame with an
+ * invalid length closes the connection after the requests before it are answered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "opcode.unix-socket", name = "enabled", havingValue = "true")
+public class UnixSocketServer {
+
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final ProcessorService processorService;
+    private final Path path;
+    private final int maxFrameBytes;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private ServerSocketChannel server;
+
+    /**
+     * Constructs a new UnixSocketServer.
+     *
+     * @param processorService the service executing the requests
+     * @param properties the simulator configuration
+     */
+    public UnixSocketServer(ProcessorService processorService, OpcodeProperties properties) {
+        this.processorService = processorService;
+        this.path = Path.of(properties.getUnixSocket().getPath());
+        this.maxFrameBytes = properties.getUnixSocket().getMaxFrameBytes();
+        if (maxFrameBytes <= 0) {
+            throw new IllegalArgumentException("Max frame size must be positive");
+        }
+    }
+
+    /**
+     * Binds the socket, replacing a stale socket file left by an earlier run, and starts accepting.
+     *
+     * @throws IOException if the socket cannot be bound
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.deleteIfExists(path);
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(path));
+        Thread acceptor = new Thread(this::accept, "opcode-unix-socket-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Closes the socket and all connections and removes the socket file.
+     *
+     * @throws IOException if the socket file cannot be removed
+     */
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+        for (SocketChannel connection : connections) {
+            connection.close();
+        }
+        Files.deleteIfExists(path);
+    }
+
+    private void accept() {
+        while (server.isOpen()) {
+            try {
+                SocketChannel channel = server.accept();
+                connections.add(channel);
+                Thread connection = new Thread(() -> serve(channel),
+                    "opcode-unix-socket-" + connectionCount.incrementAndGet());
+                connection.setDaemon(true);
+                connection.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        ByteBuffer in = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        ByteBuffer out = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        boolean open = true;
+        try (channel) {
+            while (open && channel.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= Integer.BYTES) {
+                    int length = in.getInt(in.position());
+                    if (length <= 0 || length > maxFrameBytes) {
+                        // The stream cannot be resynchronized; answer what was read and close
+                        open = false;
+                        break;
+                    }
+                    if (in.remaining() < Integer.BYTES + length) {
+                        break;
+                    }
+                    in.position(in.position() + Integer.BYTES);
+                    int end = in.position() + length;
+                    ByteBuffer frame = in.slice(in.position(), length);
+                    in.position(end);
+                    out = handle(frame, out);
+                }
+                in.compact();
+                if (!in.hasRemaining()) {
+                    in = grow(in, in.capacity() * 2L);
+                }
+                out.flip();
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                out.clear();
+            }
+        } catch (ClosedChannelException e) {
+            // Closed by shutdown
+        } catch (IOException e) {
+            // The client went away; nothing to answer
+        } finally {
+            connections.remove(channel);
+        }
+    }
+
+    /**
+     * Executes one request frame and appends its response frame.
+     *
+     * @param frame the request frame without its length prefix
+     * @param out the buffer collecting response frames
+     * @return the buffer collecting response frames, grown if needed
+     */
+    private ByteBuffer handle(ByteBuffer frame, ByteBuffer out) {
+        Map<String, Integer> registers;
+        try {
+            registers = execute(frame);
+        } catch (BatchExecutionException e) {
+            return writeError(out, TransportErrors.BAD_REQUEST, e.getExecutedInstructions(), e.getMessage());
+        } catch (RuntimeException e) {
+            return writeError(out, TransportErrors.statusOf(e), -1, TransportErrors.messageOf(e));
+        }
+        return writeRegisters(out, registers);
+    }
+
+    private Map<String, Integer> execute(ByteBuffer frame) {
+        byte operation = frame.get();
+        return switch (operation) {
+            case BinaryProtocol.EXECUTE -> processorService.executeInstruction(readString(frame, frame.remaining()));
+            case BinaryProtocol.EXECUTE_BATCH -> processorService.executeBatchInstructions(readInstructions(frame));
+            case BinaryProtocol.GET_REGISTERS -> processorService.getAllRegisters();
+            case BinaryProtocol.GET_REGISTER -> {
+                String register = readString(frame, frame.remaining());
+                yield Map.of(register, processorService.getRegisterValue(register));
+            }
+            case BinaryProtocol.RESET -> processorService.resetProcessor();
+            default -> throw new InvalidRequestException("Unknown operation: " + operation);
+        };
+    }
+
+    private static List<String> readInstructions(ByteBuffer frame) {
+        if (frame.remaining() < Integer.BYTES) {
+            throw new InvalidRequestException("Truncated batch");
+        }
+        int count = frame.getInt();
+        if (count <= 0 || count > frame.remaining() / Short.BYTES) {
+            throw new InvalidRequestException("Invalid instruction count: " + count);
+        }
+        List<String> instructions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (frame.remaining() < Short.BYTES) {
+                throw new InvalidRequestException("Truncated batch");
+            }
+            int length = Short.toUnsignedInt(frame.getShort());
+            if (frame.remaining() < length) {
+                throw new InvalidRequestException("Truncated batch");
+            }
+            instructions.add(readString(frame, length));
+        }
+        return instructions;
+    }
+
+    private static String readString(ByteBuffer frame, int length) {
+        String value = new String(frame.array(), frame.arrayOffset() + frame.position(), length,
+            StandardCharsets.UTF_8);
+        frame.position(frame.position() + length);
+        return value;
+    }
+
+    private static ByteBuffer writeRegisters(ByteBuffer out, Map<String, Integer> registers) {
+        int length = 1 + Integer.BYTES;
+        for (String name : registers.keySet()) {
+            length += 1 + name.length() + Integer.BYTES;
+        }
+        out = ensure(out, Integer.BYTES + length);
+        out.putInt(length).put(BinaryProtocol.OK).putInt(registers.size());
+        for (Map.Entry<String, Integer> register : registers.entrySet()) {
+            String name = register.getKey();
+            out.put((byte) name.length());
+            for (int i = 0; i < name.length(); i++) {
+                out.put((byte) name.charAt(i));
+            }
+            out.putInt(register.getValue());
+        }
+        return out;
+    }
+
+    private static ByteBuffer writeError(ByteBuffer out, int status, int executedInstructions, String message) {
+        byte[] text = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        int length = 1 + Short.BYTES + Integer.BYTES + text.length;
+        out = ensure(out, Integer.BYTES + length);
+        return out.putInt(length)
+            .put(BinaryProtocol.ERROR)
+            .putShort((short) status)
+            .putInt(executedInstructions)
+            .put(text);
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        return grow(buffer, Math.max(buffer.capacity() * 2L, (long) buffer.position() + bytes));
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, long capacity) {
+        ByteBuffer grown = ByteBuffer.allocate((int) Math.min(capacity, Integer.MAX_VALUE - 8));
+        buffer.flip();
+        return grown.put(buffer);
+    }
+}
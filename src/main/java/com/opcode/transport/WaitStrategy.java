@@ -0,0 +1,37 @@
+package com.opcode.transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a side of a {@link SharedMemoryRing} waits for the other side.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins on the CPU; lowest latency, but keeps a core busy while idle.
+     */
+    SPIN {
+        @Override
+        void idle() {
+            Thread.onSpinWait();
+        }
+    },
+
+    /**
+     * Parks briefly between checks; adds up to the park time to the latency of an idle ring.
+     */
+    PARK {
+        @Override
+        void idle() {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    };
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    /**
+     * Waits once before the caller checks the ring again.
+     */
+    abstract void idle();
+}
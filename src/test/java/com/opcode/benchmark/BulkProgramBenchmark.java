@@ -0,0 +1,55 @@
+package com.opcode.benchmark;
+
+import com.opcode.core.PackedInstruction;
+import com.opcode.core.RegisterColumns;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark for executing one program on one million sessions laid out as register columns,
+ * with plain loops and with the vector API.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class BulkProgramBenchmark {
+    
+    private static final int SESSIONS = 1_000_000;
+    private static final int INSTRUCTIONS = 100;
+    private static final int ITERATIONS = 20;
+    
+    @Test
+    void benchmarkMillionSessionsHundredInstructions() {
+        long[] program = new long[INSTRUCTIONS];
+        for (int i = 0; i < INSTRUCTIONS; i++) {
+            program[i] = switch (i % 4) {
+                case 0 -> PackedInstruction.pack(PackedInstruction.ADD, i % 3, 0, i);
+                case 1 -> PackedInstruction.pack(PackedInstruction.ADR, 3, i % 3, 0);
+                case 2 -> PackedInstruction.pack(PackedInstruction.INR, 1, 0, 0);
+                default -> PackedInstruction.pack(PackedInstruction.MOV, 2, 3, 0);
+            };
+        }
+        
+        int[] scalarRow = run(program, false);
+        int[] vectorRow = run(program, true);
+        
+        assertArrayEquals(scalarRow, vectorRow);
+    }
+    
+    private static int[] run(long[] program, boolean vectorized) {
+        RegisterColumns columns = new RegisterColumns(4, SESSIONS);
+        long best = Long.MAX_VALUE;
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            long start = System.nanoTime();
+            columns.execute(program, vectorized);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%s: %d sessions x %d instructions: best %.2f ms (%.2f ns/session-instruction)%n",
+            vectorized && RegisterColumns.isVectorApiAvailable() ? "vector API" : "plain loops",
+            SESSIONS, INSTRUCTIONS, best / 1e6, (double) best / SESSIONS / INSTRUCTIONS);
+        int[] row = new int[4];
+        columns.getRow(SESSIONS - 1, row);
+        return row;
+    }
+}
@@ -0,0 +1,118 @@
+package com.opcode.benchmark;
+
+import com.opcode.OpcodeSampleApplication;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark for many concurrent slow clients against platform and virtual request threads.
+ * Every client sends its request headers, pauses before sending the body, and then waits for
+ * the response, so the server's request threads spend most of their time blocked on the client.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class RequestThreadsBenchmark {
+    
+    private static final int CLIENTS = 10_000;
+    private static final long CLIENT_PAUSE_MILLIS = 50;
+    private static final String BODY = "{\"instruction\":\"INR A\"}";
+    
+    @Test
+    void benchmarkSlowClientsOnPlatformAndVirtualThreads() throws Exception {
+        int clients = clientsWithinFileLimit();
+        
+        long platform = run(false, clients);
+        long virtual = run(true, clients);
+        
+        System.out.printf("%d concurrent slow clients: platform threads %.0f ms, virtual threads %.0f ms%n",
+            clients, platform / 1e6, virtual / 1e6);
+    }
+    
+    private long run(boolean virtualThreads, int clients) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OpcodeSampleApplication.class)
+                .run("--server.port=0",
+                    "--server.tomcat.max-connections=" + (clients + 100),
+                    "--server.tomcat.accept-count=" + clients,
+                    "--logging.level.root=WARN",
+                    "--opcode.execution.virtual-threads=" + virtualThreads)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            AtomicInteger succeeded = new AtomicInteger();
+            
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> requests = new ArrayList<>(clients);
+                for (int i = 0; i < clients; i++) {
+                    requests.add(executor.submit(() -> {
+                        if (slowRequest(port).startsWith("HTTP/1.1 200")) {
+                            succeeded.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> request : requests) {
+                    request.get();
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            
+            assertEquals(clients, succeeded.get());
+            return elapsed;
+        }
+    }
+    
+    private static String slowRequest(int port) throws IOException, InterruptedException {
+        byte[] body = BODY.getBytes(StandardCharsets.US_ASCII);
+        String headers = "POST /api/v1/instructions HTTP/1.1\r\n"
+            + "Host: localhost\r\n"
+            + "Content-Type: application/json\r\n"
+            + "Content-Length: " + body.length + "\r\n"
+            + "Connection: close\r\n\r\n";
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(headers.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            Thread.sleep(CLIENT_PAUSE_MILLIS);
+            out.write(body);
+            out.flush();
+            InputStream in = socket.getInputStream();
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+    
+    /**
+     * Caps the number of clients so that both ends of every connection fit in this process's
+     * file descriptor limit, since client and server run in the same JVM.
+     */
+    private static int clientsWithinFileLimit() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof UnixOperatingSystemMXBean unix) {
+            long available = unix.getMaxFileDescriptorCount() - unix.getOpenFileDescriptorCount() - 1_000;
+            int clients = (int) Math.max(1, Math.min(CLIENTS, available / 2));
+            if (clients < CLIENTS) {
+                System.out.printf("file descriptor limit allows %d of %d clients%n", clients, CLIENTS);
+            }
+            return clients;
+        }
+        return CLIENTS;
+    }
+}
@@ -0,0 +1,70 @@
+package com.opcode.benchmark;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.ProcessorSession;
+import com.opcode.session.SessionRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark for forking many child sessions from one parent with a recorded history, reporting
+ * the fork time against the length of the parent's history.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class SessionForkBenchmark {
+    
+    private static final int CHILDREN = 10_000;
+    private static final int ITERATIONS = 20;
+    private static final int[] HISTORY_LENGTHS = {1_000, 10_000, 100_000, 1_000_000};
+    
+    @Test
+    void benchmarkFork10kChildrenByHistoryLength() {
+        for (int historyLength : HISTORY_LENGTHS) {
+            fork(historyLength);
+        }
+    }
+    
+    private static void fork(int historyLength) {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getHistory().setEnabled(true);
+        properties.getHistory().setRetention(0);
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        ResetGenerations resetGenerations = new ResetGenerations();
+        Processor defaultProcessor = new Processor(new RegisterManager(properties, resetGenerations), parser);
+        SessionRegistry registry = new SessionRegistry(defaultProcessor, parser, resetGenerations, properties);
+        
+        ProcessorSession parent = registry.create(null);
+        for (int i = 0; i < historyLength; i++) {
+            parent.getProcessor().executeInstruction("ADD A 1");
+        }
+        assertEquals(historyLength, parent.getProcessor().getHeadSeq());
+        
+        long best = Long.MAX_VALUE;
+        List<ProcessorSession> children = List.of();
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            children.forEach(child -> registry.remove(child.getId()));
+            long start = System.nanoTime();
+            children = registry.fork(parent.getId(), CHILDREN, null);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        
+        System.out.printf("fork %d children, history of %d mutations: best %.2f ms (%.0f ns/child)%n",
+            CHILDREN, historyLength, best / 1e6, (double) best / CHILDREN);
+        
+        assertEquals(CHILDREN, children.size());
+        Processor lastChild = children.get(CHILDREN - 1).getProcessor();
+        assertEquals(historyLength, lastChild.getRegisterValue("A"));
+        assertEquals(historyLength, lastChild.getHeadSeq());
+        assertEquals(historyLength / 2, lastChild.getAllRegisterValuesAt(historyLength / 2).get("A"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.opcode.benchmark;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import com.opcode.service.ProcessorService;
+import com.opcode.transport.BinaryProtocol;
+import com.opcode.transport.UnixSocketServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark for round trips over the Unix domain socket transport, one request at a time and
+ * pipelined. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class UnixSocketBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int ROUND_TRIPS = 200_000;
+    private static final int PIPELINE_DEPTH = 64;
+
+    @Test
+    void benchmarkRoundTrips() throws IOException {
+        Path directory = Files.createTempDirectory("opcode-uds");
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getUnixSocket().setPath(directory.resolve("opcode.sock").toString());
+        Processor processor = new Processor(new RegisterManager(), new InstructionParser(new InstructionFactory()));
+        UnixSocketServer server = new UnixSocketServer(new ProcessorService(processor), properties);
+        server.start();
+        try (SocketChannel client = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            client.connect(UnixDomainSocketAddress.of(properties.getUnixSocket().getPath()));
+            ByteBuffer request = request("INR A");
+            ByteBuffer pipelined = ByteBuffer.allocate(request.remaining() * PIPELINE_DEPTH);
+            for (int i = 0; i < PIPELINE_DEPTH; i++) {
+                pipelined.put(request.duplicate());
+            }
+            ByteBuffer response = ByteBuffer.allocate(64 * 1024);
+
+            roundTrips(client, request, 1, response, WARMUP);
+            long sequential = roundTrips(client, request, 1, response, ROUND_TRIPS);
+            long pipelinedNanos = roundTrips(client, pipelined.flip(), PIPELINE_DEPTH, response, ROUND_TRIPS);
+
+            System.out.printf("unix socket: %.2f us per round trip, %.2f us per request pipelined %d deep%n",
+                sequential / 1e3 / ROUND_TRIPS, pipelinedNanos / 1e3 / ROUND_TRIPS, PIPELINE_DEPTH);
+            assertEquals(WARMUP + 2 * ROUND_TRIPS, processor.getRegisterValue("A"));
+        } finally {
+            server.shutdown();
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static long roundTrips(SocketChannel client, ByteBuffer requests, int depth, ByteBuffer response,
+                                   int count) throws IOException {
+        long start = System.nanoTime();
+        for (int sent = 0; sent < count; sent += depth) {
+            ByteBuffer burst = requests.duplicate();
+            while (burst.hasRemaining()) {
+                client.write(burst);
+            }
+            int answered = 0;
+            response.clear();
+            while (answered < depth) {
+                client.read(response);
+                answered = countFrames(response);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static int countFrames(ByteBuffer response) {
+        int frames = 0;
+        int position = 0;
+        while (position + Integer.BYTES <= response.position()) {
+            int end = position + Integer.BYTES + response.getInt(position);
+            if (end > response.position()) {
+                break;
+            }
+            frames++;
+            position = end;
+        }
+        return frames;
+    }
+
+    private static ByteBuffer request(String instruction) {
+        byte[] bytes = instruction.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Integer.BYTES + 1 + bytes.length)
+            .putInt(1 + bytes.length)
+            .put(BinaryProtocol.EXECUTE)
+            .put(bytes)
+            .flip();
+    }
+}
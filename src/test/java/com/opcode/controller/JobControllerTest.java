@@ -0,0 +1,112 @@
+package com.opcode.controller;
+
+import com.opcode.exception.JobNotFoundException;
+import com.opcode.exception.JobRejectedException;
+import com.opcode.model.JobResponse;
+import com.opcode.model.JobState;
+import org.junit.jupiter.api.Test;
+import com.opcode.service.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the JobController class.
+ */
+@WebMvcTest(JobController.class)
+public class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JobService jobService;
+
+    @Test
+    void testSubmitJob() throws Exception {
+        // Arrange
+        when(jobService.submit(List.of("SET A 1", "INR A"), 3))
+            .thenReturn(new JobResponse("j-1", JobState.QUEUED, 2, 0, null, null));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instructions\":[\"SET A 1\",\"INR A\"],\"priority\":3}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/jobs/j-1"))
+                .andExpect(jsonPath("$.id").value("j-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void testSubmitJobWithEmptyInstructions() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instructions\":[]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    @Test
+    void testSubmitJobWhenQueueIsFull() throws Exception {
+        // Arrange
+        when(jobService.submit(List.of("SET A 1"), 0)).thenThrow(new JobRejectedException("Job queue is full"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instructions\":[\"SET A 1\"]}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Job queue is full"));
+    }
+
+    @Test
+    void testGetFinishedJob() throws Exception {
+        // Arrange
+        when(jobService.getJob("j-1")).thenReturn(
+            new JobResponse("j-1", JobState.FAILED, 3, 1, "Error executing instruction: BAD", Map.of("A", 1)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/jobs/j-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("FAILED"))
+                .andExpect(jsonPath("$.executedInstructions").value(1))
+                .andExpect(jsonPath("$.registers.A").value(1));
+    }
+
+    @Test
+    void testGetUnknownJob() throws Exception {
+        // Arrange
+        when(jobService.getJob("missing")).thenThrow(new JobNotFoundException("Job not found: missing"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCancelRunningJob() throws Exception {
+        // Arrange
+        when(jobService.cancel("j-1")).thenReturn(new JobResponse("j-1", JobState.RUNNING, 10, 4, null, null));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/v1/jobs/j-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        verify(jobService).cancel("j-1");
+    }
+}
@@ -1,13 +1,21 @@
 package com.opcode.controller;
 
+import com.opcode.core.RegisterProjection;
+import com.opcode.core.RegisterSelection;
 import com.opcode.exception.BatchExecutionException;
+import com.opcode.exception.HistoryUnavailableException;
 import com.opcode.exception.InvalidInstructionException;
 import com.opcode.exception.InvalidRegisterException;
 import com.opcode.exception.InvalidSyntaxException;
+import com.opcode.exception.UndoUnavailableException;
 import com.opcode.model.BatchInstructionRequest;
+import com.opcode.model.HistoryResponse;
 import com.opcode.model.InstructionRequest;
+import com.opcode.model.PrefixCacheResponse;
 import com.opcode.model.ProcessorResponse;
 import com.opcode.service.ProcessorService;
+import com.opcode.service.VersionedJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -15,12 +23,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -36,6 +49,9 @@ public class ProcessorControllerTest {
     @Autowired
     private MockMvc mockMvc;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @MockBean
     private ProcessorService processorService;
     
@@ -48,7 +64,7 @@ public class ProcessorControllerTest {
         registers.put("C", 0);
         registers.put("D", 0);
         
-        when(processorService.executeInstruction("SET A 42")).thenReturn(registers);
+        when(processorService.executeInstruction(eq("SET A 42"), any())).thenReturn(new RegisterProjection(registers, 1));
         
         // Act & Assert
         mockMvc.perform(post("/api/v1/instructions")
@@ -59,13 +75,51 @@ public class ProcessorControllerTest {
                 .andExpect(jsonPath("$.registers.A").value(42))
                 .andExpect(jsonPath("$.registers.B").value(0))
                 .andExpect(jsonPath("$.registers.C").value(0))
-                .andExpect(jsonPath("$.registers.D").value(0));
+                .andExpect(jsonPath("$.registers.D").value(0))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+    
+    @Test
+    void testExecuteInstructionWithProjection() throws Exception {
+        // Arrange
+        RegisterSelection selection = RegisterSelection.ALL;
+        when(processorService.selectRegisters(List.of("A", "C"), true, null)).thenReturn(selection);
+        when(processorService.executeInstruction("SET A 42", selection))
+            .thenReturn(new RegisterProjection(Map.of("A", 42), 7));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/instructions")
+                .param("registers", "A,C")
+                .param("changedOnly", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instruction\":\"SET A 42\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registers.A").value(42))
+                .andExpect(jsonPath("$.registers.C").doesNotExist())
+                .andExpect(jsonPath("$.version").value(7));
+    }
+    
+    @Test
+    void testExecuteInstructionWithInvalidProjectedRegister() throws Exception {
+        // Arrange
+        when(processorService.selectRegisters(List.of("X"), false, null))
+            .thenThrow(new InvalidRegisterException("Invalid register: X"));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/instructions")
+                .param("registers", "X")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instruction\":\"SET A 42\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("error"));
+        
+        verify(processorService, never()).executeInstruction(anyString(), any());
     }
     
     @Test
     void testExecuteInstructionWithInvalidSyntax() throws Exception {
         // Arrange
-        when(processorService.executeInstruction(anyString()))
+        when(processorService.executeInstruction(anyString(), any()))
             .thenThrow(new InvalidSyntaxException("Invalid syntax"));
         
         // Act & Assert
@@ -80,7 +134,7 @@ public class ProcessorControllerTest {
     @Test
     void testExecuteInstructionWithInvalidRegister() throws Exception {
         // Arrange
-        when(processorService.executeInstruction(anyString()))
+        when(processorService.executeInstruction(anyString(), any()))
             .thenThrow(new InvalidRegisterException("Invalid register: X"));
         
         // Act & Assert
@@ -95,7 +149,7 @@ public class ProcessorControllerTest {
     @Test
     void testExecuteInstructionWithInvalidInstruction() throws Exception {
         // Arrange
-        when(processorService.executeInstruction(anyString()))
+        when(processorService.executeInstruction(anyString(), any()))
             .thenThrow(new InvalidInstructionException("Unknown instruction: XYZ"));
         
         // Act & Assert
@@ -148,7 +202,7 @@ public class ProcessorControllerTest {
         registers.put("C", 0);
         registers.put("D", 0);
         
-        when(processorService.executeBatchInstructions(instructions)).thenReturn(registers);
+        when(processorService.executeBatchInstructions(eq(instructions), any())).thenReturn(new RegisterProjection(registers, 3));
         
         // Act & Assert
         mockMvc.perform(post("/api/v1/instructions/batch")
@@ -161,14 +215,14 @@ public class ProcessorControllerTest {
                 .andExpect(jsonPath("$.registers.C").value(0))
                 .andExpect(jsonPath("$.registers.D").value(0));
         
-        verify(processorService).executeBatchInstructions(instructions);
+        verify(processorService).executeBatchInstructions(eq(instructions), any());
     }
     
     @Test
     void testExecuteBatchInstructionsWithError() throws Exception {
         // Arrange
         List<String> instructions = Arrays.asList("SET A 10", "INVALID B 20");
-        when(processorService.executeBatchInstructions(instructions))
+        when(processorService.executeBatchInstructions(eq(instructions), any()))
             .thenThrow(new BatchExecutionException("Error executing instruction at index 1: INVALID B 20", 1));
         
         // Act & Assert
@@ -179,7 +233,7 @@ public class ProcessorControllerTest {
                 .andExpect(jsonPath("$.status").value("error"))
                 .andExpect(jsonPath("$.executedInstructions").value(1));
         
-        verify(processorService).executeBatchInstructions(instructions);
+        verify(processorService).executeBatchInstructions(eq(instructions), any());
     }
     
     @Test
@@ -202,36 +256,156 @@ public class ProcessorControllerTest {
         registers.put("C", 0);
         registers.put("D", 0);
         
-        when(processorService.getAllRegisters()).thenReturn(registers);
+        when(processorService.getStateVersion()).thenReturn(7L);
+        when(processorService.getAllRegistersJson())
+            .thenReturn(new VersionedJson(7L, objectMapper.writeValueAsBytes(registers)));
         
         // Act & Assert
         mockMvc.perform(get("/api/v1/registers"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""))
                 .andExpect(jsonPath("$.A").value(10))
                 .andExpect(jsonPath("$.B").value(20))
                 .andExpect(jsonPath("$.C").value(0))
                 .andExpect(jsonPath("$.D").value(0));
         
-        verify(processorService).getAllRegisters();
+        verify(processorService).getAllRegistersJson();
+    }
+    
+    @Test
+    void testGetAllRegistersNotModified() throws Exception {
+        // Arrange
+        when(processorService.getStateVersion()).thenReturn(7L);
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/registers").header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        verify(processorService, never()).getAllRegistersJson();
+    }
+    
+    @Test
+    void testGetAllRegistersAtSequenceNumber() throws Exception {
+        // Arrange
+        Map<String, Integer> registers = new HashMap<>();
+        registers.put("A", 5);
+        registers.put("B", 0);
+        registers.put("C", 0);
+        registers.put("D", 0);
+        
+        when(processorService.getAllRegistersAt(3L)).thenReturn(registers);
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/registers").param("atSeq", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.A").value(5));
+        
+        verify(processorService).getAllRegistersAt(3L);
+    }
+    
+    @Test
+    void testGetAllRegistersAtCompactedSequenceNumber() throws Exception {
+        // Arrange
+        when(processorService.getAllRegistersAt(1L))
+            .thenThrow(new HistoryUnavailableException("Sequence number 1 has been compacted"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/registers").param("atSeq", "1"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.message").value("Sequence number 1 has been compacted"));
+    }
+    
+    @Test
+    void testGetHistory() throws Exception {
+        // Arrange
+        when(processorService.getHistory()).thenReturn(new HistoryResponse(64, 130));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/processor/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.oldestSeq").value(64))
+                .andExpect(jsonPath("$.headSeq").value(130));
+    }
+    
+    @Test
+    void testGetPrefixCacheStats() throws Exception {
+        // Arrange
+        when(processorService.getPrefixCacheStats()).thenReturn(new PrefixCacheResponse(true, 12, 4, 3, 30));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/processor/prefix-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nodes").value(12))
+                .andExpect(jsonPath("$.hitRate").value(0.75));
+    }
+    
+    @Test
+    void testUndo() throws Exception {
+        // Arrange
+        Map<String, Integer> registers = new HashMap<>();
+        registers.put("A", 1);
+        registers.put("B", 0);
+        registers.put("C", 0);
+        registers.put("D", 0);
+        
+        when(processorService.undo(2)).thenReturn(registers);
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/processor/undo").param("steps", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.registers.A").value(1));
+        
+        verify(processorService).undo(2);
+    }
+    
+    @Test
+    void testUndoBeyondRecordedSteps() throws Exception {
+        // Arrange
+        when(processorService.undo(5))
+            .thenThrow(new UndoUnavailableException("Cannot undo 5 steps; 3 steps are available"));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/processor/undo").param("steps", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.message").value("Cannot undo 5 steps; 3 steps are available"));
     }
     
     @Test
     void testGetRegisterValue() throws Exception {
         // Arrange
-        when(processorService.getRegisterValue("A")).thenReturn(42);
+        when(processorService.getStateVersion()).thenReturn(3L);
+        when(processorService.getRegisterValueJson("A"))
+            .thenReturn(new VersionedJson(3L, "{\"value\":42}".getBytes(StandardCharsets.UTF_8)));
         
         // Act & Assert
         mockMvc.perform(get("/api/v1/registers/A"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.value").value(42));
         
-        verify(processorService).getRegisterValue("A");
+        verify(processorService).getRegisterValueJson("A");
+    }
+    
+    @Test
+    void testGetRegisterValueNotModified() throws Exception {
+        // Arrange
+        when(processorService.getStateVersion()).thenReturn(3L);
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/registers/A").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+        
+        verify(processorService, never()).getRegisterValueJson("A");
     }
     
     @Test
     void testGetRegisterValue_InvalidRegister() throws Exception {
         // Arrange
-        when(processorService.getRegisterValue("X"))
+        when(processorService.getRegisterValueJson("X"))
             .thenThrow(new InvalidRegisterException("Invalid register: X"));
         
         // Act & Assert
@@ -240,7 +414,21 @@ public class ProcessorControllerTest {
                 .andExpect(jsonPath("$.status").value("error"))
                 .andExpect(jsonPath("$.message").value("Invalid register: X"));
         
-        verify(processorService).getRegisterValue("X");
+        verify(processorService).getRegisterValueJson("X");
+    }
+    
+    @Test
+    void testGetRegisterValue_InvalidRegisterWithCurrentETag() throws Exception {
+        // Arrange
+        when(processorService.getStateVersion()).thenReturn(3L);
+        doThrow(new InvalidRegisterException("Invalid register: X")).when(processorService).validateRegister("X");
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/registers/X").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Invalid register: X"));
+        
+        verify(processorService, never()).getRegisterValueJson("X");
     }
     
     @Test
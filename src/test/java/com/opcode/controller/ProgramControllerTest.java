@@ -0,0 +1,57 @@
+package com.opcode.controller;
+
+import com.opcode.exception.ProgramNotFoundException;
+import com.opcode.model.PreparedProgramResponse;
+import com.opcode.service.PreparedProgramService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the ProgramController class.
+ */
+@WebMvcTest(ProgramController.class)
+public class ProgramControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PreparedProgramService programService;
+
+    @Test
+    void testPrepareProgram() throws Exception {
+        // Arrange
+        when(programService.prepare(List.of("SET A ?", "ADD B ?")))
+            .thenReturn(new PreparedProgramResponse("p-1", List.of("SET A ?", "ADD B ?"), 2));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/programs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instructions\":[\"SET A ?\",\"ADD B ?\"]}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/v1/programs/p-1"))
+                .andExpect(jsonPath("$.parameters").value(2));
+    }
+
+    @Test
+    void testGetUnknownProgram() throws Exception {
+        // Arrange
+        when(programService.get("missing")).thenThrow(new ProgramNotFoundException("Program not found: missing"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/programs/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Program not found: missing"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.opcode.controller;
+
+import com.opcode.service.RegisterChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the RegisterChangeController class.
+ */
+@WebMvcTest(RegisterChangeController.class)
+public class RegisterChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RegisterChangeFeed changeFeed;
+
+    @Test
+    void testStreamChanges() throws Exception {
+        // Arrange
+        when(changeFeed.subscribe()).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/processor/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeed).subscribe();
+    }
+
+    @Test
+    void testPollChanges() throws Exception {
+        // Arrange
+        DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>();
+        result.setResult(ResponseEntity.ok()
+            .eTag("\"4\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"A\":1,\"B\":0,\"C\":0,\"D\":0}".getBytes(StandardCharsets.UTF_8)));
+        when(changeFeed.poll(3L)).thenReturn(result);
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/v1/processor/changes").param("sinceVersion", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.A").value(1));
+    }
+
+    @Test
+    void testPollChangesTimesOutWithNotModified() throws Exception {
+        // Arrange
+        DeferredResult<ResponseEntity<byte[]>> result = new DeferredResult<>();
+        result.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"3\"").build());
+        when(changeFeed.poll(3L)).thenReturn(result);
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/v1/processor/changes").param("sinceVersion", "3"))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,61 @@
+package com.opcode.controller;
+
+import com.opcode.exception.ScriptNotFoundException;
+import com.opcode.model.ScriptResponse;
+import com.opcode.service.ScriptService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the ScriptController class.
+ */
+@WebMvcTest(ScriptController.class)
+public class ScriptControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ScriptService scriptService;
+
+    @Test
+    void testUpdateScript() throws Exception {
+        // Arrange
+        when(scriptService.update("s-1", List.of("SET A 1", "INR A")))
+            .thenReturn(new ScriptResponse("s-1", 2, 2, 1, 1, Map.of("A", 2)));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/scripts/s-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instructions\":[\"SET A 1\",\"INR A\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.executedInstructions").value(1))
+                .andExpect(jsonPath("$.registers.A").value(2));
+    }
+
+    @Test
+    void testUpdateUnknownScript() throws Exception {
+        // Arrange
+        when(scriptService.update("missing", List.of("INR A")))
+            .thenThrow(new ScriptNotFoundException("Script not found: missing"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/scripts/missing")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instructions\":[\"INR A\"]}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Script not found: missing"));
+    }
+}
@@ -0,0 +1,202 @@
+package com.opcode.controller;
+
+import com.opcode.core.Processor;
+import com.opcode.exception.SessionNotFoundException;
+import com.opcode.model.BulkProgramResponse;
+import com.opcode.model.MultiSessionBatchResponse;
+import com.opcode.model.SessionBatchResult;
+import com.opcode.service.BulkProgramService;
+import com.opcode.service.SessionBatchService;
+import com.opcode.service.SessionService;
+import com.opcode.session.ProcessorSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the SessionController class.
+ */
+@WebMvcTest(SessionController.class)
+public class SessionControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private SessionService sessionService;
+    
+    @MockBean
+    private SessionBatchService sessionBatchService;
+    
+    @MockBean
+    private BulkProgramService bulkProgramService;
+    
+    @Test
+    void testCreateSession() throws Exception {
+        // Arrange
+        when(sessionService.createSession("acme"))
+            .thenReturn(new ProcessorSession("s-1", "acme", mock(Processor.class)));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/sessions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tenant\":\"acme\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.sessionId").value("s-1"))
+                .andExpect(jsonPath("$.tenant").value("acme"));
+    }
+    
+    @Test
+    void testForkSession() throws Exception {
+        // Arrange
+        when(sessionService.forkSession("s-1", 2, null)).thenReturn(List.of(
+            new ProcessorSession("c-1", null, mock(Processor.class)),
+            new ProcessorSession("c-2", null, mock(Processor.class))));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/sessions/s-1/fork")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"count\":2}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.parentSessionId").value("s-1"))
+                .andExpect(jsonPath("$.sessionIds[0]").value("c-1"))
+                .andExpect(jsonPath("$.sessionIds[1]").value("c-2"));
+    }
+    
+    @Test
+    void testForkSessionWithInvalidCount() throws Exception {
+        mockMvc.perform(post("/api/v1/sessions/s-1/fork")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"count\":0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("count: Count must be at least 1"));
+    }
+    
+    @Test
+    void testExecuteInstructionOnSession() throws Exception {
+        // Arrange
+        Map<String, Integer> registers = new HashMap<>();
+        registers.put("A", 5);
+        when(sessionService.executeInstruction("s-1", "SET A 5")).thenReturn(registers);
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/sessions/s-1/instructions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instruction\":\"SET A 5\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.registers.A").value(5));
+    }
+    
+    @Test
+    void testExecuteBatchOnSession() throws Exception {
+        // Arrange
+        Map<String, Integer> registers = new HashMap<>();
+        registers.put("B", 2);
+        when(sessionService.executeBatchInstructions("s-1", List.of("INR B", "INR B"))).thenReturn(registers);
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/sessions/s-1/instructions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instructions\":[\"INR B\",\"INR B\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.registers.B").value(2));
+    }
+    
+    @Test
+    void testUnknownSession() throws Exception {
+        // Arrange
+        when(sessionService.getAllRegisters("missing"))
+            .thenThrow(new SessionNotFoundException("Session not found: missing"));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/sessions/missing/registers"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.message").value("Session not found: missing"));
+    }
+    
+    @Test
+    void testDeleteSession() throws Exception {
+        when(sessionService.deleteSession("s-1")).thenReturn(true);
+        mockMvc.perform(delete("/api/v1/sessions/s-1")).andExpect(status().isNoContent());
+    }
+    
+    @Test
+    void testDeleteDefaultSessionIsRejected() throws Exception {
+        when(sessionService.deleteSession("default")).thenReturn(false);
+        mockMvc.perform(delete("/api/v1/sessions/default"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+    
+    @Test
+    void testResetAllSessions() throws Exception {
+        mockMvc.perform(post("/api/v1/sessions/reset")).andExpect(status().isNoContent());
+        verify(sessionService).resetAllSessions();
+    }
+    
+    @Test
+    void testResetTenantSessions() throws Exception {
+        mockMvc.perform(post("/api/v1/sessions/reset").param("tenant", "acme")).andExpect(status().isNoContent());
+        verify(sessionService).resetTenantSessions("acme");
+    }
+    
+    @Test
+    void testExecuteSessionBatches() throws Exception {
+        // Arrange
+        when(sessionBatchService.execute(anyList())).thenReturn(new MultiSessionBatchResponse(List.of(
+            SessionBatchResult.success("s-1", Map.of("A", 10)),
+            SessionBatchResult.error("s-2", "Session not found: s-2", null))));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/sessions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sessions\":[{\"sessionId\":\"s-1\",\"instructions\":[\"SET A 10\"]},"
+                    + "{\"sessionId\":\"s-2\",\"instructions\":[\"INR A\"]}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].registers.A").value(10))
+                .andExpect(jsonPath("$.results[1].status").value("error"));
+    }
+    
+    @Test
+    void testExecuteSessionBatchesWithoutInstructions() throws Exception {
+        mockMvc.perform(post("/api/v1/sessions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"sessions\":[{\"sessionId\":\"s-1\",\"instructions\":[]}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("sessions[0].instructions: Instructions list cannot be empty"));
+    }
+    
+    @Test
+    void testExecuteProgramOnTenant() throws Exception {
+        // Arrange
+        when(bulkProgramService.execute("acme", List.of("INR A", "INR B"))).thenReturn(new BulkProgramResponse(3, 2, 0));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/sessions/program?tenant=acme")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"instructions\":[\"INR A\",\"INR B\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions").value(3))
+                .andExpect(jsonPath("$.instructions").value(2));
+    }
+}
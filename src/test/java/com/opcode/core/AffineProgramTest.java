@@ -0,0 +1,78 @@
+package com.opcode.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AffineProgram class.
+ */
+public class AffineProgramTest {
+
+    @Test
+    void testCompiledProgramMatchesExecution() {
+        // Arrange
+        Random random = new Random(42);
+        int length = 200;
+        long[] program = new long[length];
+        int[] parameterOf = new int[length];
+        int parameters = 0;
+        for (int i = 0; i < length; i++) {
+            int operation = 1 + random.nextInt(i % 50 == 49 ? 7 : 6);
+            program[i] = PackedInstruction.pack(operation, random.nextInt(4), random.nextInt(4), random.nextInt());
+            boolean bindable = operation == PackedInstruction.SET || operation == PackedInstruction.ADD;
+            parameterOf[i] = bindable && random.nextBoolean() ? parameters++ : AffineProgram.NO_PARAMETER;
+        }
+        AffineProgram compiled = AffineProgram.compile(program, parameterOf, parameters, 4);
+        int[] initial = {random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt()};
+        int[][] parameterColumns = new int[parameters][1];
+        for (int[] column : parameterColumns) {
+            column[0] = random.nextInt();
+        }
+
+        // Act
+        int[][] registerColumns = new int[4][1];
+        compiled.evaluate(compiled.bind(initial), parameterColumns, registerColumns, 0, 1);
+
+        // Assert
+        RegisterManager expected = new RegisterManager();
+        for (int register = 0; register < 4; register++) {
+            expected.set(register, initial[register]);
+        }
+        for (int i = 0; i < length; i++) {
+            long instruction = program[i];
+            if (parameterOf[i] != AffineProgram.NO_PARAMETER) {
+                instruction = PackedInstruction.pack(PackedInstruction.operation(instruction),
+                    PackedInstruction.target(instruction), 0, parameterColumns[parameterOf[i]][0]);
+            }
+            PackedInstruction.execute(instruction, expected);
+        }
+        int[] actual = new int[4];
+        for (int register = 0; register < 4; register++) {
+            actual[register] = registerColumns[register][0];
+        }
+        assertArrayEquals(expected.snapshot(), actual);
+    }
+
+    @Test
+    void testParametersOfOverwrittenRegistersDropOut() {
+        // Arrange
+        long[] program = {
+            PackedInstruction.pack(PackedInstruction.SET, 0, 0, 0),
+            PackedInstruction.pack(PackedInstruction.ADD, 1, 0, 0),
+            PackedInstruction.pack(PackedInstruction.ADR, 1, 0, 0),
+            PackedInstruction.pack(PackedInstruction.SET, 0, 0, 3)
+        };
+        AffineProgram compiled = AffineProgram.compile(program, new int[]{0, 1, -1, -1}, 2, 4);
+
+        // Act
+        int[][] registerColumns = new int[4][2];
+        compiled.evaluate(compiled.bind(new int[]{0, 5, 0, 0}), new int[][]{{10, 20}, {1, 2}}, registerColumns, 0, 2);
+
+        // Assert
+        assertArrayEquals(new int[]{3, 3}, registerColumns[0]);
+        assertArrayEquals(new int[]{16, 27}, registerColumns[1]);
+    }
+}
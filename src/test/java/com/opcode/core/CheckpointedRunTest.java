@@ -0,0 +1,84 @@
+package com.opcode.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CheckpointedRun class.
+ */
+public class CheckpointedRunTest {
+
+    private static long[] randomProgram(Random random, int length) {
+        long[] program = new long[length];
+        for (int i = 0; i < length; i++) {
+            int operation = 1 + random.nextInt(i % 100 == 99 ? 7 : 6);
+            program[i] = PackedInstruction.pack(operation, random.nextInt(4), random.nextInt(4), random.nextInt(1000));
+        }
+        return program;
+    }
+
+    @Test
+    void testEditResumesFromCheckpointBeforeIt() {
+        // Arrange
+        Random random = new Random(7);
+        long[] program = randomProgram(random, 10_000);
+        CheckpointedRun first = CheckpointedRun.execute(program, 4, 256);
+        long[] edited = program.clone();
+        edited[9_000] = PackedInstruction.pack(PackedInstruction.ADD, 2, 0, 12_345);
+
+        // Act
+        CheckpointedRun second = first.revise(edited);
+
+        // Assert
+        assertEquals(10_000, first.getExecutedInstructions());
+        assertEquals(8_960, second.getResumedAt());
+        assertEquals(1_040, second.getExecutedInstructions());
+        assertArrayEquals(CheckpointedRun.execute(edited, 4, 256).getRegisters(), second.getRegisters());
+    }
+
+    @Test
+    void testAppendResumesFromFinalRegisters() {
+        // Arrange
+        Random random = new Random(11);
+        long[] program = randomProgram(random, 1_000);
+        CheckpointedRun first = CheckpointedRun.execute(program, 4, 256);
+        long[] extended = Arrays.copyOf(program, 1_010);
+        System.arraycopy(randomProgram(random, 10), 0, extended, 1_000, 10);
+
+        // Act
+        CheckpointedRun second = first.revise(extended);
+        CheckpointedRun third = second.revise(extended);
+
+        // Assert
+        assertEquals(10, second.getExecutedInstructions());
+        assertArrayEquals(CheckpointedRun.execute(extended, 4, 256).getRegisters(), second.getRegisters());
+        assertEquals(0, third.getExecutedInstructions());
+        assertArrayEquals(second.getRegisters(), third.getRegisters());
+    }
+
+    @Test
+    void testRevisionsMatchFullExecution() {
+        // Arrange
+        Random random = new Random(3);
+        long[] program = randomProgram(random, 2_000);
+        CheckpointedRun run = CheckpointedRun.execute(program, 4, 64);
+
+        for (int revision = 0; revision < 50; revision++) {
+            // Act
+            int edit = random.nextInt(program.length);
+            long[] revised = Arrays.copyOf(program, edit + random.nextInt(program.length - edit + 200));
+            for (int i = edit; i < revised.length; i++) {
+                revised[i] = randomProgram(random, 1)[0];
+            }
+            run = run.revise(revised);
+            program = revised;
+
+            // Assert
+            assertArrayEquals(CheckpointedRun.execute(program, 4, 64).getRegisters(), run.getRegisters());
+        }
+    }
+}
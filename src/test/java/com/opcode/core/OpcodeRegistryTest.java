@@ -0,0 +1,154 @@
+package com.opcode.core;
+
+import com.opcode.exception.InvalidInstructionException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the OpcodeRegistry class and opcodes provided through the service loader.
+ */
+public class OpcodeRegistryTest {
+
+    private static final int A = RegisterName.A.ordinal();
+    private static final int B = RegisterName.B.ordinal();
+
+    @Test
+    void testFindsMnemonicsIgnoringCase() {
+        // Arrange
+        OpcodeRegistry registry = OpcodeRegistry.getDefault();
+
+        // Act & Assert
+        for (BuiltInOpcode opcode : BuiltInOpcode.values()) {
+            assertSame(opcode, registry.find(opcode.name().toLowerCase()));
+            assertSame(opcode, registry.get(opcode.getOperation()));
+        }
+        assertSame(BuiltInOpcode.ADR, registry.find("xADRx", 1, 4));
+        assertNull(registry.find("SE"));
+        assertNull(registry.find("SETS"));
+        assertNull(registry.find("FOO"));
+        assertNull(registry.get(0));
+    }
+
+    @Test
+    void testPerfectHashSeparatesManyMnemonics() {
+        // Arrange
+        List<OpcodeDefinition> definitions = new ArrayList<>(List.of(BuiltInOpcode.values()));
+        for (int operation = 100; operation < 200; operation++) {
+            definitions.add(new TestOpcode(operation, "OP" + operation));
+        }
+
+        // Act
+        OpcodeRegistry registry = new OpcodeRegistry(definitions);
+
+        // Assert
+        for (OpcodeDefinition definition : definitions) {
+            assertSame(definition, registry.find(definition.getMnemonic()));
+        }
+    }
+
+    @Test
+    void testRejectsConflictingDefinitions() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> new OpcodeRegistry(List.of(BuiltInOpcode.SET, new TestOpcode(BuiltInOpcode.SET.getOperation(), "CLR"))));
+        assertThrows(IllegalArgumentException.class,
+            () -> new OpcodeRegistry(List.of(BuiltInOpcode.SET, new TestOpcode(100, "SET"))));
+        assertThrows(IllegalArgumentException.class, () -> new OpcodeRegistry(List.of(new TestOpcode(100, "clr"))));
+    }
+
+    @Test
+    void testServiceLoadedOpcodeRunsOnEveryPath() {
+        // Arrange
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        Processor processor = new Processor(new RegisterManager(), parser);
+        processor.executeInstruction("SET A 12");
+        processor.executeInstruction("SET B 10");
+
+        // Act
+        long packed = parser.parsePacked("xor A B");
+        processor.executeInstruction("XOR B A");
+        int result = processor.executePacked(packed);
+        RegisterColumns columns = new RegisterColumns(4, 2);
+        columns.setRow(1, new int[]{12, 10, 0, 0});
+        columns.execute(new long[]{packed}, false);
+        int[] row = new int[4];
+        columns.getRow(1, row);
+
+        // Assert
+        assertEquals(PackedInstruction.pack(64, A, B, 0), packed);
+        assertEquals(10, result);
+        assertEquals(6, processor.getRegisterValue("B"));
+        assertEquals(6, row[A]);
+        assertThrows(InvalidInstructionException.class,
+            () -> AffineProgram.compile(new long[]{packed}, new int[]{AffineProgram.NO_PARAMETER}, 0, 4));
+    }
+
+    @Test
+    void testOpcodeWithoutSourceOperandSeesZeroSource() {
+        // Arrange
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        Processor processor = new Processor(new RegisterManager(), parser);
+        processor.executeInstruction("SET A 7");
+        long packed = parser.parsePacked("PEEK C 5");
+        int[] values = {7, 0, 0, 0};
+        RegisterColumns columns = new RegisterColumns(4, 1);
+        columns.setRow(0, values.clone());
+        AffineProgram compiled = AffineProgram.compile(new long[]{packed}, new int[]{AffineProgram.NO_PARAMETER}, 0, 4);
+
+        // Act
+        processor.executeInstruction("PEEK B 5");
+        int result = processor.executePacked(packed);
+        PackedInstruction.executeAll(new long[]{packed}, values);
+        columns.execute(new long[]{packed}, false);
+        int[] row = new int[4];
+        columns.getRow(0, row);
+        int[][] registerColumns = new int[4][1];
+        compiled.evaluate(compiled.bind(new int[]{7, 0, 0, 0}), new int[0][], registerColumns, 0, 1);
+
+        // Assert
+        assertEquals(5, processor.getRegisterValue("B"));
+        assertEquals(5, result);
+        assertEquals(5, values[RegisterName.C.ordinal()]);
+        assertEquals(5, row[RegisterName.C.ordinal()]);
+        assertEquals(5, registerColumns[RegisterName.C.ordinal()][0]);
+    }
+
+    /**
+     * Opcode {@code <mnemonic> target} that negates a register.
+     */
+    private static final class TestOpcode implements OpcodeDefinition {
+
+        private final int operation;
+        private final String mnemonic;
+
+        private TestOpcode(int operation, String mnemonic) {
+            this.operation = operation;
+            this.mnemonic = mnemonic;
+        }
+
+        @Override
+        public int getOperation() {
+            return operation;
+        }
+
+        @Override
+        public String getMnemonic() {
+            return mnemonic;
+        }
+
+        @Override
+        public List<OperandKind> getOperands() {
+            return List.of(OperandKind.REGISTER);
+        }
+
+        @Override
+        public int apply(int target, int source, int value) {
+            return -target;
+        }
+    }
+}
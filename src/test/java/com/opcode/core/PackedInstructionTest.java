@@ -0,0 +1,68 @@
+package com.opcode.core;
+
+import com.opcode.exception.InvalidInstructionException;
+import com.opcode.exception.InvalidRegisterException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PackedInstruction class and packed execution on the Processor.
+ */
+public class PackedInstructionTest {
+
+    private static final int A = RegisterName.A.ordinal();
+    private static final int B = RegisterName.B.ordinal();
+
+    private Processor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new Processor(new RegisterManager(), new InstructionParser(new InstructionFactory()));
+    }
+
+    @Test
+    void testPackRoundTrip() {
+        long instruction = PackedInstruction.pack(PackedInstruction.ADD, A, B, -7);
+
+        assertEquals(PackedInstruction.ADD, PackedInstruction.operation(instruction));
+        assertEquals(A, PackedInstruction.target(instruction));
+        assertEquals(B, PackedInstruction.source(instruction));
+        assertEquals(-7, PackedInstruction.value(instruction));
+        assertTrue(PackedInstruction.isCommutative(instruction));
+    }
+
+    @Test
+    void testExecutePackedMatchesTextInstructions() {
+        assertEquals(10, processor.executePacked(PackedInstruction.pack(PackedInstruction.SET, A, 0, 10)));
+        assertEquals(5, processor.executePacked(PackedInstruction.pack(PackedInstruction.SET, B, 0, 5)));
+        assertEquals(15, processor.executePacked(PackedInstruction.pack(PackedInstruction.ADR, A, B, 0)));
+        assertEquals(18, processor.executePacked(PackedInstruction.pack(PackedInstruction.ADD, A, 0, 3)));
+        assertEquals(19, processor.executePacked(PackedInstruction.pack(PackedInstruction.INR, A, 0, 0)));
+        assertEquals(4, processor.executePacked(PackedInstruction.pack(PackedInstruction.DCR, B, 0, 0)));
+        assertEquals(19, processor.executePacked(PackedInstruction.pack(PackedInstruction.MOV, B, A, 0)));
+
+        assertEquals(19, processor.getRegisterValue("A"));
+        assertEquals(19, processor.getRegisterValue("B"));
+
+        assertEquals(0, processor.executePacked(PackedInstruction.pack(PackedInstruction.RST, 0, 0, 0)));
+        assertEquals(0, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    void testUnknownOperationIsRejected() {
+        assertThrows(InvalidInstructionException.class, () -> processor.executePacked(PackedInstruction.pack(0, A, 0, 1)));
+    }
+
+    @Test
+    void testRegisterIndexOutOfRangeIsRejected() {
+        assertThrows(InvalidRegisterException.class,
+            () -> processor.executePacked(PackedInstruction.pack(PackedInstruction.SET, 9, 0, 1)));
+        assertThrows(InvalidRegisterException.class,
+            () -> processor.executePacked(PackedInstruction.pack(PackedInstruction.MOV, A, 9, 0)));
+        assertEquals(0, processor.getRegisterValue("A"));
+    }
+}
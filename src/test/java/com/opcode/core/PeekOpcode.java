@@ -0,0 +1,36 @@
+package com.opcode.core;
+
+import java.util.List;
+
+/**
+ * Test opcode {@code PEEK target value} without a source operand whose function still reads its
+ * source argument, registered through {@code META-INF/services/com.opcode.core.OpcodeDefinition}
+ * in the test resources.
+ */
+public class PeekOpcode implements OpcodeDefinition {
+
+    @Override
+    public int getOperation() {
+        return 65;
+    }
+
+    @Override
+    public String getMnemonic() {
+        return "PEEK";
+    }
+
+    @Override
+    public List<OperandKind> getOperands() {
+        return List.of(OperandKind.REGISTER, OperandKind.VALUE);
+    }
+
+    @Override
+    public int apply(int target, int source, int value) {
+        return 3 * source + value;
+    }
+
+    @Override
+    public boolean isAffine() {
+        return true;
+    }
+}
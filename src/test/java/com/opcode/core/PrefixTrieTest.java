@@ -0,0 +1,152 @@
+package com.opcode.core;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PrefixTrie class.
+ */
+public class PrefixTrieTest {
+
+    private static long set(int register, int value) {
+        return PackedInstruction.pack(PackedInstruction.SET, register, 0, value);
+    }
+
+    private static long inr(int register) {
+        return PackedInstruction.pack(PackedInstruction.INR, register, 0, 0);
+    }
+
+    /**
+     * Looks up a program and learns the instructions after the matched prefix the way a
+     * processor would, by executing them from the matched values.
+     */
+    private static PrefixTrie.Match learn(PrefixTrie trie, long[] program) {
+        PrefixTrie.Match match = trie.lookup(program, program.length);
+        int[] values = match.values().clone();
+        int count = Math.min(program.length - match.length(), trie.getMaxInsertions());
+        int[] written = new int[count];
+        for (int i = 0; i < count; i++) {
+            long instruction = program[match.length() + i];
+            PackedInstruction.execute(instruction, values);
+            written[i] = values[PackedInstruction.target(instruction)];
+        }
+        trie.insert(match, program, written, count);
+        return match;
+    }
+
+    @Test
+    void testLongestPrefixIsMatched() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie(4, 100);
+        learn(trie, new long[]{set(0, 5), inr(0), inr(1)});
+
+        // Act
+        PrefixTrie.Match match = trie.lookup(new long[]{set(0, 5), inr(0), set(2, 9)}, 3);
+
+        // Assert
+        assertEquals(2, match.length());
+        assertArrayEquals(new int[]{6, 0, 0, 0}, match.values());
+        assertEquals(2, trie.getLookups());
+        assertEquals(1, trie.getHits());
+        assertEquals(2, trie.getSkippedInstructions());
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void testCachedStatesMatchExecution() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie(4, 100);
+        long[] program = {set(0, 3), PackedInstruction.pack(PackedInstruction.ADR, 1, 0, 0),
+            PackedInstruction.pack(PackedInstruction.MOV, 2, 1, 0), PackedInstruction.pack(PackedInstruction.RST, 0, 0, 0),
+            PackedInstruction.pack(PackedInstruction.DCR, 3, 0, 0)};
+        learn(trie, program);
+
+        // Act
+        PrefixTrie.Match match = trie.lookup(program, 3);
+
+        // Assert
+        assertEquals(3, match.length());
+        assertArrayEquals(new int[]{3, 3, 3, 0}, match.values());
+        assertArrayEquals(new int[]{0, 0, 0, -1}, trie.lookup(program, program.length).values());
+    }
+
+    @Test
+    void testFrequentPrefixesSurviveEviction() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie(4, 8);
+        long[] frequent = {set(0, 1), set(1, 2)};
+        for (int i = 0; i < 5; i++) {
+            learn(trie, frequent);
+        }
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            learn(trie, new long[]{set(3, i)});
+            if (i % 2 == 0) {
+                learn(trie, frequent);
+            }
+        }
+
+        // Assert
+        assertTrue(trie.size() <= 8);
+        assertEquals(2, trie.lookup(frequent, frequent.length).length());
+    }
+
+    @Test
+    void testInsertionIsBoundedPerLookup() {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie(4, 40);
+        long[] program = new long[30];
+        for (int i = 0; i < program.length; i++) {
+            program[i] = inr(i % 4);
+        }
+
+        // Act
+        int first = learn(trie, program).length();
+        int second = learn(trie, program).length();
+
+        // Assert
+        assertEquals(10, trie.getMaxInsertions());
+        assertEquals(0, first);
+        assertEquals(10, second);
+        assertEquals(20, trie.size());
+    }
+
+    @Test
+    void testConcurrentLookupsAgreeWithExecution() throws Exception {
+        // Arrange
+        PrefixTrie trie = new PrefixTrie(4, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < 4; thread++) {
+            int seed = thread;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    long[] program = {set(0, 1), inr((i + seed) % 4), inr(i % 3), set(3, i % 7), inr(0)};
+                    PrefixTrie.Match match = learn(trie, program);
+                    int[] expected = new int[4];
+                    for (int j = 0; j < match.length(); j++) {
+                        PackedInstruction.execute(program[j], expected);
+                    }
+                    assertArrayEquals(expected, match.values());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(trie.size() <= 64 + 4 * trie.getMaxInsertions());
+        assertEquals(2000, trie.getLookups());
+    }
+}
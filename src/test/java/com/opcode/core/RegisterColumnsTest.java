@@ -0,0 +1,75 @@
+package com.opcode.core;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RegisterColumns class.
+ */
+public class RegisterColumnsTest {
+
+    private static final long[] PROGRAM = {
+        PackedInstruction.pack(PackedInstruction.ADD, 0, 0, 5),
+        PackedInstruction.pack(PackedInstruction.MOV, 1, 0, 0),
+        PackedInstruction.pack(PackedInstruction.ADR, 1, 2, 0),
+        PackedInstruction.pack(PackedInstruction.INR, 3, 0, 0),
+        PackedInstruction.pack(PackedInstruction.DCR, 2, 0, 0),
+        PackedInstruction.pack(PackedInstruction.SET, 0, 0, Integer.MAX_VALUE),
+        PackedInstruction.pack(PackedInstruction.ADD, 0, 0, 1)
+    };
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testProgramMatchesScalarExecution(boolean vectorized) {
+        // Arrange
+        int sessions = 5_000;
+        RegisterColumns columns = new RegisterColumns(4, sessions);
+        RegisterManager[] expected = new RegisterManager[sessions];
+        for (int session = 0; session < sessions; session++) {
+            int[] values = {session, -session, session * 3, 7};
+            columns.setRow(session, values);
+            expected[session] = new RegisterManager();
+            for (int register = 0; register < values.length; register++) {
+                expected[session].set(register, values[register]);
+            }
+        }
+
+        // Act
+        columns.execute(PROGRAM, vectorized);
+        for (RegisterManager registers : expected) {
+            for (long instruction : PROGRAM) {
+                PackedInstruction.execute(instruction, registers);
+            }
+        }
+
+        // Assert
+        int[] row = new int[4];
+        for (int session = 0; session < sessions; session++) {
+            columns.getRow(session, row);
+            assertArrayEquals(expected[session].snapshot(), row);
+        }
+        columns.getRow(sessions - 1, row);
+        assertEquals(Integer.MIN_VALUE, row[0]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testResetClearsAllColumns(boolean vectorized) {
+        // Arrange
+        RegisterColumns columns = new RegisterColumns(4, 3);
+        columns.setRow(1, new int[]{1, 2, 3, 4});
+
+        // Act
+        columns.execute(new long[]{
+            PackedInstruction.pack(PackedInstruction.RST, 0, 0, 0),
+            PackedInstruction.pack(PackedInstruction.INR, 2, 0, 0)
+        }, vectorized);
+
+        // Assert
+        int[] row = new int[4];
+        columns.getRow(1, row);
+        assertArrayEquals(new int[]{0, 0, 1, 0}, row);
+    }
+}
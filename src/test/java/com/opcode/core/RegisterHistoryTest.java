@@ -0,0 +1,142 @@
+package com.opcode.core;
+
+import com.opcode.exception.HistoryUnavailableException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RegisterHistory class.
+ */
+public class RegisterHistoryTest {
+
+    private final InstructionParser parser = new InstructionParser(new InstructionFactory());
+
+    @Test
+    public void testReadsEverySequenceNumberAcrossCheckpoints() {
+        // Arrange
+        RegisterManager registerManager = new RegisterManager();
+        RegisterHistory history = new RegisterHistory(registerManager.snapshot(), 4, 0);
+        Processor processor = new Processor(registerManager, parser, history, null);
+
+        // Act
+        for (int i = 1; i <= 10; i++) {
+            processor.executeInstruction("ADD A " + i);
+        }
+
+        // Assert
+        assertEquals(10, processor.getHeadSeq());
+        int expected = 0;
+        for (int seq = 0; seq <= 10; seq++) {
+            expected += seq;
+            assertEquals(expected, processor.getAllRegisterValuesAt(seq).get("A"));
+        }
+    }
+
+    @Test
+    public void testRecordsResetsAndMultipleRegisters() {
+        // Arrange
+        RegisterManager registerManager = new RegisterManager();
+        Processor processor = new Processor(registerManager, parser,
+            new RegisterHistory(registerManager.snapshot(), 2, 0), null);
+
+        // Act
+        processor.executeInstruction("SET A 7");
+        processor.executeInstruction("MOV B A");
+        processor.executeInstruction("RST");
+        processor.executeInstruction("SET C -3");
+
+        // Assert
+        assertEquals(Map.of("A", 7, "B", 7, "C", 0, "D", 0), processor.getAllRegisterValuesAt(2));
+        assertEquals(Map.of("A", 0, "B", 0, "C", 0, "D", 0), processor.getAllRegisterValuesAt(3));
+        assertEquals(Map.of("A", 0, "B", 0, "C", -3, "D", 0), processor.getAllRegisterValuesAt(4));
+    }
+
+    @Test
+    public void testRejectsFutureSequenceNumbers() {
+        // Arrange
+        RegisterManager registerManager = new RegisterManager();
+        Processor processor = new Processor(registerManager, parser,
+            new RegisterHistory(registerManager.snapshot(), 4, 0), null);
+        processor.executeInstruction("SET A 1");
+
+        // Act & Assert
+        assertThrows(HistoryUnavailableException.class, () -> processor.getAllRegisterValuesAt(2));
+        assertThrows(HistoryUnavailableException.class, () -> processor.getAllRegisterValuesAt(-1));
+    }
+
+    @Test
+    public void testCompactsOldSegments() {
+        // Arrange
+        RegisterManager registerManager = new RegisterManager();
+        RegisterHistory history = new RegisterHistory(registerManager.snapshot(), 4, 8);
+        Processor processor = new Processor(registerManager, parser, history, null);
+
+        // Act
+        for (int i = 1; i <= 40; i++) {
+            processor.executeInstruction("SET A " + i);
+        }
+
+        // Assert
+        long oldest = processor.getOldestSeq();
+        assertTrue(oldest > 0);
+        assertTrue(40 - oldest >= 8);
+        assertEquals((int) oldest, processor.getAllRegisterValuesAt(oldest).get("A"));
+        assertThrows(HistoryUnavailableException.class, () -> processor.getAllRegisterValuesAt(oldest - 1));
+    }
+
+    @Test
+    public void testForkedHistoryReadsThroughToParent() {
+        // Arrange
+        RegisterManager registerManager = new RegisterManager();
+        Processor parent = new Processor(registerManager, parser,
+            new RegisterHistory(registerManager.snapshot(), 4, 0), null);
+        parent.executeInstruction("SET A 1");
+        parent.executeInstruction("SET A 2");
+
+        // Act
+        Processor child = parent.fork(1, new ResetGeneration()).get(0);
+        child.executeInstruction("SET A 30");
+        parent.executeInstruction("SET A 20");
+
+        // Assert
+        assertEquals(1, child.getAllRegisterValuesAt(1).get("A"));
+        assertEquals(2, child.getAllRegisterValuesAt(2).get("A"));
+        assertEquals(30, child.getAllRegisterValuesAt(3).get("A"));
+        assertEquals(20, parent.getAllRegisterValuesAt(3).get("A"));
+    }
+
+    @Test
+    public void testHeadReadReflectsPendingBulkReset() {
+        // Arrange
+        ResetGeneration generation = new ResetGeneration();
+        RegisterManager registerManager = new RegisterManager(false, generation);
+        Processor processor = new Processor(registerManager, parser,
+            new RegisterHistory(registerManager.snapshot(), 4, 0), null);
+        processor.executeInstruction("SET A 5");
+
+        // Act
+        generation.advance();
+
+        // Assert
+        assertEquals(0, processor.getAllRegisterValuesAt(1).get("A"));
+        processor.executeInstruction("INR B");
+        assertEquals(List.of(5, 0, 1), List.of(
+            processor.getAllRegisterValuesAt(1).get("A"),
+            processor.getAllRegisterValuesAt(2).get("A"),
+            processor.getAllRegisterValuesAt(3).get("B")));
+    }
+
+    @Test
+    public void testProcessorWithoutHistoryRejectsTimeTravel() {
+        // Arrange
+        Processor processor = new Processor(new RegisterManager(), parser);
+
+        // Act & Assert
+        assertThrows(HistoryUnavailableException.class, () -> processor.getAllRegisterValuesAt(0));
+    }
+}
@@ -0,0 +1,79 @@
+package com.opcode.core;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.exception.InvalidRegisterException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RegisterLayout class and register files of configured width.
+ */
+public class RegisterLayoutTest {
+
+    @Test
+    void testDefaultLayoutMatchesRegisterNames() {
+        // Act
+        RegisterLayout layout = RegisterLayout.from(new OpcodeProperties().getRegisters());
+
+        // Assert
+        assertSame(RegisterLayout.DEFAULT, layout);
+        assertEquals(RegisterName.values().length, layout.size());
+        for (RegisterName name : RegisterName.values()) {
+            assertEquals(name.ordinal(), layout.indexOf(name.name()));
+            assertEquals(name.name(), layout.nameOf(name.ordinal()));
+        }
+    }
+
+    @Test
+    void testCountNamesRegistersLikeSpreadsheetColumns() {
+        // Act
+        RegisterLayout layout = RegisterLayout.ofCount(RegisterLayout.MAX_REGISTERS);
+
+        // Assert
+        assertEquals("Z", layout.nameOf(25));
+        assertEquals("AA", layout.nameOf(26));
+        assertEquals("BA", layout.nameOf(52));
+        assertEquals("IV", layout.nameOf(255));
+        for (int index = 0; index < layout.size(); index++) {
+            assertEquals(index, layout.indexOf(layout.nameOf(index)));
+        }
+        assertEquals(26, layout.indexOf("SET AA 1", 4, 6));
+        assertEquals(-1, layout.indexOf("a"));
+        assertEquals(-1, layout.indexOf("IW"));
+    }
+
+    @Test
+    void testRejectsInvalidLayouts() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RegisterLayout.ofCount(0));
+        assertThrows(IllegalArgumentException.class, () -> RegisterLayout.ofCount(RegisterLayout.MAX_REGISTERS + 1));
+        assertThrows(IllegalArgumentException.class, () -> RegisterLayout.of(List.of("X", "X")));
+        assertThrows(IllegalArgumentException.class, () -> RegisterLayout.of(List.of("1X")));
+    }
+
+    @Test
+    void testProcessorWithConfiguredRegisters() {
+        // Arrange
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getRegisters().setNames(List.of("ACC", "X", "Y"));
+        RegisterLayout layout = RegisterLayout.from(properties.getRegisters());
+        InstructionParser parser = new InstructionParser(new InstructionFactory(), properties);
+        Processor processor = new Processor(new RegisterManager(layout, false, new ResetGeneration()), parser);
+
+        // Act
+        processor.executeInstruction("SET X 5");
+        processor.executeInstruction("ADR ACC X");
+        processor.executePacked(parser.parsePacked("MOV Y ACC"));
+
+        // Assert
+        assertEquals(3, processor.getRegisterCount());
+        assertEquals(List.of("ACC", "X", "Y"), List.copyOf(processor.getAllRegisterValues().keySet()));
+        assertEquals(List.of(5, 5, 5), List.copyOf(processor.getAllRegisterValues().values()));
+        assertThrows(InvalidRegisterException.class, () -> processor.executeInstruction("INR A"));
+        assertThrows(InvalidRegisterException.class, () -> parser.parsePacked("INR A"));
+    }
+}
@@ -3,7 +3,11 @@ package com.opcode.core;
 import com.opcode.exception.InvalidRegisterException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -104,4 +108,90 @@ public class RegisterManagerTest {
             registers.put("E", 5);
         });
     }
+    
+    @Test
+    public void testAddWrapsAround() {
+        registerManager.setValue("A", Integer.MAX_VALUE);
+        registerManager.add("A", 1);
+        assertEquals(Integer.MIN_VALUE, registerManager.getValue("A"));
+    }
+    
+    @Test
+    public void testStripedAddWrapsAround() {
+        RegisterManager striped = new RegisterManager(true);
+        striped.setValue("A", Integer.MAX_VALUE);
+        striped.add("A", 1);
+        striped.add("A", Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE + 1 + Integer.MAX_VALUE, striped.getValue("A"));
+    }
+    
+    @Test
+    public void testStripedSetAndResetFoldPendingIncrements() {
+        RegisterManager striped = new RegisterManager(true);
+        striped.add("B", 5);
+        assertEquals(5, striped.getAllRegisters().get("B"));
+        
+        // SET overwrites the register including its pending increments
+        striped.setValue("B", 2);
+        striped.add("B", 1);
+        assertEquals(3, striped.getValue("B"));
+        
+        striped.reset();
+        assertEquals(0, striped.getValue("B"));
+    }
+    
+    @Test
+    public void testStripedConcurrentAdds() throws Exception {
+        RegisterManager striped = new RegisterManager(true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    striped.add("C", 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        assertEquals(80_000, striped.getValue("C"));
+        assertTrue(striped.isStripedIncrements());
+        assertFalse(registerManager.isStripedIncrements());
+    }
+    
+    @Test
+    public void testProjectSubsetAndChangesSinceVersion() {
+        // Arrange
+        registerManager.setValue("A", 1);
+        long version = registerManager.getVersion();
+        registerManager.setValue("C", 3);
+        registerManager.add("D", 4);
+        
+        // Act
+        Map<String, Integer> subset = registerManager.project(
+            registerManager.select(List.of("D", "B"), false, null), RegisterSelection.NO_VERSION).getRegisters();
+        RegisterProjection changed = registerManager.project(RegisterSelection.ALL, version);
+        
+        // Assert
+        assertEquals(Map.of("B", 0, "D", 4), subset);
+        assertEquals(Map.of("C", 3, "D", 4), changed.getRegisters());
+        assertEquals(registerManager.getVersion(), changed.getVersion());
+        assertTrue(registerManager.project(RegisterSelection.ALL, changed.getVersion()).getRegisters().isEmpty());
+    }
+    
+    @Test
+    public void testProjectReportsAllRegistersChangedByReset() {
+        // Arrange
+        ResetGeneration generation = new ResetGeneration();
+        RegisterManager registers = new RegisterManager(false, generation);
+        registers.setValue("A", 1);
+        long version = registers.getVersion();
+        
+        // Act
+        generation.advance();
+        
+        // Assert
+        assertEquals(4, registers.project(RegisterSelection.ALL, version).getRegisters().size());
+        assertThrows(InvalidRegisterException.class, () -> registers.select(List.of("X"), false, null));
+    }
 }
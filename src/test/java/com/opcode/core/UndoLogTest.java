@@ -0,0 +1,148 @@
+package com.opcode.core;
+
+import com.opcode.exception.UndoUnavailableException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the UndoLog class.
+ */
+public class UndoLogTest {
+
+    private final InstructionParser parser = new InstructionParser(new InstructionFactory());
+
+    private Processor processorWithUndo(int capacity) {
+        return new Processor(new RegisterManager(), parser, null, new UndoLog(capacity));
+    }
+
+    @Test
+    public void testUndoesEveryInstructionKind() {
+        // Arrange
+        Processor processor = processorWithUndo(64);
+        processor.executeInstruction("SET A 10");
+        Map<String, Integer> afterSet = processor.getAllRegisterValues();
+        processor.executeInstruction("SET B 3");
+        processor.executeInstruction("ADR A A");
+        processor.executeInstruction("ADD B 2147483647");
+        processor.executeInstruction("MOV C A");
+        processor.executeInstruction("INR D");
+        processor.executeInstruction("DCR C");
+        processor.executeInstruction("RST");
+
+        // Act
+        processor.undo(7);
+
+        // Assert
+        assertEquals(afterSet, processor.getAllRegisterValues());
+    }
+
+    @Test
+    public void testUndoesOneStepAtATime() {
+        // Arrange
+        Processor processor = processorWithUndo(64);
+        processor.executeInstruction("SET A 5");
+        processor.executeInstruction("ADR B A");
+        processor.executeInstruction("RST");
+
+        // Act & Assert
+        processor.undo(1);
+        assertEquals(Map.of("A", 5, "B", 5, "C", 0, "D", 0), processor.getAllRegisterValues());
+        processor.undo(1);
+        assertEquals(Map.of("A", 5, "B", 0, "C", 0, "D", 0), processor.getAllRegisterValues());
+    }
+
+    @Test
+    public void testAdrIsRecordedAsAddition() {
+        // Arrange
+        Processor processor = processorWithUndo(64);
+        List<String> writes = new ArrayList<>();
+        processor.addWriteListener(new RegisterWriteListener() {
+            @Override
+            public void registerWritten(int register, int oldValue, int newValue) {
+                writes.add("set " + register + " " + oldValue);
+            }
+
+            @Override
+            public void registerAdded(int register, int oldValue, int delta) {
+                writes.add("add " + register + " " + delta);
+            }
+
+            @Override
+            public void registersReset(int[] oldValues) {
+                writes.add("reset");
+            }
+        });
+        processor.executeInstruction("SET A 10");
+
+        // Act
+        processor.executeInstruction("ADR A A");
+        processor.executePacked(PackedInstruction.pack(PackedInstruction.ADR, 0, 0, 0));
+
+        // Assert
+        assertEquals(List.of("set 0 0", "add 0 10", "add 0 20"), writes);
+        assertEquals(40, processor.getRegisterValue("A"));
+        processor.undo(1);
+        assertEquals(20, processor.getRegisterValue("A"));
+        processor.undo(1);
+        assertEquals(10, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    public void testRejectsUndoBeyondRecordedSteps() {
+        // Arrange
+        Processor processor = processorWithUndo(64);
+        processor.executeInstruction("SET A 1");
+        processor.executeInstruction("SET A 2");
+
+        // Act & Assert
+        assertThrows(UndoUnavailableException.class, () -> processor.undo(3));
+        assertThrows(UndoUnavailableException.class, () -> processor.undo(0));
+        assertEquals(2, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    public void testDiscardsOldestStepsWhenFull() {
+        // Arrange
+        UndoLog undoLog = new UndoLog(6);
+        RegisterManager registerManager = new RegisterManager();
+        Processor processor = new Processor(registerManager, parser, null, undoLog);
+
+        // Act
+        processor.executeInstruction("SET A 1");
+        processor.executeInstruction("RST");
+        processor.executeInstruction("SET A 2");
+        processor.executeInstruction("SET A 3");
+        processor.executeInstruction("SET A 4");
+
+        // Assert
+        assertEquals(3, undoLog.getAvailableSteps());
+        processor.undo(2);
+        assertEquals(2, processor.getRegisterValue("A"));
+        processor.undo(1);
+        assertEquals(0, processor.getRegisterValue("A"));
+        assertThrows(UndoUnavailableException.class, () -> processor.undo(1));
+    }
+
+    @Test
+    public void testUndoIsRecordedInHistory() {
+        // Arrange
+        RegisterManager registerManager = new RegisterManager();
+        Processor processor = new Processor(registerManager, parser,
+            new RegisterHistory(registerManager.snapshot(), 4, 0), new UndoLog(16));
+        processor.executeInstruction("SET A 9");
+
+        // Act
+        processor.undo(1);
+
+        // Assert
+        assertEquals(2, processor.getHeadSeq());
+        assertEquals(9, processor.getAllRegisterValuesAt(1).get("A"));
+        assertEquals(0, processor.getAllRegisterValuesAt(2).get("A"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.opcode.core;
+
+import java.util.List;
+
+/**
+ * Test opcode {@code XOR target source}, registered through
+ * {@code META-INF/services/com.opcode.core.OpcodeDefinition} in the test resources.
+ */
+public class XorOpcode implements OpcodeDefinition {
+
+    @Override
+    public int getOperation() {
+        return 64;
+    }
+
+    @Override
+    public String getMnemonic() {
+        return "XOR";
+    }
+
+    @Override
+    public List<OperandKind> getOperands() {
+        return List.of(OperandKind.REGISTER, OperandKind.REGISTER);
+    }
+
+    @Override
+    public int apply(int target, int source, int value) {
+        return target ^ source;
+    }
+}
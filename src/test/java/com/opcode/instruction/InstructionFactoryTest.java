@@ -86,4 +86,14 @@ public class InstructionFactoryTest {
         assertNotNull(instruction);
         assertTrue(instruction instanceof SetInstruction setInstruction);
     }
+    
+    @Test
+    void testCreateServiceLoadedOpcodeInstruction() {
+        // Act
+        Instruction instruction = factory.createInstruction("xor", new String[]{"A", "B"});
+        
+        // Assert
+        assertEquals(OpcodeInstruction.class, instruction.getClass());
+        assertFalse(instruction.isCommutative());
+    }
 }
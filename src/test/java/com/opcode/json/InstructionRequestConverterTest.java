@@ -0,0 +1,95 @@
+package com.opcode.json;
+
+import com.opcode.model.BatchInstructionRequest;
+import com.opcode.model.InstructionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the InstructionRequestConverter class.
+ */
+public class InstructionRequestConverterTest {
+
+    private final InstructionRequestConverter converter = new InstructionRequestConverter();
+
+    @Test
+    void testReadInstructionRequest() throws Exception {
+        // Act
+        InstructionRequest request = (InstructionRequest) read(InstructionRequest.class,
+            " { \"comment\" : {\"nested\": [1, -2.5e3, true, null]}, \"instruction\" : \"SET A 42\" } ");
+
+        // Assert
+        assertEquals("SET A 42", request.getInstruction());
+    }
+
+    @Test
+    void testReadEscapedAndNonAsciiStrings() throws Exception {
+        // Act
+        InstructionRequest request = (InstructionRequest) read(InstructionRequest.class,
+            "{\"instruction\":\"SET \\\"A\\\"\\n\\u0041 \u2013 \u00fc\"}");
+
+        // Assert
+        assertEquals("SET \"A\"\nA \u2013 \u00fc", request.getInstruction());
+    }
+
+    @Test
+    void testReadBatchInstructionRequest() throws Exception {
+        // Act
+        BatchInstructionRequest request = (BatchInstructionRequest) read(BatchInstructionRequest.class,
+            "{\"instructions\":[\"SET A 10\", \"INR A\", null]}");
+
+        // Assert
+        assertEquals(Arrays.asList("SET A 10", "INR A", null), request.getInstructions());
+    }
+
+    @Test
+    void testReadMissingAndNullFields() throws Exception {
+        // Act
+        InstructionRequest instruction = (InstructionRequest) read(InstructionRequest.class, "{}");
+        BatchInstructionRequest batch = (BatchInstructionRequest) read(BatchInstructionRequest.class,
+            "{\"instructions\":null}");
+        BatchInstructionRequest empty = (BatchInstructionRequest) read(BatchInstructionRequest.class,
+            "{\"instructions\":[]}");
+
+        // Assert
+        assertNull(instruction.getInstruction());
+        assertNull(batch.getInstructions());
+        assertEquals(List.of(), empty.getInstructions());
+    }
+
+    @Test
+    void testMalformedBodiesAreNotReadable() {
+        // Arrange
+        List<String> bodies = List.of("invalid json", "{\"instruction\":\"SET A 1\"", "{\"instruction\":\"SET A 1\"} x",
+            "{\"instruction\" \"SET A 1\"}", "{\"instruction\":\"\\x\"}", "{,}", "{\"a\":1,}");
+
+        // Act & Assert
+        for (String body : bodies) {
+            assertThrows(HttpMessageNotReadableException.class, () -> read(InstructionRequest.class, body), body);
+        }
+    }
+
+    @Test
+    void testOnlyReadsInstructionRequestsAsJson() {
+        // Assert
+        assertTrue(converter.canRead(InstructionRequest.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canRead(BatchInstructionRequest.class, null));
+        assertFalse(converter.canRead(InstructionRequest.class, MediaType.TEXT_PLAIN));
+        assertFalse(converter.canRead(String.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(InstructionRequest.class, MediaType.APPLICATION_JSON));
+    }
+
+    private Object read(Class<?> type, String body) throws Exception {
+        @SuppressWarnings("unchecked")
+        Class<Object> clazz = (Class<Object>) type;
+        return converter.read(clazz, new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.opcode.json;
+
+import com.opcode.core.RegisterManager;
+import com.opcode.model.ProcessorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProcessorResponseConverter class.
+ */
+public class ProcessorResponseConverterTest {
+
+    private final ProcessorResponseConverter converter = new ProcessorResponseConverter();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testSuccessResponseMatchesJackson() throws Exception {
+        // Arrange
+        RegisterManager registerManager = new RegisterManager();
+        registerManager.setValue("A", Integer.MIN_VALUE);
+        registerManager.setValue("D", -42);
+        ProcessorResponse response = ProcessorResponse.success(registerManager.getAllRegisters(), 1234567890123L);
+
+        // Act & Assert
+        assertEquals(objectMapper.writeValueAsString(response), write(response));
+    }
+
+    @Test
+    void testErrorResponseMatchesJackson() throws Exception {
+        // Arrange
+        ProcessorResponse response = ProcessorResponse.batchError("Bad \"INR\" \\ at\n\t\u0001 line \u2013 \uD83D\uDE00", 3);
+
+        // Act & Assert
+        assertEquals(objectMapper.writeValueAsString(response), write(response));
+    }
+
+    @Test
+    void testPlainRegisterMapMatchesJackson() throws Exception {
+        // Arrange
+        Map<String, Integer> registers = new LinkedHashMap<>();
+        registers.put("B", 7);
+        registers.put("C", Integer.MAX_VALUE);
+        ProcessorResponse response = ProcessorResponse.success(registers);
+
+        // Act & Assert
+        assertEquals(objectMapper.writeValueAsString(response), write(response));
+    }
+
+    @Test
+    void testOnlyWritesProcessorResponses() {
+        // Assert
+        assertTrue(converter.canWrite(ProcessorResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(Map.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(ProcessorResponse.class, MediaType.TEXT_PLAIN));
+        assertTrue(converter.canWrite(ProcessorResponse.class, MediaType.ALL));
+        assertFalse(converter.canRead(ProcessorResponse.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testWritesJsonContentType() throws Exception {
+        // Arrange
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(ProcessorResponse.error("x"), MediaType.ALL, output);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+    }
+
+    private String write(ProcessorResponse response) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsString();
+    }
+}
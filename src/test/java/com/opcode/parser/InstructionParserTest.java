@@ -1,5 +1,8 @@
 package com.opcode.parser;
 
+import com.opcode.core.PackedInstruction;
+import com.opcode.exception.InvalidInstructionException;
+import com.opcode.exception.InvalidRegisterException;
 import com.opcode.exception.InvalidSyntaxException;
 import com.opcode.instruction.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -123,4 +126,20 @@ public class InstructionParserTest {
         // Assert
         verify(mockFactory).createInstruction("SET", new String[]{"A", "10"});
     }
+    
+    @Test
+    void testParsePacked() {
+        assertEquals(PackedInstruction.pack(PackedInstruction.SET, 0, 0, -10), parser.parsePacked("SET A -10"));
+        assertEquals(PackedInstruction.pack(PackedInstruction.ADR, 2, 3, 0), parser.parsePacked(" adr C  D "));
+        assertEquals(PackedInstruction.pack(PackedInstruction.DCR, 1, 0, 0), parser.parsePacked("DCR B"));
+        assertEquals(PackedInstruction.pack(PackedInstruction.RST, 0, 0, 0), parser.parsePacked("RST"));
+    }
+    
+    @Test
+    void testParsePackedReportsInvalidInstructions() {
+        assertThrows(InvalidSyntaxException.class, () -> parser.parsePacked("SET A"));
+        assertThrows(InvalidSyntaxException.class, () -> parser.parsePacked("ADD A x"));
+        assertThrows(InvalidRegisterException.class, () -> parser.parsePacked("MOV A E"));
+        assertThrows(InvalidInstructionException.class, () -> parser.parsePacked("FOO A"));
+    }
 }
@@ -0,0 +1,129 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.exception.InvalidRegisterException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.model.BulkProgramResponse;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.ProcessorSession;
+import com.opcode.session.SessionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BulkProgramService class.
+ */
+public class BulkProgramServiceTest {
+
+    private Processor defaultProcessor;
+    private SessionRegistry registry;
+    private BulkProgramService bulkProgramService;
+
+    @BeforeEach
+    void setUp() {
+        OpcodeProperties properties = new OpcodeProperties();
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        ResetGenerations resetGenerations = new ResetGenerations();
+        defaultProcessor = new Processor(new RegisterManager(properties, resetGenerations), parser);
+        registry = new SessionRegistry(defaultProcessor, parser, resetGenerations, properties);
+        bulkProgramService = new BulkProgramService(registry, parser, properties);
+    }
+
+    @Test
+    void testProgramRunsOnEverySessionOfTenant() {
+        // Arrange
+        List<ProcessorSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            ProcessorSession session = registry.create("acme");
+            session.getProcessor().executeInstruction("SET A " + i);
+            sessions.add(session);
+        }
+        ProcessorSession other = registry.create("globex");
+
+        // Act
+        BulkProgramResponse response = bulkProgramService.execute("acme", List.of("INR A", "MOV B A", "ADD B 10"));
+
+        // Assert
+        assertEquals(40_000, response.getSessions());
+        assertEquals(3, response.getInstructions());
+        assertEquals(0, response.getReexecutedSessions());
+        for (int i = 0; i < sessions.size(); i++) {
+            Processor processor = sessions.get(i).getProcessor();
+            assertEquals(i + 1, processor.getRegisterValue("A"));
+            assertEquals(i + 11, processor.getRegisterValue("B"));
+        }
+        assertEquals(0, other.getProcessor().getRegisterValue("A"));
+    }
+
+    @Test
+    void testProgramAppliesAfterPendingReset() {
+        // Arrange
+        ProcessorSession session = registry.create("acme");
+        session.getProcessor().executeInstruction("SET C 9");
+        registry.resetTenant("acme");
+
+        // Act
+        BulkProgramResponse response = bulkProgramService.execute("acme", List.of("INR C"));
+
+        // Assert
+        assertEquals(0, response.getReexecutedSessions());
+        assertEquals(1, session.getProcessor().getRegisterValue("C"));
+    }
+
+    @Test
+    void testWithoutTenantRunsOnAllSessions() {
+        // Arrange
+        ProcessorSession session = registry.create("acme");
+
+        // Act
+        BulkProgramResponse response = bulkProgramService.execute(null, List.of("SET D 4"));
+
+        // Assert
+        assertEquals(2, response.getSessions());
+        assertEquals(4, session.getProcessor().getRegisterValue("D"));
+        assertEquals(4, defaultProcessor.getRegisterValue("D"));
+    }
+
+    @Test
+    void testSessionRecordingUndoKeepsEveryInstructionAsOneStep() {
+        // Arrange
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getUndo().setCapacity(16);
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        ResetGenerations resetGenerations = new ResetGenerations();
+        registry = new SessionRegistry(new Processor(new RegisterManager(properties, resetGenerations), parser),
+            parser, resetGenerations, properties);
+        bulkProgramService = new BulkProgramService(registry, parser, properties);
+        Processor processor = registry.create("acme").getProcessor();
+
+        // Act
+        BulkProgramResponse response = bulkProgramService.execute("acme", List.of("INR A", "INR A", "ADD A 5"));
+
+        // Assert
+        assertEquals(0, response.getReexecutedSessions());
+        assertEquals(7, processor.getRegisterValue("A"));
+        processor.undo(1);
+        assertEquals(2, processor.getRegisterValue("A"));
+        processor.undo(1);
+        assertEquals(1, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    void testInvalidProgramChangesNothing() {
+        // Arrange
+        ProcessorSession session = registry.create("acme");
+
+        // Act & Assert
+        assertThrows(InvalidRegisterException.class,
+            () -> bulkProgramService.execute("acme", List.of("INR A", "INR E")));
+        assertEquals(0, session.getProcessor().getRegisterValue("A"));
+    }
+}
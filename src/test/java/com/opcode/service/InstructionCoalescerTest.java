@@ -0,0 +1,201 @@
+package com.opcode.service;
+
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.RegisterProjection;
+import com.opcode.core.RegisterSelection;
+import com.opcode.exception.InvalidRegisterException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the InstructionCoalescer class.
+ */
+public class InstructionCoalescerTest {
+
+    private Processor processor;
+    private InstructionCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        processor = new Processor(new RegisterManager(), new InstructionParser(new InstructionFactory()));
+        coalescer = new InstructionCoalescer(processor, 200, 64);
+    }
+
+    @Test
+    void testUncontendedSubmitReturnsPostInstructionState() {
+        // Act
+        Map<String, Integer> registers = coalescer.submit("SET A 42");
+
+        // Assert
+        assertEquals(42, registers.get("A"));
+        assertEquals(0, registers.get("B"));
+    }
+
+    @Test
+    void testChangedOnlySelectionReportsRegistersChangedByTheInstruction() {
+        // Arrange
+        coalescer.submit("SET A 1");
+        RegisterSelection changedOnly = processor.selectRegisters(null, true, null);
+
+        // Act
+        RegisterProjection projection = coalescer.submit("SET C 7", changedOnly);
+
+        // Assert
+        assertEquals(Map.of("C", 7), projection.getRegisters());
+        assertEquals(processor.getStateVersion(), projection.getVersion());
+    }
+
+    @Test
+    void testSnapshotIsNotAffectedByLaterInstructions() {
+        // Act
+        Map<String, Integer> first = coalescer.submit("SET A 1");
+        coalescer.submit("SET A 2");
+
+        // Assert
+        assertEquals(1, first.get("A"));
+    }
+
+    @Test
+    void testFailureIsReportedOnlyToItsCaller() {
+        // Act & Assert
+        assertThrows(InvalidRegisterException.class, () -> coalescer.submit("SET X 1"));
+        assertEquals(1, coalescer.submit("INR A").get("A"));
+    }
+
+    @Test
+    void testConcurrentCallersEachSeeTheirOwnState() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> observed = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    observed.add(coalescer.submit("INR A").get("A"));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(threads * perThread, processor.getRegisterValue("A"));
+        assertEquals(threads * perThread, observed.size());
+        assertTrue(coalescer.getBatchLimit() >= 1 && coalescer.getBatchLimit() <= 64);
+    }
+
+    @Test
+    void testConcurrentAddsBypassTheQueue() throws Exception {
+        // Arrange
+        CountDownLatch combining = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Processor striped = new Processor(new RegisterManager(true), new InstructionParser(new InstructionFactory())) {
+            @Override
+            public void executeExclusively(Runnable action) {
+                combining.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.executeExclusively(action);
+            }
+        };
+        InstructionCoalescer stripedCoalescer = new InstructionCoalescer(striped, 200, 64);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Map<String, Integer>> blocked = executor.submit(() -> stripedCoalescer.submit("SET A 1"));
+        combining.await();
+
+        // Act
+        Map<String, Integer> registers = stripedCoalescer.submit("INR B");
+
+        // Assert
+        assertEquals(1, registers.get("B"));
+        assertFalse(blocked.isDone());
+        release.countDown();
+        assertEquals(1, blocked.get().get("A"));
+        executor.shutdown();
+    }
+
+    @Test
+    void testErrorInBatchCompletesEveryCaller() throws Exception {
+        // Arrange
+        CountDownLatch combining = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Processor failing = new Processor(new RegisterManager(), new InstructionParser(new InstructionFactory())) {
+            @Override
+            public void executeExclusively(Runnable action) {
+                combining.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.executeExclusively(action);
+            }
+
+            @Override
+            public void executeInstruction(String instructionText) {
+                if (instructionText.equals("SET B 13")) {
+                    throw new StackOverflowError();
+                }
+                super.executeInstruction(instructionText);
+            }
+        };
+        // A latency target far above the blocked first batch keeps the next batch from shrinking to one
+        InstructionCoalescer failingCoalescer = new InstructionCoalescer(failing, 10_000_000, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        List<Future<Map<String, Integer>>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> failingCoalescer.submit("SET A 1")));
+        combining.await();
+        futures.add(executor.submit(() -> failingCoalescer.submit("SET B 13")));
+        futures.add(executor.submit(() -> failingCoalescer.submit("SET C 1")));
+        Thread.sleep(50);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        for (Future<Map<String, Integer>> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                // Failing is fine; hanging is not
+            }
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    void testInvalidSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new InstructionCoalescer(processor, 0, 64));
+        assertThrows(IllegalArgumentException.class, () -> new InstructionCoalescer(processor, 200, 0));
+    }
+}
@@ -0,0 +1,187 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.exception.JobNotFoundException;
+import com.opcode.exception.JobRejectedException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.model.JobResponse;
+import com.opcode.model.JobState;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JobService class.
+ */
+public class JobServiceTest {
+
+    private Processor processor;
+    private JobService jobService;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private void setUp(int threads, int queueCapacity, int cancelCheckInterval, long retentionMillis) {
+        processor = new Processor(new RegisterManager(), new InstructionParser(new InstructionFactory()));
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getJobs().setThreads(threads);
+        properties.getJobs().setQueueCapacity(queueCapacity);
+        properties.getJobs().setCancelCheckInterval(cancelCheckInterval);
+        properties.getJobs().setRetentionMillis(retentionMillis);
+        jobService = new JobService(processor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobService.shutdown();
+    }
+
+    @Test
+    void testJobRunsToCompletion() throws Exception {
+        // Arrange
+        setUp(1, 4, 2, 60_000);
+
+        // Act
+        JobResponse submitted = jobService.submit(List.of("SET A 10", "INR A", "INR A", "SET B 3", "ADR A B"), 0);
+        JobResponse finished = awaitFinished(submitted.getId());
+
+        // Assert
+        assertEquals(JobState.SUCCEEDED, finished.getState());
+        assertEquals(5, finished.getExecutedInstructions());
+        assertEquals(5, finished.getTotalInstructions());
+        assertEquals(15, finished.getRegisters().get("A"));
+        assertNull(finished.getMessage());
+    }
+
+    @Test
+    void testFailedJobReportsPartialProgress() throws Exception {
+        // Arrange
+        setUp(1, 4, 2, 60_000);
+
+        // Act
+        JobResponse submitted = jobService.submit(List.of("SET A 1", "SET B 2", "SET C 3", "BAD X", "SET D 4"), 0);
+        JobResponse finished = awaitFinished(submitted.getId());
+
+        // Assert
+        assertEquals(JobState.FAILED, finished.getState());
+        assertEquals(3, finished.getExecutedInstructions());
+        assertTrue(finished.getMessage().contains("BAD X"));
+        assertEquals(3, finished.getRegisters().get("C"));
+        assertEquals(0, processor.getRegisterValue("D"));
+    }
+
+    @Test
+    void testHigherPriorityJobsStartFirstAndFullQueueRejects() throws Exception {
+        // Arrange
+        setUp(1, 2, 16, 60_000);
+        holdProcessor();
+        JobResponse blocked = jobService.submit(List.of("SET A 1"), 0);
+        awaitState(blocked.getId(), JobState.RUNNING);
+
+        // Act
+        JobResponse low = jobService.submit(List.of("SET B 1"), 0);
+        JobResponse high = jobService.submit(List.of("SET B 2"), 5);
+        assertThrows(JobRejectedException.class, () -> jobService.submit(List.of("SET C 1"), 9));
+        release.countDown();
+
+        // Assert
+        awaitFinished(high.getId());
+        assertEquals(JobState.SUCCEEDED, awaitFinished(low.getId()).getState());
+        assertEquals(1, processor.getRegisterValue("B"));
+    }
+
+    @Test
+    void testCancelQueuedAndRunningJobs() throws Exception {
+        // Arrange
+        setUp(1, 2, 1, 60_000);
+        holdProcessor();
+        JobResponse running = jobService.submit(Collections.nCopies(100, "INR A"), 0);
+        awaitState(running.getId(), JobState.RUNNING);
+        JobResponse queued = jobService.submit(List.of("SET B 1"), 0);
+
+        // Act
+        JobResponse cancelledQueued = jobService.cancel(queued.getId());
+        JobResponse cancelling = jobService.cancel(running.getId());
+        release.countDown();
+        JobResponse cancelledRunning = awaitFinished(running.getId());
+
+        // Assert
+        assertEquals(JobState.CANCELLED, cancelledQueued.getState());
+        assertEquals(JobState.RUNNING, cancelling.getState());
+        assertEquals(JobState.CANCELLED, cancelledRunning.getState());
+        assertEquals(1, cancelledRunning.getExecutedInstructions());
+        assertEquals(1, cancelledRunning.getRegisters().get("A"));
+        assertEquals(0, processor.getRegisterValue("B"));
+    }
+
+    @Test
+    void testFinishedJobExpiresAfterRetention() throws Exception {
+        // Arrange
+        setUp(1, 4, 16, 50);
+        JobResponse submitted = jobService.submit(List.of("SET A 1"), 0);
+        awaitFinished(submitted.getId());
+
+        // Act
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        boolean expired = false;
+        while (!expired && System.nanoTime() < deadline) {
+            try {
+                jobService.getJob(submitted.getId());
+                Thread.sleep(5);
+            } catch (JobNotFoundException e) {
+                expired = true;
+            }
+        }
+
+        // Assert
+        assertTrue(expired);
+    }
+
+    /**
+     * Holds the processor's exclusive lock on another thread until the test releases it.
+     */
+    private void holdProcessor() throws InterruptedException {
+        CountDownLatch held = new CountDownLatch(1);
+        Thread holder = new Thread(() -> processor.executeExclusively(() -> {
+            held.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.setDaemon(true);
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+    }
+
+    private JobResponse awaitState(String jobId, JobState state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        JobResponse job = jobService.getJob(jobId);
+        while (job.getState() != state && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = jobService.getJob(jobId);
+        }
+        assertEquals(state, job.getState());
+        return job;
+    }
+
+    private JobResponse awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        JobResponse job = jobService.getJob(jobId);
+        while (!job.getState().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = jobService.getJob(jobId);
+        }
+        assertTrue(job.getState().isFinished(), "Job did not finish: " + job.getState());
+        return job;
+    }
+}
@@ -0,0 +1,104 @@
+package com.opcode.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.UndoLog;
+import com.opcode.exception.BatchExecutionException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.model.PrefixCacheResponse;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PrefixCache class.
+ */
+public class PrefixCacheTest {
+
+    private Processor processor;
+    private ProcessorService service;
+
+    @BeforeEach
+    void setUp() {
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        processor = new Processor(new RegisterManager(), parser);
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getPrefixCache().setEnabled(true);
+        PrefixCache prefixCache = new PrefixCache(parser, processor.getRegisterCount(), properties.getPrefixCache());
+        service = new ProcessorService(processor, new OpcodeProperties(), new ObjectMapper(), prefixCache, null);
+    }
+
+    @Test
+    void testRepeatedSetupIsSkipped() {
+        // Arrange
+        processor.executeInstruction("SET D 9");
+        service.executeBatchInstructions(List.of("RST", "SET A 5", "ADD A 2", "MOV B A"));
+
+        // Act
+        Map<String, Integer> registers = service.executeBatchInstructions(List.of("RST", "SET A 5", "ADD A 2", "INR C"));
+
+        // Assert
+        assertEquals(7, registers.get("A"));
+        assertEquals(0, registers.get("B"));
+        assertEquals(1, registers.get("C"));
+        assertEquals(0, registers.get("D"));
+        PrefixCacheResponse stats = service.getPrefixCacheStats();
+        assertEquals(2, stats.getLookups());
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getSkippedInstructions());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void testFailureAfterCachedPrefixCountsPrefix() {
+        // Arrange
+        service.executeBatchInstructions(List.of("RST", "SET A 1", "INR A"));
+
+        // Act
+        BatchExecutionException exception = assertThrows(BatchExecutionException.class,
+            () -> service.executeBatchInstructions(List.of("RST", "SET A 1", "INR A", "SET X 1", "INR A")));
+
+        // Assert
+        assertEquals(3, exception.getExecutedInstructions());
+        assertEquals(2, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    void testBatchWithoutResetIsNotLookedUp() {
+        // Act
+        service.executeBatchInstructions(List.of("SET A 1", "RST", "INR A"));
+
+        // Assert
+        assertEquals(0, service.getPrefixCacheStats().getLookups());
+        assertEquals(1, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    void testProcessorRecordingUndoIsNotShortcut() {
+        // Arrange
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        Processor recording = new Processor(new RegisterManager(), parser, null, new UndoLog(64));
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getPrefixCache().setEnabled(true);
+        PrefixCache prefixCache = new PrefixCache(parser, recording.getRegisterCount(), properties.getPrefixCache());
+        ProcessorService recordingService = new ProcessorService(recording, new OpcodeProperties(), new ObjectMapper(),
+            prefixCache, null);
+        recordingService.executeBatchInstructions(List.of("RST", "SET A 5", "SET B 2", "INR A"));
+
+        // Act
+        recordingService.executeBatchInstructions(List.of("RST", "SET A 5", "SET B 2", "INR A"));
+        recording.undo(1);
+
+        // Assert
+        assertEquals(0, prefixCache.getStats().getLookups());
+        assertEquals(5, recording.getRegisterValue("A"));
+        assertEquals(2, recording.getRegisterValue("B"));
+    }
+}
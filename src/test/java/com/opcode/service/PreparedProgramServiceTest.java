@@ -0,0 +1,137 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.exception.InvalidRegisterException;
+import com.opcode.exception.InvalidSyntaxException;
+import com.opcode.exception.ProgramNotFoundException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.model.PreparedProgramResponse;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.ProcessorSession;
+import com.opcode.session.SessionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PreparedProgramService class.
+ */
+public class PreparedProgramServiceTest {
+
+    private SessionRegistry registry;
+    private PreparedProgramService programService;
+
+    @BeforeEach
+    void setUp() {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getPrograms().setMaxBlockTuples(50_000);
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        ResetGenerations resetGenerations = new ResetGenerations();
+        Processor defaultProcessor = new Processor(new RegisterManager(properties, resetGenerations), parser);
+        registry = new SessionRegistry(defaultProcessor, parser, resetGenerations, properties);
+        programService = new PreparedProgramService(registry, parser, properties);
+    }
+
+    @Test
+    void testPrepareCountsPlaceholders() {
+        // Act
+        PreparedProgramResponse program = programService.prepare(List.of("SET A ?", "ADD B ?", "ADR A B", "INR C"));
+
+        // Assert
+        assertEquals(2, program.getParameters());
+        assertEquals(4, programService.get(program.getId()).getInstructions().size());
+    }
+
+    @Test
+    void testPrepareRejectsInvalidInstructions() {
+        assertThrows(InvalidSyntaxException.class, () -> programService.prepare(List.of("SET A ? ?")));
+        assertThrows(InvalidRegisterException.class, () -> programService.prepare(List.of("MOV A ?")));
+    }
+
+    @Test
+    void testSweepStreamsRegisterBlocks() throws IOException {
+        // Arrange
+        String programId = programService.prepare(List.of("SET A ?", "ADD B ?", "ADR A B", "INR C")).getId();
+        int tuples = 40_000;
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        DataOutputStream blocks = new DataOutputStream(request);
+        for (int block = 0; block < 2; block++) {
+            blocks.writeInt(tuples);
+            for (int i = 0; i < tuples; i++) {
+                blocks.writeInt(i);
+            }
+            for (int i = 0; i < tuples; i++) {
+                blocks.writeInt(block * 1_000);
+            }
+        }
+
+        // Act
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        programService.sweep(programId, null).run(new ByteArrayInputStream(request.toByteArray()), response);
+
+        // Assert
+        DataInputStream results = new DataInputStream(new ByteArrayInputStream(response.toByteArray()));
+        for (int block = 0; block < 2; block++) {
+            assertEquals(tuples, results.readInt());
+            int[][] registers = new int[4][tuples];
+            for (int[] column : registers) {
+                for (int i = 0; i < tuples; i++) {
+                    column[i] = results.readInt();
+                }
+            }
+            for (int i = 0; i < tuples; i++) {
+                assertEquals(i + block * 1_000, registers[0][i]);
+                assertEquals(block * 1_000, registers[1][i]);
+                assertEquals(1, registers[2][i]);
+                assertEquals(0, registers[3][i]);
+            }
+        }
+        assertEquals(-1, results.read());
+    }
+
+    @Test
+    void testSweepStartsFromSessionRegisters() throws IOException {
+        // Arrange
+        ProcessorSession session = registry.create(null);
+        session.getProcessor().executeInstruction("SET D 7");
+        String programId = programService.prepare(List.of("ADD D ?")).getId();
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        DataOutputStream block = new DataOutputStream(request);
+        block.writeInt(1);
+        block.writeInt(5);
+
+        // Act
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        programService.sweep(programId, session.getId()).run(new ByteArrayInputStream(request.toByteArray()), response);
+
+        // Assert
+        DataInputStream results = new DataInputStream(new ByteArrayInputStream(response.toByteArray()));
+        assertEquals(1, results.readInt());
+        results.skipNBytes(3 * Integer.BYTES);
+        assertEquals(12, results.readInt());
+        assertEquals(7, session.getProcessor().getRegisterValue("D"));
+    }
+
+    @Test
+    void testDeletedProgramIsNotFound() {
+        // Arrange
+        String programId = programService.prepare(List.of("SET A ?")).getId();
+
+        // Act
+        programService.delete(programId);
+
+        // Assert
+        assertThrows(ProgramNotFoundException.class, () -> programService.sweep(programId, null));
+    }
+}
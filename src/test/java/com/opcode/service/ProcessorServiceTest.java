@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -250,4 +251,40 @@ public class ProcessorServiceTest {
             () -> assertEquals(0, result.get("D"))
         );
     }
+    
+    @Test
+    void testGetAllRegistersJsonIsCachedPerVersion() {
+        // Arrange
+        Map<String, Integer> registers = Map.of("A", 1, "B", 0, "C", 0, "D", 0);
+        when(processor.getStateVersion()).thenReturn(4L, 4L, 4L, 5L, 5L);
+        when(processor.getAllRegisterValues()).thenReturn(registers);
+        
+        // Act
+        VersionedJson first = service.getAllRegistersJson();
+        VersionedJson second = service.getAllRegistersJson();
+        VersionedJson third = service.getAllRegistersJson();
+        
+        // Assert
+        assertSame(first, second);
+        assertEquals(4L, first.getVersion());
+        assertEquals(5L, third.getVersion());
+        verify(processor, times(2)).getAllRegisterValues();
+    }
+    
+    @Test
+    void testGetRegisterValueJsonIsNotCachedWhenStateChangesDuringRead() {
+        // Arrange
+        when(processor.getStateVersion()).thenReturn(1L, 2L, 2L, 2L);
+        when(processor.getRegisterValue("A")).thenReturn(9);
+        
+        // Act
+        VersionedJson first = service.getRegisterValueJson("A");
+        VersionedJson second = service.getRegisterValueJson("A");
+        
+        // Assert
+        assertEquals("{\"value\":9}", new String(first.getJson(), StandardCharsets.UTF_8));
+        assertEquals(1L, first.getVersion());
+        assertEquals(2L, second.getVersion());
+        verify(processor, times(2)).getRegisterValue("A");
+    }
 }
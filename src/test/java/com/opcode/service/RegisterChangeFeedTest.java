@@ -0,0 +1,286 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RegisterChangeFeed class.
+ */
+public class RegisterChangeFeedTest {
+
+    private ResetGenerations resetGenerations;
+    private RegisterManager registerManager;
+    private Processor processor;
+    private ProcessorService service;
+    private RegisterChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        setUp(64, false);
+    }
+
+    private void setUp(int subscriberBuffer, boolean stripedIncrements) {
+        resetGenerations = new ResetGenerations();
+        registerManager = new RegisterManager(stripedIncrements, resetGenerations.global());
+        processor = new Processor(registerManager, new InstructionParser(new InstructionFactory()));
+        service = new ProcessorService(processor);
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getFeed().setSubscriberBuffer(subscriberBuffer);
+        feed = new RegisterChangeFeed(processor, registerManager, service, resetGenerations, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void testStreamStartsWithSnapshotFollowedByDeltas() throws Exception {
+        // Arrange
+        processor.executeInstruction("SET B 2");
+        CapturingEmitter emitter = new CapturingEmitter();
+        feed.subscribe(emitter);
+        emitter.awaitEvents(1);
+
+        // Act
+        processor.executeInstruction("SET A 5");
+        processor.executeInstruction("RST");
+
+        // Assert
+        emitter.awaitEvents(3);
+        assertTrue(emitter.events.get(0).startsWith("id:1\nevent:snapshot\ndata:{\"A\":0,\"B\":2,\"C\":0,\"D\":0}"));
+        assertTrue(emitter.events.get(1).startsWith("id:2\nevent:delta\ndata:{\"A\":5}"));
+        assertTrue(emitter.events.get(2).startsWith("id:3\nevent:delta\ndata:{\"A\":0,\"B\":0,\"C\":0,\"D\":0}"));
+    }
+
+    @Test
+    void testSlowSubscriberIsResynchronizedWithSnapshot() throws Exception {
+        // Arrange
+        feed.shutdown();
+        setUp(2, false);
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter emitter = new CapturingEmitter(release);
+        feed.subscribe(emitter);
+        // Wait until the initial snapshot is being sent, so the overflow below forces a second one
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+
+        // Act
+        for (int i = 1; i <= 10; i++) {
+            processor.executeInstruction("SET A " + i);
+        }
+        // Give the dispatcher time to overflow the blocked subscriber's buffer
+        Thread.sleep(200);
+        release.countDown();
+
+        // Assert
+        emitter.awaitMatching("event:snapshot\ndata:{\"A\":10,", 2);
+        assertEquals(2, emitter.events.stream().filter(event -> event.contains("event:snapshot")).count());
+    }
+
+    @Test
+    void testLongPollWaitsForNextChange() throws Exception {
+        // Arrange
+        long version = service.getStateVersion();
+        DeferredResult<ResponseEntity<byte[]>> result = feed.poll(version);
+        assertFalse(result.hasResult());
+
+        // Act
+        processor.executeInstruction("INR C");
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        @SuppressWarnings("unchecked")
+        ResponseEntity<byte[]> response = (ResponseEntity<byte[]>) result.getResult();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"" + (version + 1) + "\"", response.getHeaders().getETag());
+        assertEquals("{\"A\":0,\"B\":0,\"C\":1,\"D\":0}", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testLongPollIsAnsweredByBulkReset() throws Exception {
+        // Arrange
+        processor.executeInstruction("SET B 8");
+        DeferredResult<ResponseEntity<byte[]>> result = feed.poll(service.getStateVersion());
+        assertFalse(result.hasResult());
+
+        // Act
+        resetGenerations.resetAll();
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        @SuppressWarnings("unchecked")
+        ResponseEntity<byte[]> response = (ResponseEntity<byte[]>) result.getResult();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"A\":0,\"B\":0,\"C\":0,\"D\":0}", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testStreamReceivesBulkReset() throws Exception {
+        // Arrange
+        processor.executeInstruction("SET C 3");
+        CapturingEmitter emitter = new CapturingEmitter();
+        feed.subscribe(emitter);
+        emitter.awaitEvents(1);
+
+        // Act
+        resetGenerations.resetTenant("other");
+        resetGenerations.resetAll();
+
+        // Assert
+        emitter.awaitEvents(2);
+        assertTrue(emitter.events.get(1).contains("event:delta\ndata:{\"A\":0,\"B\":0,\"C\":0,\"D\":0}"));
+        assertEquals(2, emitter.events.size());
+    }
+
+    @Test
+    void testLongPollAnswersImmediatelyForStaleVersion() {
+        // Arrange
+        processor.executeInstruction("SET D 4");
+
+        // Act
+        DeferredResult<ResponseEntity<byte[]>> result = feed.poll(0);
+
+        // Assert
+        assertTrue(result.hasResult());
+    }
+
+    @Test
+    void testFeedDetachesWhenLastSubscriberIsGone() throws Exception {
+        // Arrange
+        feed.shutdown();
+        setUp(64, true);
+        CountDownLatch release = new CountDownLatch(1);
+        feed.subscribe(new FailingEmitter(release));
+        assertFalse(registerManager.supportsConcurrentAdds());
+
+        // Act
+        release.countDown();
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!registerManager.supportsConcurrentAdds() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, feed.getSubscriberCount());
+        assertTrue(registerManager.supportsConcurrentAdds());
+    }
+
+    @Test
+    void testFeedDetachesOnceLongPollIsAnswered() throws Exception {
+        // Arrange
+        feed.shutdown();
+        setUp(64, true);
+        DeferredResult<ResponseEntity<byte[]>> result = feed.poll(service.getStateVersion());
+        assertFalse(registerManager.supportsConcurrentAdds());
+
+        // Act
+        processor.executeInstruction("INR A");
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!registerManager.supportsConcurrentAdds() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(result.hasResult());
+        assertTrue(registerManager.supportsConcurrentAdds());
+    }
+
+    /**
+     * Emitter whose first send fails once released, like a client that disconnected.
+     */
+    private static final class FailingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+
+        private FailingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Client disconnected");
+        }
+    }
+
+    /**
+     * Emitter recording the events it is asked to send, optionally blocking until released.
+     */
+    private static final class CapturingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private CapturingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        private CapturingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData() instanceof byte[] bytes
+                ? new String(bytes, StandardCharsets.UTF_8)
+                : part.getData()));
+            events.add(event.toString());
+        }
+
+        private void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(events.size() >= count, "Expected " + count + " events but got " + events);
+        }
+
+        private void awaitMatching(String fragment, int minimumEvents) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((events.size() < minimumEvents || events.stream().noneMatch(event -> event.contains(fragment)))
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertTrue(events.stream().anyMatch(event -> event.contains(fragment)), "No event with " + fragment + " in " + events);
+        }
+    }
+}
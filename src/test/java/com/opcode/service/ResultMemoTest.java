@@ -0,0 +1,145 @@
+package com.opcode.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.UndoLog;
+import com.opcode.exception.BatchExecutionException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ResultMemo class.
+ */
+public class ResultMemoTest {
+
+    private Processor processor;
+    private ResultMemo resultMemo;
+    private ProcessorService service;
+
+    @BeforeEach
+    void setUp() {
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        processor = new Processor(new RegisterManager(), parser);
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getResultMemo().setEnabled(true);
+        properties.getResultMemo().setMaxWeightBytes(4096);
+        resultMemo = new ResultMemo(parser, properties);
+        service = new ProcessorService(processor, new OpcodeProperties(), new ObjectMapper(), null, resultMemo);
+    }
+
+    @Test
+    void testSameBatchFromSameStateIsAnsweredFromMemo() {
+        // Arrange
+        processor.executeInstruction("SET A 1");
+        service.executeBatchInstructions(List.of("ADD A 2", "MOV B A"));
+        processor.executeInstruction("SET A 1");
+        processor.executeInstruction("SET B 0");
+
+        // Act
+        Map<String, Integer> registers = service.executeBatchInstructions(List.of("add A 2", "MOV  B A"));
+
+        // Assert
+        assertEquals(3, registers.get("A"));
+        assertEquals(3, registers.get("B"));
+        assertEquals(1, resultMemo.getHits());
+        assertEquals(1, resultMemo.getMisses());
+    }
+
+    @Test
+    void testDifferentStartingStateMisses() {
+        // Arrange
+        service.executeBatchInstructions(List.of("INR A"));
+
+        // Act
+        Map<String, Integer> registers = service.executeBatchInstructions(List.of("INR A"));
+
+        // Assert
+        assertEquals(2, registers.get("A"));
+        assertEquals(0, resultMemo.getHits());
+        assertEquals(2, resultMemo.getMisses());
+    }
+
+    @Test
+    void testBatchWithResetIgnoresStartingState() {
+        // Arrange
+        service.executeBatchInstructions(List.of("RST", "SET C 4", "ADR C C"));
+        processor.executeInstruction("SET D 9");
+
+        // Act
+        Map<String, Integer> registers = service.executeBatchInstructions(List.of("RST", "SET C 4", "ADR C C"));
+
+        // Assert
+        assertEquals(8, registers.get("C"));
+        assertEquals(0, registers.get("D"));
+        assertEquals(1, resultMemo.getHits());
+    }
+
+    @Test
+    void testInvalidBatchIsNotMemoized() {
+        // Act
+        BatchExecutionException exception = assertThrows(BatchExecutionException.class,
+            () -> service.executeBatchInstructions(List.of("INR A", "INR X")));
+
+        // Assert
+        assertEquals(1, exception.getExecutedInstructions());
+        assertEquals(0, resultMemo.getMisses());
+    }
+
+    @Test
+    void testWeightStaysBounded() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            service.executeBatchInstructions(List.of("RST", "SET A " + i));
+        }
+
+        // Assert
+        assertTrue(resultMemo.getWeightBytes() <= 4096);
+        assertEquals(99, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    void testProcessorRecordingUndoIsNotAnsweredFromMemo() {
+        // Arrange
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        Processor recording = new Processor(new RegisterManager(), parser, null, new UndoLog(64));
+        ProcessorService recordingService = new ProcessorService(recording, new OpcodeProperties(), new ObjectMapper(),
+            null, resultMemo);
+        recordingService.executeBatchInstructions(List.of("RST", "SET A 5", "SET B 2", "INR A"));
+
+        // Act
+        recordingService.executeBatchInstructions(List.of("RST", "SET A 5", "SET B 2", "INR A"));
+        recording.undo(1);
+
+        // Assert
+        assertEquals(0, resultMemo.getHits());
+        assertEquals(0, resultMemo.getMisses());
+        assertEquals(5, recording.getRegisterValue("A"));
+        assertEquals(2, recording.getRegisterValue("B"));
+    }
+
+    @Test
+    void testMissRemembersResultFromStartingRegisters() {
+        // Arrange
+        processor.executeInstruction("SET A 4");
+        service.executeBatchInstructions(List.of("ADR A A", "MOV B A", "DCR B"));
+        processor.executeInstruction("SET A 4");
+        processor.executeInstruction("SET B 0");
+
+        // Act
+        Map<String, Integer> registers = service.executeBatchInstructions(List.of("ADR A A", "MOV B A", "DCR B"));
+
+        // Assert
+        assertEquals(8, registers.get("A"));
+        assertEquals(7, registers.get("B"));
+        assertEquals(1, resultMemo.getHits());
+    }
+}
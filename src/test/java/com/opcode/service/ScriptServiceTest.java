@@ -0,0 +1,101 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.exception.InvalidSyntaxException;
+import com.opcode.exception.ScriptNotFoundException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.model.ScriptResponse;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.SessionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ScriptService class.
+ */
+public class ScriptServiceTest {
+
+    private ScriptService scriptService;
+
+    @BeforeEach
+    void setUp() {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getScripts().setCheckpointInterval(100);
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        ResetGenerations resetGenerations = new ResetGenerations();
+        Processor defaultProcessor = new Processor(new RegisterManager(properties, resetGenerations), parser);
+        SessionRegistry registry = new SessionRegistry(defaultProcessor, parser, resetGenerations, properties);
+        scriptService = new ScriptService(registry, parser, properties);
+    }
+
+    private static List<String> increments(int count) {
+        List<String> instructions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            instructions.add("INR A");
+        }
+        return instructions;
+    }
+
+    @Test
+    void testNewVersionExecutesFromCheckpointBeforeEdit() {
+        // Arrange
+        List<String> instructions = increments(1_000);
+        String scriptId = scriptService.create(instructions).getId();
+        instructions.set(950, "ADD B 5");
+
+        // Act
+        ScriptResponse version = scriptService.update(scriptId, instructions);
+
+        // Assert
+        assertEquals(2, version.getVersion());
+        assertEquals(900, version.getResumedAt());
+        assertEquals(100, version.getExecutedInstructions());
+        assertEquals(999, version.getRegisters().get("A"));
+        assertEquals(5, version.getRegisters().get("B"));
+    }
+
+    @Test
+    void testFormattingChangesAreNotEdits() {
+        // Arrange
+        String scriptId = scriptService.create(List.of("SET A 1", "ADD A 2")).getId();
+
+        // Act
+        ScriptResponse version = scriptService.update(scriptId, List.of("  set A 1", "ADD   A 2 "));
+
+        // Assert
+        assertEquals(0, version.getExecutedInstructions());
+        assertEquals(3, version.getRegisters().get("A"));
+    }
+
+    @Test
+    void testInvalidVersionLeavesScriptUnchanged() {
+        // Arrange
+        String scriptId = scriptService.create(List.of("SET A 1")).getId();
+
+        // Act & Assert
+        assertThrows(InvalidSyntaxException.class, () -> scriptService.update(scriptId, List.of("SET A")));
+        assertEquals(1, scriptService.get(scriptId).getVersion());
+        assertEquals(1, scriptService.get(scriptId).getRegisters().get("A"));
+    }
+
+    @Test
+    void testDeletedScriptIsNotFound() {
+        // Arrange
+        String scriptId = scriptService.create(List.of("SET A 1")).getId();
+
+        // Act
+        scriptService.delete(scriptId);
+
+        // Assert
+        assertThrows(ScriptNotFoundException.class, () -> scriptService.get(scriptId));
+        assertThrows(ScriptNotFoundException.class, () -> scriptService.update(scriptId, List.of("SET A 2")));
+    }
+}
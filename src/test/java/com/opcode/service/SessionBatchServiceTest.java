@@ -0,0 +1,119 @@
+package com.opcode.service;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.model.MultiSessionBatchResponse;
+import com.opcode.model.SessionBatch;
+import com.opcode.model.SessionBatchResult;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.SessionRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SessionBatchService class.
+ */
+public class SessionBatchServiceTest {
+
+    private SessionRegistry registry;
+    private SessionBatchService sessionBatchService;
+
+    @BeforeEach
+    void setUp() {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getSessionBatch().setParallelism(4);
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        ResetGenerations resetGenerations = new ResetGenerations();
+        Processor defaultProcessor = new Processor(new RegisterManager(properties, resetGenerations), parser);
+        registry = new SessionRegistry(defaultProcessor, parser, resetGenerations, properties);
+        sessionBatchService = new SessionBatchService(registry, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionBatchService.shutdown();
+    }
+
+    @Test
+    void testBatchesExecuteOnTheirOwnSessions() {
+        // Arrange
+        List<SessionBatch> batches = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batches.add(new SessionBatch(registry.create(null).getId(), List.of("SET A " + i, "INR A")));
+        }
+
+        // Act
+        MultiSessionBatchResponse response = sessionBatchService.execute(batches);
+
+        // Assert
+        assertEquals(100, response.getSucceeded());
+        assertEquals(0, response.getFailed());
+        for (int i = 0; i < 100; i++) {
+            SessionBatchResult result = response.getResults().get(i);
+            assertEquals(batches.get(i).getSessionId(), result.getSessionId());
+            assertEquals(i + 1, result.getRegisters().get("A"));
+            assertEquals(i + 1, registry.get(result.getSessionId()).getProcessor().getRegisterValue("A"));
+        }
+    }
+
+    @Test
+    void testBatchesForTheSameSessionRunInRequestOrder() {
+        // Arrange
+        String sessionId = registry.create(null).getId();
+        List<SessionBatch> batches = List.of(
+            new SessionBatch(sessionId, List.of("SET A 5")),
+            new SessionBatch(registry.create(null).getId(), List.of("SET A 1")),
+            new SessionBatch(sessionId, List.of("INR A", "INR A")));
+
+        // Act
+        MultiSessionBatchResponse response = sessionBatchService.execute(batches);
+
+        // Assert
+        assertEquals(5, response.getResults().get(0).getRegisters().get("A"));
+        assertEquals(7, response.getResults().get(2).getRegisters().get("A"));
+    }
+
+    @Test
+    void testFailuresAreReportedPerSession() {
+        // Arrange
+        String healthy = registry.create(null).getId();
+        String failing = registry.create(null).getId();
+        List<SessionBatch> batches = List.of(
+            new SessionBatch(healthy, List.of("SET B 3")),
+            new SessionBatch(failing, List.of("SET A 1", "SET E 1", "SET C 1")),
+            new SessionBatch("missing", List.of("INR A")));
+
+        // Act
+        MultiSessionBatchResponse response = sessionBatchService.execute(batches);
+
+        // Assert
+        assertEquals(1, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertEquals(3, response.getResults().get(0).getRegisters().get("B"));
+        assertEquals("error", response.getResults().get(1).getStatus());
+        assertEquals(1, response.getResults().get(1).getExecutedInstructions());
+        assertEquals("error", response.getResults().get(2).getStatus());
+        assertNull(response.getResults().get(2).getExecutedInstructions());
+        assertEquals(1, registry.get(failing).getProcessor().getRegisterValue("A"));
+    }
+
+    @Test
+    void testEmptyRequestExecutesNothing() {
+        // Act
+        MultiSessionBatchResponse response = sessionBatchService.execute(List.of());
+
+        // Assert
+        assertTrue(response.getResults().isEmpty());
+        assertEquals(0, response.getSucceeded());
+        assertEquals(0, response.getFailed());
+    }
+}
@@ -0,0 +1,164 @@
+package com.opcode.session;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.exception.SessionNotFoundException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SessionRegistry class.
+ */
+public class SessionRegistryTest {
+    
+    private ResetGenerations resetGenerations;
+    private Processor defaultProcessor;
+    private SessionRegistry registry;
+    
+    @BeforeEach
+    void setUp() {
+        OpcodeProperties properties = new OpcodeProperties();
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        resetGenerations = new ResetGenerations();
+        defaultProcessor = new Processor(new RegisterManager(properties, resetGenerations), parser);
+        registry = new SessionRegistry(defaultProcessor, parser, resetGenerations, properties);
+    }
+    
+    @Test
+    void testDefaultSessionIsRegistered() {
+        assertSame(defaultProcessor, registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor());
+        assertFalse(registry.remove(SessionRegistry.DEFAULT_SESSION_ID));
+    }
+    
+    @Test
+    void testSessionsAreIsolated() {
+        // Arrange
+        ProcessorSession first = registry.create(null);
+        ProcessorSession second = registry.create(null);
+        
+        // Act
+        first.getProcessor().executeInstruction("SET A 1");
+        second.getProcessor().executeInstruction("SET A 2");
+        
+        // Assert
+        assertEquals(1, registry.get(first.getId()).getProcessor().getRegisterValue("A"));
+        assertEquals(2, registry.get(second.getId()).getProcessor().getRegisterValue("A"));
+        assertEquals(0, defaultProcessor.getRegisterValue("A"));
+    }
+    
+    @Test
+    void testUnknownSession() {
+        assertThrows(SessionNotFoundException.class, () -> registry.get("missing"));
+        assertThrows(SessionNotFoundException.class, () -> registry.remove("missing"));
+    }
+    
+    @Test
+    void testRemoveSession() {
+        ProcessorSession session = registry.create(null);
+        assertTrue(registry.remove(session.getId()));
+        assertThrows(SessionNotFoundException.class, () -> registry.get(session.getId()));
+    }
+    
+    @Test
+    void testResetAllZeroesEverySessionLazily() {
+        // Arrange
+        ProcessorSession session = registry.create("tenant-1");
+        session.getProcessor().executeInstruction("SET B 7");
+        defaultProcessor.executeInstruction("SET C 9");
+        
+        // Act
+        registry.resetAll();
+        
+        // Assert - reads see zero before anything is written
+        assertEquals(0, session.getProcessor().getRegisterValue("B"));
+        assertEquals(0, defaultProcessor.getAllRegisterValues().get("C"));
+        
+        // The next write starts from a zeroed register file
+        session.getProcessor().executeInstruction("INR A");
+        assertEquals(1, session.getProcessor().getRegisterValue("A"));
+        assertEquals(0, session.getProcessor().getRegisterValue("B"));
+    }
+    
+    @Test
+    void testResetTenantOnlyAffectsThatTenant() {
+        // Arrange
+        ProcessorSession tenantSession = registry.create("tenant-1");
+        ProcessorSession otherSession = registry.create("tenant-2");
+        tenantSession.getProcessor().executeInstruction("SET A 5");
+        otherSession.getProcessor().executeInstruction("SET A 6");
+        
+        // Act
+        registry.resetTenant("tenant-1");
+        
+        // Assert
+        assertEquals(0, tenantSession.getProcessor().getRegisterValue("A"));
+        assertEquals(6, otherSession.getProcessor().getRegisterValue("A"));
+    }
+    
+    @Test
+    void testStripedSessionsMaterializeResetBeforeIncrementing() {
+        // Arrange
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getRegisters().setStripedIncrements(true);
+        SessionRegistry stripedRegistry = new SessionRegistry(defaultProcessor,
+            new InstructionParser(new InstructionFactory()), resetGenerations, properties);
+        ProcessorSession session = stripedRegistry.create(null);
+        session.getProcessor().executeInstruction("ADD D 40");
+        
+        // Act
+        stripedRegistry.resetAll();
+        session.getProcessor().executeInstruction("INR D");
+        
+        // Assert
+        assertEquals(1, session.getProcessor().getRegisterValue("D"));
+    }
+    
+    @Test
+    void testForkedChildrenStartFromParentStateAndDiverge() {
+        // Arrange
+        ProcessorSession parent = registry.create("tenant-1");
+        parent.getProcessor().executeInstruction("SET A 10");
+        
+        // Act
+        List<ProcessorSession> children = registry.fork(parent.getId(), 3, null);
+        children.get(0).getProcessor().executeInstruction("INR A");
+        children.get(1).getProcessor().executeInstruction("SET A 99");
+        parent.getProcessor().executeInstruction("DCR A");
+        
+        // Assert
+        assertEquals(3, children.size());
+        assertEquals("tenant-1", children.get(0).getTenant());
+        assertEquals(11, children.get(0).getProcessor().getRegisterValue("A"));
+        assertEquals(99, children.get(1).getProcessor().getRegisterValue("A"));
+        assertEquals(10, children.get(2).getProcessor().getRegisterValue("A"));
+        assertEquals(9, parent.getProcessor().getRegisterValue("A"));
+    }
+    
+    @Test
+    void testForkFoldsStripedIncrements() {
+        // Arrange
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getRegisters().setStripedIncrements(true);
+        SessionRegistry stripedRegistry = new SessionRegistry(defaultProcessor,
+            new InstructionParser(new InstructionFactory()), resetGenerations, properties);
+        ProcessorSession parent = stripedRegistry.create(null);
+        parent.getProcessor().executeInstruction("ADD B 5");
+        
+        // Act
+        ProcessorSession child = stripedRegistry.fork(parent.getId(), 1, "tenant-2").get(0);
+        child.getProcessor().executeInstruction("INR B");
+        
+        // Assert
+        assertEquals("tenant-2", child.getTenant());
+        assertEquals(6, child.getProcessor().getRegisterValue("B"));
+        assertEquals(5, parent.getProcessor().getRegisterValue("B"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.opcode.transport;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LineProtocolServer class.
+ */
+public class LineProtocolServerTest {
+
+    private Processor processor;
+    private LineProtocolServer server;
+    private Socket client;
+    private OutputStream out;
+    private BufferedReader in;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getLineProtocol().setPort(0);
+        properties.getLineProtocol().setMaxLineBytes(64);
+        processor = new Processor(new RegisterManager(), new InstructionParser(new InstructionFactory()));
+        server = new LineProtocolServer(processor, properties);
+        server.start();
+        client = new Socket("localhost", server.getPort());
+        out = client.getOutputStream();
+        in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void testExecuteInstruction() throws IOException {
+        // Act
+        send("SET A 10\n");
+
+        // Assert
+        assertEquals("OK A=10 B=0 C=0 D=0", in.readLine());
+        assertEquals(10, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    void testPipelinedInstructionsAreAnsweredInOrder() throws IOException {
+        // Arrange
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            lines.append("INR A\r\n");
+        }
+
+        // Act
+        send(lines.toString());
+
+        // Assert
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals("OK A=" + i + " B=0 C=0 D=0", in.readLine());
+        }
+    }
+
+    @Test
+    void testLineSplitAcrossWrites() throws IOException {
+        // Act
+        send("SET B");
+        send(" 7\n\nMOV A B\n");
+
+        // Assert
+        assertEquals("OK A=0 B=7 C=0 D=0", in.readLine());
+        assertEquals("OK A=7 B=7 C=0 D=0", in.readLine());
+    }
+
+    @Test
+    void testInvalidInstructionDoesNotStopLaterLines() throws IOException {
+        // Act
+        send("FOO A\nSET E 1\nSET C 3\n");
+
+        // Assert
+        assertTrue(in.readLine().startsWith("ERR 400 "));
+        assertTrue(in.readLine().startsWith("ERR 404 "));
+        assertEquals("OK A=0 B=0 C=3 D=0", in.readLine());
+    }
+
+    @Test
+    void testLineTooLongClosesConnection() throws IOException {
+        // Act
+        send("SET A " + "1".repeat(100));
+
+        // Assert
+        assertEquals("ERR 400 Line too long", in.readLine());
+        assertNull(in.readLine());
+    }
+
+    private void send(String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,173 @@
+package com.opcode.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import com.opcode.service.SessionService;
+import com.opcode.session.ProcessorSession;
+import com.opcode.session.SessionRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ReactiveApiServer class.
+ */
+public class ReactiveApiServerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private SessionRegistry registry;
+    private ReactiveApiServer server;
+
+    @BeforeEach
+    void setUp() {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getReactive().setPort(0);
+        properties.getReactive().setEventLoopThreads(1);
+        properties.getReactive().setExecutionLanes(2);
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        ResetGenerations resetGenerations = new ResetGenerations();
+        Processor defaultProcessor = new Processor(new RegisterManager(properties, resetGenerations), parser);
+        registry = new SessionRegistry(defaultProcessor, parser, resetGenerations, properties);
+        server = new ReactiveApiServer(new SessionService(registry), objectMapper, properties);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.shutdown();
+    }
+
+    @Test
+    void testExecuteInstruction() throws Exception {
+        // Act
+        HttpResponse<String> response = post("/api/v1/instructions", "{\"instruction\":\"SET A 10\"}");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals("success", objectMapper.readTree(response.body()).get("status").asText());
+        assertEquals(10, objectMapper.readTree(response.body()).get("registers").get("A").asInt());
+    }
+
+    @Test
+    void testExecuteBatchOnSession() throws Exception {
+        // Arrange
+        ProcessorSession session = registry.create(null);
+
+        // Act
+        HttpResponse<String> response = post("/api/v1/sessions/" + session.getId() + "/instructions/batch",
+            "{\"instructions\":[\"SET A 10\",\"SET B 5\",\"ADR A B\"]}");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals(15, session.getProcessor().getRegisterValue("A"));
+        assertEquals(0, registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor().getRegisterValue("A"));
+    }
+
+    @Test
+    void testGetAllRegisters() throws Exception {
+        // Arrange
+        post("/api/v1/instructions", "{\"instruction\":\"SET C 7\"}");
+
+        // Act
+        HttpResponse<String> response = get("/api/v1/registers");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals(7, objectMapper.readTree(response.body()).get("C").asInt());
+    }
+
+    @Test
+    void testConcurrentInstructionsOnOneSessionAreAllApplied() {
+        // Act
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            responses.add(client.sendAsync(request("/api/v1/instructions")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"instruction\":\"INR A\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        // Assert
+        responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+        assertEquals(200, registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor().getRegisterValue("A"));
+    }
+
+    @Test
+    void testInvalidSyntaxIsBadRequest() throws Exception {
+        // Act
+        HttpResponse<String> response = post("/api/v1/instructions", "{\"instruction\":\"SET A\"}");
+
+        // Assert
+        assertEquals(400, response.statusCode());
+        assertEquals("error", objectMapper.readTree(response.body()).get("status").asText());
+    }
+
+    @Test
+    void testBlankInstructionIsBadRequest() throws Exception {
+        // Act
+        HttpResponse<String> response = post("/api/v1/instructions", "{\"instruction\":\"\"}");
+
+        // Assert
+        assertEquals(400, response.statusCode());
+        assertEquals("instruction: Instruction cannot be blank",
+            objectMapper.readTree(response.body()).get("message").asText());
+    }
+
+    @Test
+    void testMalformedJsonIsBadRequest() throws Exception {
+        // Act
+        HttpResponse<String> response = post("/api/v1/instructions", "{\"instruction\":");
+
+        // Assert
+        assertEquals(400, response.statusCode());
+    }
+
+    @Test
+    void testBatchErrorReportsExecutedInstructions() throws Exception {
+        // Act
+        HttpResponse<String> response = post("/api/v1/instructions/batch",
+            "{\"instructions\":[\"SET A 1\",\"BAD\"]}");
+
+        // Assert
+        assertEquals(400, response.statusCode());
+        assertEquals(1, objectMapper.readTree(response.body()).get("executedInstructions").asInt());
+    }
+
+    @Test
+    void testUnknownSessionIsNotFound() throws Exception {
+        // Act
+        HttpResponse<String> response = get("/api/v1/sessions/missing/registers");
+
+        // Assert
+        assertEquals(404, response.statusCode());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(request(path).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+            .header("Content-Type", "application/json");
+    }
+}
@@ -0,0 +1,98 @@
+package com.opcode.transport;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.PackedInstruction;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.RegisterName;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SharedMemoryRingServer class.
+ */
+public class SharedMemoryRingServerTest {
+
+    private static final int A = RegisterName.A.ordinal();
+
+    @TempDir
+    Path directory;
+
+    private Processor processor;
+    private SharedMemoryRingServer server;
+    private SharedMemoryRing ring;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getSharedMemory().setPath(directory.resolve("opcode.ring").toString());
+        properties.getSharedMemory().setCapacity(16);
+        properties.getSharedMemory().setMaxBatchSize(4);
+        processor = new Processor(new RegisterManager(), new InstructionParser(new InstructionFactory()));
+        server = new SharedMemoryRingServer(processor, properties);
+        server.start();
+        ring = SharedMemoryRing.open(Path.of(properties.getSharedMemory().getPath()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    void testSubmittedInstructionIsExecuted() {
+        // Act
+        long ticket = ring.submit(PackedInstruction.pack(PackedInstruction.SET, A, 0, 42), WaitStrategy.PARK);
+        long result = ring.awaitResult(ticket, WaitStrategy.PARK);
+
+        // Assert
+        assertEquals(SharedMemoryRing.OK, SharedMemoryRing.status(result));
+        assertEquals(42, SharedMemoryRing.value(result));
+        assertEquals(42, processor.getRegisterValue("A"));
+    }
+
+    @Test
+    void testInvalidInstructionReportsStatus() {
+        // Act
+        long ticket = ring.submit(PackedInstruction.pack(PackedInstruction.SET, 9, 0, 1), WaitStrategy.PARK);
+        long result = ring.awaitResult(ticket, WaitStrategy.PARK);
+
+        // Assert
+        assertEquals(404, SharedMemoryRing.status(result));
+    }
+
+    @Test
+    void testConcurrentProducersAcrossManyLaps() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 1_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long ticket = ring.submit(PackedInstruction.pack(PackedInstruction.INR, A, 0, 0), WaitStrategy.PARK);
+                    assertEquals(SharedMemoryRing.OK, SharedMemoryRing.status(ring.awaitResult(ticket, WaitStrategy.PARK)));
+                }
+            }));
+        }
+
+        // Act
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(producers * perProducer, processor.getRegisterValue("A"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.opcode.transport;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.core.ResetGenerations;
+import com.opcode.exception.InvalidRegisterException;
+import com.opcode.exception.JournalWriteException;
+import com.opcode.exception.SessionNotFoundException;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import com.opcode.session.ProcessorSession;
+import com.opcode.session.SessionRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StagedPipeline class.
+ */
+public class StagedPipelineTest {
+
+    @TempDir
+    Path directory;
+
+    private SessionRegistry registry;
+    private StagedPipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        start(directory.resolve("pipeline.journal").toString());
+    }
+
+    private void start(String journalPath) throws IOException {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getPipeline().setCapacity(16);
+        properties.getPipeline().setDecoders(3);
+        properties.getPipeline().setShards(2);
+        properties.getPipeline().setMaxBatchSize(4);
+        properties.getPipeline().setJournalPath(journalPath);
+        InstructionParser parser = new InstructionParser(new InstructionFactory());
+        ResetGenerations resetGenerations = new ResetGenerations();
+        Processor defaultProcessor = new Processor(new RegisterManager(properties, resetGenerations), parser);
+        registry = new SessionRegistry(defaultProcessor, parser, resetGenerations, properties);
+        pipeline = new StagedPipeline(registry, parser, properties);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void testInstructionsOfASessionExecuteInSubmissionOrder() throws Exception {
+        // Arrange
+        ProcessorSession other = registry.create(null);
+        List<CompletableFuture<Map<String, Integer>>> defaults = new ArrayList<>();
+        List<CompletableFuture<Map<String, Integer>>> others = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            defaults.add(pipeline.submit(SessionRegistry.DEFAULT_SESSION_ID, "INR A"));
+            others.add(pipeline.submit(other.getId(), "ADD B 2"));
+        }
+
+        // Assert
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i + 1, defaults.get(i).get().get("A"));
+            assertEquals(2 * (i + 1), others.get(i).get().get("B"));
+        }
+        assertEquals(0, other.getProcessor().getRegisterValue("A"));
+    }
+
+    @Test
+    void testFailuresAreReportedPerInstruction() throws Exception {
+        // Act
+        CompletableFuture<Map<String, Integer>> invalid = pipeline.submit(SessionRegistry.DEFAULT_SESSION_ID, "INR X");
+        CompletableFuture<Map<String, Integer>> missing = pipeline.submit("missing", "INR A");
+        CompletableFuture<Map<String, Integer>> valid = pipeline.submit(SessionRegistry.DEFAULT_SESSION_ID, "SET C 3");
+
+        // Assert
+        ExecutionException invalidFailure = assertThrows(ExecutionException.class, invalid::get);
+        assertInstanceOf(InvalidRegisterException.class, invalidFailure.getCause());
+        ExecutionException missingFailure = assertThrows(ExecutionException.class, missing::get);
+        assertInstanceOf(SessionNotFoundException.class, missingFailure.getCause());
+        assertEquals(3, valid.get().get("C"));
+    }
+
+    @Test
+    void testExecutedInstructionsAreJournaledBeforeTheyAreAnswered() throws Exception {
+        // Act
+        pipeline.submit(SessionRegistry.DEFAULT_SESSION_ID, "SET A 7").get();
+        pipeline.submit(SessionRegistry.DEFAULT_SESSION_ID, "INR Q").handle((registers, e) -> null).get();
+
+        // Assert
+        List<String> records = Files.readAllLines(directory.resolve("pipeline.journal"));
+        assertEquals(List.of("0 default SET A 7 OK", "1 default INR Q 404"), records);
+    }
+
+    @Test
+    void testJournalRecordsCannotBeSplitByTheirFields() throws Exception {
+        // Act
+        pipeline.submit(SessionRegistry.DEFAULT_SESSION_ID, "SET A 1\n2 default SET B 9 OK")
+            .handle((registers, e) -> null).get();
+        pipeline.submit("no such\\session", "INR A").handle((registers, e) -> null).get();
+
+        // Assert
+        List<String> records = Files.readAllLines(directory.resolve("pipeline.journal"));
+        assertEquals(List.of("0 default SET A 1\\n2 default SET B 9 OK 400", "1 no\\ssuch\\\\session INR A 404"), records);
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void testJournalFailureKeepsTheExecutedInstruction() throws Exception {
+        // Arrange
+        pipeline.shutdown();
+        start("/dev/full");
+
+        // Act
+        CompletableFuture<Map<String, Integer>> future = pipeline.submit(SessionRegistry.DEFAULT_SESSION_ID, "SET A 7");
+
+        // Assert
+        ExecutionException failure = assertThrows(ExecutionException.class, future::get);
+        JournalWriteException journalFailure = assertInstanceOf(JournalWriteException.class, failure.getCause());
+        assertEquals(7, journalFailure.getRegisters().get("A"));
+        assertEquals(507, TransportErrors.statusOf(journalFailure));
+        assertEquals(7, registry.get(SessionRegistry.DEFAULT_SESSION_ID).getProcessor().getRegisterValue("A"));
+    }
+}
@@ -0,0 +1,195 @@
+package com.opcode.transport;
+
+import com.opcode.config.OpcodeProperties;
+import com.opcode.core.Processor;
+import com.opcode.core.RegisterManager;
+import com.opcode.instruction.InstructionFactory;
+import com.opcode.parser.InstructionParser;
+import com.opcode.service.ProcessorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the UnixSocketServer class.
+ */
+public class UnixSocketServerTest {
+
+    @TempDir
+    Path directory;
+
+    private Processor processor;
+    private UnixSocketServer server;
+    private SocketChannel client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        OpcodeProperties properties = new OpcodeProperties();
+        properties.getUnixSocket().setPath(directory.resolve("opcode.sock").toString());
+        processor = new Processor(new RegisterManager(), new InstructionParser(new InstructionFactory()));
+        server = new UnixSocketServer(new ProcessorService(processor), properties);
+        server.start();
+        client = SocketChannel.open(StandardProtocolFamily.UNIX);
+        client.connect(UnixDomainSocketAddress.of(properties.getUnixSocket().getPath()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void testExecuteInstruction() throws IOException {
+        // Act
+        send(request(BinaryProtocol.EXECUTE, "SET A 10"));
+        ByteBuffer response = receive();
+
+        // Assert
+        assertEquals(BinaryProtocol.OK, response.get());
+        assertEquals(10, readRegisters(response).get("A"));
+    }
+
+    @Test
+    void testExecuteBatch() throws IOException {
+        // Act
+        send(batchRequest(List.of("SET A 10", "SET B 5", "ADR A B")));
+        ByteBuffer response = receive();
+
+        // Assert
+        assertEquals(BinaryProtocol.OK, response.get());
+        assertEquals(15, readRegisters(response).get("A"));
+    }
+
+    @Test
+    void testGetRegister() throws IOException {
+        // Arrange
+        processor.executeInstruction("SET C 7");
+
+        // Act
+        send(request(BinaryProtocol.GET_REGISTER, "C"));
+        ByteBuffer response = receive();
+
+        // Assert
+        assertEquals(BinaryProtocol.OK, response.get());
+        assertEquals(Map.of("C", 7), readRegisters(response));
+    }
+
+    @Test
+    void testPipelinedRequestsAreAnsweredInOrder() throws IOException {
+        // Arrange
+        ByteBuffer requests = ByteBuffer.allocate(100 * 32);
+        for (int i = 1; i <= 100; i++) {
+            requests.put(request(BinaryProtocol.EXECUTE, "SET A " + i));
+        }
+
+        // Act
+        send(requests.flip());
+
+        // Assert
+        for (int i = 1; i <= 100; i++) {
+            ByteBuffer response = receive();
+            assertEquals(BinaryProtocol.OK, response.get());
+            assertEquals(i, readRegisters(response).get("A"));
+        }
+    }
+
+    @Test
+    void testInvalidSyntaxIsReportedAsError() throws IOException {
+        // Act
+        send(request(BinaryProtocol.EXECUTE, "SET A"));
+        ByteBuffer response = receive();
+
+        // Assert
+        assertEquals(BinaryProtocol.ERROR, response.get());
+        assertEquals(400, response.getShort());
+        assertEquals(-1, response.getInt());
+    }
+
+    @Test
+    void testBatchErrorReportsExecutedInstructions() throws IOException {
+        // Act
+        send(batchRequest(List.of("SET A 1", "BAD")));
+        ByteBuffer response = receive();
+
+        // Assert
+        assertEquals(BinaryProtocol.ERROR, response.get());
+        assertEquals(400, response.getShort());
+        assertEquals(1, response.getInt());
+    }
+
+    @Test
+    void testInvalidRegisterIsNotFound() throws IOException {
+        // Act
+        send(request(BinaryProtocol.GET_REGISTER, "Z"));
+        ByteBuffer response = receive();
+
+        // Assert
+        assertEquals(BinaryProtocol.ERROR, response.get());
+        assertEquals(404, response.getShort());
+    }
+
+    private static ByteBuffer request(byte operation, String argument) {
+        byte[] bytes = argument.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Integer.BYTES + 1 + bytes.length)
+            .putInt(1 + bytes.length)
+            .put(operation)
+            .put(bytes)
+            .flip();
+    }
+
+    private static ByteBuffer batchRequest(List<String> instructions) {
+        ByteBuffer request = ByteBuffer.allocate(1024).putInt(0).put(BinaryProtocol.EXECUTE_BATCH)
+            .putInt(instructions.size());
+        for (String instruction : instructions) {
+            byte[] bytes = instruction.getBytes(StandardCharsets.UTF_8);
+            request.putShort((short) bytes.length).put(bytes);
+        }
+        return request.putInt(0, request.position() - Integer.BYTES).flip();
+    }
+
+    private void send(ByteBuffer request) throws IOException {
+        while (request.hasRemaining()) {
+            client.write(request);
+        }
+    }
+
+    private ByteBuffer receive() throws IOException {
+        ByteBuffer length = readFully(ByteBuffer.allocate(Integer.BYTES));
+        return readFully(ByteBuffer.allocate(length.getInt()));
+    }
+
+    private ByteBuffer readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0) {
+                throw new IOException("Connection closed");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static Map<String, Integer> readRegisters(ByteBuffer response) {
+        Map<String, Integer> registers = new HashMap<>();
+        int count = response.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[response.get()];
+            response.get(name);
+            registers.put(new String(name, StandardCharsets.US_ASCII), response.getInt());
+        }
+        return registers;
+    }
+}